@@ -0,0 +1,12 @@
+-- GTID auto-positioning: the replica copies the primary from its first transaction,
+-- including the agrowmart schema created on startup.
+STOP REPLICA;
+CHANGE REPLICATION SOURCE TO
+    SOURCE_HOST = 'mysql-primary',
+    SOURCE_PORT = 3306,
+    SOURCE_USER = 'root',
+    SOURCE_PASSWORD = 'root',
+    SOURCE_AUTO_POSITION = 1,
+    GET_SOURCE_PUBLIC_KEY = 1;
+START REPLICA;
+SHOW REPLICA STATUS\G
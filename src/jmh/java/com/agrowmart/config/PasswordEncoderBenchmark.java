@@ -0,0 +1,75 @@
+package com.agrowmart.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Sizing security.password.hash-threads: 16 request threads log in at once
+ * through a BoundedPasswordEncoder pool of {@code poolSize} threads. Logins
+ * per second stop growing once the pool reaches the core count; larger pools
+ * only add queueing inside the OS scheduler. {@code direct} is BCrypt on the
+ * request threads, as before.
+ *
+ * <pre>
+ * mvn -Pbenchmarks -DskipTests verify -Djmh.args="PasswordEncoderBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Threads(16)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    @Param({ "10" })
+    public int cost;
+
+    @Param({ "1", "2", "4", "8", "16" })
+    public int poolSize;
+
+    private BoundedPasswordEncoder bounded;
+    private BCryptPasswordEncoder direct;
+    private String hash;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // queue deep enough that the benchmark measures throughput, not rejections
+        bounded = new BoundedPasswordEncoder(cost, poolSize, 1024, 60_000, new SimpleMeterRegistry());
+        direct = new BCryptPasswordEncoder(cost);
+        hash = direct.encode("benchmark-password");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        bounded.shutdown();
+    }
+
+    @Benchmark
+    public boolean bounded() {
+        return bounded.matches("benchmark-password", hash);
+    }
+
+    @Benchmark
+    public boolean direct() {
+        return direct.matches("benchmark-password", hash);
+    }
+}
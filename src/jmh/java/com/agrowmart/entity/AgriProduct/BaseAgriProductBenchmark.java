@@ -0,0 +1,82 @@
+package com.agrowmart.entity.AgriProduct;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Image URL list mapping, old vs new. The old entity kept the JSON string and
+ * ran ObjectMapper.readValue on every getAgriImageUrls() call (legacy*);
+ * ImageUrlListConverter parses once per entity load with the streaming API
+ * (converter*), after which the getter is a field read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BaseAgriProductBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<List<String>> URL_LIST = new TypeReference<>() {};
+
+    @Param({ "1", "5" })
+    public int images;
+
+    private final ImageUrlListConverter converter = new ImageUrlListConverter();
+    private Seeds product;
+    private List<String> urls;
+    private String column;
+
+    @Setup
+    public void setUp() throws Exception {
+        urls = new ArrayList<>();
+        for (int i = 0; i < images; i++) {
+            urls.add("https://res.cloudinary.com/demo/image/upload/v1712345678/agrowmart/agri_" + i + ".jpg");
+        }
+        column = MAPPER.writeValueAsString(urls);
+        product = new Seeds();
+        product.setAgriImageUrls(converter.convertToEntityAttribute(column));
+    }
+
+    @Benchmark
+    public List<String> legacyGetAgriImageUrls() throws Exception {
+        return MAPPER.readValue(column, URL_LIST);
+    }
+
+    @Benchmark
+    public String legacySetAgriImageUrls() throws Exception {
+        return MAPPER.writeValueAsString(urls);
+    }
+
+    @Benchmark
+    public List<String> converterToEntityAttribute() {
+        return converter.convertToEntityAttribute(column);
+    }
+
+    @Benchmark
+    public String converterToDatabaseColumn() {
+        return converter.convertToDatabaseColumn(urls);
+    }
+
+    @Benchmark
+    public List<String> getAgriImageUrls() {
+        return product.getAgriImageUrls();
+    }
+}
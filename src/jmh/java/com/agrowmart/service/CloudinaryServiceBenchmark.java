@@ -0,0 +1,50 @@
+package com.agrowmart.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/** public_id extraction run for every image delete (regex, then fallback split). */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CloudinaryServiceBenchmark {
+
+    private CloudinaryService cloudinaryService;
+
+    @Setup
+    public void setUp() {
+        cloudinaryService = new CloudinaryService(null, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public String versionedUrl() {
+        return cloudinaryService.extractPublicId(
+                "https://res.cloudinary.com/demo/image/upload/v1712345678/agrowmart/shop_photo_42.jpg");
+    }
+
+    @Benchmark
+    public String unversionedUrl() {
+        return cloudinaryService.extractPublicId(
+                "https://res.cloudinary.com/demo/image/upload/agrowmart/shop_photo_42.jpg?width=200");
+    }
+
+    @Benchmark
+    public String barePublicId() {
+        return cloudinaryService.extractPublicId("agrowmart/shop_photo_42.jpg");
+    }
+}
@@ -0,0 +1,99 @@
+package com.agrowmart.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.agrowmart.dto.auth.order.OrderResponseDTO;
+import com.agrowmart.entity.Product;
+import com.agrowmart.entity.customer.CustomerAddress;
+import com.agrowmart.entity.order.Offer;
+import com.agrowmart.entity.order.Order;
+import com.agrowmart.entity.order.OrderItem;
+
+/** Offer discount arithmetic and the order → OrderResponseDTO mapper. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderServiceImplBenchmark {
+
+    private OrderServiceImpl orderService;
+    private Offer percentOffer;
+    private Offer flatOffer;
+    private BigDecimal subtotal;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        // the benchmarked methods use no collaborators
+        orderService = new OrderServiceImpl(null, null, null, null, null, null, null, null, null,
+                null, null, null, null, null, null, null, null, null, null);
+
+        percentOffer = new Offer();
+        percentOffer.setDiscountType(Offer.DiscountType.PERCENTAGE);
+        percentOffer.setDiscountPercent(15);
+        percentOffer.setMaxDiscountAmount(new BigDecimal("100.00"));
+
+        flatOffer = new Offer();
+        flatOffer.setDiscountType(Offer.DiscountType.FLAT);
+        flatOffer.setFlatDiscount(new BigDecimal("50.00"));
+
+        subtotal = new BigDecimal("1249.50");
+
+        order = new Order();
+        order.setId("ORD-20260101-000042");
+        order.setSubtotal(subtotal);
+        order.setStatus(Order.OrderStatus.PENDING);
+        CustomerAddress address = new CustomerAddress();
+        address.setId(7L);
+        address.setSocietyName("Green Park");
+        address.setHouseNo("12B");
+        order.setDeliveryAddress(address);
+        List<OrderItem> items = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Product product = new Product();
+            product.setId((long) i);
+            product.setProductName("Product " + i);
+            OrderItem item = new OrderItem();
+            item.setId((long) i);
+            item.setProduct(product);
+            item.setQuantity(i + 1);
+            item.setPricePerUnit(new BigDecimal("49.90"));
+            item.setTotalPrice(new BigDecimal("49.90").multiply(BigDecimal.valueOf(i + 1)));
+            items.add(item);
+        }
+        order.setItems(items);
+        order.setCreatedAt(LocalDateTime.of(2026, 1, 1, 10, 0));
+    }
+
+    @Benchmark
+    public BigDecimal percentageDiscount() {
+        return orderService.calculateDiscount(percentOffer, subtotal);
+    }
+
+    @Benchmark
+    public BigDecimal flatDiscount() {
+        return orderService.calculateDiscount(flatOffer, subtotal);
+    }
+
+    @Benchmark
+    public OrderResponseDTO mapToResponse() {
+        return orderService.mapToResponse(order);
+    }
+}
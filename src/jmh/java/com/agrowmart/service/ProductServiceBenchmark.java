@@ -0,0 +1,64 @@
+package com.agrowmart.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.agrowmart.entity.Category;
+
+/** Product type from the category tree, done once per product in listings. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductServiceBenchmark {
+
+    private ProductService productService;
+    private Category root;
+    private Category leaf;
+    private Category unmatched;
+
+    @Setup
+    public void setUp() {
+        // determineProductType only walks the category; no repositories needed
+        productService = new ProductService(null, null, null, null, null, null, null, null);
+
+        root = category("Vegetables", "vegetable-root", null);
+        leaf = category("Spinach", "spinach", category("Leafy", "leafy", category("Greens", "greens", root)));
+        unmatched = category("Tools", "tools", category("Garden", "garden", null));
+    }
+
+    @Benchmark
+    public String rootCategory() {
+        return productService.determineProductType(root);
+    }
+
+    @Benchmark
+    public String leafThreeLevelsDown() {
+        return productService.determineProductType(leaf);
+    }
+
+    @Benchmark
+    public String noMatchingRoot() {
+        return productService.determineProductType(unmatched);
+    }
+
+    static Category category(String name, String slug, Category parent) {
+        Category category = new Category();
+        category.setName(name);
+        category.setSlug(slug);
+        category.setParent(parent);
+        return category;
+    }
+}
@@ -0,0 +1,76 @@
+package com.agrowmart.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.agrowmart.dto.auth.shop.NearbyShopDTO;
+import com.agrowmart.dto.auth.shop.ShopResponse;
+import com.agrowmart.entity.Shop;
+import com.agrowmart.entity.User;
+import com.agrowmart.repository.ShopRepository;
+
+/** Nearby-shop search (20 nearest within 5 km) over 5,000 shops around Pune. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShopGeoIndexBenchmark {
+
+    private static final double LAT0 = 18.35, LON0 = 73.65, SPAN = 0.4;
+
+    private ShopGeoIndex index;
+
+    @Setup
+    public void setUp() {
+        List<Shop> shops = new ArrayList<>();
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        for (long i = 1; i <= 5_000; i++) {
+            User vendor = new User();
+            vendor.setId(1000L + i);
+            Shop shop = new Shop();
+            shop.setId(i);
+            shop.setUser(vendor);
+            shop.setLatitude(LAT0 + rnd.nextDouble() * SPAN);
+            shop.setLongitude(LON0 + rnd.nextDouble() * SPAN);
+            shop.setApproved(true);
+            shop.setActive(true);
+            shops.add(shop);
+        }
+        ShopRepository repository = mock(ShopRepository.class);
+        when(repository.findLocatedActiveShops()).thenReturn(shops);
+        ShopService shopService = mock(ShopService.class);
+        when(shopService.toResponse(any())).thenAnswer(inv -> {
+            Shop s = inv.getArgument(0);
+            return new ShopResponse(s.getId(), "Shop " + s.getId(), "VEGETABLE", null, null, null, null, null, null, null,
+                    true, true, s.getUser().getId(), null, null, null, null, null, null, null,
+                    s.getLatitude(), s.getLongitude(), true);
+        });
+        index = new ShopGeoIndex(repository, shopService, new ShopHoursService(repository, "Asia/Kolkata"), 0.02);
+        index.reload();
+    }
+
+    @Benchmark
+    public List<NearbyShopDTO> nearby() {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        return index.nearby(LAT0 + rnd.nextDouble() * SPAN, LON0 + rnd.nextDouble() * SPAN, 5, 20, false);
+    }
+}
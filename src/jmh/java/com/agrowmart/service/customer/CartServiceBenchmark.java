@@ -0,0 +1,65 @@
+package com.agrowmart.service.customer;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.agrowmart.dto.auth.customer.CartSummaryDTO;
+import com.agrowmart.entity.customer.Cart;
+import com.agrowmart.entity.customer.CartItem;
+
+/** Cart subtotal and the cart → CartSummaryDTO mapper returned by every cart call. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CartServiceBenchmark {
+
+    @Param({ "5", "50" })
+    public int items;
+
+    private CartService cartService;
+    private Cart cart;
+
+    @Setup
+    public void setUp() {
+        // toSummaryDTO only reads the cart
+        cartService = new CartService(null, null, null, null, null, null, null);
+
+        cart = new Cart();
+        cart.setId(1L);
+        for (int i = 0; i < items; i++) {
+            CartItem item = new CartItem();
+            item.setId((long) i);
+            item.setProductId((long) i);
+            item.setProductType("VEGETABLE");
+            item.setNameSnapshot("Product " + i);
+            item.setPriceAtAdd(new BigDecimal("39.50"));
+            item.setQuantity(1 + i % 4);
+            cart.addItem(item);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal subtotal() {
+        return cart.calculateSubtotal();
+    }
+
+    @Benchmark
+    public CartSummaryDTO toSummaryDTO() {
+        return cartService.toSummaryDTO(cart);
+    }
+}
@@ -0,0 +1,67 @@
+package com.agrowmart.service.dispatch;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Nearest-free-partner lookups for new pickups while 10,000 partners around
+ * Pune keep sending heartbeats, i.e. the dispatch() hot path at city scale.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeliveryPartnerIndexBenchmark {
+
+    private static final int PARTNERS = 10_000;
+    private static final double LAT0 = 18.35, LON0 = 73.65, SPAN = 0.4;
+
+    private DeliveryPartnerIndex index;
+    private double[][] positions;
+
+    @Setup
+    public void setUp() {
+        index = new DeliveryPartnerIndex(0.01, 60_000, System::currentTimeMillis);
+        positions = new double[PARTNERS][];
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        for (int i = 0; i < PARTNERS; i++) {
+            positions[i] = new double[] {LAT0 + rnd.nextDouble() * SPAN, LON0 + rnd.nextDouble() * SPAN};
+            index.update(i, positions[i][0], positions[i][1], true);
+        }
+    }
+
+    @Benchmark
+    @Group("city")
+    @GroupThreads(1)
+    public List<DeliveryPartnerIndex.Candidate> nearestFree() {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        return index.nearestFree(LAT0 + rnd.nextDouble() * SPAN, LON0 + rnd.nextDouble() * SPAN, 3, 1, Set.of());
+    }
+
+    @Benchmark
+    @Group("city")
+    @GroupThreads(3)
+    public void heartbeat() {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        int i = rnd.nextInt(PARTNERS);
+        double[] p = positions[i];
+        index.update(i, p[0] + rnd.nextDouble(-0.0003, 0.0003), p[1] + rnd.nextDouble(-0.0003, 0.0003), true);
+    }
+}
@@ -0,0 +1,372 @@
+package com.agrowmart.service.dispatch;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.agrowmart.dto.auth.order.OrderStatusUpdateDTO;
+import com.agrowmart.dto.auth.order.PickupOfferDTO;
+import com.agrowmart.entity.order.Order;
+import com.agrowmart.repository.OrderRepository;
+import com.agrowmart.service.OrderService;
+import com.agrowmart.service.OrderWebSocketService;
+import com.agrowmart.service.websocket.StompMessageRelay;
+import com.agrowmart.util.HashedTimingWheel;
+
+/**
+ * Whole-dispatcher simulation: 10,000 partners around Pune, 1,000 pickups a
+ * minute (5% of them from villages beyond the fleet), partners that accept,
+ * decline or ignore offers, and deliveries that keep them busy for 4-10 minutes. Time is simulated (fake clock, offer
+ * timeouts fired by the simulation), so rounds that time out, escalate to a
+ * wider ring or fall back to the pickup topic cost no wall-clock waiting, and
+ * a fixed seed makes every run see the same city.
+ *
+ * One invocation advances the city by one simulated second; the score is the
+ * dispatcher's CPU cost per simulated second. The aux counters report offer
+ * rounds and outcomes per iteration, and each iteration prints the simulated
+ * assignment latency percentiles.
+ *
+ * <pre>
+ * mvn -Pbenchmarks -DskipTests verify -Djmh.args="PickupDispatcherSimulationBenchmark"
+ * </pre>
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PickupDispatcherSimulationBenchmark {
+
+    private static final int PARTNERS = 10_000;
+    private static final double ORDERS_PER_SECOND = 1_000 / 60.0;
+    private static final double LAT0 = 18.35, LON0 = 73.65, SPAN = 0.4;
+    private static final long OFFER_TIMEOUT_MS = 20_000;
+    private static final long HEARTBEAT_MS = 30_000;
+
+    // per-iteration outcomes, reported by JMH next to the score
+    public long orders;
+    public long offerRounds;
+    public long offersSent;
+    public long assigned;
+    public long topicFallbacks;
+
+    private final Random rnd = new Random(20_240_601L);
+    private final SimulatedClock clock = new SimulatedClock();
+    private final SimulatedTimingWheel wheel = new SimulatedTimingWheel(clock);
+    private final PriorityQueue<Event> events = new PriorityQueue<>();
+    private final Set<String> taken = new HashSet<>();
+    private final Map<String, Long> dispatchedAt = new HashMap<>();
+    private final Map<String, LocalDateTime> lastRound = new HashMap<>();
+    private final double[][] positions = new double[PARTNERS][];
+
+    private DeliveryPartnerIndex index;
+    private PickupDispatcher dispatcher;
+    private long nextOrder;
+    private int nextHeartbeat;
+    private long eventSeq;
+    private long[] latenciesMs = new long[1024];
+    private int latencyCount;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new DeliveryPartnerIndex(0.01, 60_000, clock::millis);
+        OrderService orderService = mock(OrderService.class);
+        // "DB" compare-and-set like OrderRepository.assignDeliveryPartnerIfUnassigned
+        when(orderService.assignDeliveryPartner(anyString(), anyLong()))
+                .thenAnswer(inv -> taken.add(inv.getArgument(0)));
+        OrderRepository orderRepository = mock(OrderRepository.class);
+        when(orderRepository.existsByIdAndStatusAndDeliveryPartnerIsNull(anyString(), any()))
+                .thenAnswer(inv -> !taken.contains(inv.<String>getArgument(0)));
+
+        dispatcher = new PickupDispatcher(index, new OrderWebSocketService(new Relay(), 5), orderService,
+                orderRepository, true, 3, OFFER_TIMEOUT_MS, 1, 2, 9, clock, Runnable::run, wheel);
+
+        for (int i = 0; i < PARTNERS; i++) {
+            positions[i] = new double[] {LAT0 + rnd.nextDouble() * SPAN, LON0 + rnd.nextDouble() * SPAN};
+            index.update(i, positions[i][0], positions[i][1], true);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void resetCounters() {
+        orders = offerRounds = offersSent = assigned = topicFallbacks = 0;
+        latencyCount = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void printLatency() {
+        long[] sorted = Arrays.copyOf(latenciesMs, latencyCount);
+        Arrays.sort(sorted);
+        System.out.printf("%n  simulated %d min: %.2f rounds/order, %.1f%% to topic, assignment p50 %.1fs p95 %.1fs p99 %.1fs%n",
+                clock.millis() / 60_000, orders == 0 ? 0.0 : (double) offerRounds / orders,
+                orders == 0 ? 0.0 : 100.0 * topicFallbacks / orders,
+                percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Benchmark
+    public int simulateOneSecond() {
+        long end = clock.millis() + 1_000;
+
+        // new pickups, Poisson arrivals at 1,000 a minute spread over the second
+        int arrivals = poisson(ORDERS_PER_SECOND);
+        for (int i = 0; i < arrivals; i++) {
+            schedule(clock.millis() + rnd.nextInt(1_000), EventType.ORDER, -1, null);
+        }
+
+        // a thirtieth of the fleet heartbeats each second, so everyone reports every 30 s
+        for (int i = 0; i < PARTNERS / (HEARTBEAT_MS / 1_000); i++) {
+            int p = nextHeartbeat;
+            nextHeartbeat = (nextHeartbeat + 1) % PARTNERS;
+            positions[p][0] += rnd.nextDouble(-0.0003, 0.0003);
+            positions[p][1] += rnd.nextDouble(-0.0003, 0.0003);
+            index.update(p, positions[p][0], positions[p][1], true);
+        }
+
+        // partner replies, deliveries and offer timeouts, in simulated time order
+        while (true) {
+            Event next = events.peek();
+            if (wheel.fireNext(next != null && next.at < end ? next.at : end)) {
+                continue; // the escalation may have scheduled replies ahead of next
+            }
+            if (next == null || next.at >= end) {
+                break;
+            }
+            events.poll();
+            clock.set(next.at);
+            handle(next);
+        }
+        clock.set(end);
+        return dispatcher.pendingCount();
+    }
+
+    private void handle(Event e) {
+        switch (e.type) {
+            case ORDER -> {
+                String orderId = "ORD-" + nextOrder++;
+                orders++;
+                dispatchedAt.put(orderId, clock.millis());
+                double lon = LON0 + rnd.nextDouble() * SPAN;
+                // 5% come from villages 5-13 km south of the fleet, reached only by the outer rings or the topic
+                double lat = rnd.nextDouble() < 0.05
+                        ? LAT0 - 0.05 - rnd.nextDouble() * 0.07
+                        : LAT0 + rnd.nextDouble() * SPAN;
+                dispatcher.dispatch(orderId, lat, lon, new OrderStatusUpdateDTO(orderId,
+                        Order.OrderStatus.READY_FOR_PICKUP.name(), null, null, "STATUS_UPDATE", null));
+            }
+            case ACCEPT -> {
+                if (dispatcher.accept(e.orderId, e.partnerId)) {
+                    assigned++;
+                    recordLatency(clock.millis() - dispatchedAt.remove(e.orderId));
+                    lastRound.remove(e.orderId);
+                    // 4-10 minutes to pick up and deliver
+                    schedule(clock.millis() + 240_000 + rnd.nextInt(360_000), EventType.DELIVERED, e.partnerId,
+                            e.orderId);
+                }
+            }
+            case DECLINE -> dispatcher.decline(e.orderId, e.partnerId);
+            case DELIVERED -> {
+                dispatcher.partnerFreed(e.partnerId);
+                taken.remove(e.orderId);
+            }
+            case FORGET -> taken.remove(e.orderId);
+        }
+    }
+
+    /** 60% accept within 2-15 s, 25% decline within 2-10 s, the rest let the offer time out. */
+    private void onOffer(long partnerId, PickupOfferDTO offer) {
+        offersSent++;
+        // one expiresAt instance per round, shared by all of that round's offers
+        if (lastRound.put(offer.orderId(), offer.expiresAt()) != offer.expiresAt()) {
+            offerRounds++;
+        }
+        double reply = rnd.nextDouble();
+        if (reply < 0.60) {
+            schedule(clock.millis() + 2_000 + rnd.nextInt(13_000), EventType.ACCEPT, partnerId, offer.orderId());
+        } else if (reply < 0.85) {
+            schedule(clock.millis() + 2_000 + rnd.nextInt(8_000), EventType.DECLINE, partnerId, offer.orderId());
+        }
+    }
+
+    private void onTopicFallback(String orderId) {
+        topicFallbacks++;
+        dispatchedAt.remove(orderId);
+        lastRound.remove(orderId);
+        taken.add(orderId); // someone nearby takes it from the topic
+        schedule(clock.millis() + 60_000, EventType.FORGET, -1, orderId); // after any late accept has arrived
+    }
+
+    private void schedule(long at, EventType type, long partnerId, String orderId) {
+        events.add(new Event(at, eventSeq++, type, partnerId, orderId));
+    }
+
+    private void recordLatency(long ms) {
+        if (latencyCount == latenciesMs.length) {
+            latenciesMs = Arrays.copyOf(latenciesMs, latencyCount * 2);
+        }
+        latenciesMs[latencyCount++] = ms;
+    }
+
+    private int poisson(double mean) {
+        double limit = Math.exp(-mean), product = rnd.nextDouble();
+        int n = 0;
+        while (product > limit) {
+            product *= rnd.nextDouble();
+            n++;
+        }
+        return n;
+    }
+
+    private static double percentile(long[] sorted, double q) {
+        return sorted.length == 0 ? 0.0 : sorted[(int) Math.min(sorted.length - 1, q * sorted.length)] / 1_000.0;
+    }
+
+    private final class Relay implements StompMessageRelay {
+        @Override
+        public void sendToUser(String userId, String destination, Object payload) {
+            PickupOfferDTO offer = (PickupOfferDTO) payload;
+            if ("OFFER".equals(offer.type())) {
+                onOffer(Long.parseLong(userId.substring(userId.indexOf(':') + 1)), offer);
+            }
+        }
+
+        @Override
+        public void broadcast(String destination, Object payload) {
+            onTopicFallback(((OrderStatusUpdateDTO) payload).orderId());
+        }
+    }
+
+    private enum EventType { ORDER, ACCEPT, DECLINE, DELIVERED, FORGET }
+
+    private record Event(long at, long seq, EventType type, long partnerId, String orderId) implements Comparable<Event> {
+        @Override
+        public int compareTo(Event o) {
+            return at != o.at ? Long.compare(at, o.at) : Long.compare(seq, o.seq);
+        }
+    }
+
+    private static final class SimulatedClock extends Clock {
+        private long millis;
+
+        void set(long millis) {
+            this.millis = millis;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /** Offer timeouts on simulated time; the worker thread is never started. */
+    private static final class SimulatedTimingWheel extends HashedTimingWheel<String> {
+        private final SimulatedClock clock;
+        private final PriorityQueue<Timeout> due = new PriorityQueue<>();
+        private final Map<String, Timeout> byKey = new HashMap<>();
+        private long seq;
+
+        SimulatedTimingWheel(SimulatedClock clock) {
+            super("simulated-offer-wheel", Duration.ofMillis(250), 2, Runnable::run);
+            this.clock = clock;
+        }
+
+        @Override
+        public void schedule(String key, Duration delay, Runnable task) {
+            Timeout timeout = new Timeout(clock.millis() + delay.toMillis(), seq++, key, task);
+            byKey.put(key, timeout);
+            due.add(timeout);
+        }
+
+        @Override
+        public boolean cancel(String key) {
+            return byKey.remove(key) != null;
+        }
+
+        @Override
+        public boolean isScheduled(String key) {
+            return byKey.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return byKey.size();
+        }
+
+        @Override
+        public void stop() {
+        }
+
+        /** Fires the earliest live timeout due by {@code until}, moving the clock to its deadline. */
+        boolean fireNext(long until) {
+            Timeout next;
+            while ((next = due.peek()) != null && next.at <= until) {
+                due.poll();
+                if (byKey.remove(next.key, next)) {
+                    clock.set(next.at);
+                    next.task.run();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private record Timeout(long at, long seq, String key, Runnable task) implements Comparable<Timeout> {
+            @Override
+            public int compareTo(Timeout o) {
+                return at != o.at ? Long.compare(at, o.at) : Long.compare(seq, o.seq);
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.agrowmart.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.agrowmart.entity.Role;
+import com.agrowmart.entity.User;
+
+/**
+ * JWT work done on every authenticated request: JwtAuthenticationFilter
+ * parses the token twice (user id, user type) and validateToken parses it
+ * twice more.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private User vendor;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "benchmark-secret-benchmark-secret-benchmark-secret");
+        ReflectionTestUtils.setField(jwtUtil, "expirationMs", TimeUnit.DAYS.toMillis(1));
+
+        vendor = new User();
+        vendor.setId(42L);
+        vendor.setRole(new Role("VEGETABLE"));
+        token = jwtUtil.generateTokenForVendor(vendor);
+    }
+
+    @Benchmark
+    public String generateVendorToken() {
+        return jwtUtil.generateTokenForVendor(vendor);
+    }
+
+    @Benchmark
+    public Long extractUserId() {
+        return jwtUtil.extractUserId(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token, 42L);
+    }
+
+    /** What JwtAuthenticationFilter does per request. */
+    @Benchmark
+    public boolean filterPath() {
+        Long userId = jwtUtil.extractUserId(token);
+        String type = jwtUtil.extractUserType(token);
+        return type != null && jwtUtil.validateToken(token, userId);
+    }
+}
@@ -0,0 +1,67 @@
+package com.agrowmart.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Webhook signature check (HMAC-SHA256, hex compare) over a typical and a large payload. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RazorpaySignatureUtilBenchmark {
+
+    @Param({ "1024", "16384" })
+    public int payloadBytes;
+
+    private static final String SECRET = "whsec_benchmark_0123456789";
+
+    private String payload;
+    private String signature;
+
+    @Setup
+    public void setUp() {
+        StringBuilder json = new StringBuilder("{\"event\":\"payment.captured\",\"payload\":\"");
+        while (json.length() < payloadBytes - 2) {
+            json.append('x');
+        }
+        payload = json.append("\"}").toString();
+        signature = hmacHex(payload);
+        if (!RazorpaySignatureUtil.verify(payload, signature, SECRET)) {
+            throw new IllegalStateException("benchmark signature does not verify");
+        }
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return RazorpaySignatureUtil.verify(payload, signature, SECRET);
+    }
+
+    private static String hmacHex(String data) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return HexFormat.of().formatHex(mac.doFinal(data.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
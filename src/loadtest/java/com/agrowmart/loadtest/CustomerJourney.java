@@ -0,0 +1,223 @@
+package com.agrowmart.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * One virtual customer: signs up once (register, OTP, login, address), then
+ * loops browse → cart → order, with its vendor and a delivery partner
+ * driving the order through accept → ready → pickup → deliver → COD
+ * collected. Every HTTP call is one timed step; a failed step ends the
+ * current iteration, since later steps depend on it.
+ */
+final class CustomerJourney implements Runnable {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final int index;
+    private final String baseUrl;
+    private final HttpClient http;
+    private final LoadFixture fixture;
+    private final RespStandIn redis;
+    private final StepStats stats;
+    private final long deadlineNanos;
+    private final long thinkMs;
+
+    private String customerToken;
+    private long addressId;
+    int completedOrders;
+
+    CustomerJourney(int index, String baseUrl, HttpClient http, LoadFixture fixture, RespStandIn redis,
+                    StepStats stats, long deadlineNanos, long thinkMs) {
+        this.index = index;
+        this.baseUrl = baseUrl;
+        this.http = http;
+        this.fixture = fixture;
+        this.redis = redis;
+        this.stats = stats;
+        this.deadlineNanos = deadlineNanos;
+        this.thinkMs = thinkMs;
+    }
+
+    @Override
+    public void run() {
+        try {
+            if (!signUp()) {
+                return;
+            }
+            while (System.nanoTime() < deadlineNanos && !Thread.currentThread().isInterrupted()) {
+                if (placeAndFulfilOrder()) {
+                    completedOrders++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean signUp() throws InterruptedException {
+        String phone = String.format("9%09d", index);
+        String password = "load-test-" + index;
+
+        if (call("auth.register", "POST", "/api/customer/auth/register", null, Map.of(
+                "fullName", "Load Customer " + index,
+                "email", "customer" + index + "@load.test",
+                "phone", phone,
+                "password", password)) == null) {
+            return false;
+        }
+        if (call("auth.otp.send", "POST", "/api/customer/auth/send-otp", null,
+                Map.of("phone", phone, "purpose", "PHONE_VERIFY")) == null) {
+            return false;
+        }
+        // the SMS never leaves the process; read the code back from the Redis stand-in
+        String code = redis.peek("otp:" + phone);
+        if (call("auth.otp.verify", "POST", "/api/customer/auth/verify-otp", null,
+                Map.of("phone", phone, "code", code != null ? code : "000000", "purpose", "PHONE_VERIFY")) == null) {
+            return false;
+        }
+        JsonNode login = call("auth.login", "POST", "/api/customer/auth/login", null,
+                Map.of("login", phone, "password", password));
+        if (login == null) {
+            return false;
+        }
+        customerToken = login.path("token").asText();
+
+        JsonNode address = call("address.add", "POST", "/api/customer/addresses", customerToken, Map.of(
+                "houseNo", String.valueOf(index),
+                "area", "Shivajinagar",
+                "pincode", "411005",
+                "state", "Maharashtra",
+                "latitude", LoadFixture.SHOP_LAT + 0.01,
+                "longitude", LoadFixture.SHOP_LNG + 0.01,
+                "addressType", "HOME",
+                "isDefault", true));
+        if (address == null) {
+            return false;
+        }
+        addressId = address.path("id").asLong();
+        return true;
+    }
+
+    private boolean placeAndFulfilOrder() throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LoadFixture.Vendor vendor = fixture.vendors.get(random.nextInt(fixture.vendors.size()));
+        LoadFixture.Partner partner = fixture.partners.get(random.nextInt(fixture.partners.size()));
+        Long productId = vendor.productIds().get(random.nextInt(vendor.productIds().size()));
+
+        // browse
+        if (call("browse.home", "GET", "/api/public/products?search=Tomato", null, null) == null
+                || call("browse.search", "POST", "/api/products/search", null,
+                        Map.of("name", "Tomato", "page", 0, "size", 20)) == null
+                || call("browse.product", "GET", "/api/public/product/" + productId, null, null) == null) {
+            return false;
+        }
+        think();
+
+        // cart
+        int quantity = 1 + random.nextInt(3);
+        if (call("cart.add", "POST", "/api/customer/cart/add", customerToken,
+                Map.of("productId", productId, "productType", "REGULAR", "quantity", quantity)) == null
+                || call("cart.view", "GET", "/api/customer/cart", customerToken, null) == null) {
+            return false;
+        }
+        think();
+
+        // order (the app has no checkout-from-cart endpoint; the client posts the cart lines)
+        JsonNode order = call("order.create", "POST", "/api/orders/create", customerToken, Map.of(
+                "merchantId", vendor.id(),
+                "items", List.of(Map.of("productId", productId, "quantity", quantity)),
+                "paymentMode", "COD",
+                "deliveryMode", "DELIVERY_PARTNER",
+                "deliveryAddressId", addressId));
+        if (order == null) {
+            return false;
+        }
+        String orderId = order.path("id").asText();
+        if (call("cart.clear", "DELETE", "/api/customer/cart/clear", customerToken, null) == null) {
+            return false;
+        }
+
+        // vendor side
+        if (call("order.accept", "POST", "/api/orders/accept/" + orderId, vendor.token(), null) == null) {
+            return false;
+        }
+        JsonNode ready = call("order.ready", "POST", "/api/orders/" + orderId + "/ready", vendor.token(), null);
+        if (ready == null) {
+            return false;
+        }
+
+        // delivery partner side
+        JsonNode pickedUp = call("delivery.pickup", "POST", "/api/orders/" + orderId + "/scan", partner.token(),
+                Map.of("token", ready.path("vendorPickupToken").asText(), "type", "VENDOR_PICKUP"));
+        if (pickedUp == null) {
+            return false;
+        }
+        if (call("delivery.deliver", "POST", "/api/orders/" + orderId + "/scan", partner.token(),
+                Map.of("token", pickedUp.path("userDeliveryToken").asText(), "type", "USER_DELIVERY")) == null) {
+            return false;
+        }
+        return call("order.cod-collected", "POST", "/api/orders/cod-collected/" + orderId, vendor.token(), null) != null;
+    }
+
+    /** One timed HTTP step; the parsed body on 2xx, null (and an error sample) otherwise. */
+    private JsonNode call(String step, String method, String path, String token, Object body)
+            throws InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        try {
+            if (body != null) {
+                request.header("Content-Type", "application/json")
+                        .method(method, HttpRequest.BodyPublishers.ofByteArray(JSON.writeValueAsBytes(body)));
+            } else {
+                request.method(method, HttpRequest.BodyPublishers.noBody());
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            boolean ok = response.statusCode() / 100 == 2;
+            stats.record(step, System.nanoTime() - start, ok);
+            if (!ok) {
+                LoadDriver.reportFailure(step, response.statusCode(), new String(response.body()));
+                return null;
+            }
+            return response.body().length == 0 ? JSON.createObjectNode() : readOrText(response.body());
+        } catch (IOException e) {
+            stats.record(step, System.nanoTime() - start, false);
+            LoadDriver.reportFailure(step, -1, e.toString());
+            return null;
+        }
+    }
+
+    private static JsonNode readOrText(byte[] body) {
+        try {
+            return JSON.readTree(body);
+        } catch (IOException e) {
+            return JSON.getNodeFactory().textNode(new String(body)); // plain-text replies ("OTP sent")
+        }
+    }
+
+    private void think() throws InterruptedException {
+        if (thinkMs > 0) {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(thinkMs + 1));
+        }
+    }
+}
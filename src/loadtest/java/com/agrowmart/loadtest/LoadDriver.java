@@ -0,0 +1,202 @@
+package com.agrowmart.loadtest;
+
+import java.io.File;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.agrowmart.AgrowMartBackendApplication;
+import com.agrowmart.repository.SettlementRepository;
+import com.agrowmart.service.SettlementService;
+import com.agrowmart.service.external.FakeMailSender;
+import com.agrowmart.service.external.FakeMediaStorageGateway;
+import com.agrowmart.service.external.FakePushNotificationGateway;
+import com.agrowmart.service.external.FakeRazorpayGateway;
+import com.agrowmart.service.external.FakeSmsGateway;
+import com.agrowmart.service.external.SimulatedCall;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Scripted load run against the whole app in-process: H2 in MySQL mode for
+ * the database, {@link RespStandIn} for Redis and the fake gateways
+ * (external.fakes.enabled=true) for FCM, Razorpay, Cloudinary, SMS and mail.
+ *
+ * <pre>
+ * mvn -Ploadtest -DskipTests verify -Dloadtest.args="--users 50 --duration 120"
+ * </pre>
+ *
+ * Options: --users (virtual customers, 20), --duration (seconds, 60),
+ * --vendors (5), --products (products per vendor, 10), --partners (10),
+ * --think-ms (max think time between steps, 0), --report (JSON path,
+ * target/loadtest-report.json). Arguments of the form --key=value go to
+ * Spring as properties, e.g. --external.fakes.razorpay.failure-rate=0.05
+ * to make one Razorpay call in twenty fail.
+ *
+ * After the customers stop, delivered orders are backdated past the 7-day
+ * hold and the settlement job runs once, so payouts are measured too.
+ */
+public final class LoadDriver {
+
+    private static final Map<String, String> FIRST_FAILURES = new ConcurrentHashMap<>();
+    private static final AtomicInteger FAILURES = new AtomicInteger();
+
+    private LoadDriver() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> springArgs = new ArrayList<>();
+        Map<String, String> options = options(args, springArgs);
+        int users = Integer.parseInt(options.getOrDefault("users", "20"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "60"));
+        int vendorCount = Integer.parseInt(options.getOrDefault("vendors", "5"));
+        int productsPerVendor = Integer.parseInt(options.getOrDefault("products", "10"));
+        int partnerCount = Integer.parseInt(options.getOrDefault("partners", "10"));
+        long thinkMs = Long.parseLong(options.getOrDefault("think-ms", "0"));
+        File report = new File(options.getOrDefault("report", "target/loadtest-report.json"));
+
+        // a devtools restart would start a second context on a new classloader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        int exitCode;
+        try (RespStandIn redis = new RespStandIn()) {
+            SpringApplication app = new SpringApplication(AgrowMartBackendApplication.class);
+            app.setAdditionalProfiles("loadtest");
+            app.setDefaultProperties(Map.of("spring.data.redis.port", redis.port()));
+            try (ConfigurableApplicationContext context = app.run(springArgs.toArray(String[]::new))) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                LoadFixture fixture = LoadFixture.seed(context, vendorCount, productsPerVendor, partnerCount);
+                System.out.printf("%nSeeded %d vendors x %d products, %d delivery partners; %d customers for %ds%n",
+                        vendorCount, productsPerVendor, partnerCount, users, durationSeconds);
+
+                StepStats stats = new StepStats();
+                ExecutorService customers = Executors.newFixedThreadPool(users);
+                HttpClient http = HttpClient.newBuilder()
+                        .connectTimeout(Duration.ofSeconds(5))
+                        .executor(Executors.newCachedThreadPool())
+                        .build();
+
+                long started = System.nanoTime();
+                long deadline = started + TimeUnit.SECONDS.toNanos(durationSeconds);
+                List<CustomerJourney> journeys = new ArrayList<>();
+                List<Future<?>> running = new ArrayList<>();
+                for (int i = 0; i < users; i++) {
+                    CustomerJourney journey = new CustomerJourney(
+                            i, "http://localhost:" + port, http, fixture, redis, stats, deadline, thinkMs);
+                    journeys.add(journey);
+                    running.add(customers.submit(journey));
+                }
+                for (Future<?> future : running) {
+                    future.get();
+                }
+                customers.shutdown();
+                double elapsed = (System.nanoTime() - started) / 1e9;
+                int orders = journeys.stream().mapToInt(j -> j.completedOrders).sum();
+
+                settle(context, stats);
+
+                Map<String, Object> result = new LinkedHashMap<>();
+                result.put("users", users);
+                result.put("durationSeconds", Math.round(elapsed * 10) / 10.0);
+                result.put("completedOrders", orders);
+                result.put("ordersPerSecond", Math.round(orders / elapsed * 100) / 100.0);
+                result.put("settlements", context.getBean(SettlementRepository.class).count());
+                result.put("steps", stats.summarize(elapsed));
+                result.put("gateways", gateways(context));
+                result.put("redisCommands", redis.commands());
+                result.put("failedSteps", FAILURES.get());
+                result.put("firstFailures", FIRST_FAILURES);
+
+                print(result);
+                report.getAbsoluteFile().getParentFile().mkdirs();
+                new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(report, result);
+                System.out.println("Report written to " + report.getAbsolutePath());
+                exitCode = orders > 0 ? 0 : 1;
+            }
+        }
+        System.exit(exitCode);
+    }
+
+    /** Called by journeys on a non-2xx reply; keeps the first body per step for the report. */
+    static void reportFailure(String step, int status, String body) {
+        FAILURES.incrementAndGet();
+        String trimmed = body.length() > 300 ? body.substring(0, 300) + "..." : body;
+        FIRST_FAILURES.putIfAbsent(step, status + " " + trimmed);
+    }
+
+    private static void settle(ConfigurableApplicationContext context, StepStats stats) {
+        // orders become eligible 7 days after creation
+        context.getBean(JdbcTemplate.class).update(
+                "UPDATE orders SET created_at = ? WHERE status = 'DELIVERED'", LocalDateTime.now().minusDays(8));
+        long start = System.nanoTime();
+        boolean ok = true;
+        try {
+            context.getBean(SettlementService.class).processDailySettlements();
+        } catch (RuntimeException e) {
+            ok = false;
+            reportFailure("settle", -1, e.toString());
+        }
+        stats.record("settle", System.nanoTime() - start, ok);
+    }
+
+    private static Map<String, Map<String, Long>> gateways(ConfigurableApplicationContext context) {
+        Map<String, Map<String, Long>> gateways = new LinkedHashMap<>();
+        gateways.put("push", counts(context.getBean(FakePushNotificationGateway.class).call()));
+        gateways.put("razorpay", counts(context.getBean(FakeRazorpayGateway.class).call()));
+        gateways.put("cloudinary", counts(context.getBean(FakeMediaStorageGateway.class).call()));
+        gateways.put("sms", counts(context.getBean(FakeSmsGateway.class).call()));
+        gateways.put("mail", counts(context.getBean(FakeMailSender.class).call()));
+        return gateways;
+    }
+
+    private static Map<String, Long> counts(SimulatedCall call) {
+        return Map.of("calls", call.calls(), "failures", call.failures());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void print(Map<String, Object> result) {
+        System.out.printf("%n%-22s %8s %7s %9s %9s %9s %9s %9s%n",
+                "step", "count", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        ((Map<String, StepStats.Summary>) result.get("steps")).forEach((step, s) ->
+                System.out.printf("%-22s %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                        step, s.count(), s.errors(), s.throughput(), s.p50Ms(), s.p95Ms(), s.p99Ms(), s.maxMs()));
+        System.out.printf("%ncompleted orders: %s (%s/s), settlements: %s, failed steps: %s%n",
+                result.get("completedOrders"), result.get("ordersPerSecond"),
+                result.get("settlements"), result.get("failedSteps"));
+        System.out.println("gateway calls: " + result.get("gateways") + ", redis commands: " + result.get("redisCommands"));
+        ((Map<String, String>) result.get("firstFailures")).forEach((step, failure) ->
+                System.out.println("  first " + step + " failure: " + failure));
+    }
+
+    private static Map<String, String> options(String[] args, List<String> springArgs) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected --option value or --key=value, got " + args[i]);
+            }
+            if (args[i].contains("=")) {
+                springArgs.add(args[i]);
+            } else if (i + 1 < args.length) {
+                options.put(args[i].substring(2), args[++i]);
+            } else {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,138 @@
+package com.agrowmart.loadtest;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.agrowmart.admin_seller_management.enums.AccountStatus;
+import com.agrowmart.entity.ApprovalStatus;
+import com.agrowmart.entity.Category;
+import com.agrowmart.entity.Product;
+import com.agrowmart.entity.Role;
+import com.agrowmart.entity.Shop;
+import com.agrowmart.entity.User;
+import com.agrowmart.entity.VegetableDetail;
+import com.agrowmart.repository.CategoryRepository;
+import com.agrowmart.repository.ProductRepository;
+import com.agrowmart.repository.RoleRepository;
+import com.agrowmart.repository.ShopRepository;
+import com.agrowmart.repository.UserRepository;
+import com.agrowmart.repository.VegetableDetailRepository;
+import com.agrowmart.service.RazorpayService;
+import com.agrowmart.util.JwtUtil;
+
+/**
+ * Vendors (approved vegetable shops with stocked, priced products, onboarded
+ * for payouts) and delivery partners, written straight through the
+ * repositories. Their sign-up is not what is being measured; customers go
+ * through the real register / OTP / login endpoints instead.
+ */
+final class LoadFixture {
+
+    static final double SHOP_LAT = 18.5204;
+    static final double SHOP_LNG = 73.8567;
+
+    record Vendor(long id, String token, List<Long> productIds) {}
+
+    record Partner(long id, String token) {}
+
+    final List<Vendor> vendors = new ArrayList<>();
+    final List<Partner> partners = new ArrayList<>();
+
+    static LoadFixture seed(ApplicationContext context, int vendorCount, int productsPerVendor, int partnerCount)
+            throws Exception {
+        RoleRepository roles = context.getBean(RoleRepository.class);
+        UserRepository users = context.getBean(UserRepository.class);
+        ShopRepository shops = context.getBean(ShopRepository.class);
+        CategoryRepository categories = context.getBean(CategoryRepository.class);
+        ProductRepository products = context.getBean(ProductRepository.class);
+        VegetableDetailRepository vegetableDetails = context.getBean(VegetableDetailRepository.class);
+        PasswordEncoder passwordEncoder = context.getBean(PasswordEncoder.class);
+        JwtUtil jwtUtil = context.getBean(JwtUtil.class);
+        RazorpayService razorpayService = context.getBean(RazorpayService.class);
+
+        Role vegetableRole = role(roles, "VEGETABLE");
+        Role deliveryRole = role(roles, "DELIVERY");
+        role(roles, "CUSTOMER");
+        // CategorySeeder has run by the time the context is up
+        Category vegetables = categories.findBySlug("vegetable-root")
+                .orElseThrow(() -> new IllegalStateException("vegetable-root category missing"));
+        String passwordHash = passwordEncoder.encode("load-test");
+
+        LoadFixture fixture = new LoadFixture();
+        for (int v = 0; v < vendorCount; v++) {
+            User vendor = new User();
+            vendor.setName("Load Vendor " + v);
+            vendor.setEmail("vendor" + v + "@load.test");
+            vendor.setPhone(String.format("70000%05d", v));
+            vendor.setPasswordHash(passwordHash);
+            vendor.setRole(vegetableRole);
+            vendor.setAccountStatus(AccountStatus.APPROVED);
+            // public product queries only list online vendors with a completed profile
+            vendor.setOnlineStatus("ONLINE");
+            vendor.setProfileCompleted("YES");
+            vendor.setAccountHolderName("Load Vendor " + v);
+            vendor.setBankAccountNumber(String.format("1000%08d", v));
+            vendor.setIfscCode("HDFC0000001");
+            vendor = users.save(vendor);
+
+            Shop shop = new Shop();
+            shop.setUser(vendor);
+            shop.setShopName("Load Shop " + v);
+            shop.setShopType("VEGETABLE");
+            shop.setShopAddress("Load Test Market, Pune");
+            shop.setShopLicense("LIC-" + v);
+            shop.setOpensAt(LocalTime.MIN);
+            shop.setClosesAt(LocalTime.MAX);
+            shop.setLatitude(SHOP_LAT + v * 0.001);
+            shop.setLongitude(SHOP_LNG);
+            shop.setApproved(true);
+            shop.setActive(true);
+            shops.save(shop);
+
+            List<Long> productIds = new ArrayList<>();
+            for (int p = 0; p < productsPerVendor; p++) {
+                Product product = new Product();
+                product.setMerchantId(vendor.getId());
+                product.setCategory(vegetables);
+                product.setProductName("Tomato " + v + "-" + p);
+                product.setStatus(Product.ProductStatus.ACTIVE);
+                product.setApprovalStatus(ApprovalStatus.APPROVED);
+                product.setStockQuantity(1_000_000.0);
+                product = products.save(product);
+
+                VegetableDetail detail = new VegetableDetail();
+                detail.setProduct(product);
+                detail.setUnit("kg");
+                detail.setMinPrice(BigDecimal.valueOf(40 + p));
+                detail.setMaxPrice(BigDecimal.valueOf(60 + p));
+                vegetableDetails.save(detail);
+                productIds.add(product.getId());
+            }
+
+            // contact + fund account through the (fake) Razorpay gateway
+            razorpayService.onboardVendor(vendor);
+            fixture.vendors.add(new Vendor(vendor.getId(), jwtUtil.generateTokenForVendor(vendor), productIds));
+        }
+
+        for (int d = 0; d < partnerCount; d++) {
+            User partner = new User();
+            partner.setName("Load Rider " + d);
+            partner.setPhone(String.format("71000%05d", d));
+            partner.setPasswordHash(passwordHash);
+            partner.setRole(deliveryRole);
+            partner.setAccountStatus(AccountStatus.APPROVED);
+            partner = users.save(partner);
+            fixture.partners.add(new Partner(partner.getId(), jwtUtil.generateTokenForVendor(partner)));
+        }
+        return fixture;
+    }
+
+    private static Role role(RoleRepository roles, String name) {
+        return roles.findByName(name).orElseGet(() -> roles.save(new Role(name)));
+    }
+}
@@ -0,0 +1,304 @@
+package com.agrowmart.loadtest;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Just enough of a Redis server (RESP2 over a loopback socket) for the
+ * commands the app issues on the load-test paths: the OTP store (GET,
+ * SET [EX|PX], INCR, EXPIRE, DEL, TTL, EXISTS) plus the connection
+ * handshake Lettuce sends. Keys live in one map; expiry is checked on
+ * access. Anything else answers with an error, which shows up as a failed
+ * step instead of silently passing.
+ *
+ * There is no Lua here: EVAL/EVALSHA of the app's redis/token-bucket.lua
+ * (recognised by its SHA-1) runs the same arithmetic in Java; any other
+ * script gets NOSCRIPT.
+ */
+final class RespStandIn implements Closeable {
+
+    private final ServerSocket server;
+    private final ExecutorService connections = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "resp-stand-in");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Map<String, Entry> data = new ConcurrentHashMap<>();
+    private final AtomicLong commands = new AtomicLong();
+    private final String tokenBucketSha;
+
+    RespStandIn() throws IOException {
+        try (InputStream script = RespStandIn.class.getClassLoader().getResourceAsStream("redis/token-bucket.lua")) {
+            if (script == null) {
+                throw new IOException("redis/token-bucket.lua not on the classpath");
+            }
+            this.tokenBucketSha = sha1(new String(script.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        this.server = new ServerSocket(0, 128, InetAddress.getLoopbackAddress());
+        connections.execute(this::acceptLoop);
+    }
+
+    int port() {
+        return server.getLocalPort();
+    }
+
+    long commands() {
+        return commands.get();
+    }
+
+    /** Current value of a key, e.g. to read back an OTP the app just stored. */
+    String peek(String key) {
+        Entry entry = live(key);
+        return entry != null ? entry.value : null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+        connections.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                connections.execute(() -> serve(socket));
+            } catch (IOException e) {
+                return; // closed
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+             InputStream in = new BufferedInputStream(socket.getInputStream());
+             OutputStream out = new BufferedOutputStream(socket.getOutputStream())) {
+            while (true) {
+                List<String> command = readCommand(in);
+                commands.incrementAndGet();
+                execute(command, out);
+                if (in.available() == 0) {
+                    out.flush(); // keep pipelined replies together
+                }
+            }
+        } catch (EOFException e) {
+            // client went away
+        } catch (IOException e) {
+            // connection reset on shutdown
+        }
+    }
+
+    private void execute(List<String> command, OutputStream out) throws IOException {
+        String name = command.get(0).toUpperCase(Locale.ROOT);
+        switch (name) {
+            case "PING" -> simple(out, "PONG");
+            case "HELLO" -> error(out, "ERR unknown command 'HELLO'"); // Lettuce falls back to RESP2
+            case "CLIENT", "SELECT", "AUTH" -> simple(out, "OK");
+            case "GET" -> {
+                Entry entry = live(command.get(1));
+                bulk(out, entry != null ? entry.value : null);
+            }
+            case "SET" -> {
+                data.put(command.get(1), new Entry(command.get(2), expiry(command, 3)));
+                simple(out, "OK");
+            }
+            case "SETEX" -> {
+                data.put(command.get(1), new Entry(command.get(3), deadline(Long.parseLong(command.get(2)) * 1000)));
+                simple(out, "OK");
+            }
+            case "INCR" -> {
+                Entry updated = data.compute(command.get(1), (key, current) -> {
+                    boolean alive = current != null && !current.expired();
+                    long next = (alive ? Long.parseLong(current.value) : 0) + 1;
+                    return new Entry(Long.toString(next), alive ? current.expiresAt : 0);
+                });
+                integer(out, Long.parseLong(updated.value));
+            }
+            case "EXPIRE", "PEXPIRE" -> {
+                long ms = Long.parseLong(command.get(2)) * (name.equals("EXPIRE") ? 1000 : 1);
+                Entry updated = data.computeIfPresent(command.get(1), (key, current) ->
+                        current.expired() ? null : new Entry(current.value, deadline(ms)));
+                integer(out, updated != null ? 1 : 0);
+            }
+            case "TTL" -> {
+                Entry entry = live(command.get(1));
+                integer(out, entry == null ? -2
+                        : entry.expiresAt == 0 ? -1
+                        : Math.max(0, (entry.expiresAt - System.currentTimeMillis()) / 1000));
+            }
+            case "DEL", "UNLINK", "EXISTS" -> {
+                long n = 0;
+                for (String key : command.subList(1, command.size())) {
+                    boolean present = live(key) != null;
+                    if (present && !name.equals("EXISTS")) {
+                        data.remove(key);
+                    }
+                    n += present ? 1 : 0;
+                }
+                integer(out, n);
+            }
+            case "EVALSHA", "EVAL" -> {
+                String sha = name.equals("EVAL") ? sha1(command.get(1)) : command.get(1).toLowerCase(Locale.ROOT);
+                if (!sha.equals(tokenBucketSha)) {
+                    error(out, "NOSCRIPT No matching script (load-test stand-in)");
+                    return;
+                }
+                int keys = Integer.parseInt(command.get(2));
+                tokenBucket(command.get(3), command.subList(3 + keys, command.size()), out);
+            }
+            default -> error(out, "ERR unknown command '" + command.get(0) + "' (load-test stand-in)");
+        }
+    }
+
+    // redis/token-bucket.lua; the bucket is kept as "tokens:timestamp"
+    private void tokenBucket(String key, List<String> args, OutputStream out) throws IOException {
+        double capacity = Double.parseDouble(args.get(0));
+        double rate = Double.parseDouble(args.get(1));
+        double requested = Double.parseDouble(args.get(2));
+        long now = System.currentTimeMillis();
+        long[] reply = new long[3];
+        data.compute(key, (k, current) -> {
+            double tokens = capacity;
+            long ts = now;
+            if (current != null && !current.expired()) {
+                String[] state = current.value.split(":");
+                tokens = Double.parseDouble(state[0]);
+                ts = Long.parseLong(state[1]);
+            }
+            tokens = Math.min(capacity, tokens + Math.max(0, now - ts) * rate);
+            if (tokens >= requested) {
+                tokens -= requested;
+                reply[0] = 1;
+            } else {
+                reply[2] = (long) Math.ceil((requested - tokens) / rate);
+            }
+            reply[1] = (long) Math.floor(tokens);
+            return new Entry(tokens + ":" + now, deadline((long) Math.ceil(capacity / rate) + 1000));
+        });
+        out.write(("*" + reply.length + "\r\n").getBytes(StandardCharsets.UTF_8));
+        for (long value : reply) {
+            integer(out, value);
+        }
+    }
+
+    private static String sha1(String script) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-1").digest(script.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Entry live(String key) {
+        Entry entry = data.get(key);
+        if (entry != null && entry.expired()) {
+            data.remove(key, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    private static long expiry(List<String> command, int from) {
+        for (int i = from; i + 1 < command.size(); i++) {
+            String option = command.get(i).toUpperCase(Locale.ROOT);
+            if (option.equals("EX")) {
+                return deadline(Long.parseLong(command.get(i + 1)) * 1000);
+            }
+            if (option.equals("PX")) {
+                return deadline(Long.parseLong(command.get(i + 1)));
+            }
+        }
+        return 0;
+    }
+
+    private static long deadline(long ms) {
+        return System.currentTimeMillis() + ms;
+    }
+
+    // ---- RESP framing ----
+
+    private static List<String> readCommand(InputStream in) throws IOException {
+        int type = in.read();
+        if (type == -1) {
+            throw new EOFException();
+        }
+        if (type != '*') {
+            throw new IOException("expected array, got '" + (char) type + "'");
+        }
+        int count = Integer.parseInt(readLine(in));
+        List<String> parts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (in.read() != '$') {
+                throw new IOException("expected bulk string");
+            }
+            int length = Integer.parseInt(readLine(in));
+            byte[] bytes = in.readNBytes(length);
+            in.readNBytes(2); // CRLF
+            parts.add(new String(bytes, StandardCharsets.UTF_8));
+        }
+        return parts;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != '\r') {
+            if (c == -1) {
+                throw new EOFException();
+            }
+            line.append((char) c);
+        }
+        in.read(); // \n
+        return line.toString();
+    }
+
+    private static void simple(OutputStream out, String value) throws IOException {
+        out.write(('+' + value + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void error(OutputStream out, String message) throws IOException {
+        out.write(('-' + message + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void integer(OutputStream out, long value) throws IOException {
+        out.write((":" + value + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void bulk(OutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.write("$-1\r\n".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.write(('$' + Integer.toString(bytes.length) + "\r\n").getBytes(StandardCharsets.UTF_8));
+        out.write(bytes);
+        out.write("\r\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private record Entry(String value, long expiresAt) {
+        boolean expired() {
+            return expiresAt != 0 && System.currentTimeMillis() >= expiresAt;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.agrowmart.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latencies per scripted step. Every sample is kept (a run is minutes, not
+ * hours), so percentiles are exact rather than bucketed.
+ */
+final class StepStats {
+
+    private final ConcurrentMap<String, Step> steps = new ConcurrentHashMap<>();
+
+    void record(String step, long nanos, boolean ok) {
+        steps.computeIfAbsent(step, Step::new).add(nanos, ok);
+    }
+
+    /** Steps in the order they were first seen, which is the flow order. */
+    Map<String, Summary> summarize(double elapsedSeconds) {
+        Map<String, Summary> result = new LinkedHashMap<>();
+        steps.values().stream()
+                .sorted((a, b) -> Long.compare(a.firstSeen, b.firstSeen))
+                .forEach(step -> result.put(step.name, step.summary(elapsedSeconds)));
+        return result;
+    }
+
+    record Summary(long count, long errors, double throughput,
+                   double meanMs, double p50Ms, double p95Ms, double p99Ms, double maxMs) {}
+
+    private static final class Step {
+        private static final AtomicLong ORDER = new AtomicLong();
+
+        final String name;
+        final long firstSeen = ORDER.incrementAndGet();
+        private long[] samples = new long[1024];
+        private int size;
+        private long errors;
+
+        Step(String name) {
+            this.name = name;
+        }
+
+        synchronized void add(long nanos, boolean ok) {
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = nanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        synchronized Summary summary(double elapsedSeconds) {
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            double mean = size == 0 ? 0 : Arrays.stream(sorted).average().orElse(0);
+            return new Summary(size, errors, size / elapsedSeconds,
+                    ms(mean), ms(percentile(sorted, 50)), ms(percentile(sorted, 95)),
+                    ms(percentile(sorted, 99)), ms(size == 0 ? 0 : sorted[size - 1]));
+        }
+
+        // nearest-rank
+        private static long percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+            return sorted[Math.max(0, rank - 1)];
+        }
+
+        private static double ms(double nanos) {
+            return Math.round(nanos / 10_000.0) / 100.0;
+        }
+    }
+}
@@ -54,11 +54,7 @@ public class AdminAgriProductController {
     // Get all approved products
     @GetMapping("/approved")
     public ResponseEntity<List<AgriProductResponseDTO>> getApprovedProducts() {
-        List<BaseAgriProduct> approvedProducts = adminService.getApprovedProducts();
-        List<AgriProductResponseDTO> dtos = approvedProducts.stream()
-                .map(agriProductService::entityToDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(adminService.getApprovedProductDtos());
     }
 
     // Approve a product
@@ -9,6 +9,7 @@ import com.agrowmart.repository.AgriProductRepository;
 import com.agrowmart.service.AgriProductService;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
@@ -16,17 +17,26 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
 @Service
 public class AdminAgriProductService {
 
+    private static final int APPROVED_CHUNK = 500;
+
     @Autowired
     private AgriProductRepository agriProductRepository;
 
     @Autowired
     private AgriProductService agriProductService;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     // Get all pending products
     public List<BaseAgriProduct> getPendingProducts() {
         return agriProductRepository.findAllPending();
@@ -42,6 +52,29 @@ public class AdminAgriProductService {
         return agriProductRepository.findAllApproved();
     }
 
+    /**
+     * Approved products as DTOs, read in keyset chunks of APPROVED_CHUNK rows
+     * (vendor join-fetched). The persistence context is cleared after each
+     * chunk, so only the DTOs grow with the catalogue, not the managed entities.
+     */
+    @Transactional(readOnly = true)
+    public List<AgriProductResponseDTO> getApprovedProductDtos() {
+        List<AgriProductResponseDTO> dtos = new ArrayList<>();
+        long afterId = 0L;
+        while (true) {
+            List<BaseAgriProduct> chunk = agriProductRepository.findChunkByApprovalStatus(
+                    ApprovalStatus.APPROVED, afterId, PageRequest.of(0, APPROVED_CHUNK));
+            for (BaseAgriProduct product : chunk) {
+                dtos.add(agriProductService.entityToDto(product));
+            }
+            if (chunk.size() < APPROVED_CHUNK) {
+                return dtos;
+            }
+            afterId = chunk.get(chunk.size() - 1).getId();
+            entityManager.clear();
+        }
+    }
+
     // Search pending products
     public List<BaseAgriProduct> searchPendingProducts(String keyword) {
         // You might want to add a specific query method in repository
@@ -0,0 +1,146 @@
+package com.agrowmart.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.agrowmart.exception.PasswordHashingBusyException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * BCrypt on a dedicated, bounded pool instead of the caller's thread.
+ *
+ * A hash is tens of milliseconds of pure CPU, so a login or registration
+ * spike running on Tomcat threads takes every core and starves the catalogue.
+ * Here at most {@code threads} hashes run at once; up to {@code queueCapacity}
+ * more wait, and beyond that callers are rejected at once with
+ * {@link PasswordHashingBusyException} (503) rather than queueing without end.
+ * A caller that waits longer than {@code timeoutMs} gives up the same way.
+ *
+ * {@link #upgradeEncoding} is true whenever the stored hash was made with a
+ * different cost than the configured one, so callers can rehash on a
+ * successful login after the cost is raised (or lowered).
+ *
+ * Metrics: password.hash {operation} (time on the pool),
+ * password.hash.wait (time queued), password.hash.queue / .active (gauges),
+ * password.hash.rejected {reason}.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final BCryptPasswordEncoder bcrypt;
+    private final int cost;
+    private final long timeoutMs;
+    private final ThreadPoolExecutor executor;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer waitTimer;
+    private final Counter rejectedQueueFull;
+    private final Counter rejectedTimeout;
+
+    public BoundedPasswordEncoder(int cost, int threads, int queueCapacity, long timeoutMs,
+                                  MeterRegistry meterRegistry) {
+        this.bcrypt = new BCryptPasswordEncoder(cost);
+        this.cost = cost;
+        this.timeoutMs = timeoutMs;
+        AtomicInteger threadNo = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "password-hash-" + threadNo.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+
+        this.encodeTimer = Timer.builder("password.hash").tag("operation", "encode").register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hash").tag("operation", "matches").register(meterRegistry);
+        this.waitTimer = Timer.builder("password.hash.wait").register(meterRegistry);
+        this.rejectedQueueFull = Counter.builder("password.hash.rejected").tag("reason", "queue_full").register(meterRegistry);
+        this.rejectedTimeout = Counter.builder("password.hash.rejected").tag("reason", "timeout").register(meterRegistry);
+        Gauge.builder("password.hash.queue", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> bcrypt.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> bcrypt.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int stored = costOf(encodedPassword);
+        return stored > 0 && stored != cost;
+    }
+
+    public int cost() {
+        return cost;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // $2a$10$<22 salt><31 hash>; 0 when it is not a BCrypt hash
+    static int costOf(String encoded) {
+        if (encoded == null || encoded.length() < 7 || encoded.charAt(0) != '$' || encoded.charAt(3) != '$'
+                || encoded.charAt(6) != '$') {
+            return 0;
+        }
+        char tens = encoded.charAt(4);
+        char units = encoded.charAt(5);
+        if (tens < '0' || tens > '9' || units < '0' || units > '9') {
+            return 0;
+        }
+        return (tens - '0') * 10 + (units - '0');
+    }
+
+    private <T> T run(Timer timer, Callable<T> work) {
+        long queuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return timer.recordCallable(work);
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedQueueFull.increment();
+            throw new PasswordHashingBusyException("Too many sign-in requests right now. Please try again shortly.");
+        }
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false); // still queued: skipped when dequeued; already running: left to finish
+            rejectedTimeout.increment();
+            throw new PasswordHashingBusyException("Too many sign-in requests right now. Please try again shortly.");
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException("Interrupted while waiting for password hashing");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
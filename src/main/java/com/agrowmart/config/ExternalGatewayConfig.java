@@ -0,0 +1,53 @@
+package com.agrowmart.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+import com.agrowmart.service.external.CloudinaryMediaStorageGateway;
+import com.agrowmart.service.external.Fast2SmsGateway;
+import com.agrowmart.service.external.FirebasePushNotificationGateway;
+import com.agrowmart.service.external.MediaStorageGateway;
+import com.agrowmart.service.external.PushNotificationGateway;
+import com.agrowmart.service.external.RazorpayGateway;
+import com.agrowmart.service.external.RazorpayHttpGateway;
+import com.agrowmart.service.external.SmsGateway;
+
+/**
+ * The real third-party clients (FCM, Razorpay, Cloudinary, Fast2SMS).
+ * external.fakes.enabled=true swaps all of them for the in-process fakes,
+ * which exist only on the test classpath (load tests); in the packaged app
+ * that setting leaves no gateways at all and startup fails.
+ */
+@Configuration
+@ConditionalOnProperty(name = "external.fakes.enabled", havingValue = "false", matchIfMissing = true)
+public class ExternalGatewayConfig {
+
+    @Bean
+    public PushNotificationGateway pushNotificationGateway() {
+        return new FirebasePushNotificationGateway();
+    }
+
+    @Bean
+    public RazorpayGateway razorpayGateway(@Value("${razorpay.key}") String keyId,
+                                           @Value("${razorpay.secret}") String keySecret) {
+        return new RazorpayHttpGateway(new RestTemplate(), keyId, keySecret);
+    }
+
+    @Bean
+    public MediaStorageGateway mediaStorageGateway(@Value("${cloudinary.cloud-name}") String cloudName,
+                                                   @Value("${cloudinary.api-key}") String apiKey,
+                                                   @Value("${cloudinary.api-secret}") String apiSecret) {
+        return new CloudinaryMediaStorageGateway(cloudName, apiKey, apiSecret);
+    }
+
+    @Bean
+    public SmsGateway smsGateway(@Value("${fast2sms.base-url}") String baseUrl,
+                                 @Value("${fast2sms.authorization}") String authorization,
+                                 @Value("${fast2sms.sender_id}") String senderId,
+                                 @Value("${fast2sms.route}") String route) {
+        return new Fast2SmsGateway(new RestTemplate(), baseUrl, authorization, senderId, route);
+    }
+}
@@ -102,6 +102,9 @@ import com.agrowmart.entity.customer.Customer;
 import com.agrowmart.repository.UserRepository;
 import com.agrowmart.repository.customer.CustomerRepository;
 import com.agrowmart.util.JwtUtil;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -126,13 +129,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtUtil jwtUtil;
     private final UserRepository userRepository;
     private final CustomerRepository customerRepository;
+    private final MeterRegistry meterRegistry;
 
     public JwtAuthenticationFilter(JwtUtil jwtUtil,
                                    UserRepository userRepository,
-                                   CustomerRepository customerRepository) {
+                                   CustomerRepository customerRepository,
+                                   MeterRegistry meterRegistry) {
         this.jwtUtil = jwtUtil;
         this.userRepository = userRepository;
         this.customerRepository = customerRepository;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
@@ -142,8 +148,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String header = request.getHeader("Authorization");
 
+        // only this filter's own work is timed, not the rest of the chain
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String userTypeTag = "none";
+        String outcome = "no_token";
+
         if (header != null && header.startsWith("Bearer ")) {
             String token = header.substring(7);
+            outcome = "skipped";
 
             try {
                 Long userId = jwtUtil.extractUserId(token);
@@ -153,27 +165,37 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     SecurityContextHolder.getContext().getAuthentication() == null) {
 
                     if ("vendor".equalsIgnoreCase(userType)) {
-                        authenticateVendor(userId, token, request);
+                        userTypeTag = "vendor";
+                        outcome = authenticateVendor(userId, token, request) ? "authenticated" : "rejected";
 
                     } else if ("customer".equalsIgnoreCase(userType)) {
-                        authenticateCustomer(userId, token, request);
+                        userTypeTag = "customer";
+                        outcome = authenticateCustomer(userId, token, request) ? "authenticated" : "rejected";
 
                     } else {
+                        userTypeTag = "unknown";
+                        outcome = "rejected";
                         logger.warn("Unknown user type in JWT: {}", userType);
                     }
                 }
 
             } catch (Exception e) {
+                outcome = "invalid";
                 logger.warn("JWT processing failed: {}", e.getMessage());
             }
         } else {
             logger.debug("No Bearer token found for request: {}", request.getRequestURI());
         }
 
+        sample.stop(Timer.builder("auth.jwt.filter")
+                .tag("user_type", userTypeTag)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+
         chain.doFilter(request, response);
     }
 
-    private void authenticateVendor(Long userId, String token, HttpServletRequest request) {
+    private boolean authenticateVendor(Long userId, String token, HttpServletRequest request) {
         User user = userRepository.findById(userId).orElse(null);
 
         if (user != null && jwtUtil.validateToken(token, userId)) {
@@ -188,12 +210,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             SecurityContextHolder.getContext().setAuthentication(auth);
 
             logger.debug("Authenticated VENDOR: {} (ID: {}) with role: {}", user.getName(), user.getId(), role);
-        } else {
-            logger.warn("Invalid vendor JWT for userId: {}", userId);
+            return true;
         }
+        logger.warn("Invalid vendor JWT for userId: {}", userId);
+        return false;
     }
 
-    private void authenticateCustomer(Long userId, String token, HttpServletRequest request) {
+    private boolean authenticateCustomer(Long userId, String token, HttpServletRequest request) {
         Customer customer = customerRepository.findById(userId).orElse(null);
 
         if (customer != null && jwtUtil.validateToken(token, userId)) {
@@ -206,8 +229,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             SecurityContextHolder.getContext().setAuthentication(auth);
 
             logger.debug("Authenticated CUSTOMER: {} (ID: {})", customer.getFullName(), customer.getId());
-        } else {
-            logger.warn("Invalid customer JWT for userId: {}", userId);
+            return true;
         }
+        logger.warn("Invalid customer JWT for userId: {}", userId);
+        return false;
     }
 }
\ No newline at end of file
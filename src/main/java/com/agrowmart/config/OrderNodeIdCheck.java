@@ -0,0 +1,25 @@
+package com.agrowmart.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+import com.agrowmart.util.OrderIdGenerator;
+
+/**
+ * Fails startup when agrowmart.node-id-required=true (prod) and no node id is
+ * set, instead of letting OrderIdGenerator fall back to a hostname hash that
+ * two replicas can share. Also resolves the id eagerly, so a value outside
+ * 0..1023 stops the boot rather than the first order.
+ */
+@Configuration
+@ConditionalOnProperty(name = "agrowmart.node-id-required", havingValue = "true")
+public class OrderNodeIdCheck {
+
+    public OrderNodeIdCheck() {
+        if (!OrderIdGenerator.isNodeIdConfigured()) {
+            throw new IllegalStateException("AGROWMART_NODE_ID (or -Dagrowmart.node-id) must be set to a value "
+                    + "between 0 and 1023 that is unique per running instance");
+        }
+        OrderIdGenerator.defaultNodeId();
+    }
+}
@@ -0,0 +1,95 @@
+package com.agrowmart.config;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.agrowmart.config.datasource.ReadWriteRoutingDataSource;
+import com.agrowmart.config.datasource.ReadYourWritesTracker;
+import com.agrowmart.config.datasource.ReplicaAwareTransactionManager;
+import com.agrowmart.config.datasource.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * datasource.replicas.enabled=true → @Transactional(readOnly = true) runs on
+ * MySQL read replicas (datasource.replicas.urls, comma separated), everything
+ * else on spring.datasource.*. Off by default: a single primary as before.
+ * See docker/mysql-replica for a local primary + replica pair.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replicas.enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${datasource.replicas.read-your-writes-ms:5000}") long windowMs) {
+        return new ReadYourWritesTracker(windowMs);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            DataSourceProperties properties,
+            @Value("${datasource.replicas.urls}") List<String> urls,
+            @Value("${datasource.replicas.username:${spring.datasource.username}}") String username,
+            @Value("${datasource.replicas.password:${spring.datasource.password}}") String password,
+            @Value("${datasource.replicas.pool-size:20}") int poolSize,
+            @Value("${datasource.replicas.max-lag-seconds:5}") long maxLagSeconds,
+            MeterRegistry meterRegistry) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(urls.get(i).trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setMaximumPoolSize(poolSize);
+            replica.setReadOnly(true);
+            replicas.put(replica.getPoolName(), replica);
+        }
+        return new ReplicaLagMonitor(replicas, maxLagSeconds, meterRegistry);
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReadWriteRoutingDataSource routingDataSource(HikariDataSource primaryDataSource,
+                                                        ReplicaLagMonitor replicaLagMonitor,
+                                                        ReadYourWritesTracker readYourWritesTracker,
+                                                        MeterRegistry meterRegistry) {
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicaLagMonitor, readYourWritesTracker, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        // defers the physical connection until the read-only flag is bound to the thread
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public ReplicaAwareTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+                                                             ReadYourWritesTracker readYourWritesTracker) {
+        return new ReplicaAwareTransactionManager(entityManagerFactory, readYourWritesTracker);
+    }
+}
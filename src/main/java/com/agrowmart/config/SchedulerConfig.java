@@ -1,11 +1,46 @@
 package com.agrowmart.config;
 
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 
+/**
+ * Enables @Scheduled on a dedicated pool, so one long job (settlements, user
+ * purge) cannot hold up the frequent ones (token sweep, index reloads).
+ * Cluster-wide jobs additionally go through ScheduledJobRunner.
+ */
 @Configuration
 @EnableScheduling
-public class SchedulerConfig {
-    // Empty; enables @Scheduled
-}
\ No newline at end of file
+public class SchedulerConfig implements SchedulingConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(SchedulerConfig.class);
+
+    private final int poolSize;
+
+    public SchedulerConfig(@Value("${spring.task.scheduling.pool.size:4}") int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    @Bean
+    public ThreadPoolTaskScheduler scheduledJobsTaskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("scheduled-job-");
+        scheduler.setErrorHandler(t -> log.error("Unhandled error in scheduled task: {}", t.getMessage(), t));
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(30);
+        return scheduler;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.setTaskScheduler(scheduledJobsTaskScheduler());
+    }
+}
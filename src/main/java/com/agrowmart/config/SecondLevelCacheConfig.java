@@ -0,0 +1,41 @@
+package com.agrowmart.config;
+
+import java.util.UUID;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import com.agrowmart.config.cache.ClusterCacheInvalidator;
+import com.agrowmart.service.websocket.RedisClusterMessageBus;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * cache.l2.invalidation=redis → a write to a second-level cached entity
+ * evicts that entity type on every other node. Off by default: each node's
+ * cache then only expires (see hibernate-l2cache.conf).
+ */
+@Configuration
+@ConditionalOnProperty(name = "cache.l2.invalidation", havingValue = "redis")
+public class SecondLevelCacheConfig {
+
+    @Bean
+    public RedisMessageListenerContainer l2CacheListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    @Bean
+    public ClusterCacheInvalidator clusterCacheInvalidator(EntityManagerFactory entityManagerFactory,
+                                                           StringRedisTemplate redisTemplate,
+                                                           RedisMessageListenerContainer l2CacheListenerContainer) {
+        return new ClusterCacheInvalidator(entityManagerFactory,
+                new RedisClusterMessageBus(redisTemplate, l2CacheListenerContainer),
+                UUID.randomUUID().toString());
+    }
+}
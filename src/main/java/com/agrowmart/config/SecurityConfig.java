@@ -2,12 +2,12 @@
 package com.agrowmart.config;
 
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -17,18 +17,30 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.List;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Configuration
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtFilter;
+    private final int managementPort;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtFilter,
+                          @Value("${management.server.port:-1}") int managementPort) {
         this.jwtFilter = jwtFilter;
+        this.managementPort = managementPort;
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    // BCrypt on its own bounded pool (BoundedPasswordEncoder); hash-threads=0 means one per core
+    @Bean(destroyMethod = "shutdown")
+    public PasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${security.password.bcrypt-cost:10}") int cost,
+            @Value("${security.password.hash-threads:0}") int threads,
+            @Value("${security.password.hash-queue:64}") int queueCapacity,
+            @Value("${security.password.hash-timeout-ms:5000}") long timeoutMs) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(cost, poolSize, queueCapacity, timeoutMs, meterRegistry);
     }
 
     @Bean
@@ -94,6 +106,12 @@ public class SecurityConfig {
                 // ──────────────────────────────────────────────
                 .requestMatchers("/ws/**", "/ws").permitAll()  // ← Required for real-time
 
+                // Prometheus scrape, only on the management port (never routed publicly);
+                // the public port does not serve /actuator/** at all
+                .requestMatchers(request -> request.getLocalPort() == managementPort
+                        && HttpMethod.GET.matches(request.getMethod())
+                        && "/actuator/prometheus".equals(request.getRequestURI())).permitAll()
+
                 // ──────────────────────────────────────────────
                 // 3. PROTECTED ENDPOINTS (Require authentication + role)
                 // ──────────────────────────────────────────────
@@ -132,7 +150,8 @@ public class SecurityConfig {
                 .requestMatchers(
                         "/api/orders/{orderId}/scan",
                         "/api/orders/{orderId}/deliver",
-                        "/api/orders/delivery/active"
+                        "/api/orders/delivery/active",
+                        "/api/orders/delivery/pickup-topics"
                 ).hasAuthority("DELIVERY")
 
                 // Doctor protected routes
@@ -0,0 +1,88 @@
+package com.agrowmart.config;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import com.agrowmart.entity.User;
+import com.agrowmart.repository.UserRepository;
+import com.agrowmart.service.websocket.StompPrincipals;
+import com.agrowmart.util.JwtUtil;
+
+/**
+ * Authenticates STOMP sessions from the "Authorization: Bearer ..." header of
+ * the CONNECT frame, same token rules as {@link JwtAuthenticationFilter}.
+ *
+ * The session principal's name is "customer:{id}" or "user:{id}"
+ * ({@link StompPrincipals}), which is what /user/{name}/queue/...
+ * destinations are addressed by; customer and user ids overlap, so the bare
+ * id would deliver one account's order updates to another. Connections
+ * without a token are still accepted (public topics) but have no principal.
+ */
+@Component
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(StompAuthChannelInterceptor.class);
+
+    private final JwtUtil jwtUtil;
+    private final UserRepository userRepository;
+
+    public StompAuthChannelInterceptor(JwtUtil jwtUtil, UserRepository userRepository) {
+        this.jwtUtil = jwtUtil;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || !StompCommand.CONNECT.equals(accessor.getCommand())) {
+            return message;
+        }
+
+        String header = accessor.getFirstNativeHeader("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) {
+            return message;
+        }
+
+        String token = header.substring(7);
+        try {
+            Long userId = jwtUtil.extractUserId(token);
+            String userType = jwtUtil.extractUserType(token);
+            if (userId == null || userType == null || !jwtUtil.validateToken(token, userId)) {
+                return message;
+            }
+
+            String authority;
+            String principal;
+            if ("vendor".equalsIgnoreCase(userType)) {
+                User user = userRepository.findById(userId).orElse(null);
+                if (user == null || user.getRole() == null) {
+                    return message;
+                }
+                authority = user.getRole().getName();
+                principal = StompPrincipals.user(userId);
+            } else if ("customer".equalsIgnoreCase(userType)) {
+                authority = "CUSTOMER";
+                principal = StompPrincipals.customer(userId);
+            } else {
+                return message;
+            }
+
+            accessor.setUser(new UsernamePasswordAuthenticationToken(
+                    principal, null, List.of(new SimpleGrantedAuthority(authority))));
+        } catch (Exception e) {
+            log.warn("STOMP CONNECT token rejected: {}", e.getMessage());
+        }
+        return message;
+    }
+}
@@ -0,0 +1,60 @@
+package com.agrowmart.config;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import com.agrowmart.service.websocket.ClusterMessageBus;
+import com.agrowmart.service.websocket.ClusterSessionRegistry;
+import com.agrowmart.service.websocket.ClusterStompMessageRelay;
+import com.agrowmart.service.websocket.RedisClusterMessageBus;
+import com.agrowmart.service.websocket.RedisClusterSessionRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * websocket.broker.mode=redis → STOMP messages reach clients on every app
+ * instance, not just the one that produced them. Default ("simple") keeps the
+ * single-node LocalStompMessageRelay.
+ */
+@Configuration
+@ConditionalOnProperty(name = "websocket.broker.mode", havingValue = "redis")
+public class WebSocketClusterConfig {
+
+    @Bean
+    public RedisMessageListenerContainer stompRelayListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    @Bean
+    public ClusterMessageBus clusterMessageBus(StringRedisTemplate redisTemplate,
+                                               RedisMessageListenerContainer stompRelayListenerContainer) {
+        return new RedisClusterMessageBus(redisTemplate, stompRelayListenerContainer);
+    }
+
+    @Bean
+    public ClusterSessionRegistry clusterSessionRegistry(
+            StringRedisTemplate redisTemplate,
+            @Value("${websocket.cluster.session-ttl-hours:24}") long sessionTtlHours) {
+        return new RedisClusterSessionRegistry(redisTemplate, Duration.ofHours(sessionTtlHours));
+    }
+
+    @Bean
+    public ClusterStompMessageRelay clusterStompMessageRelay(SimpMessagingTemplate template,
+                                                             ObjectMapper objectMapper,
+                                                             ClusterMessageBus clusterMessageBus,
+                                                             ClusterSessionRegistry clusterSessionRegistry) {
+        // fresh id per process: a restarted node must not receive messages meant for its old sessions
+        String nodeId = UUID.randomUUID().toString();
+        return new ClusterStompMessageRelay(template, objectMapper, clusterMessageBus, clusterSessionRegistry, nodeId);
+    }
+}
@@ -1,6 +1,8 @@
 package com.agrowmart.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
@@ -11,8 +13,30 @@ import org.springframework.web.socket.config.annotation.WebSocketTransportRegist
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    // Per-session send buffer: a slow client is disconnected once it falls this far behind
+    @Value("${websocket.send-buffer-size-kb:512}")
+    private int sendBufferSizeKb;
+
+    @Value("${websocket.send-time-limit-ms:15000}")
+    private int sendTimeLimitMs;
+
+    // Bounded outbound pool so a burst of updates queues instead of spawning threads
+    @Value("${websocket.outbound.pool-size:8}")
+    private int outboundPoolSize;
+
+    @Value("${websocket.outbound.queue-capacity:10000}")
+    private int outboundQueueCapacity;
+
+    private final StompAuthChannelInterceptor stompAuthChannelInterceptor;
+
+    public WebSocketConfig(StompAuthChannelInterceptor stompAuthChannelInterceptor) {
+        this.stompAuthChannelInterceptor = stompAuthChannelInterceptor;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
+        // In "redis" broker mode each node still uses the simple broker for its own sessions;
+        // ClusterStompMessageRelay fans messages out between nodes (see WebSocketClusterConfig).
         config.enableSimpleBroker("/topic", "/queue");          // ← Broadcast + private
         config.setApplicationDestinationPrefixes("/app");      // ← Client sends here
         config.setUserDestinationPrefix("/user");              // ← For private messages
@@ -24,10 +48,25 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOriginPatterns("*")                  // ← Allow all origins (testing)
                 .withSockJS();                                  // ← SockJS fallback
     }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(stompAuthChannelInterceptor);   // ← JWT on CONNECT
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+                .corePoolSize(outboundPoolSize)
+                .maxPoolSize(outboundPoolSize)
+                .queueCapacity(outboundQueueCapacity);
+    }
+
     @Override
     public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
         registration.setMessageSizeLimit(128 * 1024);
+        registration.setSendBufferSizeLimit(sendBufferSizeKb * 1024);
+        registration.setSendTimeLimit(sendTimeLimitMs);
         System.out.println("WebSocket transport ready!");
     }
 }
-
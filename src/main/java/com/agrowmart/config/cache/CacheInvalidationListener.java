@@ -0,0 +1,45 @@
+package com.agrowmart.config.cache;
+
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Entity listener for second-level cached entities: after a write commits,
+ * asks {@link ClusterCacheInvalidator} (if cache.l2.invalidation=redis) to
+ * evict the other nodes' copies.
+ */
+public class CacheInvalidationListener {
+
+    private final ObjectProvider<ClusterCacheInvalidator> invalidator;
+
+    public CacheInvalidationListener(ObjectProvider<ClusterCacheInvalidator> invalidator) {
+        this.invalidator = invalidator;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        ClusterCacheInvalidator target = invalidator.getIfAvailable();
+        if (target == null) {
+            return;
+        }
+        Class<?> entityType = Hibernate.getClass(entity);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    target.entityChanged(entityType);
+                }
+            });
+        } else {
+            target.entityChanged(entityType);
+        }
+    }
+}
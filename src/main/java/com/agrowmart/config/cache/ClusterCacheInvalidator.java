@@ -0,0 +1,55 @@
+package com.agrowmart.config.cache;
+
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.agrowmart.service.websocket.ClusterMessageBus;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Tells the other nodes to drop their second-level cache copies of an
+ * entity type after a local commit changed it. The whole region goes (these
+ * are small, rarely written tables), together with the query cache, whose
+ * results may include the changed rows.
+ */
+public class ClusterCacheInvalidator {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterCacheInvalidator.class);
+
+    static final String CHANNEL = "l2cache:invalidate";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ClusterMessageBus messageBus;
+    private final String nodeId;
+
+    public ClusterCacheInvalidator(EntityManagerFactory entityManagerFactory,
+                                   ClusterMessageBus messageBus,
+                                   String nodeId) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.messageBus = messageBus;
+        this.nodeId = nodeId;
+        messageBus.subscribe(CHANNEL, this::onMessage);
+    }
+
+    /** Called after commit; the local cache is already up to date. */
+    public void entityChanged(Class<?> entityType) {
+        messageBus.publish(CHANNEL, nodeId + "|" + entityType.getName());
+    }
+
+    void onMessage(String message) {
+        int sep = message.indexOf('|');
+        if (sep < 0 || message.substring(0, sep).equals(nodeId)) {
+            return;
+        }
+        String typeName = message.substring(sep + 1);
+        try {
+            Class<?> entityType = Class.forName(typeName);
+            entityManagerFactory.getCache().evict(entityType);
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictDefaultQueryRegion();
+        } catch (ClassNotFoundException | IllegalArgumentException e) {
+            log.warn("Ignoring cache invalidation for unknown entity {}", typeName);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.agrowmart.config.cache;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Hit / miss / put counts and hit ratio per second-level cache region, plus
+ * the query cache:
+ * hibernate.l2cache.{hits,misses,puts,hit.ratio}{region} and
+ * hibernate.query.cache.{hits,misses,hit.ratio}.
+ * Needs hibernate.generate_statistics=true; without it nothing is bound.
+ */
+@Component
+public class SecondLevelCacheMetrics implements MeterBinder {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public SecondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!stats.isStatisticsEnabled()) {
+            return;
+        }
+
+        for (String region : stats.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStats = stats.getCacheRegionStatistics(region);
+            if (regionStats == null) {
+                continue;
+            }
+            FunctionCounter.builder("hibernate.l2cache.hits", regionStats, CacheRegionStatistics::getHitCount)
+                    .tag("region", region).register(registry);
+            FunctionCounter.builder("hibernate.l2cache.misses", regionStats, CacheRegionStatistics::getMissCount)
+                    .tag("region", region).register(registry);
+            FunctionCounter.builder("hibernate.l2cache.puts", regionStats, CacheRegionStatistics::getPutCount)
+                    .tag("region", region).register(registry);
+            Gauge.builder("hibernate.l2cache.hit.ratio", regionStats,
+                            s -> ratio(s.getHitCount(), s.getMissCount()))
+                    .tag("region", region).register(registry);
+        }
+
+        FunctionCounter.builder("hibernate.query.cache.hits", stats, Statistics::getQueryCacheHitCount)
+                .register(registry);
+        FunctionCounter.builder("hibernate.query.cache.misses", stats, Statistics::getQueryCacheMissCount)
+                .register(registry);
+        Gauge.builder("hibernate.query.cache.hit.ratio", stats,
+                        s -> ratio(s.getQueryCacheHitCount(), s.getQueryCacheMissCount()))
+                .register(registry);
+    }
+
+    static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,94 @@
+package com.agrowmart.config.datasource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sends @Transactional(readOnly = true) work to a healthy replica and
+ * everything else to the primary. Falls back to the primary when:
+ *   - the current user wrote within the read-your-writes window;
+ *   - no replica is within the allowed lag.
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy: the read-only flag is
+ * only bound to the thread after the transaction manager has asked for a
+ * connection, so the real connection has to be fetched on first use.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final Map<String, DataSource> replicas;
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker readYourWrites;
+
+    private final Counter toPrimaryForWrite;
+    private final Counter toPrimaryPinned;
+    private final Counter toPrimaryNoReplica;
+    private final Counter toReplica;
+
+    public ReadWriteRoutingDataSource(DataSource primary,
+                                      ReplicaLagMonitor lagMonitor,
+                                      ReadYourWritesTracker readYourWrites,
+                                      MeterRegistry meterRegistry) {
+        this.replicas = lagMonitor.replicas();
+        this.lagMonitor = lagMonitor;
+        this.readYourWrites = readYourWrites;
+
+        Map<Object, Object> targets = new HashMap<>(this.replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+
+        this.toPrimaryForWrite = routed(meterRegistry, PRIMARY, "write");
+        this.toPrimaryPinned = routed(meterRegistry, PRIMARY, "read_your_writes");
+        this.toPrimaryNoReplica = routed(meterRegistry, PRIMARY, "no_healthy_replica");
+        this.toReplica = routed(meterRegistry, "replica", "read_only");
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            toPrimaryForWrite.increment();
+            return PRIMARY;
+        }
+        if (readYourWrites.isPinned(ReadYourWritesTracker.currentUserKey())) {
+            toPrimaryPinned.increment();
+            return PRIMARY;
+        }
+        String replica = lagMonitor.pick();
+        if (replica == null) {
+            toPrimaryNoReplica.increment();
+            return PRIMARY;
+        }
+        toReplica.increment();
+        return replica;
+    }
+
+    /** Closes the replica pools; the primary pool is a bean of its own. */
+    public void close() {
+        replicas.values().forEach(ReadWriteRoutingDataSource::closeIfPool);
+    }
+
+    private static void closeIfPool(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource pool) {
+            pool.close();
+        }
+    }
+
+    private static Counter routed(MeterRegistry registry, String target, String reason) {
+        return Counter.builder("datasource.routing")
+                .tag("target", target).tag("reason", reason)
+                .register(registry);
+    }
+}
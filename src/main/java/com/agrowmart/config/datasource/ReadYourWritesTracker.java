@@ -0,0 +1,80 @@
+package com.agrowmart.config.datasource;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.agrowmart.entity.User;
+import com.agrowmart.entity.customer.Customer;
+
+/**
+ * Remembers who wrote recently, so their read-only transactions stay on the
+ * primary for a short window and they never read their own write back from
+ * a replica that has not caught up yet.
+ *
+ * The window is per node; with several app instances behind a non-sticky
+ * load balancer it should be at least the replicas' usual lag.
+ */
+public class ReadYourWritesTracker {
+
+    private static final int CLEANUP_THRESHOLD = 50_000;
+
+    private final long windowNanos;
+    private final LongSupplier clock;
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(long windowMs) {
+        this(windowMs, System::nanoTime);
+    }
+
+    ReadYourWritesTracker(long windowMs, LongSupplier clock) {
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.clock = clock;
+    }
+
+    public void recordWrite(String userKey) {
+        if (userKey == null || windowNanos <= 0) {
+            return;
+        }
+        if (pinnedUntil.size() > CLEANUP_THRESHOLD) {
+            long now = clock.getAsLong();
+            pinnedUntil.values().removeIf(until -> until - now <= 0);
+        }
+        pinnedUntil.put(userKey, clock.getAsLong() + windowNanos);
+    }
+
+    public boolean isPinned(String userKey) {
+        if (userKey == null) {
+            return false;
+        }
+        Long until = pinnedUntil.get(userKey);
+        if (until == null) {
+            return false;
+        }
+        if (until - clock.getAsLong() > 0) {
+            return true;
+        }
+        pinnedUntil.remove(userKey, until);
+        return false;
+    }
+
+    /** Stable key for the authenticated vendor / customer of this thread, or null when anonymous. */
+    public static String currentUserKey() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated()) {
+            return null;
+        }
+        Object principal = auth.getPrincipal();
+        if (principal instanceof User user && user.getId() != null) {
+            return "user:" + user.getId();
+        }
+        if (principal instanceof Customer customer && customer.getId() != null) {
+            return "customer:" + customer.getId();
+        }
+        return "anonymousUser".equals(principal) ? null : "name:" + auth.getName();
+    }
+}
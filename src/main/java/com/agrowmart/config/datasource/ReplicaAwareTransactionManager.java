@@ -0,0 +1,28 @@
+package com.agrowmart.config.datasource;
+
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * JpaTransactionManager that starts the caller's read-your-writes window
+ * whenever a read-write transaction commits.
+ */
+public class ReplicaAwareTransactionManager extends JpaTransactionManager {
+
+    private final transient ReadYourWritesTracker readYourWrites;
+
+    public ReplicaAwareTransactionManager(EntityManagerFactory emf, ReadYourWritesTracker readYourWrites) {
+        super(emf);
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+        super.doCommit(status);
+        if (!status.isReadOnly()) {
+            readYourWrites.recordWrite(ReadYourWritesTracker.currentUserKey());
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.agrowmart.config.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Polls every replica's replication lag and keeps the list of replicas that
+ * may serve reads. A replica is taken out when its lag exceeds the limit,
+ * replication is stopped (lag NULL) or the check itself fails, and comes
+ * back on the first good check.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    /** Returns the replica's lag in seconds, or null if replication is not running. */
+    @FunctionalInterface
+    interface LagProbe {
+        Long lagSeconds(DataSource replica) throws SQLException;
+    }
+
+    private final Map<String, DataSource> replicas;
+    private final long maxLagSeconds;
+    private final LagProbe probe;
+    private final Map<String, Long> lastLag = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile List<String> healthy = List.of();
+
+    public ReplicaLagMonitor(Map<String, DataSource> replicas, long maxLagSeconds, MeterRegistry meterRegistry) {
+        this(replicas, maxLagSeconds, ReplicaLagMonitor::showReplicaStatus);
+        for (String key : replicas.keySet()) {
+            Gauge.builder("datasource.replica.lag.seconds", lastLag, m -> m.getOrDefault(key, -1L))
+                    .tag("replica", key).register(meterRegistry);
+        }
+        Gauge.builder("datasource.replica.healthy", this, m -> m.healthy.size()).register(meterRegistry);
+    }
+
+    ReplicaLagMonitor(Map<String, DataSource> replicas, long maxLagSeconds, LagProbe probe) {
+        this.replicas = replicas;
+        this.maxLagSeconds = maxLagSeconds;
+        this.probe = probe;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replicas.lag-check-ms:5000}")
+    public void refresh() {
+        List<String> ok = new ArrayList<>(replicas.size());
+        replicas.forEach((key, dataSource) -> {
+            try {
+                Long lag = probe.lagSeconds(dataSource);
+                lastLag.put(key, lag == null ? -1L : lag);
+                if (lag != null && lag <= maxLagSeconds) {
+                    ok.add(key);
+                } else if (healthy.contains(key)) {
+                    log.warn("Replica {} removed from read pool: lag={}s (max {}s)", key, lag, maxLagSeconds);
+                }
+            } catch (Exception e) {
+                lastLag.put(key, -1L);
+                if (healthy.contains(key)) {
+                    log.warn("Replica {} removed from read pool: lag check failed: {}", key, e.getMessage());
+                }
+            }
+        });
+        for (String key : ok) {
+            if (!healthy.contains(key)) {
+                log.info("Replica {} serving reads", key);
+            }
+        }
+        healthy = List.copyOf(ok);
+    }
+
+    /** Next healthy replica (round robin), or null if none may serve reads. */
+    public String pick() {
+        List<String> candidates = healthy;
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+
+    public Map<String, DataSource> replicas() {
+        return replicas;
+    }
+
+    public List<String> healthyReplicas() {
+        return healthy;
+    }
+
+    static Long showReplicaStatus(DataSource replica) throws SQLException {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(2);
+            try (ResultSet rs = statement.executeQuery("SHOW REPLICA STATUS")) {
+                if (!rs.next()) {
+                    return null; // not configured as a replica
+                }
+                ResultSetMetaData meta = rs.getMetaData();
+                for (int i = 1; i <= meta.getColumnCount(); i++) {
+                    String column = meta.getColumnLabel(i);
+                    // MySQL 8.0.22+ name, older servers use the _Master spelling
+                    if ("Seconds_Behind_Source".equalsIgnoreCase(column) || "Seconds_Behind_Master".equalsIgnoreCase(column)) {
+                        long lag = rs.getLong(i);
+                        return rs.wasNull() ? null : lag;
+                    }
+                }
+                return null;
+            }
+        }
+    }
+}
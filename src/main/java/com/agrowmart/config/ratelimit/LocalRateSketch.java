@@ -0,0 +1,59 @@
+package com.agrowmart.config.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-node pre-filter in front of the Redis buckets: counts requests per key
+ * in fixed one-second windows and rejects a key once it is over
+ * {@code limitPerWindow} in the current window, without a Redis round-trip.
+ *
+ * Counters are striped, not per key: two rows of {@code width} slots, each
+ * key hashed to one slot per row, estimate = the smaller of the two
+ * (count-min sketch). Memory is fixed however many clients there are, and a
+ * collision can only over-count, so the limit is set where a key is certain
+ * to be over its global budget anyway (see {@link RateLimitPolicy#localLimitPerSecond()}).
+ * Each slot packs the window number (high 32 bits) with the count (low 32),
+ * so a slot from an old window starts over on its next hit, lock-free.
+ */
+final class LocalRateSketch {
+
+    private static final int ROWS = 2;
+
+    private final AtomicLongArray slots;
+    private final int mask;
+    private final long limitPerWindow;
+    private final LongSupplier clockMillis;
+
+    LocalRateSketch(int width, long limitPerWindow, LongSupplier clockMillis) {
+        if (Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("width must be a power of two, was " + width);
+        }
+        this.slots = new AtomicLongArray(ROWS * width);
+        this.mask = width - 1;
+        this.limitPerWindow = limitPerWindow;
+        this.clockMillis = clockMillis;
+    }
+
+    /** Counts one request for {@code key}; false if the key is already over the local limit. */
+    boolean tryAcquire(String key) {
+        long window = clockMillis.getAsLong() / 1000;
+        int h = key.hashCode();
+        // second row: an independent mix of the same hash
+        int h2 = Integer.reverse(h * 0x9E3779B9) ^ (h >>> 16);
+        long estimate = Math.min(increment(h & mask, window), increment(mask + 1 + (h2 & mask), window));
+        return estimate <= limitPerWindow;
+    }
+
+    private long increment(int slot, long window) {
+        while (true) {
+            long current = slots.get(slot);
+            long next = (current >>> 32) == (window & 0xFFFFFFFFL)
+                    ? current + 1
+                    : (window << 32) | 1;
+            if (slots.compareAndSet(slot, current, next)) {
+                return next & 0xFFFFFFFFL;
+            }
+        }
+    }
+}
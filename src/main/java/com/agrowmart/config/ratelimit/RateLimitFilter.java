@@ -0,0 +1,333 @@
+package com.agrowmart.config.ratelimit;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.agrowmart.config.ratelimit.RateLimitPolicy.KeyBy;
+import com.agrowmart.entity.User;
+import com.agrowmart.entity.customer.Customer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Per-route rate limits on the abuse-prone endpoints: login, OTP (send,
+ * verify, forgot-password), product search and order creation. A route may
+ * have several policies; the request must pass all of them.
+ *
+ * Each request first passes this node's {@link LocalRateSketch}, which turns
+ * away a client that is certainly over budget without touching Redis; the
+ * rest take a token from the shared {@link RedisTokenBucket}. Rejections are
+ * 429 with Retry-After. If Redis is unreachable the request is let through
+ * (the local pre-filter still applies) and counted as outcome=error.
+ *
+ * Runs right after the Spring Security chain, so per-user policies
+ * (order-create) can key by account. OTP send and verify are keyed by the
+ * phone number in the body (otp, otp-verify), so users sharing a carrier NAT
+ * do not share an OTP budget and a mistyped code does not use up sends; a
+ * looser per-IP policy (otp-ip) bounds one client cycling through numbers.
+ * The others key by client IP, which is
+ * the X-Forwarded-For client when the peer is a trusted proxy
+ * (server.forward-headers-strategy, server.tomcat.remoteip.internal-proxies).
+ * The catalogue browse routes (/api/public/products, filtered-products) are
+ * not limited: behind a carrier NAT many shoppers share one IP.
+ * Limits: ratelimit.{policy}.capacity / .refill-per-minute.
+ * Metric: ratelimit.requests {policy, outcome=allowed|rejected|rejected_local|error}.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+@ConditionalOnProperty(name = "ratelimit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
+    private static final int SKETCH_WIDTH = 4096;
+    // OTP bodies are a phone number and a code; anything larger is keyed by IP
+    private static final int MAX_TARGET_BODY_BYTES = 4096;
+
+    private final RedisTokenBucket buckets;
+    private final ObjectMapper objectMapper;
+    private final List<Route> routes = new ArrayList<>();
+    private final AntPathMatcher matcher = new AntPathMatcher();
+
+    public RateLimitFilter(RedisTokenBucket buckets, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                           Environment env) {
+        this.buckets = buckets;
+        this.objectMapper = objectMapper;
+
+        Limiter login = limiter(policy(env, "login", 10, 10, KeyBy.CLIENT_IP), meterRegistry);
+        route("POST", "/api/auth/login", login);
+        route("POST", "/api/customer/auth/login", login);
+        route("POST", "/api/farmer/login", login);
+        route("POST", "/api/admin/auth/login", login);
+
+        Limiter otpIp = limiter(policy(env, "otp-ip", 30, 10, KeyBy.CLIENT_IP), meterRegistry);
+        Limiter otp = limiter(policy(env, "otp", 5, 1, KeyBy.TARGET), meterRegistry);
+        Limiter otpVerify = limiter(policy(env, "otp-verify", 10, 5, KeyBy.TARGET), meterRegistry);
+        for (String base : List.of("/api/auth", "/api/customer/auth", "/api/farmer", "/api/doctors")) {
+            route("POST", base + "/send-otp", otpIp, otp);
+            route("POST", base + "/forgot-password", otpIp, otp);
+        }
+        route("POST", "/api/auth/verify-otp", otpIp, otpVerify);
+        route("POST", "/api/customer/auth/verify-otp", otpIp, otpVerify);
+        route("POST", "/api/admin/auth/forgot-password", otpIp, otp);
+
+        Limiter search = limiter(policy(env, "search", 60, 120, KeyBy.CLIENT_IP), meterRegistry);
+        route("POST", "/api/products/search", search);
+        route("GET", "/api/v1/agri/products/search", search);
+
+        Limiter orderCreate = limiter(policy(env, "order-create", 10, 10, KeyBy.ACCOUNT), meterRegistry);
+        route("POST", "/api/orders/create", orderCreate);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Route route = match(request);
+        if (route == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String target = null;
+        if (route.keyedByTarget()) {
+            CachedBodyRequest cached = CachedBodyRequest.of(request);
+            if (cached != null) {
+                request = cached; // the controller reads the body from the copy
+                target = target(cached.body);
+            }
+        }
+        for (Limiter limiter : route.limiters) {
+            if (!admit(limiter, clientKey(request, limiter.policy, target), request, response)) {
+                return;
+            }
+        }
+        chain.doFilter(request, response);
+    }
+
+    /** Takes a token for this key, or writes the 429 and returns false. */
+    private boolean admit(Limiter limiter, String client, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        RateLimitPolicy policy = limiter.policy;
+        if (!limiter.sketch.tryAcquire(client)) {
+            limiter.rejectedLocal.increment();
+            reject(request, response, 1000);
+            return false;
+        }
+        try {
+            RedisTokenBucket.Decision decision = buckets.tryAcquire(
+                    "ratelimit:" + policy.name() + ":" + client, policy.capacity(), policy.refillPerSecond());
+            if (!decision.allowed()) {
+                limiter.rejected.increment();
+                reject(request, response, decision.retryAfterMs());
+                return false;
+            }
+            limiter.allowed.increment();
+            response.setHeader("X-RateLimit-Remaining", Long.toString(decision.remaining()));
+        } catch (RuntimeException e) {
+            // fail open: an outage of the limiter must not take login and ordering down with it
+            limiter.errors.increment();
+            log.warn("Rate limit check for {} failed, allowing request: {}", policy.name(), e.getMessage());
+        }
+        return true;
+    }
+
+    private Route match(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Route route : routes) {
+            if (route.method.equals(request.getMethod()) && matcher.match(route.pattern, path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    /** "phone:" + last 10 digits, or "email:" + address, from a JSON body; null if neither. */
+    private String target(byte[] body) {
+        try {
+            JsonNode json = objectMapper.readTree(body);
+            if (json == null) {
+                return null;
+            }
+            String digits = json.path("phone").asText("").replaceAll("\\D", "");
+            if (digits.length() >= 10) {
+                return "phone:" + digits.substring(digits.length() - 10);
+            }
+            String email = json.path("email").asText("").trim().toLowerCase(Locale.ROOT);
+            return email.isEmpty() ? null : "email:" + email;
+        } catch (IOException e) {
+            return null; // not JSON; the controller rejects it, the IP policy still applies
+        }
+    }
+
+    private static String clientKey(HttpServletRequest request, RateLimitPolicy policy, String target) {
+        if (policy.keyBy() == KeyBy.TARGET && target != null) {
+            return target;
+        }
+        if (policy.keyBy() == KeyBy.ACCOUNT) {
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            Object principal = auth != null ? auth.getPrincipal() : null;
+            if (principal instanceof User user && user.getId() != null) {
+                return "user:" + user.getId();
+            }
+            if (principal instanceof Customer customer && customer.getId() != null) {
+                return "customer:" + customer.getId();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long retryAfterMs)
+            throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        body.put("error", "Too Many Requests");
+        body.put("message", "Too many requests. Please try again shortly.");
+        body.put("path", "uri=" + request.getRequestURI());
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, (retryAfterMs + 999) / 1000)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private void route(String method, String pattern, Limiter... limiters) {
+        routes.add(new Route(method, pattern, List.of(limiters)));
+    }
+
+    private static RateLimitPolicy policy(Environment env, String name, long capacity, double refillPerMinute,
+                                          KeyBy keyBy) {
+        return new RateLimitPolicy(name,
+                env.getProperty("ratelimit." + name + ".capacity", Long.class, capacity),
+                env.getProperty("ratelimit." + name + ".refill-per-minute", Double.class, refillPerMinute),
+                keyBy);
+    }
+
+    private static Limiter limiter(RateLimitPolicy policy, MeterRegistry meterRegistry) {
+        return new Limiter(policy,
+                new LocalRateSketch(SKETCH_WIDTH, policy.localLimitPerSecond(), System::currentTimeMillis),
+                meterRegistry);
+    }
+
+    private record Route(String method, String pattern, List<Limiter> limiters) {
+
+        boolean keyedByTarget() {
+            return limiters.stream().anyMatch(l -> l.policy.keyBy() == KeyBy.TARGET);
+        }
+    }
+
+    /** Request whose (small) body was read up front and is replayed to the controller. */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        /** Null when the body length is unknown or too large to buffer here. */
+        static CachedBodyRequest of(HttpServletRequest request) throws IOException {
+            int length = request.getContentLength();
+            if (length < 0 || length > MAX_TARGET_BODY_BYTES) {
+                return null;
+            }
+            return new CachedBodyRequest(request, request.getInputStream().readNBytes(length));
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+
+    private static final class Limiter {
+        final RateLimitPolicy policy;
+        final LocalRateSketch sketch;
+        final Counter allowed;
+        final Counter rejected;
+        final Counter rejectedLocal;
+        final Counter errors;
+
+        Limiter(RateLimitPolicy policy, LocalRateSketch sketch, MeterRegistry meterRegistry) {
+            this.policy = policy;
+            this.sketch = sketch;
+            this.allowed = counter(meterRegistry, policy, "allowed");
+            this.rejected = counter(meterRegistry, policy, "rejected");
+            this.rejectedLocal = counter(meterRegistry, policy, "rejected_local");
+            this.errors = counter(meterRegistry, policy, "error");
+        }
+
+        private static Counter counter(MeterRegistry meterRegistry, RateLimitPolicy policy, String outcome) {
+            return Counter.builder("ratelimit.requests")
+                    .tag("policy", policy.name())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+    }
+}
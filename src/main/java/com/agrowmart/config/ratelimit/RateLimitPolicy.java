@@ -0,0 +1,27 @@
+package com.agrowmart.config.ratelimit;
+
+/**
+ * One rate-limit policy: a token bucket of {@code capacity} tokens refilled
+ * at {@code refillPerMinute}, per key. {@link KeyBy#ACCOUNT} policies key
+ * authenticated requests by account, {@link KeyBy#TARGET} policies by the
+ * phone number (or email) in the request body; both fall back to the client
+ * IP when that is missing. {@link KeyBy#CLIENT_IP} policies always key by IP.
+ */
+public record RateLimitPolicy(String name, long capacity, double refillPerMinute, KeyBy keyBy) {
+
+    public enum KeyBy { CLIENT_IP, ACCOUNT, TARGET }
+
+    public double refillPerSecond() {
+        return refillPerMinute / 60.0;
+    }
+
+    /**
+     * Requests one key can make on one node within a one-second window while
+     * still possibly within its bucket: the full bucket plus one second of
+     * refill. Anything above that is rejected by Redis anyway, so the local
+     * pre-filter may reject it without asking.
+     */
+    public long localLimitPerSecond() {
+        return capacity + (long) Math.ceil(refillPerSecond());
+    }
+}
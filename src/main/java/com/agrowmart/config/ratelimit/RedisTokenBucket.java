@@ -0,0 +1,49 @@
+package com.agrowmart.config.ratelimit;
+
+import java.util.List;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * Token buckets kept in Redis and shared by every app node. Refill, take and
+ * TTL happen in one Lua script (redis/token-bucket.lua), so a check is a
+ * single round-trip (EVALSHA) and a bucket can never be left without an
+ * expiry.
+ */
+@Component
+public class RedisTokenBucket {
+
+    @SuppressWarnings("rawtypes")
+    static final RedisScript<List> SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/token-bucket.lua"), List.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisTokenBucket(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /** Outcome of one take: whether it was allowed, tokens left, and when one will be available. */
+    public record Decision(boolean allowed, long remaining, long retryAfterMs) {}
+
+    /**
+     * Takes one token from the bucket at {@code key}, creating it full.
+     * Redis errors propagate; callers decide whether to fail open.
+     */
+    public Decision tryAcquire(String key, long capacity, double refillPerSecond) {
+        List<?> result = redisTemplate.execute(SCRIPT, List.of(key),
+                Long.toString(capacity), Double.toString(refillPerSecond / 1000.0), "1");
+        if (result == null || result.size() < 3) {
+            throw new IllegalStateException("Unexpected token bucket reply for " + key + ": " + result);
+        }
+        return new Decision(toLong(result.get(0)) == 1, toLong(result.get(1)), toLong(result.get(2)));
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number n ? n.longValue() : Long.parseLong(value.toString());
+    }
+}
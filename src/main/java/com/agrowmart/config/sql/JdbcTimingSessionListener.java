@@ -0,0 +1,30 @@
+package com.agrowmart.config.sql;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds JDBC execution time (statements and batches) to the thread's
+ * {@link SqlStatementStats}. Registered with hibernate.session.events.auto.
+ */
+public class JdbcTimingSessionListener implements SessionEventListener {
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        SqlStatementStats.executionStarted();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlStatementStats.executionEnded();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        SqlStatementStats.executionStarted();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SqlStatementStats.executionEnded();
+    }
+}
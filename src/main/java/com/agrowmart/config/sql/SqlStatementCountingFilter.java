@@ -0,0 +1,103 @@
+package com.agrowmart.config.sql;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Counts the SQL statements each HTTP request runs (security filters,
+ * controller and open-in-view lazy loads during serialization included) and
+ * records them as http.server.requests.sql.statements / .sql.time, tagged
+ * with method and URI pattern. Requests above sql.stats.warn-threshold are
+ * logged: that is how an N+1 shows up.
+ *
+ * With sql.stats.response-header=true (not in prod) the counts are also sent
+ * as X-SQL-Statements / X-SQL-Time-Ms. The body is buffered for that, since
+ * lazy loads can still run while it is being written.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "sql.stats.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatementCountingFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementCountingFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int warnThreshold;
+    private final boolean responseHeader;
+
+    public SqlStatementCountingFilter(
+            MeterRegistry meterRegistry,
+            @Value("${sql.stats.warn-threshold:25}") int warnThreshold,
+            @Value("${sql.stats.response-header:false}") boolean responseHeader) {
+        this.meterRegistry = meterRegistry;
+        this.warnThreshold = warnThreshold;
+        this.responseHeader = responseHeader;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper buffered = responseHeader ? new ContentCachingResponseWrapper(response) : null;
+        try (SqlStatementStats stats = SqlStatementStats.start()) {
+            try {
+                chain.doFilter(request, buffered != null ? buffered : response);
+            } finally {
+                record(request, stats);
+                if (buffered != null) {
+                    buffered.setHeader(STATEMENTS_HEADER, String.valueOf(stats.statements()));
+                    buffered.setHeader(TIME_HEADER, String.valueOf(stats.executionMillis()));
+                    buffered.copyBodyToResponse();
+                }
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementStats stats) {
+        String uri = uriPattern(request);
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(1000.0)
+                .register(meterRegistry)
+                .record(stats.statements());
+        Timer.builder("http.server.requests.sql.time")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.executionNanos(), TimeUnit.NANOSECONDS);
+
+        if (stats.statements() > warnThreshold) {
+            log.warn("{} {} ran {} SQL statements ({} ms in JDBC), threshold {}",
+                    request.getMethod(), uri, stats.statements(), stats.executionMillis(), warnThreshold);
+        }
+    }
+
+    /** Matched handler pattern (/api/orders/{orderId}/status), never the raw URI. */
+    private static String uriPattern(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,87 @@
+package com.agrowmart.config.sql;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL statements Hibernate prepared, and JDBC time spent executing them, on
+ * the current thread since {@link #start()}. Fed by
+ * {@link StatementCountingInspector} and {@link JdbcTimingSessionListener};
+ * nothing is recorded while no stats are active on the thread.
+ *
+ * <pre>
+ * try (SqlStatementStats stats = SqlStatementStats.start()) {
+ *     ... work ...
+ *     stats.statements();
+ * }
+ * </pre>
+ *
+ * Closing restores whatever was active before, so scopes can nest.
+ * Plain JDBC (JdbcTemplate) bypasses Hibernate and is not counted.
+ */
+public final class SqlStatementStats implements AutoCloseable {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private final SqlStatementStats previous;
+    private int statements;
+    private long executionNanos;
+    private long executionStartedAt;
+
+    private SqlStatementStats(SqlStatementStats previous) {
+        this.previous = previous;
+    }
+
+    public static SqlStatementStats start() {
+        SqlStatementStats stats = new SqlStatementStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /** Stats active on this thread, or null. */
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    static void statementPrepared() {
+        SqlStatementStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+        }
+    }
+
+    static void executionStarted() {
+        SqlStatementStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.executionStartedAt = System.nanoTime();
+        }
+    }
+
+    static void executionEnded() {
+        SqlStatementStats stats = CURRENT.get();
+        if (stats != null && stats.executionStartedAt != 0) {
+            stats.executionNanos += System.nanoTime() - stats.executionStartedAt;
+            stats.executionStartedAt = 0;
+        }
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public long executionNanos() {
+        return executionNanos;
+    }
+
+    public long executionMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(executionNanos);
+    }
+
+    @Override
+    public void close() {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+}
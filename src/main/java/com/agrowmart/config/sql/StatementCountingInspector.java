@@ -0,0 +1,17 @@
+package com.agrowmart.config.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every SQL statement Hibernate prepares into the thread's
+ * {@link SqlStatementStats}; the SQL itself is returned unchanged.
+ * Registered with hibernate.session_factory.statement_inspector.
+ */
+public class StatementCountingInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementStats.statementPrepared();
+        return sql;
+    }
+}
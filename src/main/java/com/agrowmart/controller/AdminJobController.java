@@ -0,0 +1,55 @@
+package com.agrowmart.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.agrowmart.entity.DataMigrationRecord;
+import com.agrowmart.entity.ScheduledJobLock;
+import com.agrowmart.entity.ScheduledJobRun;
+import com.agrowmart.repository.DataMigrationRecordRepository;
+import com.agrowmart.repository.ScheduledJobLockRepository;
+import com.agrowmart.repository.ScheduledJobRunRepository;
+
+@RestController
+@RequestMapping("/admin/jobs")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminJobController {
+
+    private final ScheduledJobRunRepository runRepository;
+    private final ScheduledJobLockRepository lockRepository;
+    private final DataMigrationRecordRepository migrationRepository;
+
+    public AdminJobController(ScheduledJobRunRepository runRepository,
+                              ScheduledJobLockRepository lockRepository,
+                              DataMigrationRecordRepository migrationRepository) {
+        this.runRepository = runRepository;
+        this.lockRepository = lockRepository;
+        this.migrationRepository = migrationRepository;
+    }
+
+    @GetMapping("/runs")
+    public ResponseEntity<List<ScheduledJobRun>> recentRuns() {
+        return ResponseEntity.ok(runRepository.findTop100ByOrderByStartedAtDesc());
+    }
+
+    @GetMapping("/runs/{jobName}")
+    public ResponseEntity<List<ScheduledJobRun>> runsForJob(@PathVariable String jobName) {
+        return ResponseEntity.ok(runRepository.findTop50ByJobNameOrderByStartedAtDesc(jobName));
+    }
+
+    @GetMapping("/locks")
+    public ResponseEntity<List<ScheduledJobLock>> locks() {
+        return ResponseEntity.ok(lockRepository.findAll());
+    }
+
+    @GetMapping("/migrations")
+    public ResponseEntity<List<DataMigrationRecord>> migrations() {
+        return ResponseEntity.ok(migrationRepository.findAll());
+    }
+}
@@ -50,7 +50,7 @@ public class AuthController {
 
     
     @PutMapping(value = "/complete-profile", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<User> completeProfile(
+    public ResponseEntity<?> completeProfile(
             // ── Profile fields ───────────────────────────────────────────────
             @RequestPart(value = "businessName", required = false) String businessName,
             @RequestPart(value = "address", required = false) String address,
@@ -92,6 +92,8 @@ public class AuthController {
             @RequestPart(value = "shopLicensePhoto", required = false) MultipartFile shopLicensePhoto,
             @RequestPart(value = "opensAt", required = false) String opensAt,
             @RequestPart(value = "closesAt", required = false) String closesAt,
+            @RequestPart(value = "shopLatitude", required = false) String shopLatitude,
+            @RequestPart(value = "shopLongitude", required = false) String shopLongitude,
 
             @AuthenticationPrincipal User currentUser) throws IOException {
 
@@ -99,6 +101,16 @@ public class AuthController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
+        // Reject bad coordinates before anything is saved
+        Double latitude;
+        Double longitude;
+        try {
+            latitude  = coordinate("shopLatitude", shopLatitude, 90);
+            longitude = coordinate("shopLongitude", shopLongitude, 180);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
         // Build DTO for profile update
         CompleteProfileRequest profileReq = new CompleteProfileRequest(
                 businessName, address, city, state, country, postalCode,
@@ -120,7 +132,8 @@ public class AuthController {
         boolean hasShopData = shopName != null || shopType != null || shopAddress != null ||
         		workingHoursJson != null || shopLicense != null ||
                               shopPhoto != null || shopCoverPhoto != null || shopLicensePhoto != null ||
-                              opensAt != null || closesAt != null;
+                              opensAt != null || closesAt != null ||
+                              shopLatitude != null || shopLongitude != null;
 
         if (hasShopData) {
             LocalTime openTime  = opensAt  != null && !opensAt.isBlank()  ? LocalTime.parse(opensAt.trim())  : null;
@@ -137,7 +150,9 @@ public class AuthController {
                     closeTime,
                     shopPhoto,
                     shopCoverPhoto,
-                    shopLicensePhoto
+                    shopLicensePhoto,
+                    latitude,
+                    longitude
             );
 
             shopService.createOrUpdateShop(shopReq, updatedUser);
@@ -146,6 +161,23 @@ public class AuthController {
         // Final response
         return ResponseEntity.ok(updatedUser);
     }
+
+    /** Blank means "not given"; otherwise decimal degrees within ±limit. */
+    private static Double coordinate(String name, String value, int limit) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        double degrees;
+        try {
+            degrees = Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a number in decimal degrees");
+        }
+        if (!(Math.abs(degrees) <= limit)) { // also rejects NaN
+            throw new IllegalArgumentException(name + " must be between -" + limit + " and " + limit);
+        }
+        return degrees;
+    }
     // ──────────────────────────────────────────────
     // 3. Update Profile (PATCH - partial + photo)
     // ──────────────────────────────────────────────
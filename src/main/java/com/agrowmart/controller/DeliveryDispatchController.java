@@ -0,0 +1,84 @@
+package com.agrowmart.controller;
+
+import java.security.Principal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Controller;
+
+import com.agrowmart.dto.auth.order.LocationHeartbeatDTO;
+import com.agrowmart.service.dispatch.DeliveryPartnerIndex;
+import com.agrowmart.service.dispatch.PickupDispatcher;
+import com.agrowmart.service.websocket.StompPrincipals;
+
+/**
+ * STOMP endpoints for delivery partners (client sends to /app/...).
+ * The session principal is set on CONNECT by StompAuthChannelInterceptor.
+ */
+@Controller
+public class DeliveryDispatchController {
+
+    private static final Logger log = LoggerFactory.getLogger(DeliveryDispatchController.class);
+
+    private final DeliveryPartnerIndex partnerIndex;
+    private final PickupDispatcher pickupDispatcher;
+
+    public DeliveryDispatchController(DeliveryPartnerIndex partnerIndex, PickupDispatcher pickupDispatcher) {
+        this.partnerIndex = partnerIndex;
+        this.pickupDispatcher = pickupDispatcher;
+    }
+
+    // Location heartbeat, every few seconds while the partner is online
+    @MessageMapping("/delivery/location")
+    public void heartbeat(@Payload LocationHeartbeatDTO heartbeat, Principal principal) {
+        Long partnerId = deliveryPartnerId(principal);
+        if (partnerId == null || heartbeat.latitude() == null || heartbeat.longitude() == null) {
+            return;
+        }
+        double lat = heartbeat.latitude();
+        double lng = heartbeat.longitude();
+        if (lat < -90 || lat > 90 || lng < -180 || lng > 180) {
+            return;
+        }
+        partnerIndex.update(partnerId, lat, lng, !Boolean.FALSE.equals(heartbeat.available()));
+    }
+
+    // Going offline explicitly (disconnect without this just goes stale)
+    @MessageMapping("/delivery/offline")
+    public void offline(Principal principal) {
+        Long partnerId = deliveryPartnerId(principal);
+        if (partnerId != null) {
+            partnerIndex.remove(partnerId);
+        }
+    }
+
+    // Result is pushed to /user/queue/pickup-offers as ASSIGNED or OFFER_TAKEN
+    @MessageMapping("/delivery/pickups/{orderId}/accept")
+    public void accept(@DestinationVariable String orderId, Principal principal) {
+        Long partnerId = deliveryPartnerId(principal);
+        if (partnerId != null) {
+            pickupDispatcher.accept(orderId, partnerId);
+        }
+    }
+
+    @MessageMapping("/delivery/pickups/{orderId}/decline")
+    public void decline(@DestinationVariable String orderId, Principal principal) {
+        Long partnerId = deliveryPartnerId(principal);
+        if (partnerId != null) {
+            pickupDispatcher.decline(orderId, partnerId);
+        }
+    }
+
+    private static Long deliveryPartnerId(Principal principal) {
+        if (!(principal instanceof Authentication auth)
+                || auth.getAuthorities().stream().noneMatch(a -> "DELIVERY".equals(a.getAuthority()))) {
+            log.debug("Ignoring delivery message from non-delivery session: {}", principal);
+            return null;
+        }
+        return StompPrincipals.userId(auth.getName());
+    }
+}
@@ -119,6 +119,7 @@ import com.agrowmart.entity.User;
 import com.agrowmart.entity.customer.Customer;
 import com.agrowmart.entity.order.Order;
 import com.agrowmart.service.OrderService;
+import com.agrowmart.service.OrderWebSocketService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -132,9 +133,11 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderWebSocketService orderWebSocketService;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderWebSocketService orderWebSocketService) {
         this.orderService = orderService;
+        this.orderWebSocketService = orderWebSocketService;
     }
 
     // ──────────────────────────────────────────────
@@ -297,6 +300,22 @@ public class OrderController {
             @AuthenticationPrincipal User deliveryPartner) {
         return ResponseEntity.ok(orderService.scanToken(orderId, scanRequest, deliveryPartner));
     }
+
+    /**
+     * STOMP topics a delivery partner should subscribe to for new pickups
+     * around their current position (own geohash cell + neighbours).
+     * Call again when the partner moves into another cell.
+     */
+    @GetMapping("/delivery/pickup-topics")
+    @PreAuthorize("hasAuthority('DELIVERY')")
+    public ResponseEntity<List<String>> getPickupTopics(
+            @RequestParam double lat,
+            @RequestParam double lng) {
+        if (lat < -90 || lat > 90 || lng < -180 || lng > 180) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(orderWebSocketService.pickupTopicsNear(lat, lng));
+    }
     
     
 
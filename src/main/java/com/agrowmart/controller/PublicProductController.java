@@ -314,9 +314,11 @@ import com.agrowmart.dto.auth.product.ProductFilterDTO;
 import com.agrowmart.dto.auth.product.ProductResponseDTO;
 import com.agrowmart.dto.auth.women.WomenProductResponseDTO;
 import com.agrowmart.dto.auth.category.CategoryResponseDTO;
+import com.agrowmart.dto.auth.shop.NearbyShopDTO;
 import com.agrowmart.dto.auth.shop.ShopResponse;
 import com.agrowmart.service.*;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -330,15 +332,25 @@ public class PublicProductController {
     private final WomenProductService womenProductService;
     private final CategoryService categoryService;
     private final ShopService shopService;
+    private final ShopGeoIndex shopGeoIndex;
+    private final ShopHoursService shopHoursService;
+
+    // Used when a distance filter is requested without an explicit maxDistanceKm
+    @Value("${shops.delivery-radius-km:10}")
+    private double defaultDeliveryRadiusKm;
 
     public PublicProductController(ProductService productService,
                                    WomenProductService womenProductService,
                                    CategoryService categoryService,
-                                   ShopService shopService) {
+                                   ShopService shopService,
+                                   ShopGeoIndex shopGeoIndex,
+                                   ShopHoursService shopHoursService) {
         this.productService = productService;
         this.womenProductService = womenProductService;
         this.categoryService = categoryService;
         this.shopService = shopService;
+        this.shopGeoIndex = shopGeoIndex;
+        this.shopHoursService = shopHoursService;
     }
 
     // HOME PAGE
@@ -381,8 +393,12 @@ public class PublicProductController {
 
     // MOST POPULAR SHOPS
     @GetMapping("/popular-shops")
-    public ResponseEntity<Map<String, Object>> getPopularShops() {
+    public ResponseEntity<Map<String, Object>> getPopularShops(
+            @RequestParam(defaultValue = "false") boolean openNow) {
         List<ShopResponse> shops = shopService.getPopularShops();
+        if (openNow) {
+            shops = shops.stream().filter(ShopResponse::openNow).toList();
+        }
 
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -393,8 +409,35 @@ public class PublicProductController {
     }
 
     @GetMapping("/top10-popular-shops")
-    public ResponseEntity<List<ShopResponse>> getTop10PopularShops() {
-        return ResponseEntity.ok(shopService.getTop10PopularShops());
+    public ResponseEntity<List<ShopResponse>> getTop10PopularShops(
+            @RequestParam(defaultValue = "false") boolean openNow) {
+        List<ShopResponse> shops = shopService.getTop10PopularShops();
+        return ResponseEntity.ok(openNow ? shops.stream().filter(ShopResponse::openNow).toList() : shops);
+    }
+
+    // NEAREST SHOPS (served from the in-memory geo index, no DB hit)
+    @GetMapping("/shops/nearby")
+    public ResponseEntity<Map<String, Object>> getNearbyShops(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(defaultValue = "5") double radiusKm,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "false") boolean openNow) {
+
+        if (!validLocation(lat, lng) || radiusKm <= 0 || radiusKm > 50 || limit < 1 || limit > 100) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", "lat/lng must be valid, radiusKm in (0, 50], limit in [1, 100]"));
+        }
+
+        List<NearbyShopDTO> shops = shopGeoIndex.nearby(lat, lng, radiusKm, limit, openNow);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", shops);
+        response.put("total", shops.size());
+
+        return ResponseEntity.ok(response);
     }
 
     // RECENTLY ADDED PRODUCTS
@@ -410,10 +453,13 @@ public class PublicProductController {
      // This method already filters active
         List<WomenProductResponseDTO> recentWomen = womenProductService.getRecentlyAddedWomenProducts(limit / 2 + 5);      List<Map<String, Object>> combined = new ArrayList<>();
 
+        int slot = shopHoursService.currentSlot();
+
         recentRegular.forEach(p -> {
             Map<String, Object> item = new HashMap<>();
             item.put("type", "regular");
             item.put("data", p);
+            item.put("shopOpenNow", shopHoursService.isVendorOpenAt(p.merchantId(), slot));
             combined.add(item);
         });
 
@@ -421,6 +467,7 @@ public class PublicProductController {
             Map<String, Object> item = new HashMap<>();
             item.put("type", "women");
             item.put("data", w);
+            item.put("shopOpenNow", shopHoursService.isVendorOpenAt(w.sellerId(), slot));
             combined.add(item);
         });
 
@@ -438,19 +485,45 @@ public class PublicProductController {
     public ResponseEntity<List<Map<String, Object>>> getFilteredProducts(
             @RequestParam(required = false) String sortBy,
             @RequestParam(required = false) List<String> categories,
-            @RequestParam(required = false) Boolean inStock) {
+            @RequestParam(required = false) Boolean inStock,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lng,
+            @RequestParam(required = false) Double maxDistanceKm,
+            @RequestParam(defaultValue = "false") boolean openNow) {
 
         ProductFilterDTO filter = new ProductFilterDTO(sortBy, categories, inStock, null, null, null);
 
         List<ProductResponseDTO> regular = productService.getFilteredProducts(filter);
         List<WomenProductResponseDTO> women = womenProductService.getFilteredProducts(filter);
 
+        // Only products whose shop can deliver to the customer's location
+        if (lat != null && lng != null && validLocation(lat, lng)) {
+            double radius = maxDistanceKm != null ? maxDistanceKm : defaultDeliveryRadiusKm;
+            regular = regular.stream()
+                    .filter(p -> withinKm(p.merchantId(), lat, lng, radius))
+                    .toList();
+            women = women.stream()
+                    .filter(w -> withinKm(w.sellerId(), lat, lng, radius))
+                    .toList();
+        }
+
+        int slot = shopHoursService.currentSlot();
+        if (openNow) {
+            regular = regular.stream()
+                    .filter(p -> shopHoursService.isVendorOpenAt(p.merchantId(), slot))
+                    .toList();
+            women = women.stream()
+                    .filter(w -> shopHoursService.isVendorOpenAt(w.sellerId(), slot))
+                    .toList();
+        }
+
         List<Map<String, Object>> result = new ArrayList<>();
 
         regular.forEach(p -> {
             Map<String, Object> item = new HashMap<>();
             item.put("type", "regular");
             item.put("data", p);
+            item.put("shopOpenNow", shopHoursService.isVendorOpenAt(p.merchantId(), slot));
             result.add(item);
         });
 
@@ -458,6 +531,7 @@ public class PublicProductController {
             Map<String, Object> item = new HashMap<>();
             item.put("type", "women");
             item.put("data", w);
+            item.put("shopOpenNow", shopHoursService.isVendorOpenAt(w.sellerId(), slot));
             result.add(item);
         });
 
@@ -478,4 +552,13 @@ public class PublicProductController {
         ProductResponseDTO product = productService.getPublicProductById(id);
         return ResponseEntity.ok(product);
     }
-}
\ No newline at end of file
+
+    private boolean withinKm(Long vendorId, double lat, double lng, double radiusKm) {
+        Double distance = shopGeoIndex.distanceToVendorKm(vendorId, lat, lng);
+        return distance != null && distance <= radiusKm;
+    }
+
+    private static boolean validLocation(double lat, double lng) {
+        return lat >= -90 && lat <= 90 && lng >= -180 && lng <= 180;
+    }
+}
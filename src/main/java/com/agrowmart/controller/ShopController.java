@@ -45,6 +45,9 @@ public class ShopController {
          @RequestParam(required = false) String opensAt,
          @RequestParam(required = false) String closesAt,
 
+         @RequestParam(required = false) Double latitude,
+         @RequestParam(required = false) Double longitude,
+
          @AuthenticationPrincipal User user
  ) throws IOException {
  	
@@ -64,7 +67,9 @@ public class ShopController {
              closeTime,
              shopPhoto,
              shopCoverPhoto,
-             shopLicensePhoto
+             shopLicensePhoto,
+             latitude,
+             longitude
      );
 
      return ResponseEntity.ok(Map.of(
@@ -91,6 +96,9 @@ public class ShopController {
          @RequestParam(required = false) String opensAt,
          @RequestParam(required = false) String closesAt,
 
+         @RequestParam(required = false) Double latitude,
+         @RequestParam(required = false) Double longitude,
+
          @AuthenticationPrincipal User user
  ) throws IOException {
 
@@ -108,7 +116,9 @@ public class ShopController {
              closeTime,
              shopPhoto,
              shopCoverPhoto,
-             shopLicensePhoto
+             shopLicensePhoto,
+             latitude,
+             longitude
      );
 
      return ResponseEntity.ok(Map.of(
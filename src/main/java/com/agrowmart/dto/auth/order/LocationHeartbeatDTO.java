@@ -0,0 +1,8 @@
+package com.agrowmart.dto.auth.order;
+
+// Sent by the delivery app to /app/delivery/location every few seconds while online
+public record LocationHeartbeatDTO(
+    Double latitude,
+    Double longitude,
+    Boolean available          // false = online but not taking new pickups (null treated as true)
+) {}
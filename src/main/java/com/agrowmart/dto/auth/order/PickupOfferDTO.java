@@ -0,0 +1,13 @@
+package com.agrowmart.dto.auth.order;
+
+import java.time.LocalDateTime;
+
+// Pushed to /user/{partnerId}/queue/pickup-offers
+public record PickupOfferDTO(
+    String orderId,
+    String type,               // "OFFER", "OFFER_WITHDRAWN", "ASSIGNED", "OFFER_TAKEN"
+    Double latitude,           // pickup location
+    Double longitude,
+    Double distanceKm,         // from the partner's last heartbeat, only on OFFER
+    LocalDateTime expiresAt    // only on OFFER
+) {}
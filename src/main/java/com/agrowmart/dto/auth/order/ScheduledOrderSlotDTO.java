@@ -0,0 +1,10 @@
+package com.agrowmart.dto.auth.order;
+
+import java.time.LocalDate;
+
+// Lightweight projection used to (re)load scheduled orders into the release timer
+public record ScheduledOrderSlotDTO(
+    String orderId,
+    LocalDate scheduledDate,
+    String scheduledSlot
+) {}
@@ -0,0 +1,6 @@
+package com.agrowmart.dto.auth.shop;
+
+public record NearbyShopDTO(
+ ShopResponse shop,
+ double distanceKm
+) {}
@@ -0,0 +1,11 @@
+package com.agrowmart.dto.auth.shop;
+
+import java.time.LocalTime;
+
+// Projection used to (re)load the opening-hours cache without pulling whole shops
+public record ShopHoursDTO(
+ Long vendorId,
+ String workingHoursJson,
+ LocalTime opensAt,
+ LocalTime closesAt
+) {}
@@ -20,5 +20,8 @@ public record ShopRequest(
  
  MultipartFile shopPhoto,       // optional
  MultipartFile shopCoverPhoto,  // optional
- MultipartFile shopLicensePhoto  // optional
+ MultipartFile shopLicensePhoto,  // optional
+
+ Double latitude,               // optional, shop location
+ Double longitude
 ) {}
\ No newline at end of file
@@ -32,5 +32,18 @@ public record ShopResponse(
  String vendorPhotoUrl,
 
  LocalTime opensAt,
- LocalTime closesAt
-) {}
\ No newline at end of file
+ LocalTime closesAt,
+
+ Double latitude,
+ Double longitude,
+
+ boolean openNow              // evaluated in IST when the response is built
+) {
+
+ public ShopResponse withOpenNow(boolean open) {
+     return open == openNow ? this : new ShopResponse(shopId, shopName, shopType, shopAddress, shopPhoto,
+             shopCoverPhoto, shopLicensePhoto, workingHoursJson, shopDescription, shopLicense, isApproved,
+             isActive, vendorId, vendorName, vendorPhone, vendorEmail, vendorRole, vendorPhotoUrl, opensAt,
+             closesAt, latitude, longitude, open);
+ }
+}
\ No newline at end of file
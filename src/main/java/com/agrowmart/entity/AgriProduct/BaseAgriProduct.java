@@ -4,20 +4,19 @@ import jakarta.persistence.*;
 
 import com.agrowmart.entity.ApprovalStatus;
 import com.agrowmart.entity.User;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.agrowmart.service.AgriProductEntitlementListener;
 
-import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @Entity
 @Table(name = "agri_products")
 @Inheritance(strategy = InheritanceType.JOINED)
 @DiscriminatorColumn(name = "Agricategory", discriminatorType = DiscriminatorType.STRING)
+@EntityListeners(AgriProductEntitlementListener.class)
 public abstract class BaseAgriProduct {
 
     @Id
@@ -39,10 +38,10 @@ public abstract class BaseAgriProduct {
     @Column(name = "Agriquantity", nullable = false)
     private Integer Agriquantity;
 
-    // CRITICAL FIX: Use @Lob for storing JSON array of image URLs
-    @Lob
-    @Column(name = "AgriimageUrl", columnDefinition = "LONGTEXT")
-    private String AgriimageUrl;
+    // JSON array of image URLs, parsed once per load (see ImageUrlListConverter)
+    @Convert(converter = ImageUrlListConverter.class)
+    @Column(name = "AgriimageUrl", length = 4000)
+    private List<String> AgriimageUrl = List.of();
 
     @Column(name = "AgribrandName")
     private String AgribrandName;
@@ -82,9 +81,6 @@ public abstract class BaseAgriProduct {
     @JoinColumn(name = "AgrivendorId", nullable = false)
     private User vendor;
 
-    // Jackson ObjectMapper – thread-safe if properly configured
-    private static final ObjectMapper mapper = new ObjectMapper();
-
     // ====================== Getters & Setters ======================
 
     public Long getId() { return id; }
@@ -153,35 +149,20 @@ public abstract class BaseAgriProduct {
     // ====================== JSON List<String> Helpers ======================
 
     /**
-     * Get image URLs as List<String> – used in service layer
+     * Image URLs – already parsed, never null, unmodifiable (copy before editing)
      */
     @Transient
     public List<String> getAgriImageUrls() {
-        if (AgriimageUrl == null || AgriimageUrl.isBlank()) {
-            return new ArrayList<>();
-        }
-        try {
-            return mapper.readValue(AgriimageUrl, new TypeReference<List<String>>() {});
-        } catch (IOException e) {
-            // Log this in production, but for now return empty to avoid crash
-            System.err.println("Failed to parse AgriimageUrl JSON: " + AgriimageUrl);
-            return new ArrayList<>();
-        }
+        return AgriimageUrl;
     }
 
     /**
-     * Set image URLs from List<String> – automatically converts to JSON
+     * Set image URLs – stored as a JSON array on flush
      */
     public void setAgriImageUrls(List<String> urls) {
-        if (urls == null || urls.isEmpty()) {
-            this.AgriimageUrl = null;
-        } else {
-            try {
-                this.AgriimageUrl = mapper.writeValueAsString(urls);
-            } catch (JsonProcessingException e) {
-                throw new RuntimeException("Failed to serialize image URLs to JSON", e);
-            }
-        }
+        this.AgriimageUrl = urls == null || urls.isEmpty()
+                ? List.of()
+                : Collections.unmodifiableList(new ArrayList<>(urls));
     }
     
  //----------------
@@ -224,10 +205,10 @@ public abstract class BaseAgriProduct {
     private LocalDate approvedAt;
     
  public String getAgriimageUrl() {
-		return AgriimageUrl;
+		return new ImageUrlListConverter().convertToDatabaseColumn(AgriimageUrl);
 	}
 	public void setAgriimageUrl(String agriimageUrl) {
-		AgriimageUrl = agriimageUrl;
+		AgriimageUrl = ImageUrlListConverter.parse(agriimageUrl);
 	}
 	public ApprovalStatus getApprovalStatus() {
 		return approvalStatus;
@@ -271,9 +252,6 @@ public abstract class BaseAgriProduct {
 	public void setDeleted(boolean deleted) {
 		this.deleted = deleted;
 	}
-	public static ObjectMapper getMapper() {
-		return mapper;
-	}
 
 	// Soft delete (optional but recommended)
     @Column(name = "is_deleted", nullable = false)
@@ -0,0 +1,89 @@
+package com.agrowmart.entity.AgriProduct;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.hibernate.annotations.Immutable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Image URLs of an agri product, stored as a compact JSON array
+ * ({@code ["https://...","https://..."]}, NULL when there are none) and
+ * parsed once when the entity is loaded.
+ *
+ * Reads and writes go through the Jackson streaming API rather than an
+ * ObjectMapper: no type resolution or intermediate tree per row, which is
+ * what dominates when a bulk listing materialises thousands of products.
+ *
+ * The lists handed out are unmodifiable, so Hibernate can treat the value as
+ * immutable (@Immutable): no deep-copy snapshot per load, and dirty checking
+ * is a plain equals().
+ */
+@Converter
+@Immutable
+public class ImageUrlListConverter implements AttributeConverter<List<String>, String> {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageUrlListConverter.class);
+    private static final JsonFactory JSON = new JsonFactory();
+
+    @Override
+    public String convertToDatabaseColumn(List<String> urls) {
+        if (urls == null || urls.isEmpty()) {
+            return null;
+        }
+        StringWriter out = new StringWriter(urls.size() * 96);
+        try (JsonGenerator generator = JSON.createGenerator(out)) {
+            generator.writeStartArray();
+            for (String url : urls) {
+                generator.writeString(url);
+            }
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize image URLs to JSON", e);
+        }
+        return out.toString();
+    }
+
+    @Override
+    public List<String> convertToEntityAttribute(String column) {
+        return parse(column);
+    }
+
+    /** The URL list in a stored column value; empty for NULL, blank or malformed values. */
+    public static List<String> parse(String column) {
+        if (column == null || column.isBlank()) {
+            return List.of();
+        }
+        try (JsonParser parser = JSON.createParser(column)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("not a JSON array");
+            }
+            List<String> urls = new ArrayList<>(4);
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new IOException("unterminated JSON array");
+                }
+                urls.add(token == JsonToken.VALUE_NULL ? null : parser.getValueAsString());
+            }
+            return Collections.unmodifiableList(urls);
+        } catch (IOException e) {
+            // a bad row should not take a whole listing down
+            log.warn("Failed to parse AgriimageUrl JSON ({}): {}", e.getMessage(), column);
+            return List.of();
+        }
+    }
+}
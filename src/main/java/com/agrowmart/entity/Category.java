@@ -2,12 +2,20 @@ package com.agrowmart.entity;
 
 import jakarta.persistence.*;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.agrowmart.config.cache.CacheInvalidationListener;
+
 import java.util.ArrayList;
 import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categories")
+@EntityListeners(CacheInvalidationListener.class)
 @Table(name = "categories")
 
 public class Category {
@@ -72,5 +80,6 @@ public class Category {
 	// Category.java – add cascade
 	@OneToMany(mappedBy = "parent", cascade = CascadeType.ALL, orphanRemoval = true)
 	@JsonIgnore  // ← ADD THIS LINE
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "category-children")
 	private List<Category> children = new ArrayList<>();
 }
@@ -0,0 +1,89 @@
+package com.agrowmart.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of one versioned data migration. lastKey is the checkpoint the
+ * next chunk starts after, so an interrupted migration resumes where it
+ * stopped instead of starting over.
+ */
+@Entity
+@Table(name = "data_migrations")
+public class DataMigrationRecord {
+
+    public enum Status { RUNNING, COMPLETED, FAILED }
+
+    @Id
+    private Integer version;
+
+    @Column(length = 255, nullable = false)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private Status status;
+
+    @Column(name = "last_key", nullable = false)
+    private long lastKey;
+
+    @Column(name = "rows_changed", nullable = false)
+    private long rowsChanged;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    protected DataMigrationRecord() {
+    }
+
+    public DataMigrationRecord(int version, String description) {
+        this.version = version;
+        this.description = description;
+        this.status = Status.RUNNING;
+        this.startedAt = LocalDateTime.now();
+    }
+
+    public Integer getVersion() { return version; }
+    public String getDescription() { return description; }
+    public Status getStatus() { return status; }
+    public long getLastKey() { return lastKey; }
+    public long getRowsChanged() { return rowsChanged; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public String getLastError() { return lastError; }
+
+    public boolean isCompleted() {
+        return status == Status.COMPLETED;
+    }
+
+    public void checkpoint(long lastKey, int rowsChanged) {
+        this.status = Status.RUNNING;
+        this.lastKey = lastKey;
+        this.rowsChanged += rowsChanged;
+        this.updatedAt = LocalDateTime.now();
+        this.lastError = null;
+    }
+
+    public void complete() {
+        this.status = Status.COMPLETED;
+        this.completedAt = LocalDateTime.now();
+        this.updatedAt = this.completedAt;
+    }
+
+    public void fail(String error) {
+        this.status = Status.FAILED;
+        this.updatedAt = LocalDateTime.now();
+        this.lastError = error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+}
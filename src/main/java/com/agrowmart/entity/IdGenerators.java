@@ -0,0 +1,24 @@
+package com.agrowmart.entity;
+
+/**
+ * Shared settings for the table-backed id generators of high-volume
+ * entities (order items, status history, notifications, cart items,
+ * products).
+ *
+ * IDENTITY ids are only known after each INSERT, which makes Hibernate send
+ * inserts one by one. With a pooled table generator a node reserves
+ * ALLOCATION_SIZE ids per UPDATE of id_generators, assigns them in memory and
+ * batches the inserts (hibernate.jdbc.batch_size). Rows are seeded above the
+ * current MAX(id) by V6__pooled_id_generators.sql; a new generator name needs
+ * a row there too.
+ */
+public final class IdGenerators {
+
+    public static final String TABLE = "id_generators";
+    public static final String NAME_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGenerators() {
+    }
+}
@@ -5,11 +5,17 @@ import jakarta.persistence.*;
 
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        // public catalogue: ACTIVE + APPROVED, optionally per vendor
+        @Index(name = "idx_products_status_approval_merchant", columnList = "status, approval_status, merchant_id")
+})
 
 public class Product {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "products_id")
+    @TableGenerator(name = "products_id", table = IdGenerators.TABLE,
+            pkColumnName = IdGenerators.NAME_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN,
+            pkColumnValue = "products", allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "merchant_id", nullable = false)
@@ -13,7 +13,8 @@ import java.util.Date;
     uniqueConstraints = {
         @UniqueConstraint(columnNames = {"customer_id", "product_id"}),
         @UniqueConstraint(columnNames = {"customer_id", "women_product_id"})
-    }
+    },
+    indexes = @Index(name = "idx_product_ratings_product", columnList = "product_id")
 )
 public class ProductRating {
 
@@ -2,7 +2,15 @@ package com.agrowmart.entity;
 
 import jakarta.persistence.*;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.agrowmart.config.cache.CacheInvalidationListener;
+
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "roles")
+@EntityListeners(CacheInvalidationListener.class)
 @Table(name = "roles")
 public class Role {
     @Id
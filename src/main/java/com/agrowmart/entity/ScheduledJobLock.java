@@ -0,0 +1,40 @@
+package com.agrowmart.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row per cluster-wide scheduled job. A node owns the job while
+ * lockedUntil is in the future and lockedBy holds its run token.
+ */
+@Entity
+@Table(name = "scheduled_job_locks")
+public class ScheduledJobLock {
+
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+
+    @Column(name = "locked_by", length = 150)
+    private String lockedBy;
+
+    @Column(name = "locked_at")
+    private LocalDateTime lockedAt;
+
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;
+
+    protected ScheduledJobLock() {
+    }
+
+    public ScheduledJobLock(String jobName, LocalDateTime lockedUntil) {
+        this.jobName = jobName;
+        this.lockedUntil = lockedUntil;
+    }
+
+    public String getJobName() { return jobName; }
+    public String getLockedBy() { return lockedBy; }
+    public LocalDateTime getLockedAt() { return lockedAt; }
+    public LocalDateTime getLockedUntil() { return lockedUntil; }
+}
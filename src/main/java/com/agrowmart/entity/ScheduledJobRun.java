@@ -0,0 +1,69 @@
+package com.agrowmart.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registry entry for one execution of a cluster-wide scheduled job.
+ */
+@Entity
+@Table(name = "scheduled_job_runs",
+       indexes = @Index(name = "idx_job_runs_job_started", columnList = "job_name, started_at"))
+public class ScheduledJobRun {
+
+    public enum Status { RUNNING, SUCCEEDED, FAILED, LEASE_LOST }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_name", nullable = false, length = 100)
+    private String jobName;
+
+    @Column(nullable = false, length = 150)
+    private String node;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    private LocalDateTime endedAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status = Status.RUNNING;
+
+    private long rowsProcessed;
+
+    private long failures;
+
+    @Column(length = 1000)
+    private String errorMessage;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getJobName() { return jobName; }
+    public void setJobName(String jobName) { this.jobName = jobName; }
+
+    public String getNode() { return node; }
+    public void setNode(String node) { this.node = node; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getEndedAt() { return endedAt; }
+    public void setEndedAt(LocalDateTime endedAt) { this.endedAt = endedAt; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public long getRowsProcessed() { return rowsProcessed; }
+    public void setRowsProcessed(long rowsProcessed) { this.rowsProcessed = rowsProcessed; }
+
+    public long getFailures() { return failures; }
+    public void setFailures(long failures) { this.failures = failures; }
+
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+}
@@ -3,12 +3,16 @@ package com.agrowmart.entity;
 
 
 import com.agrowmart.admin_seller_management.enums.DocumentStatus;
+import com.agrowmart.config.cache.CacheInvalidationListener;
 import com.agrowmart.entity.User;
+import com.agrowmart.service.ShopIndexListener;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import net.minidev.json.annotate.JsonIgnore;
 
 import java.time.LocalTime;
@@ -17,6 +21,9 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 
 @Entity
+@EntityListeners({ShopIndexListener.class, CacheInvalidationListener.class})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "shops")
 @Table(name = "shops", uniqueConstraints = {
  @UniqueConstraint(columnNames = "user_id")
 })
@@ -109,6 +116,10 @@ public class Shop {
  private LocalTime opensAt;
  private LocalTime closesAt;
 
+ // Shop location, used for nearby-shop search and as the pickup point for delivery partners
+ private Double latitude;
+ private Double longitude;
+
  @Column(name = "is_approved", nullable = false)
  private boolean isApproved = false;
 
@@ -210,6 +221,22 @@ public class Shop {
 		this.closesAt = closesAt;
 	}
 
+	public Double getLatitude() {
+		return latitude;
+	}
+
+	public void setLatitude(Double latitude) {
+		this.latitude = latitude;
+	}
+
+	public Double getLongitude() {
+		return longitude;
+	}
+
+	public void setLongitude(Double longitude) {
+		this.longitude = longitude;
+	}
+
 	public boolean isApproved() {
 		return isApproved;
 	}
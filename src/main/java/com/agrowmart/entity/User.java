@@ -3,6 +3,8 @@ package com.agrowmart.entity;
 
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import com.agrowmart.admin_seller_management.enums.AccountStatus;
@@ -166,7 +168,9 @@ public class User {
     private String fcmToken;
 
     // ==================== Relations & Timestamps ====================
+    // separate select instead of a join, so the role comes from the second-level cache
     @ManyToOne(fetch = FetchType.EAGER)
+    @Fetch(FetchMode.SELECT)
     @JoinColumn(name = "role_id", nullable = false)
     private Role role;
 
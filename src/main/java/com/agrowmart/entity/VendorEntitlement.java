@@ -0,0 +1,27 @@
+package com.agrowmart.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Stored agri product count per vendor: the cluster-wide source of truth for
+ * the plan's product limit. Only changed by conditional UPDATEs
+ * (VendorEntitlementRepository); the per-node copy lives in
+ * VendorEntitlementCache.
+ */
+@Entity
+@Table(name = "vendor_entitlements")
+public class VendorEntitlement {
+
+    @Id
+    @Column(name = "vendor_id")
+    private Long vendorId;
+
+    @Column(name = "product_count", nullable = false)
+    private int productCount;
+
+    protected VendorEntitlement() {
+    }
+
+    public Long getVendorId() { return vendorId; }
+    public int getProductCount() { return productCount; }
+}
@@ -2,6 +2,8 @@ package com.agrowmart.entity.customer;
 
 import jakarta.persistence.*;
 
+import com.agrowmart.entity.IdGenerators;
+
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -84,7 +86,10 @@ public class CartItem {
 	}
 
 	@Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "cart_items_id")
+    @TableGenerator(name = "cart_items_id", table = IdGenerators.TABLE,
+            pkColumnName = IdGenerators.NAME_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN,
+            pkColumnValue = "cart_items", allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -7,6 +7,7 @@ import com.agrowmart.entity.customer.CustomerAddress;
 import com.agrowmart.enums.DeliveryMode;
 import com.agrowmart.enums.VendorAcceptThenCancelReason;
 import com.agrowmart.enums.VendorCancelReason;
+import com.agrowmart.util.OrderIdGenerator;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -16,7 +17,13 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        // vendor order lists by status, newest first
+        @Index(name = "idx_orders_merchant_status_created", columnList = "merchant_id, status, created_at"),
+        // token expiry sweeper (OrderTokenSweeper) range-scans these
+        @Index(name = "idx_orders_pickup_token_expiry", columnList = "vendor_pickup_token_expiry"),
+        @Index(name = "idx_orders_delivery_token_expiry", columnList = "user_delivery_token_expiry")
+})
 public class Order {
 
     @Id
@@ -106,7 +113,7 @@ public class Order {
     @PrePersist
     protected void onCreate() {
         if (this.id == null) {
-            this.id = "ORD-" + System.currentTimeMillis(); // simple unique string
+            this.id = OrderIdGenerator.nextOrderId(); // time-ordered, unique across nodes
         }
         if (createdAt == null) createdAt = LocalDateTime.now();
         updatedAt = createdAt;
@@ -168,7 +175,8 @@ public class Order {
         OUT_FOR_DELIVERY,
         DELIVERED,
         CANCELLED,
-        REJECTED
+        REJECTED,
+        NEEDS_REVIEW      // pickup/delivery token expired long ago, needs ops follow-up
     }
     
     
@@ -1,6 +1,8 @@
 package com.agrowmart.entity.order;
 
 import jakarta.persistence.*;
+
+import com.agrowmart.entity.IdGenerators;
 import java.math.BigDecimal;
 import com.agrowmart.entity.Product;
 import com.agrowmart.entity.WomenProduct;
@@ -11,7 +13,10 @@ import com.agrowmart.entity.AgriProduct.BaseAgriProduct;
 public class OrderItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_items_id")
+    @TableGenerator(name = "order_items_id", table = IdGenerators.TABLE,
+            pkColumnName = IdGenerators.NAME_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN,
+            pkColumnValue = "order_items", allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
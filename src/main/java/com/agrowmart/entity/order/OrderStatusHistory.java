@@ -4,6 +4,8 @@ package com.agrowmart.entity.order;
 
 import jakarta.persistence.*;
 
+import com.agrowmart.entity.IdGenerators;
+
 import java.time.LocalDateTime;
 
 @Entity
@@ -11,7 +13,10 @@ import java.time.LocalDateTime;
 
 public class OrderStatusHistory {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_status_history_id")
+    @TableGenerator(name = "order_status_history_id", table = IdGenerators.TABLE,
+            pkColumnName = IdGenerators.NAME_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN,
+            pkColumnValue = "order_status_history", allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne
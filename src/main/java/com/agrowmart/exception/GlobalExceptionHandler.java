@@ -1,12 +1,14 @@
 package com.agrowmart.exception;
 
 import com.agrowmart.exception.ForbiddenException;
+import com.agrowmart.exception.PasswordHashingBusyException;
 import com.agrowmart.exception.ResourceNotFoundException;
 import com.agrowmart.exception.SubscriptionLimitExceededException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -153,5 +155,20 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(body, HttpStatus.PAYLOAD_TOO_LARGE);
     }
 
+    // 9. Password hashing pool saturated (login / registration spike) – 503, retry shortly
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<Object> handlePasswordHashingBusy(PasswordHashingBusyException ex, WebRequest request) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        body.put("error", "Service Unavailable");
+        body.put("message", ex.getMessage());
+        body.put("path", request.getDescription(false));
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(body);
+    }
+
     // Optional: Add more custom exceptions if you have them
 }
\ No newline at end of file
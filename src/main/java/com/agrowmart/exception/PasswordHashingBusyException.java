@@ -0,0 +1,8 @@
+package com.agrowmart.exception;
+
+
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
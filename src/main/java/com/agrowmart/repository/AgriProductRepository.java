@@ -4,13 +4,21 @@ import com.agrowmart.entity.User;
 import com.agrowmart.entity.AgriProduct.BaseAgriProduct;
 import com.agrowmart.entity.AgriProduct.BaseAgriProduct.ApprovalStatus;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
  
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+
+import org.hibernate.jpa.HibernateHints;
+
+import jakarta.persistence.QueryHint;
  
 @Repository
 public interface AgriProductRepository extends JpaRepository<BaseAgriProduct, Long> {
@@ -46,8 +54,46 @@ public interface AgriProductRepository extends JpaRepository<BaseAgriProduct, Lo
     @Query("SELECT p FROM BaseAgriProduct p WHERE p.approvalStatus = 'APPROVED'")
     List<BaseAgriProduct> findAllApproved();
 
+    // Admin bulk listings: keyset chunk by id, vendor fetched in the same query
+    @Query("SELECT p FROM BaseAgriProduct p JOIN FETCH p.vendor "
+            + "WHERE p.approvalStatus = :status AND p.id > :afterId ORDER BY p.id")
+    List<BaseAgriProduct> findChunkByApprovalStatus(@Param("status") ApprovalStatus status,
+                                                    @Param("afterId") Long afterId,
+                                                    Pageable pageable);
+
  // Add this to AgriProductRepository.java
     List<BaseAgriProduct> findByVendorAndApprovalStatus(User vendor, ApprovalStatus status);
     // Optional: count pending for dashboard
     long countByApprovalStatus(ApprovalStatus status);
+
+    // ─── Subscription visibility (set-based; native because BaseAgriProduct is JOINED) ───
+    // The query space limits second-level cache invalidation to product regions.
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "agri_products"))
+    @Query(value = """
+        UPDATE agri_products
+        SET visible_to_customers = :visible
+        WHERE agrivendor_id = :vendorId
+          AND visible_to_customers <> :visible
+    """, nativeQuery = true)
+    int setVisibilityForVendor(@Param("vendorId") Long vendorId, @Param("visible") boolean visible);
+
+    // Hides products of the given subscriptions' vendors, unless the vendor has another live subscription
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "agri_products"))
+    @Query(value = """
+        UPDATE agri_products p
+        SET p.visible_to_customers = false
+        WHERE p.agrivendor_id IN (SELECT s.user_id FROM subscriptions s WHERE s.id IN (:subscriptionIds))
+          AND p.visible_to_customers = true
+          AND NOT EXISTS (
+              SELECT 1 FROM subscriptions live
+              WHERE live.user_id = p.agrivendor_id
+                AND live.active = true
+                AND live.expiry_date >= :now
+          )
+    """, nativeQuery = true)
+    int hideProductsOfExpiredSubscriptions(@Param("subscriptionIds") List<Long> subscriptionIds,
+                                           @Param("now") LocalDateTime now);
 }
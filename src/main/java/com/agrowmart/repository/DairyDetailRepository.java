@@ -2,11 +2,16 @@ package com.agrowmart.repository;
 
 import com.agrowmart.entity.DairyDetail;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface DairyDetailRepository extends JpaRepository<DairyDetail, Long> {
 	Optional<DairyDetail> findByProductId(Long productId);
+
+	// Order builder: one query for all line items of this type
+	List<DairyDetail> findByProductIdIn(Collection<Long> productIds);
 	
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.agrowmart.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.agrowmart.entity.DataMigrationRecord;
+
+public interface DataMigrationRecordRepository extends JpaRepository<DataMigrationRecord, Integer> {
+}
@@ -2,10 +2,15 @@ package com.agrowmart.repository;
 
 import com.agrowmart.entity.MeatDetail;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface MeatDetailRepository extends JpaRepository<MeatDetail, Long> {
 	Optional<MeatDetail> findByProductId(Long productId);
+
+	// Order builder: one query for all line items of this type
+	List<MeatDetail> findByProductIdIn(Collection<Long> productIds);
 }
\ No newline at end of file
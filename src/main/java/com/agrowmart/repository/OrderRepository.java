@@ -50,18 +50,26 @@
 package com.agrowmart.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import org.hibernate.jpa.HibernateHints;
 
+import com.agrowmart.dto.auth.order.ScheduledOrderSlotDTO;
 import com.agrowmart.entity.User;
 import com.agrowmart.entity.customer.Customer;
 import com.agrowmart.entity.order.Order;
 import com.agrowmart.entity.order.Order.OrderStatus;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import jakarta.persistence.QueryHint;
+
 public interface OrderRepository extends JpaRepository<Order, String> {
 
     List<Order> findByCustomer(Customer customer);
@@ -117,5 +125,161 @@ public interface OrderRepository extends JpaRepository<Order, String> {
 	List<Order> findByMerchantAndStatus(User vendor, OrderStatus scheduled);
 
 	Optional<User> findByCustomerAndStatusIn(Customer customer, List<OrderStatus> activeStatuses);
+
+    // ─── Scheduled order release ───────────────────────────────
+
+    @Query("""
+        SELECT new com.agrowmart.dto.auth.order.ScheduledOrderSlotDTO(o.id, o.scheduledDate, o.scheduledSlot)
+        FROM Order o
+        WHERE o.status = com.agrowmart.entity.order.Order.OrderStatus.SCHEDULED
+    """)
+    List<ScheduledOrderSlotDTO> findScheduledOrderSlots();
+
+    @Query("""
+        SELECT new com.agrowmart.dto.auth.order.ScheduledOrderSlotDTO(o.id, o.scheduledDate, o.scheduledSlot)
+        FROM Order o
+        WHERE o.status = com.agrowmart.entity.order.Order.OrderStatus.SCHEDULED
+          AND o.scheduledDate <= :date
+    """)
+    List<ScheduledOrderSlotDTO> findScheduledOrderSlotsDueBy(@Param("date") LocalDate date);
+
+    // Compare-and-set: only one node (and one timer) can move a given order out of SCHEDULED
+    @Modifying(clearAutomatically = true)
+    @Query("""
+        UPDATE Order o
+        SET o.status = com.agrowmart.entity.order.Order.OrderStatus.PENDING,
+            o.updatedAt = :now
+        WHERE o.id = :orderId
+          AND o.status = com.agrowmart.entity.order.Order.OrderStatus.SCHEDULED
+    """)
+    int releaseIfScheduled(@Param("orderId") String orderId, @Param("now") LocalDateTime now);
+
+    // Compare-and-set: the first delivery partner to accept an offered pickup gets it
+    @Modifying(clearAutomatically = true)
+    @Query("""
+        UPDATE Order o
+        SET o.deliveryPartner = :partner,
+            o.updatedAt = :now
+        WHERE o.id = :orderId
+          AND o.status = com.agrowmart.entity.order.Order.OrderStatus.READY_FOR_PICKUP
+          AND o.deliveryPartner IS NULL
+    """)
+    int assignDeliveryPartnerIfUnassigned(@Param("orderId") String orderId,
+                                          @Param("partner") User partner,
+                                          @Param("now") LocalDateTime now);
+
+    boolean existsByIdAndStatusAndDeliveryPartnerIsNull(String id, Order.OrderStatus status);
+
+    // Compare-and-set: only one settlement run may pay out a given order
+    @Modifying(clearAutomatically = true)
+    @Query("""
+        UPDATE Order o
+        SET o.settlementStatus = 'PROCESSING',
+            o.updatedAt = :now
+        WHERE o.id = :orderId
+          AND o.settlementStatus = 'PENDING'
+    """)
+    int claimForSettlement(@Param("orderId") String orderId, @Param("now") LocalDateTime now);
+
+    // Payout was not created: hand the order back to the next settlement run
+    @Modifying(clearAutomatically = true)
+    @Query("""
+        UPDATE Order o
+        SET o.settlementStatus = 'PENDING',
+            o.updatedAt = :now
+        WHERE o.id = :orderId
+          AND o.settlementStatus = 'PROCESSING'
+    """)
+    int releaseSettlementClaim(@Param("orderId") String orderId, @Param("now") LocalDateTime now);
+
+    // Claimed but never recorded: the run died, or its Settlement insert failed, after the claim
+    @Query("""
+        SELECT o.id FROM Order o
+        WHERE o.settlementStatus = 'PROCESSING'
+          AND o.updatedAt <= :claimedBefore
+          AND NOT EXISTS (SELECT s.id FROM Settlement s WHERE s.orderId = o.id)
+        ORDER BY o.updatedAt
+    """)
+    List<String> findStaleSettlementClaims(@Param("claimedBefore") LocalDateTime claimedBefore);
+
+    // ─── Token expiry sweeper (bounded batches, one short transaction each) ───
+
+    // Orders still waiting on a token that expired before the review cutoff; flagged one by one
+    @Query(value = """
+        SELECT id FROM orders
+        WHERE vendor_pickup_token_expiry < :cutoff
+          AND status = 'READY_FOR_PICKUP'
+        LIMIT :batchSize
+    """, nativeQuery = true)
+    List<String> findStuckPickupIds(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+
+    @Query(value = """
+        SELECT id FROM orders
+        WHERE user_delivery_token_expiry < :cutoff
+          AND status = 'OUT_FOR_DELIVERY'
+        LIMIT :batchSize
+    """, nativeQuery = true)
+    List<String> findStuckDeliveryIds(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+
+    // Compare-and-set, so a pickup scanned between the select and here is left alone
+    @Modifying(clearAutomatically = true)
+    @Query("""
+        UPDATE Order o
+        SET o.status = com.agrowmart.entity.order.Order.OrderStatus.NEEDS_REVIEW,
+            o.vendorPickupToken = NULL,
+            o.vendorPickupTokenExpiry = NULL,
+            o.updatedAt = :now
+        WHERE o.id = :orderId
+          AND o.status = com.agrowmart.entity.order.Order.OrderStatus.READY_FOR_PICKUP
+          AND o.vendorPickupTokenExpiry < :cutoff
+    """)
+    int flagStuckPickup(@Param("orderId") String orderId,
+                        @Param("cutoff") LocalDateTime cutoff,
+                        @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("""
+        UPDATE Order o
+        SET o.status = com.agrowmart.entity.order.Order.OrderStatus.NEEDS_REVIEW,
+            o.userDeliveryToken = NULL,
+            o.userDeliveryTokenExpiry = NULL,
+            o.updatedAt = :now
+        WHERE o.id = :orderId
+          AND o.status = com.agrowmart.entity.order.Order.OrderStatus.OUT_FOR_DELIVERY
+          AND o.userDeliveryTokenExpiry < :cutoff
+    """)
+    int flagStuckDelivery(@Param("orderId") String orderId,
+                          @Param("cutoff") LocalDateTime cutoff,
+                          @Param("now") LocalDateTime now);
+
+    // Native updates name the table they touch (query space); without it Hibernate
+    // evicts every second-level cache region on each run.
+    // READY_FOR_PICKUP keeps its expired token until the review cutoff (vendor can still regenerate)
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "orders"))
+    @Query(value = """
+        UPDATE orders
+        SET vendor_pickup_token = NULL,
+            vendor_pickup_token_expiry = NULL
+        WHERE vendor_pickup_token_expiry < :now
+          AND status <> 'READY_FOR_PICKUP'
+        LIMIT :batchSize
+    """, nativeQuery = true)
+    int clearExpiredPickupTokens(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+
+    // OUT_FOR_DELIVERY keeps its expired token until the review cutoff
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "orders"))
+    @Query(value = """
+        UPDATE orders
+        SET user_delivery_token = NULL,
+            user_delivery_token_expiry = NULL
+        WHERE user_delivery_token_expiry < :now
+          AND status <> 'OUT_FOR_DELIVERY'
+        LIMIT :batchSize
+    """, nativeQuery = true)
+    int clearExpiredDeliveryTokens(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
     
 }
@@ -10,6 +10,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -67,6 +68,22 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
             ApprovalStatus approvalStatus
     );
 
+    // Bulk variant used when building an order (one query for all line items)
+    @Query("""
+        SELECT p FROM Product p
+        LEFT JOIN FETCH p.category
+        WHERE p.id IN :ids
+          AND p.merchantId = :merchantId
+          AND p.status = :status
+          AND p.approvalStatus = :approvalStatus
+    """)
+    List<Product> findAllByIdInAndMerchantIdAndStatusAndApprovalStatus(
+            @Param("ids") Collection<Long> ids,
+            @Param("merchantId") Long merchantId,
+            @Param("status") ProductStatus status,
+            @Param("approvalStatus") ApprovalStatus approvalStatus
+    );
+
     // ================= ONLINE + PROFILE COMPLETED =================
     @Query("""
         SELECT p FROM Product p
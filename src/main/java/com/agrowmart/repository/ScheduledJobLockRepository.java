@@ -0,0 +1,60 @@
+package com.agrowmart.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.agrowmart.entity.ScheduledJobLock;
+
+/**
+ * Lease operations are conditional UPDATEs in their own transaction, so they
+ * commit immediately even when called from inside a job's transaction.
+ */
+public interface ScheduledJobLockRepository extends JpaRepository<ScheduledJobLock, String> {
+
+    // Compare-and-set: only one owner can take an expired lease
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query("""
+        UPDATE ScheduledJobLock l
+        SET l.lockedBy = :owner,
+            l.lockedAt = :now,
+            l.lockedUntil = :until
+        WHERE l.jobName = :job
+          AND l.lockedUntil <= :now
+    """)
+    int acquireIfExpired(@Param("job") String job,
+                         @Param("owner") String owner,
+                         @Param("now") LocalDateTime now,
+                         @Param("until") LocalDateTime until);
+
+    // Heartbeat: extends the lease only while this owner still holds it
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query("""
+        UPDATE ScheduledJobLock l
+        SET l.lockedUntil = :until
+        WHERE l.jobName = :job
+          AND l.lockedBy = :owner
+    """)
+    int renew(@Param("job") String job,
+              @Param("owner") String owner,
+              @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query("""
+        UPDATE ScheduledJobLock l
+        SET l.lockedUntil = :now
+        WHERE l.jobName = :job
+          AND l.lockedBy = :owner
+    """)
+    int release(@Param("job") String job,
+                @Param("owner") String owner,
+                @Param("now") LocalDateTime now);
+}
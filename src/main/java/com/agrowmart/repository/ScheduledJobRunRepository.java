@@ -0,0 +1,24 @@
+package com.agrowmart.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.agrowmart.entity.ScheduledJobRun;
+
+public interface ScheduledJobRunRepository extends JpaRepository<ScheduledJobRun, Long> {
+
+    List<ScheduledJobRun> findTop100ByOrderByStartedAtDesc();
+
+    List<ScheduledJobRun> findTop50ByJobNameOrderByStartedAtDesc(String jobName);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ScheduledJobRun r WHERE r.startedAt < :cutoff")
+    int deleteStartedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,17 +1,23 @@
 package com.agrowmart.repository;
 
 
+import com.agrowmart.dto.auth.shop.ShopHoursDTO;
 import com.agrowmart.entity.Shop;
 import com.agrowmart.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 import java.awt.print.Pageable;
 import java.util.*;
 
 public interface ShopRepository extends JpaRepository<Shop, Long> {
+ @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
  Optional<Shop> findByUser(User user);
+ @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
  Optional<Shop> findByUserId(Long userId);
  boolean existsByUser(User user);
  
@@ -40,4 +46,20 @@ List<Shop> findPopularShops();
   ) DESC
   """)
 List<Shop> findPopularShops(Pageable pageable);
+
+// Everything ShopGeoIndex can serve: approved, active and with a location
+@Query("""
+  SELECT s FROM Shop s
+  WHERE s.isApproved = true AND s.isActive = true
+    AND s.latitude IS NOT NULL AND s.longitude IS NOT NULL
+  """)
+List<Shop> findLocatedActiveShops();
+
+// Opening hours of every visible shop, keyed by vendor (ShopHoursService)
+@Query("""
+  SELECT new com.agrowmart.dto.auth.shop.ShopHoursDTO(s.user.id, s.workingHoursJson, s.opensAt, s.closesAt)
+  FROM Shop s
+  WHERE s.isApproved = true AND s.isActive = true
+  """)
+List<ShopHoursDTO> findActiveShopHours();
 }
\ No newline at end of file
@@ -5,7 +5,9 @@ import com.agrowmart.entity.Subscription;
 import com.agrowmart.entity.User;
 import com.google.common.base.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -14,12 +16,6 @@ import java.util.List;
 
 public interface SubscriptionRepository extends JpaRepository<Subscription, Long> {
 
-    @Query("SELECT s FROM Subscription s " +
-           "WHERE s.active = true " +
-           "AND s.expiryDate < :now")
-    List<Subscription> findAllExpiredActiveSubscriptions(LocalDateTime now);
-    
- 
     @Query("SELECT s FROM Subscription s WHERE s.user = :user AND s.active = true AND s.expiryDate > :now ORDER BY s.startDate DESC LIMIT 1")
     Optional<Subscription> findLatestActiveSubscription(@Param("user") User user, @Param("now") LocalDateTime now);
 
@@ -27,5 +23,14 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, Long
 	java.util.Optional<Subscription> findFirstByUserAndActiveTrueAndExpiryDateAfterOrderByStartDateDesc(User user,
 			LocalDateTime now);
 
+    // ─── Nightly expiry (bounded chunks, see SubscriptionService.expireSubscriptions) ───
+
+    @Query("SELECT s.id FROM Subscription s WHERE s.active = true AND s.expiryDate < :now ORDER BY s.id")
+    List<Long> findExpiredActiveIds(@Param("now") LocalDateTime now, Pageable page);
+
+    @Modifying
+    @Query("UPDATE Subscription s SET s.active = false WHERE s.id IN :ids AND s.active = true")
+    int deactivateByIds(@Param("ids") List<Long> ids);
+
 
 }
\ No newline at end of file
@@ -56,7 +56,9 @@ package com.agrowmart.repository;
 import com.agrowmart.admin_seller_management.enums.AccountStatus;
 import com.agrowmart.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.domain.Page;
@@ -66,6 +68,10 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
+
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
@@ -154,6 +160,31 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     List<User> findAllByDeletedTrueAndDeletedAtBefore(LocalDateTime dateTime);
 
+    // Keyset page of users due for permanent deletion (UserCleanupService)
+    @Query("SELECT u.id FROM User u WHERE u.deleted = true AND u.deletedAt < :threshold AND u.id > :afterId ORDER BY u.id")
+    List<Long> findPurgeCandidateIds(@Param("threshold") LocalDateTime threshold,
+                                     @Param("afterId") Long afterId,
+                                     Pageable pageable);
+
+    // Keyset page of all user ids (data migrations)
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Bare 10-digit phones in (fromId, toId] get +91, unless that number is already taken.
+    // Query space "users" so each batch does not evict every second-level cache region.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users"))
+    @Query(value = """
+            UPDATE users u
+            LEFT JOIN users taken ON taken.phone = CONCAT('+91', u.phone)
+            SET u.phone = CONCAT('+91', u.phone)
+            WHERE u.id > :fromId AND u.id <= :toId
+              AND CHAR_LENGTH(u.phone) = 10
+              AND u.phone NOT LIKE '+91%'
+              AND taken.id IS NULL
+            """, nativeQuery = true)
+    int normalizeLegacyPhones(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
     
     
     
@@ -0,0 +1,49 @@
+package com.agrowmart.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import org.hibernate.jpa.HibernateHints;
+
+import com.agrowmart.entity.VendorEntitlement;
+
+import jakarta.persistence.QueryHint;
+
+/**
+ * Product-count slots as single conditional UPDATEs in the caller's
+ * transaction: the row lock lasts until the product insert or delete commits,
+ * so concurrent creates on any node cannot take more slots than the plan has.
+ */
+public interface VendorEntitlementRepository extends JpaRepository<VendorEntitlement, Long> {
+
+    // Takes a slot only while below the limit; 0 = at the limit or no row yet
+    @Modifying
+    @Query("""
+        UPDATE VendorEntitlement e
+        SET e.productCount = e.productCount + 1
+        WHERE e.vendorId = :vendorId
+          AND e.productCount < :max
+    """)
+    int incrementProductCount(@Param("vendorId") Long vendorId, @Param("max") int max);
+
+    @Modifying
+    @Query("""
+        UPDATE VendorEntitlement e
+        SET e.productCount = e.productCount - 1
+        WHERE e.vendorId = :vendorId
+          AND e.productCount > 0
+    """)
+    int decrementProductCount(@Param("vendorId") Long vendorId);
+
+    // First product of a vendor not seeded by V8: start from its stored products; no-op if the row exists
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "vendor_entitlements"))
+    @Query(value = """
+        INSERT IGNORE INTO vendor_entitlements (vendor_id, product_count)
+        SELECT :vendorId, COUNT(*) FROM agri_products WHERE agrivendor_id = :vendorId
+    """, nativeQuery = true)
+    int insertIfAbsent(@Param("vendorId") Long vendorId);
+}
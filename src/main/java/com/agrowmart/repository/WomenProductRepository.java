@@ -10,6 +10,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -55,6 +56,14 @@ public interface WomenProductRepository extends JpaRepository<WomenProduct, Long
             ProductStatus status,
             ApprovalStatus approvalStatus
     );
+
+    // Bulk variant used when building an order (one query for all line items)
+    List<WomenProduct> findByIdInAndSeller_IdAndStatusAndApprovalStatus(
+            Collection<Long> ids,
+            Long sellerId,
+            ProductStatus status,
+            ApprovalStatus approvalStatus
+    );
     @Query("""
             SELECT wp FROM WomenProduct wp
             LEFT JOIN FETCH wp.seller s
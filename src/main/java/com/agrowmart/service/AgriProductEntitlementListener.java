@@ -0,0 +1,35 @@
+package com.agrowmart.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+
+import com.agrowmart.entity.AgriProduct.BaseAgriProduct;
+
+import jakarta.persistence.PreRemove;
+
+/**
+ * Gives a vendor's product slot back in {@link VendorEntitlementCache} when
+ * an agri product is deleted (by the vendor or by an admin). Creates are
+ * counted when the slot is reserved, see
+ * {@link SubscriptionService#reserveProductSlot}.
+ *
+ * PreRemove rather than PostRemove: it runs when the delete is requested, in
+ * the deleting transaction but outside the flush, so the stored counter's
+ * UPDATE may run there and commits or rolls back with the delete.
+ */
+public class AgriProductEntitlementListener {
+
+    private final ObjectProvider<VendorEntitlementCache> entitlements;
+
+    public AgriProductEntitlementListener(ObjectProvider<VendorEntitlementCache> entitlements) {
+        this.entitlements = entitlements;
+    }
+
+    @PreRemove
+    public void onRemove(BaseAgriProduct product) {
+        VendorEntitlementCache cache = entitlements.getIfAvailable();
+        if (cache == null || product.getVendor() == null) {
+            return;
+        }
+        cache.productRemoved(product.getVendor().getId());
+    }
+}
@@ -132,7 +132,7 @@ public class AgriProductService {
     // ==================================================================
     // Combined validation: Online + Profile complete + Subscription + AGRI only
     // ==================================================================
-    private void validateVendorCanManageProducts(User vendor) {
+    private void validateVendorCanManageProducts(User vendor, boolean addingProduct) {
         if (vendor == null) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Vendor authentication required");
         }
@@ -157,8 +157,13 @@ public class AgriProductService {
         
         
 
-        // 4. Subscription check (product limit, active subscription, etc.)
-        subscriptionService.checkProductLimit(vendor);
+        // 4. Subscription check (product limit, active subscription, etc.);
+        //    a create also takes its slot so concurrent creates cannot both pass
+        if (addingProduct) {
+            subscriptionService.reserveProductSlot(vendor);
+        } else {
+            subscriptionService.checkProductLimit(vendor);
+        }
     }
 
     // ==================================================================
@@ -174,7 +179,7 @@ public class AgriProductService {
         User vendor = getCurrentVendor(auth);
 
         // All checks in one place
-        validateVendorCanManageProducts(vendor);
+        validateVendorCanManageProducts(vendor, true);
         
 
         BaseAgriProduct product = switch (dto.category().toUpperCase()) {
@@ -269,7 +274,7 @@ public class AgriProductService {
         User vendor = getCurrentVendor(auth);
 
         // All checks in one place
-        validateVendorCanManageProducts(vendor);
+        validateVendorCanManageProducts(vendor, false);
 
         BaseAgriProduct existing = repository.findByIdAndVendor(id, vendor)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
@@ -333,7 +338,7 @@ public class AgriProductService {
         User vendor = getCurrentVendor(auth);
 
         // All checks in one place
-        validateVendorCanManageProducts(vendor);
+        validateVendorCanManageProducts(vendor, false);
 
         BaseAgriProduct existing = repository.findByIdAndVendor(id, vendor)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
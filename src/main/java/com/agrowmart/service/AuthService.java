@@ -10,12 +10,15 @@ import com.agrowmart.entity.*;
 import com.agrowmart.entity.Product.ProductStatus;
 import com.agrowmart.enums.OtpPurpose;
 import com.agrowmart.enums.RoleName;
+import com.agrowmart.exception.PasswordHashingBusyException;
 import com.agrowmart.repository.*;
 import com.agrowmart.util.InMemoryOtpStore;
 import com.agrowmart.util.RedisOtpStore;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.validation.constraints.NotBlank;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.*;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -31,6 +34,8 @@ import java.util.Map;
 import java.util.Optional;
 @Service
 public class AuthService {
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
+
     private final UserRepository userRepo;
     private final RoleRepository roleRepo;
     private final PasswordEncoder encoder;
@@ -65,31 +70,8 @@ public class AuthService {
     @PostConstruct
     public void init() {
         new File(localUploadDir).mkdirs();
-        fixLegacyPhoneNumbers();
         // Removed Twilio.init() — no longer needed
-    }
-    /* ------------------------------------------------- AUTO-FIX LEGACY PHONES ------------------------------------------------- */
-    @Transactional
-    public void fixLegacyPhoneNumbers() {
-        List<User> users = userRepo.findAll();
-        int fixed = 0;
-        for (User user : users) {
-            String phone = user.getPhone();
-            if (phone != null && phone.length() == 10 && !phone.startsWith("+91")) {
-                String normalized = "+91" + phone;
-                // Use method that excludes the same user (existsByPhoneAndIdNot) is not applicable here
-                // we'll check existence ignoring current user id
-                if (!userRepo.existsByPhone(normalized)) {
-                    user.setPhone(normalized);
-                    userRepo.save(user);
-                    System.out.println("AUTO-FIXED PHONE: " + phone + " → " + normalized);
-                    fixed++;
-                }
-            }
-        }
-        if (fixed > 0) {
-            System.out.println("TOTAL LEGACY PHONES FIXED: " + fixed);
-        }
+        // Legacy phone normalization now runs as data migration V1 (LegacyPhoneNumberMigration)
     }
     /* ------------------------------------------------- REGISTER ------------------------------------------------- */
     /* ------------------------------------------------- REGISTER ------------------------------------------------- */
@@ -297,10 +279,14 @@ public class AuthService {
         if (!encoder.matches(req.password(), user.getPasswordHash())) {
             throw new IllegalArgumentException("Invalid credentials");
         }
+        boolean changed = rehashIfCostChanged(user, req.password());
         if (fcmTokenFromFrontend != null && !fcmTokenFromFrontend.trim().isEmpty()) {
             user.setFcmToken(fcmTokenFromFrontend.trim());
+            changed = true;
+            log.debug("FCM token saved for user {}", user.getId());
+        }
+        if (changed) {
             userRepo.save(user);
-            System.out.println("FCM Token saved for user: " + user.getName());
         }
     
         String token = jwtService.issueToken(user);
@@ -309,6 +295,20 @@ public class AuthService {
     public JwtResponse login(LoginRequest req) {
         return login(req, null);
     }
+
+    // BCrypt cost was changed since this hash was made: re-encode while we hold the raw password.
+    // Best effort - if the hashing pool is saturated, the next login tries again.
+    private boolean rehashIfCostChanged(User user, String rawPassword) {
+        if (!encoder.upgradeEncoding(user.getPasswordHash())) {
+            return false;
+        }
+        try {
+            user.setPasswordHash(encoder.encode(rawPassword));
+            return true;
+        } catch (PasswordHashingBusyException e) {
+            return false;
+        }
+    }
    
    
  //---------------------------------------------------
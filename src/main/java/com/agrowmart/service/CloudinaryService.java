@@ -148,43 +148,37 @@
 
 package com.agrowmart.service;
 
-import com.cloudinary.Cloudinary;
-import com.cloudinary.utils.ObjectUtils;
+import com.agrowmart.service.external.MediaStorageGateway;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import jakarta.annotation.PostConstruct;
 import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 @Service
 public class CloudinaryService {
 
-    private Cloudinary cloudinary;
-
-    @Value("${cloudinary.cloud-name}")
-    private String cloudName;
-
-    @Value("${cloudinary.api-key}")
-    private String apiKey;
-
-    @Value("${cloudinary.api-secret}")
-    private String apiSecret;
+    private final MediaStorageGateway storage;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary uploadSize;
 
     @Value("${cloudinary.folder:agrowmart}") // default folder
     private String folder;
 
-    @PostConstruct
-    private void init() {
-        cloudinary = new Cloudinary(ObjectUtils.asMap(
-                "cloud_name", cloudName,
-                "api_key", apiKey,
-                "api_secret", apiSecret,
-                "secure", true
-        ));
+    public CloudinaryService(MediaStorageGateway storage, MeterRegistry meterRegistry) {
+        this.storage = storage;
+        this.meterRegistry = meterRegistry;
+        this.uploadSize = DistributionSummary.builder("cloudinary.upload.size")
+                .baseUnit("bytes")
+                .register(meterRegistry);
     }
 
     // -------------------------------------------------------
@@ -213,12 +207,9 @@ public class CloudinaryService {
         }
 
         // ----- Upload -----
-        Map<String, Object> options = ObjectUtils.asMap(
-                "resource_type", "auto",
-                "folder", folder
-        );
-
-        Map uploadResult = cloudinary.uploader().upload(file.getBytes(), options);
+        byte[] bytes = file.getBytes();
+        uploadSize.record(bytes.length);
+        Map uploadResult = timed("upload", () -> storage.upload(bytes, folder));
         return (String) uploadResult.get("secure_url");
     }
 
@@ -239,7 +230,7 @@ public class CloudinaryService {
         }
 
         try {
-            Map result = cloudinary.uploader().destroy(publicId, ObjectUtils.asMap());
+            Map result = timed("destroy", () -> storage.destroy(publicId));
             System.out.println("Deleted from Cloudinary: " + result.get("result"));
         } catch (Exception e) {
             System.err.println("Cloudinary delete failed: " + e.getMessage());
@@ -249,7 +240,7 @@ public class CloudinaryService {
     // -------------------------------------------------------
     //  EXTRACT PUBLIC ID FROM CLOUDINARY URL
     // -------------------------------------------------------
-    private String extractPublicId(String urlOrId) {
+    String extractPublicId(String urlOrId) {
 
         if (urlOrId == null || urlOrId.isBlank()) return null;
 
@@ -289,6 +280,26 @@ public class CloudinaryService {
     
     // Extract public_id from URL (example logic - adjust to your format)
     String publicId = url.substring(url.lastIndexOf("/") + 1, url.lastIndexOf("."));
-    cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
+    timed("destroy", () -> storage.destroy(publicId));
 }
+
+    /** One Cloudinary API call, timed as cloudinary.requests{operation, outcome}. */
+    private <T> T timed(String operation, Callable<T> call) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = call.call();
+            outcome = "success";
+            return result;
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e);
+        } finally {
+            sample.stop(Timer.builder("cloudinary.requests")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
 }
\ No newline at end of file
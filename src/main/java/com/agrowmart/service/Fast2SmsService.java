@@ -1,30 +1,18 @@
 package com.agrowmart.service;
 
 
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponentsBuilder;
 
-import java.util.HashMap;
-import java.util.Map;
+import com.agrowmart.service.external.SmsGateway;
 
 @Service
 public class Fast2SmsService {
 
-    @Value("${fast2sms.authorization}")
-    private String authorization;
+    private final SmsGateway smsGateway;
 
-    @Value("${fast2sms.sender_id}")
-    private String senderId;
-
-    @Value("${fast2sms.route}")
-    private String route;
-
-    @Value("${fast2sms.base-url}")
-    private String baseUrl;
-
-    private final RestTemplate restTemplate = new RestTemplate();
+    public Fast2SmsService(SmsGateway smsGateway) {
+        this.smsGateway = smsGateway;
+    }
 
     /**
      * Send OTP using Fast2SMS
@@ -39,30 +27,8 @@ public class Fast2SmsService {
         // Build message (customize as needed)
         String message = "Your AgroMart OTP is: " + otpCode + " (valid for 5 minutes). Do not share.";
 
-        // Build query params
-        Map<String, String> params = new HashMap<>();
-        params.put("authorization", authorization);
-        params.put("route", route);
-        params.put("sender_id", senderId);
-        params.put("message", message);
-        params.put("numbers", cleanPhone);
-
-        // Optional: If using DLT template
-        // params.put("template_id", "your_template_id");
-        // params.put("variables_values", otpCode + "|" + purpose);
-
-        // Build full URL
-        String url = UriComponentsBuilder.fromHttpUrl(baseUrl)
-                .queryParam("authorization", "{authorization}")
-                .queryParam("route", "{route}")
-                .queryParam("sender_id", "{sender_id}")
-                .queryParam("message", "{message}")
-                .queryParam("numbers", "{numbers}")
-                .buildAndExpand(params)
-                .toUriString();
-
         try {
-            String response = restTemplate.getForObject(url, String.class);
+            String response = smsGateway.send(cleanPhone, message);
             System.out.println("Fast2SMS sent to " + cleanPhone + " | Response: " + response);
         } catch (Exception e) {
             System.err.println("Fast2SMS failed for " + cleanPhone + ": " + e.getMessage());
@@ -0,0 +1,153 @@
+package com.agrowmart.service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.agrowmart.util.HashedTimingWheel;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Deletes Cloudinary assets off the caller's thread with bounded parallelism.
+ *
+ * A failed delete is retried with exponential backoff on a timing wheel, up
+ * to media.delete.max-attempts, then logged and counted as abandoned. When
+ * the work queue is full the caller runs the delete itself, which slows the
+ * producer (the user purge) down instead of dropping work.
+ *
+ * The queue is in memory: assets still pending when the node stops are left
+ * on the CDN (an orphaned image, never a dangling DB reference, since
+ * callers enqueue only after their delete has committed).
+ */
+@Component
+public class MediaDeletionQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(MediaDeletionQueue.class);
+
+    private final CloudinaryService cloudinaryService;
+    private final int maxAttempts;
+    private final long retryBaseMs;
+    private final ThreadPoolExecutor executor;
+    private final HashedTimingWheel<Task> retryWheel;
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final Counter deleted;
+    private final Counter retried;
+    private final Counter abandoned;
+
+    public MediaDeletionQueue(
+            CloudinaryService cloudinaryService,
+            MeterRegistry meterRegistry,
+            @Value("${media.delete.parallelism:4}") int parallelism,
+            @Value("${media.delete.queue-capacity:10000}") int queueCapacity,
+            @Value("${media.delete.max-attempts:5}") int maxAttempts,
+            @Value("${media.delete.retry-base-ms:2000}") long retryBaseMs) {
+        this.cloudinaryService = cloudinaryService;
+        this.maxAttempts = maxAttempts;
+        this.retryBaseMs = retryBaseMs;
+        AtomicInteger threadNo = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "media-delete-" + threadNo.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        this.retryWheel = new HashedTimingWheel<>("media-delete-retry", Duration.ofMillis(250), 512, this::resubmit);
+
+        this.deleted = Counter.builder("media.delete").tag("outcome", "deleted").register(meterRegistry);
+        this.retried = Counter.builder("media.delete").tag("outcome", "retried").register(meterRegistry);
+        this.abandoned = Counter.builder("media.delete").tag("outcome", "abandoned").register(meterRegistry);
+        Gauge.builder("media.delete.pending", pending, AtomicInteger::get).register(meterRegistry);
+    }
+
+    /** Queues one asset for deletion; {@code description} is only used in logs. */
+    public void enqueue(String url, String description) {
+        Task task = new Task(url, description);
+        pending.incrementAndGet();
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            attempt(task); // queue full: back-pressure onto the caller
+        }
+    }
+
+    /** Deletes queued or waiting for a retry. */
+    public int pendingCount() {
+        return pending.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retryWheel.stop();
+        executor.shutdown();
+        try {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (pending.get() > 0) {
+            log.warn("{} media deletions still pending at shutdown", pending.get());
+        }
+    }
+
+    private void attempt(Task task) {
+        task.attempts++;
+        try {
+            cloudinaryService.deleteByUrl(task.url);
+            deleted.increment();
+            pending.decrementAndGet();
+            log.debug("Deleted Cloudinary asset for {}: {}", task.description, task.url);
+        } catch (Exception e) {
+            if (task.attempts >= maxAttempts) {
+                abandoned.increment();
+                pending.decrementAndGet();
+                log.error("Giving up on Cloudinary asset for {} after {} attempts: {} → {}",
+                        task.description, task.attempts, task.url, e.getMessage());
+            } else {
+                retried.increment();
+                long backoff = retryBaseMs << Math.min(task.attempts - 1, 10);
+                log.warn("Failed to delete Cloudinary asset for {} (attempt {}), retrying in {} ms: {}",
+                        task.description, task.attempts, backoff, e.getMessage());
+                retryWheel.schedule(task, Duration.ofMillis(backoff), task);
+            }
+        }
+    }
+
+    // runs on the wheel thread: never block it, push the retry back if the pool is saturated
+    private void resubmit(Runnable retry) {
+        try {
+            executor.execute(retry);
+        } catch (RejectedExecutionException e) {
+            Task task = (Task) retry;
+            retryWheel.schedule(task, Duration.ofMillis(retryBaseMs), task);
+        }
+    }
+
+    private final class Task implements Runnable {
+        final String url;
+        final String description;
+        volatile int attempts;
+
+        Task(String url, String description) {
+            this.url = url;
+            this.description = description;
+        }
+
+        @Override
+        public void run() {
+            attempt(this);
+        }
+    }
+}
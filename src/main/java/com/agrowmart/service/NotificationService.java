@@ -75,8 +75,10 @@ import com.agrowmart.entity.Notification;
 import com.agrowmart.entity.User;
 import com.agrowmart.repository.NotificationRepository;
 import com.agrowmart.repository.UserRepository;
-import com.google.firebase.messaging.FirebaseMessaging;
-import com.google.firebase.messaging.Message;
+import com.agrowmart.service.external.PushNotificationGateway;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -86,11 +88,30 @@ public class NotificationService {
 
     private final UserRepository userRepository;
     private final NotificationRepository notificationRepository;
+    private final PushNotificationGateway pushGateway;
+    private final MeterRegistry meterRegistry;
+
+    // whole send (lookup, log rows, FCM) by outcome; FCM call alone by outcome
+    private final Timer sendSent;
+    private final Timer sendFailed;
+    private final Timer sendSkipped;
+    private final Timer fcmSuccess;
+    private final Timer fcmFailure;
 
     public NotificationService(UserRepository userRepository, 
-                              NotificationRepository notificationRepository) {
+                              NotificationRepository notificationRepository,
+                              PushNotificationGateway pushGateway,
+                              MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
         this.notificationRepository = notificationRepository;
+        this.pushGateway = pushGateway;
+        this.meterRegistry = meterRegistry;
+
+        this.sendSent = Timer.builder("notifications.send").tag("outcome", "sent").register(meterRegistry);
+        this.sendFailed = Timer.builder("notifications.send").tag("outcome", "failed").register(meterRegistry);
+        this.sendSkipped = Timer.builder("notifications.send").tag("outcome", "skipped").register(meterRegistry);
+        this.fcmSuccess = Timer.builder("notifications.fcm").tag("outcome", "success").register(meterRegistry);
+        this.fcmFailure = Timer.builder("notifications.fcm").tag("outcome", "failure").register(meterRegistry);
     }
 
     /**
@@ -103,10 +124,13 @@ public class NotificationService {
      * @param data Optional extra key-value data (can be null)
      */
     public void sendNotification(Long userId, String title, String body, Map<String, String> data) {
+        Timer.Sample send = Timer.start(meterRegistry);
+
         // Find user
         User user = userRepository.findById(userId).orElse(null);
         if (user == null || user.getFcmToken() == null || user.getFcmToken().trim().isEmpty()) {
             System.out.println("Skipped notification → User ID: " + userId + " (No valid FCM token)");
+            send.stop(sendSkipped);
             return;
         }
 
@@ -117,21 +141,24 @@ public class NotificationService {
         log.setSuccess(false);
         notificationRepository.save(log);
 
+        Timer.Sample fcm = null;
         try {
             // Build FCM message
-            Message.Builder msgBuilder = Message.builder()
-                    .setToken(token)
-                    .putData("title", title)
-                    .putData("body", body)
-                    .putData("click_action", "FLUTTER_NOTIFICATION_CLICK");
+            Map<String, String> payload = new LinkedHashMap<>();
+            payload.put("title", title);
+            payload.put("body", body);
+            payload.put("click_action", "FLUTTER_NOTIFICATION_CLICK");
 
             // Add optional data safely
             if (data != null && !data.isEmpty()) {
-                data.forEach(msgBuilder::putData);
+                payload.putAll(data);
             }
 
             // Send message
-            String messageId = FirebaseMessaging.getInstance().send(msgBuilder.build());
+            fcm = Timer.start(meterRegistry);
+            String messageId = pushGateway.send(token, payload);
+            fcm.stop(fcmSuccess);
+            fcm = null;
 
             // Update log on success
             log.setSuccess(true);
@@ -140,13 +167,18 @@ public class NotificationService {
 
             System.out.println("Notification sent → User: " + user.getName() + 
                              " | Title: " + title + " | FCM ID: " + messageId);
+            send.stop(sendSent);
         } catch (Exception e) {
+            if (fcm != null) {
+                fcm.stop(fcmFailure);
+            }
             // Log failure
             log.setMessageId("FAILED: " + e.getMessage());
             notificationRepository.save(log);
 
             System.err.println("FCM send failed for user " + user.getName() + 
                              ": " + e.getMessage());
+            send.stop(sendFailed);
             // Optional: rethrow if you want calling code to handle it
             // throw new RuntimeException("Failed to send notification", e);
         }
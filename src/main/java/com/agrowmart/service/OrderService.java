@@ -64,6 +64,7 @@ import com.agrowmart.entity.customer.Customer;
 import com.agrowmart.entity.order.Order;
 import com.agrowmart.entity.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface OrderService {
@@ -92,6 +93,16 @@ public interface OrderService {
     
 	Order getOrderById(String orderId);
 	OrderStatusResponseDTO getOrderStatus(String orderId);
+
+	// Called by ScheduledOrderReleaseService at slot start; false if someone else already moved it
+	boolean releaseScheduledOrder(String orderId);
+
+	// Called by OrderTokenSweeper for an order whose pickup/delivery token expired before the cutoff;
+	// false if it was scanned or moved on meanwhile
+	boolean flagStuckOrder(String orderId, Order.OrderStatus stuckIn, LocalDateTime tokenExpiredBefore);
+
+	// Called by PickupDispatcher when a partner accepts an offer; false if the order was already taken
+	boolean assignDeliveryPartner(String orderId, Long partnerId);
 	
 	
 	
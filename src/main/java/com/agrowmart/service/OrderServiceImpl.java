@@ -565,17 +565,25 @@ import com.agrowmart.repository.*;
 import com.agrowmart.entity.customer.Cart;
 import com.agrowmart.entity.customer.CartItem;
 import com.agrowmart.repository.customer.CartRepository;
+import com.agrowmart.service.dispatch.PickupDispatcher;
+import com.agrowmart.util.GeoHash;
 
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.hibernate.Hibernate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 @Service
 public class OrderServiceImpl implements OrderService {
@@ -595,6 +603,10 @@ public class OrderServiceImpl implements OrderService {
     private final NotificationService notificationService;
     private final CartRepository cartRepository;
     private final AgriProductRepository agriProductRepository;
+    private final ScheduledOrderReleaseService scheduledOrderReleaseService;
+    private final PickupDispatcher pickupDispatcher;
+    private final ShopGeoIndex shopGeoIndex;
+    private final MeterRegistry meterRegistry;
 
 
  
@@ -613,7 +625,11 @@ public class OrderServiceImpl implements OrderService {
             NotificationService notificationService,
             OrderWebSocketService  orderWebSocketService,
             CartRepository cartRepository,
-            AgriProductRepository agriProductRepository
+            AgriProductRepository agriProductRepository,
+            ScheduledOrderReleaseService scheduledOrderReleaseService,
+            PickupDispatcher pickupDispatcher,
+            ShopGeoIndex shopGeoIndex,
+            MeterRegistry meterRegistry
     		) {
         this.orderRepository = orderRepository;
         this.orderItemRepository = orderItemRepository;
@@ -630,6 +646,10 @@ public class OrderServiceImpl implements OrderService {
         this.orderWebSocketService=orderWebSocketService;
         this.cartRepository = cartRepository;
         this.agriProductRepository = agriProductRepository;
+        this.scheduledOrderReleaseService = scheduledOrderReleaseService;
+        this.pickupDispatcher = pickupDispatcher;
+        this.shopGeoIndex = shopGeoIndex;
+        this.meterRegistry = meterRegistry;
 
     }
 
@@ -784,6 +804,8 @@ public class OrderServiceImpl implements OrderService {
     @Override
     @Transactional
     public OrderResponseDTO createOrder(Customer customer, OrderRequestDTO request) {
+        AtomicInteger ordersCreated = timeOrderCreate("direct");
+
         // Validate common address
         if (request.deliveryAddressId() == null) {
             throw new IllegalArgumentException("Delivery address ID is required");
@@ -802,6 +824,7 @@ public class OrderServiceImpl implements OrderService {
         // Case 1: Single vendor (old format)
         if (request.merchantId() != null && request.items() != null && !request.items().isEmpty()) {
             createdOrder = createSingleVendorOrder(customer, request.merchantId(), request.items(), request, deliveryAddress);
+            ordersCreated.incrementAndGet();
         } 
         // Case 2: Multi-vendor (new format)
         else if (request.vendorGroups() != null && !request.vendorGroups().isEmpty()) {
@@ -809,6 +832,7 @@ public class OrderServiceImpl implements OrderService {
             for (var group : request.vendorGroups()) {
                 Order multiOrder = createSingleVendorOrder(customer, group.merchantId(), group.items(), request, deliveryAddress);
                 allOrders.add(multiOrder);
+                ordersCreated.incrementAndGet();
             }
             // Return the first created order (or you can change to return a summary)
             createdOrder = allOrders.get(0);
@@ -820,6 +844,31 @@ public class OrderServiceImpl implements OrderService {
         return mapToResponse(createdOrder);
     }
 
+    /**
+     * Starts the orders.create timer; it stops when the surrounding transaction
+     * completes, so flush and commit are included. Orders counted on the
+     * returned counter are added to orders.created once committed.
+     */
+    private AtomicInteger timeOrderCreate(String source) {
+        AtomicInteger ordersCreated = new AtomicInteger();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                boolean committed = status == STATUS_COMMITTED;
+                sample.stop(Timer.builder("orders.create")
+                        .tag("source", source)
+                        .tag("outcome", committed ? "committed" : "rolled_back")
+                        .register(meterRegistry));
+                if (committed) {
+                    Counter.builder("orders.created").tag("source", source)
+                            .register(meterRegistry).increment(ordersCreated.get());
+                }
+            }
+        });
+        return ordersCreated;
+    }
+
     // Helper method (same as before, but now reusable)
     private Order createSingleVendorOrder(Customer customer, Long merchantId, List<OrderItemRequestDTO> items,
                                           OrderRequestDTO request, CustomerAddress deliveryAddress) {
@@ -901,63 +950,70 @@ public class OrderServiceImpl implements OrderService {
 //        }
         
         //21 Jan 
-     // Process items for this vendor
+        // Resolve every requested product for this merchant up front:
+        // one query per product family + one per detail table for prices,
+        // instead of 2-3 lookups per line item.
+        Set<Long> productIds = items.stream()
+                .map(OrderItemRequestDTO::productId)
+                .collect(Collectors.toSet());
+
+        Map<Long, Product> normalProducts = productRepository
+                .findAllByIdInAndMerchantIdAndStatusAndApprovalStatus(
+                        productIds, merchantId, ProductStatus.ACTIVE, ApprovalStatus.APPROVED)
+                .stream()
+                .collect(Collectors.toMap(Product::getId, p -> p));
+
+        Set<Long> remainingIds = new HashSet<>(productIds);
+        remainingIds.removeAll(normalProducts.keySet());
+
+        Map<Long, WomenProduct> womenProducts = remainingIds.isEmpty()
+                ? Map.of()
+                : womenProductRepository
+                        .findByIdInAndSeller_IdAndStatusAndApprovalStatus(
+                                remainingIds, merchantId, ProductStatus.ACTIVE, ApprovalStatus.APPROVED)
+                        .stream()
+                        .collect(Collectors.toMap(WomenProduct::getId, p -> p));
+
+        Map<Long, BigDecimal> normalPrices = getProductPrices(normalProducts.values());
+
+        List<Product> touchedProducts = new ArrayList<>();
+        List<WomenProduct> touchedWomenProducts = new ArrayList<>();
+
+        // Process items for this vendor
         for (OrderItemRequestDTO reqItem : items) {
 
             Long productId = reqItem.productId();
 
             BigDecimal price;
             double availableStock;
-            String productType;
-            
-            //restore 
-            Product normalProduct =
-            	    productRepository
-            	        .findByIdAndMerchantIdAndStatusAndApprovalStatus(
-            	            productId,
-            	            merchantId,
-            	            ProductStatus.ACTIVE,
-            	            ApprovalStatus.APPROVED
-            	        )
-            	        .orElse(null);
 
+            Product normalProduct = normalProducts.get(productId);
             WomenProduct womenProduct = null;
 
             if (normalProduct != null) {
 
                 // ✅ NORMAL PRODUCT (SAFE)
-                productType = "NORMAL";
-                price = getProductPrice(normalProduct);
+                price = normalPrices.get(productId);
                 availableStock = normalProduct.getStockQuantity() != null
                         ? normalProduct.getStockQuantity()
                         : 0.0;
 
             } else {
-            	
-            	// restore logic 
-            	womenProduct =
-            		    womenProductRepository
-            		        .findByIdAndSeller_IdAndStatusAndApprovalStatus(
-            		            productId,
-            		            merchantId,
-            		            ProductStatus.ACTIVE,
-            		            ApprovalStatus.APPROVED
-            		        )
-            		        .orElseThrow(() ->
-            		            new ForbiddenException(
-            		                "Product is not approved / not active / deleted / does not belong to this merchant"
-            		            )
-            		        );
-
-              
-                productType = "WOMEN";
+
+                womenProduct = womenProducts.get(productId);
+                if (womenProduct == null) {
+                    throw new ForbiddenException(
+                            "Product is not approved / not active / deleted / does not belong to this merchant"
+                    );
+                }
+
                 price = womenProduct.getMinPrice();
                 availableStock = womenProduct.getStock() != null
                         ? womenProduct.getStock()
                         : 0;
             }
 
-            // ✅ STOCK CHECK
+            // ✅ STOCK CHECK (same entity instance, so repeated lines see the reduced stock)
             if (availableStock < reqItem.quantity()) {
                 String name = normalProduct != null
                         ? normalProduct.getProductName()
@@ -974,20 +1030,25 @@ public class OrderServiceImpl implements OrderService {
             orderItem.setPricePerUnit(price);
             orderItem.setTotalPrice(itemTotal);
 
-            if ("NORMAL".equals(productType)) {
+            if (normalProduct != null) {
                 orderItem.setProduct(normalProduct);
                 normalProduct.updateStock(reqItem.quantity());
-                productRepository.save(normalProduct);
+                touchedProducts.add(normalProduct);
             } else {
                 orderItem.setWomenProduct(womenProduct);
                 womenProduct.setStock(womenProduct.getStock() - reqItem.quantity());
-                womenProductRepository.save(womenProduct);
+                touchedWomenProducts.add(womenProduct);
             }
 
             order.getItems().add(orderItem);
             subtotal = subtotal.add(itemTotal);
         }
 
+        // Managed entities: the stock UPDATEs go out together at flush time
+        // (hibernate.jdbc.batch_size + order_updates) instead of one save per line.
+        productRepository.saveAll(touchedProducts);
+        womenProductRepository.saveAll(touchedWomenProducts);
+
 
 //
         order.setSubtotal(subtotal);
@@ -1027,6 +1088,11 @@ public class OrderServiceImpl implements OrderService {
         order = orderRepository.save(order);
         addStatusHistory(order, order.getStatus().name());
 
+        // Activate automatically when the slot starts (timer is added after commit)
+        if (order.getStatus() == Order.OrderStatus.SCHEDULED) {
+            scheduledOrderReleaseService.schedule(order.getId(), order.getScheduledDate(), order.getScheduledSlot());
+        }
+
         // Notify this specific vendor + WebSocket
         notificationService.sendNotification(
                 merchant.getId(),
@@ -1042,6 +1108,7 @@ public class OrderServiceImpl implements OrderService {
 
     @Transactional
     public OrderResponseDTO createOrderFromCart(Customer customer, OrderRequestDTO request) {
+        AtomicInteger ordersCreated = timeOrderCreate("cart");
 
         Cart cart = cartRepository.findByCustomer(customer)
                 .orElseThrow(() -> new IllegalStateException("Cart is empty"));
@@ -1070,6 +1137,7 @@ public class OrderServiceImpl implements OrderService {
                     request,
                     deliveryAddress
             );
+            ordersCreated.incrementAndGet();
 
             if (firstOrder == null) {
                 firstOrder = order;
@@ -1328,6 +1396,9 @@ public class OrderServiceImpl implements OrderService {
             if (order.getStatus() != Order.OrderStatus.READY_FOR_PICKUP) {
                 throw new IllegalStateException("Order not ready for pickup");
             }
+            if (order.getDeliveryPartner() != null && !order.getDeliveryPartner().getId().equals(scanner.getId())) {
+                throw new ForbiddenException("This pickup is assigned to another delivery partner");
+            }
 
             order.setVendorPickupToken(null); // used
             order.setVendorPickupTokenExpiry(null);
@@ -1342,6 +1413,7 @@ public class OrderServiceImpl implements OrderService {
             order.setStatus(Order.OrderStatus.OUT_FOR_DELIVERY);
 
             orderRepository.save(order);
+            pickupDispatcher.cancel(order.getId()); // picked up directly without accepting an offer
             addStatusHistory(order, "PICKED_UP");
             addStatusHistory(order, "OUT_FOR_DELIVERY");
 
@@ -1375,6 +1447,7 @@ public class OrderServiceImpl implements OrderService {
 
             orderRepository.save(order);
             addStatusHistory(order, "DELIVERED");
+            pickupDispatcher.partnerFreed(scanner.getId());
 
             notificationService.sendNotification(
                     order.getCustomer().getId(),
@@ -1436,7 +1509,7 @@ public class OrderServiceImpl implements OrderService {
     }
 
     
-    private OrderResponseDTO mapToResponse(Order order) {
+    OrderResponseDTO mapToResponse(Order order) {
         List<OrderItemResponseDTO> items = order.getItems().stream()
                 .map(item -> new OrderItemResponseDTO(
                         item.getId(),
@@ -1502,6 +1575,7 @@ public class OrderServiceImpl implements OrderService {
         order.setStatus(Order.OrderStatus.REJECTED);
         order.setUpdatedAt(LocalDateTime.now());
         orderRepository.save(order);
+        releaseDelivery(order);
         addStatusHistory(order, "REJECTED");
         notificationService.sendNotification(
                 order.getCustomer().getId(),
@@ -1523,6 +1597,7 @@ public class OrderServiceImpl implements OrderService {
         order.setDeliveredAt(LocalDateTime.now());
         order.setUpdatedAt(LocalDateTime.now());
         orderRepository.save(order);
+        releaseDelivery(order);
         addStatusHistory(order, "DELIVERED");
         notificationService.sendNotification(
                 order.getCustomer().getId(),
@@ -1574,6 +1649,7 @@ public class OrderServiceImpl implements OrderService {
         order.setCancelledBy("CUSTOMER");
         order.setCancelledAt(LocalDateTime.now());
         orderRepository.save(order);
+        releaseDelivery(order);
         addStatusHistory(order, "CANCELLED");
         notificationService.sendNotification(
                 order.getMerchant().getId(),
@@ -1613,6 +1689,7 @@ public class OrderServiceImpl implements OrderService {
         order.setCancelledBy("VENDOR");
         order.setCancelledAt(LocalDateTime.now());
         orderRepository.save(order);
+        releaseDelivery(order);
         addStatusHistory(order, "CANCELLED");
         notificationService.sendNotification(
                 order.getCustomer().getId(),
@@ -1673,7 +1750,7 @@ public class OrderServiceImpl implements OrderService {
         return true;
     }
 
-    private BigDecimal calculateDiscount(Offer offer, BigDecimal subtotal) {
+    BigDecimal calculateDiscount(Offer offer, BigDecimal subtotal) {
         BigDecimal discount = BigDecimal.ZERO;
         if (offer.getDiscountType() == Offer.DiscountType.PERCENTAGE && offer.getDiscountPercent() != null) {
             discount = subtotal.multiply(BigDecimal.valueOf(offer.getDiscountPercent()))
@@ -1687,25 +1764,35 @@ public class OrderServiceImpl implements OrderService {
         return discount;
     }
 
-    private BigDecimal getProductPrice(Product product) {
-        String type = determineProductType(product.getCategory());
-        return switch (type) {
-            case "VEGETABLE" -> vegetableDetailRepository.findByProductId(product.getId())
-                    .map(VegetableDetail::getMinPrice)
-                    .orElseThrow(() -> new IllegalStateException("Price missing"));
-            case "DAIRY" -> dairyDetailRepository.findByProductId(product.getId())
-                    .map(DairyDetail::getMinPrice)
-                    .orElseThrow(() -> new IllegalStateException("Price missing"));
-            case "MEAT" -> meatDetailRepository.findByProductId(product.getId())
-                    .map(MeatDetail::getMinPrice)
-                    .orElseThrow(() -> new IllegalStateException("Price missing"));
-            case "WOMEN"      -> womenProductRepository.findById(product.getId())   // ← This line
-            .map(WomenProduct::getMinPrice)
-            
-           
-                    .orElseThrow(() -> new IllegalStateException("Price missing"));
-            default -> throw new IllegalArgumentException("Unsupported category");
-        };
+    // Prices for a set of products: one detail-table query per product type
+    private Map<Long, BigDecimal> getProductPrices(Collection<Product> products) {
+        Map<String, List<Long>> idsByType = new HashMap<>();
+        for (Product product : products) {
+            idsByType.computeIfAbsent(determineProductType(product.getCategory()), k -> new ArrayList<>())
+                    .add(product.getId());
+        }
+
+        Map<Long, BigDecimal> prices = new HashMap<>();
+        for (Map.Entry<String, List<Long>> entry : idsByType.entrySet()) {
+            List<Long> ids = entry.getValue();
+            switch (entry.getKey()) {
+                case "VEGETABLE" -> vegetableDetailRepository.findByProductIdIn(ids)
+                        .forEach(d -> prices.put(d.getProduct().getId(), d.getMinPrice()));
+                case "DAIRY" -> dairyDetailRepository.findByProductIdIn(ids)
+                        .forEach(d -> prices.put(d.getProduct().getId(), d.getMinPrice()));
+                case "MEAT" -> meatDetailRepository.findByProductIdIn(ids)
+                        .forEach(d -> prices.put(d.getProduct().getId(), d.getMinPrice()));
+                case "WOMEN" -> womenProductRepository.findAllById(ids)
+                        .forEach(w -> prices.put(w.getId(), w.getMinPrice()));
+                default -> throw new IllegalArgumentException("Unsupported category");
+            }
+            for (Long id : ids) {
+                if (prices.get(id) == null) {
+                    throw new IllegalStateException("Price missing");
+                }
+            }
+        }
+        return prices;
     }
 
     private String determineProductType(Category category) {
@@ -1814,6 +1901,88 @@ public class OrderServiceImpl implements OrderService {
     }
 
 
+    @Override
+    @Transactional
+    public boolean releaseScheduledOrder(String orderId) {
+        if (orderRepository.releaseIfScheduled(orderId, LocalDateTime.now()) == 0) {
+            return false; // accepted/cancelled meanwhile, or another node got there first
+        }
+
+        Order order = getOrderById(orderId);
+        addStatusHistory(order, "PENDING");
+
+        notificationService.sendNotification(
+                order.getMerchant().getId(),
+                "Scheduled Order Active",
+                "Scheduled Order #" + order.getId() + " for slot " + order.getScheduledSlot() + " is now active",
+                Map.of("type", "scheduled_order_active", "orderId", order.getId())
+        );
+
+        notifyOrderUpdate(order, "Scheduled order is now active", "SCHEDULED_ORDER_ACTIVE");
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public boolean flagStuckOrder(String orderId, Order.OrderStatus stuckIn, LocalDateTime tokenExpiredBefore) {
+        LocalDateTime now = LocalDateTime.now();
+        int flagged = switch (stuckIn) {
+            case READY_FOR_PICKUP -> orderRepository.flagStuckPickup(orderId, tokenExpiredBefore, now);
+            case OUT_FOR_DELIVERY -> orderRepository.flagStuckDelivery(orderId, tokenExpiredBefore, now);
+            default -> throw new IllegalArgumentException("Only pickups and deliveries can get stuck, not " + stuckIn);
+        };
+        if (flagged == 0) {
+            return false; // scanned or moved on since the sweep selected it
+        }
+
+        Order order = getOrderById(orderId);
+        releaseDelivery(order); // ops reassigns it; the partner must not stay marked busy meanwhile
+        addStatusHistory(order, "NEEDS_REVIEW");
+
+        String stage = stuckIn == Order.OrderStatus.READY_FOR_PICKUP ? "pickup" : "delivery";
+        notificationService.sendNotification(
+                order.getMerchant().getId(),
+                "Order Needs Review",
+                "Order #" + order.getId() + " was not scanned for " + stage + " in time and is under review",
+                Map.of("type", "order_needs_review", "orderId", order.getId())
+        );
+        notificationService.sendNotification(
+                order.getCustomer().getId(),
+                "Order Delayed",
+                "Your order #" + order.getId() + " is delayed; our team is looking into it",
+                Map.of("type", "order_needs_review", "orderId", order.getId())
+        );
+
+        notifyOrderUpdate(order, "Order " + stage + " is overdue and under review", "NEEDS_REVIEW");
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public boolean assignDeliveryPartner(String orderId, Long partnerId) {
+        User partner = userRepository.getReferenceById(partnerId);
+        if (orderRepository.assignDeliveryPartnerIfUnassigned(orderId, partner, LocalDateTime.now()) == 0) {
+            return false; // another partner was faster, or the order is no longer waiting for pickup
+        }
+
+        Order order = getOrderById(orderId);
+        notifyOrderUpdate(order, "Delivery partner " + order.getDeliveryPartner().getName() + " is on the way to pick up your order",
+                "PARTNER_ASSIGNED");
+        return true;
+    }
+
+    /**
+     * The order left the delivery flow (cancelled, rejected, delivered, under
+     * review): withdraw any open pickup offers and make its partner
+     * dispatchable again, otherwise they stay busy until a restart.
+     */
+    private void releaseDelivery(Order order) {
+        pickupDispatcher.cancel(order.getId());
+        if (order.getDeliveryPartner() != null) {
+            pickupDispatcher.partnerFreed(order.getDeliveryPartner().getId());
+        }
+    }
+
     @Override
     public Order getOrderById(String orderId) {
         return orderRepository.findById(orderId)
@@ -1847,22 +2016,35 @@ public class OrderServiceImpl implements OrderService {
 
         // Send private update to customer
         if (order.getCustomer() != null) {
-            orderWebSocketService.sendToUser(order.getCustomer().getId().toString(), update);
+            orderWebSocketService.sendToCustomer(order.getCustomer().getId(), update);
         }
 
         // Send private update to vendor
         if (order.getMerchant() != null) {
-            orderWebSocketService.sendToUser(order.getMerchant().getId().toString(), update);
+            orderWebSocketService.sendToUser(order.getMerchant().getId(), update);
         }
 
         // Send private update to delivery partner (if assigned)
         if (order.getDeliveryPartner() != null) {
-            orderWebSocketService.sendToUser(order.getDeliveryPartner().getId().toString(), update);
+            orderWebSocketService.sendToUser(order.getDeliveryPartner().getId(), update);
         }
 
-        // Broadcast to all delivery partners when new pickup is ready
-        if (Order.OrderStatus.READY_FOR_PICKUP.equals(order.getStatus())) {
-            orderWebSocketService.broadcastNewPickup(update);
+        // Offer a new pickup to the nearest free delivery partners (falls back to the geo topic)
+        if (Order.OrderStatus.READY_FOR_PICKUP.equals(order.getStatus()) && order.getDeliveryPartner() == null) {
+            // pickup happens at the shop; shops without usable coordinates fall back to the delivery
+            // address, and with neither the offer goes to the global pickup topic
+            double[] shop = order.getMerchant() != null ? shopGeoIndex.vendorLocation(order.getMerchant().getId()) : null;
+            CustomerAddress address = order.getDeliveryAddress();
+            Double lat = null;
+            Double lng = null;
+            if (shop != null && GeoHash.isValid(shop[0], shop[1])) {
+                lat = shop[0];
+                lng = shop[1];
+            } else if (address != null && GeoHash.isValid(address.getLatitude(), address.getLongitude())) {
+                lat = address.getLatitude();
+                lng = address.getLongitude();
+            }
+            pickupDispatcher.dispatch(order.getId(), lat, lng, update);
         }
     }
    
@@ -0,0 +1,149 @@
+package com.agrowmart.service;
+
+import com.agrowmart.entity.order.Order;
+import com.agrowmart.repository.OrderRepository;
+import com.agrowmart.service.scheduling.JobExecution;
+import com.agrowmart.service.scheduling.ScheduledJobRunner;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.IntSupplier;
+
+/**
+ * Background cleanup for QR tokens issued by markOrderReady / generateVendorPickupQR / scanToken.
+ *
+ * - expired tokens are nulled out (together with their expiry) so the
+ *   expiry indexes only hold live tokens;
+ * - orders left READY_FOR_PICKUP / OUT_FOR_DELIVERY long after their token
+ *   expired are moved to NEEDS_REVIEW through OrderService.flagStuckOrder,
+ *   one order per transaction, so each gets its status history row and the
+ *   customer/vendor notifications like any other status change.
+ *
+ * Every select/cleanup is a range scan on an indexed expiry column with a
+ * LIMIT, run in its own short transaction, so a large backlog never holds row
+ * locks for long. scanToken keeps its own expiry check for the time between
+ * sweeps.
+ */
+@Service
+public class OrderTokenSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderTokenSweeper.class);
+
+    private final OrderRepository orderRepository;
+    private final OrderService orderService;
+    private final ScheduledJobRunner jobRunner;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long reviewAfterMinutes;
+
+    private final Counter pickupTokensCleared;
+    private final Counter deliveryTokensCleared;
+    private final Counter pickupsFlagged;
+    private final Counter deliveriesFlagged;
+    private final Timer sweepTimer;
+
+    public OrderTokenSweeper(
+            OrderRepository orderRepository,
+            @Lazy OrderService orderService,
+            ScheduledJobRunner jobRunner,
+            MeterRegistry meterRegistry,
+            @Value("${orders.token-sweep.batch-size:500}") int batchSize,
+            @Value("${orders.token-sweep.max-batches:20}") int maxBatchesPerRun,
+            @Value("${orders.token-sweep.review-after-minutes:120}") long reviewAfterMinutes) {
+        this.orderRepository = orderRepository;
+        this.orderService = orderService;
+        this.jobRunner = jobRunner;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.reviewAfterMinutes = reviewAfterMinutes;
+
+        this.pickupTokensCleared = Counter.builder("orders.tokens.cleared")
+                .tag("token", "vendor_pickup").register(meterRegistry);
+        this.deliveryTokensCleared = Counter.builder("orders.tokens.cleared")
+                .tag("token", "user_delivery").register(meterRegistry);
+        this.pickupsFlagged = Counter.builder("orders.review.flagged")
+                .tag("token", "vendor_pickup").register(meterRegistry);
+        this.deliveriesFlagged = Counter.builder("orders.review.flagged")
+                .tag("token", "user_delivery").register(meterRegistry);
+        this.sweepTimer = Timer.builder("orders.tokens.sweep").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${orders.token-sweep.interval-ms:60000}",
+               initialDelayString = "${orders.token-sweep.initial-delay-ms:30000}")
+    public void sweep() {
+        // idempotent, but one node per interval is enough
+        jobRunner.run("order-token-sweep", this::sweepOnce);
+    }
+
+    private void sweepOnce(JobExecution execution) {
+        sweepTimer.record(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime reviewCutoff = now.minusMinutes(reviewAfterMinutes);
+
+            // Review first, so stuck orders are flagged before their token disappears
+            int flaggedPickups = flagStuck(Order.OrderStatus.READY_FOR_PICKUP, reviewCutoff,
+                    orderRepository::findStuckPickupIds);
+            int flaggedDeliveries = flagStuck(Order.OrderStatus.OUT_FOR_DELIVERY, reviewCutoff,
+                    orderRepository::findStuckDeliveryIds);
+            int clearedPickups = drain(() -> orderRepository.clearExpiredPickupTokens(now, batchSize));
+            int clearedDeliveries = drain(() -> orderRepository.clearExpiredDeliveryTokens(now, batchSize));
+
+            pickupsFlagged.increment(flaggedPickups);
+            deliveriesFlagged.increment(flaggedDeliveries);
+            pickupTokensCleared.increment(clearedPickups);
+            deliveryTokensCleared.increment(clearedDeliveries);
+            execution.addRows(flaggedPickups + flaggedDeliveries + clearedPickups + clearedDeliveries);
+
+            if (flaggedPickups + flaggedDeliveries + clearedPickups + clearedDeliveries > 0) {
+                log.info("Token sweep: cleared {} pickup / {} delivery tokens, flagged {} pickup / {} delivery orders for review",
+                        clearedPickups, clearedDeliveries, flaggedPickups, flaggedDeliveries);
+            }
+        });
+    }
+
+    // Flags stuck orders a bounded batch of ids at a time, until a short batch (or the per-run cap)
+    private int flagStuck(Order.OrderStatus stuckIn, LocalDateTime reviewCutoff,
+                          BiFunction<LocalDateTime, Integer, List<String>> findStuckIds) {
+        int flagged = 0;
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            List<String> orderIds = findStuckIds.apply(reviewCutoff, batchSize);
+            for (String orderId : orderIds) {
+                try {
+                    if (orderService.flagStuckOrder(orderId, stuckIn, reviewCutoff)) {
+                        flagged++;
+                    }
+                } catch (RuntimeException e) {
+                    log.error("Could not flag order {} for review: {}", orderId, e.getMessage(), e);
+                }
+            }
+            if (orderIds.size() < batchSize) {
+                break;
+            }
+        }
+        return flagged;
+    }
+
+    // Repeats one bounded batch until a short one comes back (or the per-run cap is hit)
+    private int drain(IntSupplier batch) {
+        int total = 0;
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            int updated = batch.getAsInt();
+            total += updated;
+            if (updated < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+}
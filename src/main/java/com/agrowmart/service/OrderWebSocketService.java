@@ -1,32 +1,75 @@
 package com.agrowmart.service;
 
 
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.agrowmart.dto.auth.order.OrderStatusUpdateDTO;
+import com.agrowmart.dto.auth.order.PickupOfferDTO;
+import com.agrowmart.service.websocket.StompMessageRelay;
+import com.agrowmart.service.websocket.StompPrincipals;
+import com.agrowmart.util.GeoHash;
 
 @Service
 public class OrderWebSocketService {
 
-    private final SimpMessagingTemplate template;
+    static final String PICKUP_TOPIC = "/topic/delivery/pickups";
+
+    private final StompMessageRelay relay;
+    private final int pickupCellPrecision;
+
+    public OrderWebSocketService(StompMessageRelay relay,
+                                 @Value("${delivery.pickup-topic.geohash-precision:5}") int pickupCellPrecision) {
+        this.relay = relay;
+        this.pickupCellPrecision = pickupCellPrecision;
+    }
 
-    public OrderWebSocketService(SimpMessagingTemplate template) {
-        this.template = template;
+    // Private order updates (on whichever node holds the session); customers and users are separate principals
+    public void sendToCustomer(Long customerId, OrderStatusUpdateDTO update) {
+        relay.sendToUser(StompPrincipals.customer(customerId), "/queue/orders", update);
     }
 
-    // Send private message to specific user
-    public void sendToUser(String userId, OrderStatusUpdateDTO update) {
-        template.convertAndSendToUser(userId, "/queue/orders", update);
+    public void sendToUser(Long userId, OrderStatusUpdateDTO update) {
+        relay.sendToUser(StompPrincipals.user(userId), "/queue/orders", update);
     }
 
     // Broadcast to all delivery partners
     public void broadcastToDeliveryPartners(OrderStatusUpdateDTO update) {
-        template.convertAndSend("/topic/delivery/pickups", update);
+        relay.broadcast(PICKUP_TOPIC, update);
+    }
+
+    // Targeted pickup offers / withdrawals from PickupDispatcher
+    public void sendPickupOffer(long partnerId, PickupOfferDTO offer) {
+        relay.sendToUser(StompPrincipals.user(partnerId), "/queue/pickup-offers", offer);
     }
 
-	public void broadcastNewPickup(OrderStatusUpdateDTO update) {
-		// TODO Auto-generated method stub
-		
-	}
-}
\ No newline at end of file
+    /**
+     * New pickup goes only to the geohash cell of the pickup location
+     * (/topic/delivery/pickups/{cell}). Partners subscribe to their own cell
+     * and its neighbours (see {@link #pickupTopicsNear}), so each one only
+     * hears about pickups within roughly one cell of where they are.
+     * Locations saved without coordinates, or with coordinates out of range,
+     * fall back to the global topic.
+     */
+    public void broadcastNewPickup(OrderStatusUpdateDTO update, Double latitude, Double longitude) {
+        if (!GeoHash.isValid(latitude, longitude)) {
+            broadcastToDeliveryPartners(update);
+            return;
+        }
+        relay.broadcast(pickupTopic(GeoHash.encode(latitude, longitude, pickupCellPrecision)), update);
+    }
+
+    /** Topics a delivery partner at the given position should be subscribed to. */
+    public List<String> pickupTopicsNear(double latitude, double longitude) {
+        String cell = GeoHash.encode(latitude, longitude, pickupCellPrecision);
+        return GeoHash.cellAndNeighbours(cell).stream()
+                .map(OrderWebSocketService::pickupTopic)
+                .toList();
+    }
+
+    static String pickupTopic(String cell) {
+        return PICKUP_TOPIC + "/" + cell;
+    }
+}
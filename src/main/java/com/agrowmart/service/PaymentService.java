@@ -3,23 +3,24 @@ package com.agrowmart.service;
 
 import org.json.JSONObject;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
 
 import com.agrowmart.dto.auth.order.CreateOrderRequest;
 import com.agrowmart.dto.auth.order.PaymentResponse;
 import com.agrowmart.entity.User;
 import com.agrowmart.entity.order.Order;
 import com.agrowmart.repository.OrderRepository;
-import com.razorpay.RazorpayClient;
+import com.agrowmart.service.external.RazorpayGateway;
 import com.razorpay.RazorpayException;
 
 @Service
 public class PaymentService {
 
-    private final RazorpayClient razorpayClient;
+    private final RazorpayGateway razorpayGateway;
     private final OrderRepository orderRepository;
 
-    public PaymentService(RazorpayClient razorpayClient, OrderRepository orderRepository) {
-        this.razorpayClient = razorpayClient;
+    public PaymentService(RazorpayGateway razorpayGateway, OrderRepository orderRepository) {
+        this.razorpayGateway = razorpayGateway;
         this.orderRepository = orderRepository;
     }
 
@@ -36,10 +37,15 @@ public class PaymentService {
         razorpayOrderRequest.put("currency", "INR");
         razorpayOrderRequest.put("receipt", "order_" + order.getId());
 
-        com.razorpay.Order razorpayOrder = razorpayClient.orders.create(razorpayOrderRequest);
+        JSONObject razorpayOrder;
+        try {
+            razorpayOrder = new JSONObject(razorpayGateway.post("/v1/orders", razorpayOrderRequest.toString()));
+        } catch (RestClientException e) {
+            throw new RazorpayException(e.getMessage(), e);
+        }
 
         return new PaymentResponse(
-                razorpayOrder.get("id"),
+                razorpayOrder.getString("id"),
                 request.amount(),
                 "INR"
         );
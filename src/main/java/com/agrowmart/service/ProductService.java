@@ -318,7 +318,7 @@ this.userRepo=userRepo;
 
 
     
-    private String determineProductType(Category category) {
+    String determineProductType(Category category) {
         if (category == null) return "GENERAL";
 
         Category current = category;
@@ -9,41 +9,38 @@ import com.agrowmart.repository.OrderRepository;
 import com.agrowmart.repository.PaymentRepository;
 import com.agrowmart.repository.SettlementRepository;
 import com.agrowmart.repository.VendorPaymentDetailsRepository;
+import com.agrowmart.service.external.RazorpayGateway;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
 
 import java.time.LocalDateTime;
-import java.util.Base64;
 import java.util.Map;
+import java.util.Set;
 
 @Service
 public class RazorpayService {
     private static final Logger log = LoggerFactory.getLogger(RazorpayService.class);
 
-    private final RestTemplate restTemplate = new RestTemplate();
-
     private final OrderRepository orderRepository;
     private final PaymentRepository paymentRepository;
     private final VendorPaymentDetailsRepository vendorPaymentDetailsRepository;
     private final SettlementRepository settlementRepository;
     private final NotificationService notificationService;
+    private final RazorpayGateway razorpayGateway;
+    private final MeterRegistry meterRegistry;
 
-    // Match your properties file (add _id and _secret suffixes)
-    @Value("${razorpay.key}")
-    private String razorpayKeyId;
-
-    @Value("${razorpay.secret}")
-    private String razorpayKeySecret;
+    // webhook event tag values; anything else is counted as "other"
+    private static final Set<String> KNOWN_EVENTS = Set.of(
+            "payment.captured", "payout.processed", "payout.failed", "refund.processed");
 
     @Value("${razorpayx.account}")
     private String razorpayxAccountNumber;
@@ -53,21 +50,45 @@ public class RazorpayService {
             PaymentRepository paymentRepository,
             VendorPaymentDetailsRepository vendorPaymentDetailsRepository,
             SettlementRepository settlementRepository,
-            NotificationService notificationService) {
+            NotificationService notificationService,
+            RazorpayGateway razorpayGateway,
+            MeterRegistry meterRegistry) {
         this.orderRepository = orderRepository;
         this.paymentRepository = paymentRepository;
         this.vendorPaymentDetailsRepository = vendorPaymentDetailsRepository;
         this.settlementRepository = settlementRepository;
         this.notificationService = notificationService;
+        this.razorpayGateway = razorpayGateway;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /** POST to the Razorpay API through the gateway, timed as razorpay.requests{operation, outcome}. */
+    private JSONObject post(String operation, String path, JSONObject body) {
+        return post(operation, path, body, null);
     }
 
-    private HttpHeaders getAuthHeaders() {
-        HttpHeaders headers = new HttpHeaders();
-        String credentials = razorpayKeyId + ":" + razorpayKeySecret;
-        String encoded = Base64.getEncoder().encodeToString(credentials.getBytes());
-        headers.set("Authorization", "Basic " + encoded);
-        headers.set("Content-Type", "application/json");
-        return headers;
+    private JSONObject post(String operation, String path, JSONObject body, String idempotencyKey) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return new JSONObject(idempotencyKey != null
+                    ? razorpayGateway.post(path, body.toString(), idempotencyKey)
+                    : razorpayGateway.post(path, body.toString()));
+        } catch (HttpClientErrorException e) {
+            outcome = "client_error";
+            throw e;
+        } catch (HttpServerErrorException e) {
+            outcome = "server_error";
+            throw e;
+        } catch (RuntimeException e) {
+            outcome = "io_error";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("razorpay.requests")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
     }
 
     @Transactional
@@ -78,6 +99,8 @@ public class RazorpayService {
         }
         String eventType = event.getString("event");
         log.info("Processing Razorpay webhook: {}", eventType);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "processed";
         try {
             JSONObject payload = event.getJSONObject("payload");
             JSONObject entity = null;
@@ -90,6 +113,7 @@ public class RazorpayService {
             }
             if (entity == null) {
                 log.warn("No entity in webhook for event: {}", eventType);
+                outcome = "ignored";
                 return;
             }
             switch (eventType) {
@@ -97,10 +121,19 @@ public class RazorpayService {
                 case "payout.processed" -> handlePayoutProcessed(entity);
                 case "payout.failed" -> handlePayoutFailed(entity);
                 case "refund.processed" -> handleRefundProcessed(entity);
-                default -> log.debug("Ignored event: {}", eventType);
+                default -> {
+                    log.debug("Ignored event: {}", eventType);
+                    outcome = "ignored";
+                }
             }
         } catch (Exception e) {
+            outcome = "failed";
             log.error("Webhook processing failed for event {}: {}", eventType, e.getMessage(), e);
+        } finally {
+            sample.stop(Timer.builder("razorpay.webhooks")
+                    .tag("event", KNOWN_EVENTS.contains(eventType) ? eventType : "other")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
         }
     }
 
@@ -198,8 +231,6 @@ public class RazorpayService {
             return;
         }
 
-        HttpHeaders headers = getAuthHeaders();
-
         try {
             // Create Contact
             JSONObject contactReq = new JSONObject();
@@ -208,11 +239,7 @@ public class RazorpayService {
             contactReq.put("contact", vendor.getPhone());
             contactReq.put("type", "vendor");
 
-            HttpEntity<String> contactEntity = new HttpEntity<>(contactReq.toString(), headers);
-            ResponseEntity<String> contactResponse = restTemplate.exchange(
-                    "https://api.razorpay.com/v1/contacts", HttpMethod.POST, contactEntity, String.class);
-
-            JSONObject contactJson = new JSONObject(contactResponse.getBody());
+            JSONObject contactJson = post("create_contact", "/v1/contacts", contactReq);
             String contactId = contactJson.getString("id");
             details.setRazorpayContactId(contactId);
             log.info("Contact created: {}", contactId);
@@ -228,11 +255,7 @@ public class RazorpayService {
             fundReq.put("account_type", "bank_account");
             fundReq.put("bank_account", bankAccount);
 
-            HttpEntity<String> fundEntity = new HttpEntity<>(fundReq.toString(), headers);
-            ResponseEntity<String> fundResponse = restTemplate.exchange(
-                    "https://api.razorpay.com/v1/fund_accounts", HttpMethod.POST, fundEntity, String.class);
-
-            JSONObject fundJson = new JSONObject(fundResponse.getBody());
+            JSONObject fundJson = post("create_fund_account", "/v1/fund_accounts", fundReq);
             String fundAccountId = fundJson.getString("id");
             details.setRazorpayFundAccountId(fundAccountId);
             log.info("Fund Account created: {}", fundAccountId);
@@ -245,7 +268,13 @@ public class RazorpayService {
         }
     }
 
-    public String createPayout(String fundAccountId, double amountInRupees, String orderId) throws Exception {
+    /**
+     * Pays a vendor through RazorpayX. Calls with the same idempotency key
+     * return the first payout instead of paying again, so a payout whose
+     * response was lost can safely be retried.
+     */
+    public String createPayout(String fundAccountId, double amountInRupees, String orderId,
+                               String idempotencyKey) throws Exception {
         log.info("Creating payout: ₹{} for order {}", amountInRupees, orderId);
 
         JSONObject req = new JSONObject();
@@ -258,13 +287,7 @@ public class RazorpayService {
         req.put("reference_id", "settlement_" + orderId);
         req.put("narration", "AgrowMart Vendor Settlement");
 
-        HttpHeaders headers = getAuthHeaders();
-        HttpEntity<String> entity = new HttpEntity<>(req.toString(), headers);
-
-        ResponseEntity<String> response = restTemplate.exchange(
-                "https://api.razorpay.com/v1/payouts", HttpMethod.POST, entity, String.class);
-
-        JSONObject payoutJson = new JSONObject(response.getBody());
+        JSONObject payoutJson = post("create_payout", "/v1/payouts", req, idempotencyKey);
         String payoutId = payoutJson.getString("id");
 
         log.info("Payout created: ID={}", payoutId);
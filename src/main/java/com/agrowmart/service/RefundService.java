@@ -6,27 +6,26 @@ import com.agrowmart.entity.order.Payment;
 import com.agrowmart.entity.User;
 import com.agrowmart.repository.OrderRepository;
 import com.agrowmart.repository.PaymentRepository;
-import com.razorpay.RazorpayClient;
-import com.razorpay.RazorpayException;
-import com.razorpay.Refund;
+import com.agrowmart.service.external.RazorpayGateway;
 
 import java.util.Map;
 
 import org.json.JSONObject;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.RestClientException;
 @Service
 public class RefundService {
-    private final RazorpayClient razorpayClient;
+    private final RazorpayGateway razorpayGateway;
     private final OrderRepository orderRepository;
     private final PaymentRepository paymentRepository;
     private final NotificationService notificationService;
 
-    public RefundService(RazorpayClient razorpayClient,
+    public RefundService(RazorpayGateway razorpayGateway,
                          OrderRepository orderRepository,
                          PaymentRepository paymentRepository,
                          NotificationService notificationService) {
-        this.razorpayClient = razorpayClient;
+        this.razorpayGateway = razorpayGateway;
         this.orderRepository = orderRepository;
         this.paymentRepository = paymentRepository;
         this.notificationService = notificationService;
@@ -53,7 +52,7 @@ public class RefundService {
             JSONObject refundRequest = new JSONObject();
             refundRequest.put("amount", (int) (order.getTotalPrice().doubleValue() * 100)); // full refund in paise
             refundRequest.put("speed", "optimum"); // or "normal"
-            Refund refund = razorpayClient.payments.refund(payment.getRazorpayPaymentId(), refundRequest);
+            razorpayGateway.post("/v1/payments/" + payment.getRazorpayPaymentId() + "/refund", refundRequest.toString());
             // Update order status
             order.setPaymentStatus("REFUND_INITIATED");
             orderRepository.save(order);
@@ -65,7 +64,7 @@ public class RefundService {
                     ". Expected in 3-7 days depending on bank.",
                     Map.of("type", "refund_initiated", "orderId", orderId)
             );
-        } catch (RazorpayException e) {
+        } catch (RestClientException e) {
             throw new RuntimeException("Refund failed: " + e.getMessage());
         }
     }
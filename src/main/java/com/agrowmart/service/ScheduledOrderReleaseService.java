@@ -0,0 +1,189 @@
+package com.agrowmart.service;
+
+import com.agrowmart.dto.auth.order.ScheduledOrderSlotDTO;
+import com.agrowmart.repository.OrderRepository;
+import com.agrowmart.util.HashedTimingWheel;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Moves SCHEDULED orders to PENDING when their delivery slot starts.
+ *
+ * Every scheduled order gets one timeout in an in-process hashed timing wheel
+ * (O(1) to add/cancel, no polling of the orders table). The wheel is
+ * rehydrated from the DB on startup. Every node may hold the same order in its
+ * wheel; {@link OrderRepository#releaseIfScheduled} is a conditional UPDATE so
+ * only the first node to fire actually releases it and sends notifications.
+ *
+ * A slow catch-up pass only looks at orders whose date has already arrived and
+ * covers orders created on a node that died before their slot.
+ */
+@Service
+public class ScheduledOrderReleaseService {
+
+    private static final Logger log = LoggerFactory.getLogger(ScheduledOrderReleaseService.class);
+
+    private static final List<DateTimeFormatter> SLOT_FORMATS = List.of(
+            DateTimeFormatter.ofPattern("H:mm"),
+            DateTimeFormatter.ofPattern("h:mm a", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("h a", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("ha", Locale.ENGLISH)
+    );
+
+    private final OrderRepository orderRepository;
+    private final OrderService orderService;
+    private final ZoneId zone;
+    private final ExecutorService releaseExecutor;
+    private final HashedTimingWheel<String> wheel;
+
+    public ScheduledOrderReleaseService(
+            OrderRepository orderRepository,
+            @Lazy OrderService orderService,
+            @Value("${orders.scheduled-release.zone:Asia/Kolkata}") String zone,
+            @Value("${orders.scheduled-release.tick-ms:1000}") long tickMs,
+            @Value("${orders.scheduled-release.wheel-size:512}") int wheelSize,
+            @Value("${orders.scheduled-release.threads:2}") int threads) {
+        this.orderRepository = orderRepository;
+        this.orderService = orderService;
+        this.zone = ZoneId.of(zone);
+        this.releaseExecutor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "scheduled-order-release");
+            t.setDaemon(true);
+            return t;
+        });
+        this.wheel = new HashedTimingWheel<>("scheduled-order-wheel", Duration.ofMillis(tickMs), wheelSize, releaseExecutor);
+    }
+
+    // ──────────────────────────────────────────────
+    // Registration
+    // ──────────────────────────────────────────────
+
+    /**
+     * Registers (or re-registers) an order to be released at the start of its
+     * slot. Inside a transaction the timer is only added once it commits, so a
+     * rolled-back order never fires.
+     */
+    public void schedule(String orderId, LocalDate scheduledDate, String scheduledSlot) {
+        if (orderId == null || scheduledDate == null) {
+            return;
+        }
+        ZonedDateTime releaseAt = slotStart(scheduledDate, scheduledSlot);
+        if (releaseAt == null) {
+            log.warn("Scheduled order {} has unparseable slot '{}'; not releasing it automatically",
+                    orderId, scheduledSlot);
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addTimer(orderId, releaseAt);
+                }
+            });
+        } else {
+            addTimer(orderId, releaseAt);
+        }
+    }
+
+    private void addTimer(String orderId, ZonedDateTime releaseAt) {
+        Duration delay = Duration.between(ZonedDateTime.now(zone), releaseAt);
+        wheel.schedule(orderId, delay, () -> release(orderId));
+    }
+
+    public void cancel(String orderId) {
+        wheel.cancel(orderId);
+    }
+
+    public int pendingCount() {
+        return wheel.size();
+    }
+
+    // ──────────────────────────────────────────────
+    // Startup + catch-up
+    // ──────────────────────────────────────────────
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rehydrate() {
+        List<ScheduledOrderSlotDTO> slots = orderRepository.findScheduledOrderSlots();
+        slots.forEach(s -> schedule(s.orderId(), s.scheduledDate(), s.scheduledSlot()));
+        log.info("Scheduled-order release: {} orders loaded into timing wheel", slots.size());
+    }
+
+    @Scheduled(fixedDelayString = "${orders.scheduled-release.catch-up-ms:300000}",
+               initialDelayString = "${orders.scheduled-release.catch-up-ms:300000}")
+    public void catchUp() {
+        LocalDate today = LocalDate.now(zone);
+        for (ScheduledOrderSlotDTO s : orderRepository.findScheduledOrderSlotsDueBy(today)) {
+            if (!wheel.isScheduled(s.orderId())) {
+                schedule(s.orderId(), s.scheduledDate(), s.scheduledSlot());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        wheel.stop();
+        releaseExecutor.shutdown();
+    }
+
+    // ──────────────────────────────────────────────
+    // Firing
+    // ──────────────────────────────────────────────
+
+    private void release(String orderId) {
+        try {
+            if (orderService.releaseScheduledOrder(orderId)) {
+                log.info("Scheduled order {} released to PENDING", orderId);
+            }
+        } catch (Exception e) {
+            log.error("Failed to release scheduled order {}: {}", orderId, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Slot "10:00-12:00" on 2025-01-10 → 2025-01-10T10:00 in the configured
+     * zone; no slot means the whole day (midnight), an unparseable one null.
+     */
+    ZonedDateTime slotStart(LocalDate date, String slot) {
+        LocalTime start = parseSlotStart(slot);
+        return start == null ? null : LocalDateTime.of(date, start).atZone(zone);
+    }
+
+    static LocalTime parseSlotStart(String slot) {
+        if (slot == null || slot.isBlank()) {
+            return LocalTime.MIDNIGHT;
+        }
+        String start = slot.split("-")[0].trim().toUpperCase(Locale.ENGLISH);
+        for (DateTimeFormatter format : SLOT_FORMATS) {
+            try {
+                return LocalTime.parse(start, format);
+            } catch (DateTimeParseException ignored) {
+                // try next format
+            }
+        }
+        return null;
+    }
+}
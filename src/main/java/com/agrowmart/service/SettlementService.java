@@ -6,84 +6,198 @@ import com.agrowmart.entity.order.Settlement;
 import com.agrowmart.repository.OrderRepository;
 import com.agrowmart.repository.SettlementRepository;
 import com.agrowmart.repository.VendorPaymentDetailsRepository;
+import com.agrowmart.service.scheduling.JobExecution;
+import com.agrowmart.service.scheduling.ScheduledJobRunner;
 import com.razorpay.RazorpayException;
 
 import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 @Service
 public class SettlementService {
+    private static final Logger log = LoggerFactory.getLogger(SettlementService.class);
+
+    // a claim this old with no Settlement row was abandoned mid-payout, not still in flight
+    static final Duration STALE_CLAIM_AFTER = Duration.ofHours(6);
+
     private final OrderRepository orderRepository;
     private final VendorPaymentDetailsRepository vendorPaymentDetailsRepository;
     private final SettlementRepository settlementRepository;
     private final RazorpayService razorpayService;
+    private final ScheduledJobRunner jobRunner;
+    private final TransactionTemplate transactionTemplate;
 
     public SettlementService(
             OrderRepository orderRepository,
             VendorPaymentDetailsRepository vendorPaymentDetailsRepository,
             SettlementRepository settlementRepository,
-            RazorpayService razorpayService) {
+            RazorpayService razorpayService,
+            ScheduledJobRunner jobRunner,
+            PlatformTransactionManager transactionManager) {
         this.orderRepository = orderRepository;
         this.vendorPaymentDetailsRepository = vendorPaymentDetailsRepository;
         this.settlementRepository = settlementRepository;
         this.razorpayService = razorpayService;
+        this.jobRunner = jobRunner;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     /**
      * Daily cron job: Runs every day at 2:00 AM
-     * Processes settlements for orders delivered 7+ days ago
+     * Processes settlements for orders delivered 7+ days ago.
+     * Runs on one node only; each order is settled in its own transaction so
+     * a failure late in the run never rolls back payouts already made.
      */
     @Scheduled(cron = "0 0 2 * * ?")
-    @Transactional
     public void processDailySettlements() {
+        jobRunner.run("daily-settlements", this::settleEligibleOrders);
+    }
+
+    void settleEligibleOrders(JobExecution execution) {
+        LocalDateTime claimedBefore = LocalDateTime.now().minus(STALE_CLAIM_AFTER);
+        List<String> staleClaimIds = transactionTemplate.execute(status ->
+                orderRepository.findStaleSettlementClaims(claimedBefore));
+        for (String orderId : staleClaimIds) {
+            execution.ensureLeaseHeld();
+            record(execution, resumeClaim(orderId));
+        }
+
         LocalDateTime cutoff = LocalDateTime.now().minusDays(7);
-        List<Order> eligibleOrders = orderRepository.findEligibleForSettlement(cutoff);
-        for (Order order : eligibleOrders) {
-            // Only process if payment successful and order delivered
-            if (!"SUCCESS".equals(order.getPaymentStatus()) ||
-                !"DELIVERED".equals(order.getStatus())) {
-                continue;
-            }
-            VendorPaymentDetails details = vendorPaymentDetailsRepository
-                    .findByUser(order.getMerchant())
-                    .orElse(null);
-            if (details == null || details.getRazorpayFundAccountId() == null) {
-                // Vendor not onboarded for payouts
-                continue;
-            }
-            BigDecimal commission = order.getTotalPrice().multiply(BigDecimal.valueOf(0.10)); // 10%
-            BigDecimal payoutAmount = order.getTotalPrice().subtract(commission);
-            try {
-                String payoutId = razorpayService.createPayout(
-                        details.getRazorpayFundAccountId(),
-                        payoutAmount.doubleValue(),
-                        order.getId()
-                );
+        List<String> eligibleOrderIds = transactionTemplate.execute(status ->
+                orderRepository.findEligibleForSettlement(cutoff).stream().map(Order::getId).toList());
+        for (String orderId : eligibleOrderIds) {
+            // never start a payout once another node may have taken over the job
+            execution.ensureLeaseHeld();
+            record(execution, settleOrder(orderId));
+        }
+    }
+
+    private static void record(JobExecution execution, Boolean settled) {
+        if (Boolean.TRUE.equals(settled)) {
+            execution.addRows(1);
+        } else if (settled == null) {
+            execution.recordFailure();
+        }
+    }
+
+    /**
+     * true = payout created, false = skipped, null = payout failed.
+     *
+     * The order is claimed (PENDING -> PROCESSING) and committed before
+     * Razorpay is called, so an overlapping run finds it taken; a claim left
+     * behind by a crash is picked up by {@link #resumeClaim}. The payout
+     * carries an idempotency key derived from the order id, so even a
+     * repeated call cannot pay twice.
+     */
+    private Boolean settleOrder(String orderId) {
+        PayoutClaim claim = transactionTemplate.execute(status -> claim(orderId));
+        return claim == null ? Boolean.FALSE : payOut(orderId, claim);
+    }
+
+    /**
+     * Picks up a claim whose run died between the claim and the Settlement
+     * insert. The payout is requested again under the same key, so Razorpay
+     * hands back the original payout if one was made and creates it if not.
+     */
+    private Boolean resumeClaim(String orderId) {
+        PayoutClaim claim = transactionTemplate.execute(status -> reclaim(orderId));
+        if (claim == null) {
+            return false;
+        }
+        log.warn("Resuming settlement of order {} claimed more than {} ago", orderId, STALE_CLAIM_AFTER);
+        return payOut(orderId, claim);
+    }
+
+    private Boolean payOut(String orderId, PayoutClaim claim) {
+        String payoutId;
+        try {
+            payoutId = razorpayService.createPayout(
+                    claim.fundAccountId(),
+                    claim.amount().doubleValue(),
+                    orderId,
+                    "settlement-" + orderId
+            );
+        } catch (Exception e) {
+            log.error("Razorpay payout failed for order {}, leaving it for the next run", orderId, e);
+            transactionTemplate.executeWithoutResult(status ->
+                    orderRepository.releaseSettlementClaim(orderId, LocalDateTime.now()));
+            return null;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
                 Settlement settlement = new Settlement();
-                settlement.setOrderId(order.getId());
-                settlement.setVendorId(order.getMerchant().getId());
-                settlement.setPayoutAmount(payoutAmount.doubleValue());
+                settlement.setOrderId(orderId);
+                settlement.setVendorId(claim.vendorId());
+                settlement.setPayoutAmount(claim.amount().doubleValue());
                 settlement.setRazorpayPayoutId(payoutId);
                 settlement.setStatus("PROCESSING");
                 settlement.setPayoutDate(LocalDateTime.now());
                 settlementRepository.save(settlement);
-                order.setSettlementStatus("PROCESSING");
-                orderRepository.save(order);
-            } catch (RazorpayException e) {
-                System.err.println("Razorpay payout failed for order " + order.getId() + ": " + e.getMessage());
-                e.printStackTrace();
-                // Optionally notify admin
-            } catch (Exception e) {
-                System.err.println("Unexpected error during settlement for order " + order.getId() + ": " + e.getMessage());
-                e.printStackTrace();
-            }
+            });
+            return true;
+        } catch (RuntimeException e) {
+            // the order stays claimed; the stale-claim sweep records it under the same key
+            log.error("Payout {} for order {} was created but not recorded", payoutId, orderId, e);
+            return null;
+        }
+    }
+
+    /** Checks eligibility and claims the order; null if it is not (or no longer) ours to pay. */
+    private PayoutClaim claim(String orderId) {
+        Order order = orderRepository.findById(orderId).orElse(null);
+        if (order == null || !"PENDING".equals(order.getSettlementStatus())) {
+            return null; // settled in the meantime
+        }
+        PayoutClaim claim = payoutFor(order);
+        if (claim == null || orderRepository.claimForSettlement(orderId, LocalDateTime.now()) != 1) {
+            return null; // not payable, or another run claimed it first
         }
+        return claim;
     }
 
+    /** Re-reads a stale claim; an order that is no longer payable goes back to PENDING. */
+    private PayoutClaim reclaim(String orderId) {
+        Order order = orderRepository.findById(orderId).orElse(null);
+        if (order == null || !"PROCESSING".equals(order.getSettlementStatus())
+                || settlementRepository.findByOrderId(orderId).isPresent()) {
+            return null; // recorded in the meantime
+        }
+        PayoutClaim claim = payoutFor(order);
+        if (claim == null) {
+            orderRepository.releaseSettlementClaim(orderId, LocalDateTime.now());
+        }
+        return claim;
+    }
+
+    private PayoutClaim payoutFor(Order order) {
+        // Only process if payment successful and order delivered
+        if (!"SUCCESS".equals(order.getPaymentStatus()) ||
+            order.getStatus() != Order.OrderStatus.DELIVERED) {
+            return null;
+        }
+        VendorPaymentDetails details = vendorPaymentDetailsRepository
+                .findByUser(order.getMerchant())
+                .orElse(null);
+        if (details == null || details.getRazorpayFundAccountId() == null) {
+            // Vendor not onboarded for payouts
+            return null;
+        }
+        BigDecimal commission = order.getTotalPrice().multiply(BigDecimal.valueOf(0.10)); // 10%
+        return new PayoutClaim(details.getRazorpayFundAccountId(), order.getMerchant().getId(),
+                order.getTotalPrice().subtract(commission));
+    }
+
+    private record PayoutClaim(String fundAccountId, Long vendorId, BigDecimal amount) {}
+
     // ==================== ADMIN METHODS ====================
     public List<Settlement> getPendingSettlements() {
         return settlementRepository.findByStatus("PENDING");
@@ -110,10 +224,15 @@ public class SettlementService {
         BigDecimal payoutAmount = BigDecimal.valueOf(settlement.getPayoutAmount());
         String payoutId;
         try {
+            // one key per failed payout being retried, so a double-clicked retry pays once
+            String retryOf = settlement.getRazorpayPayoutId() != null
+                    ? settlement.getRazorpayPayoutId()
+                    : "settlement-" + settlement.getId();
             payoutId = razorpayService.createPayout(
                     details.getRazorpayFundAccountId(),
                     payoutAmount.doubleValue(),
-                    order.getId()
+                    order.getId(),
+                    "retry-" + retryOf
             );
             settlement.setRazorpayPayoutId(payoutId);
             settlement.setStatus("PROCESSING");
@@ -0,0 +1,231 @@
+package com.agrowmart.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.agrowmart.dto.auth.shop.NearbyShopDTO;
+import com.agrowmart.dto.auth.shop.ShopResponse;
+import com.agrowmart.entity.Shop;
+import com.agrowmart.repository.ShopRepository;
+
+/**
+ * In-memory grid of approved, active shops that have coordinates.
+ *
+ * Shops are bucketed into cells of {@code cellDegrees} (0.02° ≈ 2.2 km). A
+ * nearby query walks rings of cells outwards from the customer and stops as
+ * soon as the k-th best distance is closer than anything the next ring could
+ * hold, so it touches a handful of cells and never the database. Entries carry
+ * a ready-made {@link ShopResponse}.
+ *
+ * Kept current by {@link ShopIndexListener} on every shop write; a full reload
+ * on startup and every {@code shops.geo-index.reload-ms} is the safety net.
+ */
+@Component
+public class ShopGeoIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ShopGeoIndex.class);
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE_LAT = 111.32;
+
+    private final ShopRepository shopRepository;
+    private final ShopService shopService;
+    private final ShopHoursService shopHoursService;
+    private final double cellDegrees;
+
+    private volatile State state = new State();
+
+    public ShopGeoIndex(ShopRepository shopRepository,
+                        ShopService shopService,
+                        ShopHoursService shopHoursService,
+                        @Value("${shops.geo-index.cell-degrees:0.02}") double cellDegrees) {
+        this.shopRepository = shopRepository;
+        this.shopService = shopService;
+        this.shopHoursService = shopHoursService;
+        this.cellDegrees = cellDegrees;
+    }
+
+    // ──────────────────────────────────────────────
+    // Loading
+    // ──────────────────────────────────────────────
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${shops.geo-index.reload-ms:900000}", initialDelayString = "${shops.geo-index.reload-ms:900000}")
+    @Transactional(readOnly = true)
+    public void reload() {
+        State fresh = new State();
+        for (Shop shop : shopRepository.findLocatedActiveShops()) {
+            Entry entry = entryFor(shop);
+            if (entry != null) {
+                fresh.put(entry);
+            }
+        }
+        state = fresh;
+        log.info("Shop geo index loaded with {} shops", fresh.byShop.size());
+    }
+
+    /** Index entry for a shop, or null if it should not be searchable. */
+    Entry entryFor(Shop shop) {
+        if (shop.getId() == null || !shop.isApproved() || !shop.isActive()
+                || shop.getLatitude() == null || shop.getLongitude() == null || shop.getUser() == null) {
+            return null;
+        }
+        return new Entry(shop.getId(), shop.getUser().getId(), shop.getLatitude(), shop.getLongitude(),
+                cellOf(shop.getLatitude(), shop.getLongitude()), shopService.toResponse(shop));
+    }
+
+    /**
+     * Re-reads one shop and upserts or removes its entry. Called after the
+     * writing transaction has committed, so the summary (which walks lazy
+     * associations) is built in a fresh transaction of its own rather than
+     * during the writer's flush.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void refresh(Long shopId) {
+        apply(shopId, shopRepository.findById(shopId).map(this::entryFor).orElse(null));
+    }
+
+    /** Upsert (entry != null) or removal (entry == null) of one shop. */
+    void apply(Long shopId, Entry entry) {
+        if (entry == null) {
+            remove(shopId);
+        } else {
+            state.put(entry);
+        }
+    }
+
+    void remove(Long shopId) {
+        state.remove(shopId);
+    }
+
+    // ──────────────────────────────────────────────
+    // Queries
+    // ──────────────────────────────────────────────
+
+    /**
+     * Up to {@code limit} shops within {@code radiusKm}, nearest first, with
+     * openNow set from the cached opening hours (closed shops skipped if
+     * {@code openOnly}).
+     */
+    public List<NearbyShopDTO> nearby(double latitude, double longitude, double radiusKm, int limit, boolean openOnly) {
+        State s = state;
+        int slot = shopHoursService.currentSlot();
+        int row0 = (int) Math.floor(latitude / cellDegrees);
+        int col0 = (int) Math.floor(longitude / cellDegrees);
+
+        // smallest side of a cell at this latitude: anything in ring r+1 is at least r of these away
+        double cellKm = cellDegrees * KM_PER_DEGREE_LAT * Math.max(0.01, Math.cos(Math.toRadians(Math.abs(latitude) + cellDegrees)));
+        int maxRing = (int) Math.ceil(radiusKm / cellKm);
+
+        List<NearbyShopDTO> found = new ArrayList<>();
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int r = row0 - ring; r <= row0 + ring; r++) {
+                for (int c = col0 - ring; c <= col0 + ring; c++) {
+                    if (Math.max(Math.abs(r - row0), Math.abs(c - col0)) != ring) {
+                        continue; // inner rings already scanned
+                    }
+                    List<Entry> cell = s.cells.get(key(r, c));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (Entry e : cell) {
+                        double d = distanceKm(latitude, longitude, e.latitude, e.longitude);
+                        if (d > radiusKm) {
+                            continue;
+                        }
+                        boolean open = shopHoursService.isVendorOpenAt(e.vendorId, slot);
+                        if (open || !openOnly) {
+                            found.add(new NearbyShopDTO(e.summary.withOpenNow(open), Math.round(d * 100) / 100.0));
+                        }
+                    }
+                }
+            }
+            if (found.size() >= limit) {
+                found.sort(Comparator.comparingDouble(NearbyShopDTO::distanceKm));
+                if (found.get(limit - 1).distanceKm() <= ring * cellKm) {
+                    break;
+                }
+            }
+        }
+        found.sort(Comparator.comparingDouble(NearbyShopDTO::distanceKm));
+        return found.size() > limit ? List.copyOf(found.subList(0, limit)) : found;
+    }
+
+    /** Distance from a vendor's shop to a point, or null if the shop is not indexed. */
+    public Double distanceToVendorKm(Long vendorId, double latitude, double longitude) {
+        Entry e = vendorId != null ? state.byVendor.get(vendorId) : null;
+        return e != null ? distanceKm(latitude, longitude, e.latitude, e.longitude) : null;
+    }
+
+    /** {lat, lng} of the vendor's shop, or null if unknown. */
+    public double[] vendorLocation(Long vendorId) {
+        Entry e = vendorId != null ? state.byVendor.get(vendorId) : null;
+        return e != null ? new double[] {e.latitude, e.longitude} : null;
+    }
+
+    public int size() {
+        return state.byShop.size();
+    }
+
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+
+    private long cellOf(double latitude, double longitude) {
+        return key((int) Math.floor(latitude / cellDegrees), (int) Math.floor(longitude / cellDegrees));
+    }
+
+    private static long key(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+
+    record Entry(long shopId, long vendorId, double latitude, double longitude, long cell, ShopResponse summary) {}
+
+    /** Cells hold immutable lists, replaced on write: shop writes are rare, reads are hot. */
+    private static final class State {
+        final Map<Long, Entry> byShop = new ConcurrentHashMap<>();
+        final Map<Long, Entry> byVendor = new ConcurrentHashMap<>();
+        final Map<Long, List<Entry>> cells = new ConcurrentHashMap<>();
+
+        synchronized void put(Entry entry) {
+            remove(entry.shopId());
+            byShop.put(entry.shopId(), entry);
+            byVendor.put(entry.vendorId(), entry);
+            cells.compute(entry.cell(), (k, list) -> {
+                List<Entry> next = list == null ? new ArrayList<>(1) : new ArrayList<>(list);
+                next.add(entry);
+                return List.copyOf(next);
+            });
+        }
+
+        synchronized void remove(Long shopId) {
+            Entry old = byShop.remove(shopId);
+            if (old == null) {
+                return;
+            }
+            byVendor.remove(old.vendorId(), old);
+            cells.computeIfPresent(old.cell(), (k, list) -> {
+                List<Entry> next = list.stream().filter(e -> e.shopId() != old.shopId()).toList();
+                return next.isEmpty() ? null : next;
+            });
+        }
+    }
+}
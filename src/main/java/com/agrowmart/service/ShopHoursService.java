@@ -0,0 +1,124 @@
+package com.agrowmart.service;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.agrowmart.dto.auth.shop.ShopHoursDTO;
+import com.agrowmart.entity.Shop;
+import com.agrowmart.repository.ShopRepository;
+import com.agrowmart.util.WeeklyOpeningHours;
+
+/**
+ * Answers "is this shop open now" from precompiled {@link WeeklyOpeningHours}.
+ *
+ * Two caches:
+ *  - by vendor id, for approved + active shops, so product listings can filter
+ *    without loading shops. Loaded on startup, updated by ShopIndexListener
+ *    after each shop write, fully reloaded every shops.hours.reload-ms.
+ *  - by hours content, so the many shops sharing the same schedule compile
+ *    it once, and a just-edited shop entity never sees stale hours.
+ *
+ * Time is evaluated in shops.hours.zone (IST), not the server zone.
+ */
+@Service
+public class ShopHoursService {
+
+    private static final Logger log = LoggerFactory.getLogger(ShopHoursService.class);
+
+    private static final int MAX_COMPILED = 10_000;
+
+    private final ShopRepository shopRepository;
+    private final ZoneId zone;
+
+    private final Map<Long, WeeklyOpeningHours> byVendor = new ConcurrentHashMap<>();
+    private final Map<HoursKey, WeeklyOpeningHours> compiled = new ConcurrentHashMap<>();
+
+    public ShopHoursService(ShopRepository shopRepository,
+                            @Value("${shops.hours.zone:Asia/Kolkata}") String zone) {
+        this.shopRepository = shopRepository;
+        this.zone = ZoneId.of(zone);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${shops.hours.reload-ms:900000}", initialDelayString = "${shops.hours.reload-ms:900000}")
+    public void reload() {
+        Map<Long, WeeklyOpeningHours> fresh = new ConcurrentHashMap<>();
+        for (ShopHoursDTO h : shopRepository.findActiveShopHours()) {
+            fresh.put(h.vendorId(), hoursFor(h.workingHoursJson(), h.opensAt(), h.closesAt()));
+        }
+        byVendor.keySet().retainAll(fresh.keySet());
+        byVendor.putAll(fresh);
+        log.info("Opening hours cached for {} shops ({} distinct schedules)", fresh.size(), compiled.size());
+    }
+
+    /** Called after a shop write commits. */
+    void onShopSaved(Shop shop) {
+        if (shop.getUser() == null) {
+            return;
+        }
+        if (shop.isApproved() && shop.isActive()) {
+            byVendor.put(shop.getUser().getId(), hours(shop));
+        } else {
+            byVendor.remove(shop.getUser().getId());
+        }
+    }
+
+    void onShopRemoved(Long vendorId) {
+        if (vendorId != null) {
+            byVendor.remove(vendorId);
+        }
+    }
+
+    // ──────────────────────────────────────────────
+    // Queries
+    // ──────────────────────────────────────────────
+
+    public boolean isOpenNow(Shop shop) {
+        return hours(shop).isOpenAtSlot(currentSlot());
+    }
+
+    /** Vendors without a cached shop are treated as open so their products are not hidden. */
+    public boolean isVendorOpenAt(Long vendorId, int slotOfWeek) {
+        WeeklyOpeningHours h = vendorId != null ? byVendor.get(vendorId) : null;
+        return h == null || h.isOpenAtSlot(slotOfWeek);
+    }
+
+    /** Current 5-minute slot of the week in the shops' zone; compute once per request. */
+    public int currentSlot() {
+        return WeeklyOpeningHours.slotOf(LocalDateTime.now(zone));
+    }
+
+    WeeklyOpeningHours hours(Shop shop) {
+        return hoursFor(shop.getWorkingHoursJson(), shop.getOpensAt(), shop.getClosesAt());
+    }
+
+    private WeeklyOpeningHours hoursFor(String json, LocalTime opensAt, LocalTime closesAt) {
+        HoursKey key = new HoursKey(json, opensAt, closesAt);
+        WeeklyOpeningHours h = compiled.get(key);
+        if (h == null) {
+            if (compiled.size() >= MAX_COMPILED) {
+                compiled.clear(); // crude bound; schedules are highly repetitive
+            }
+            h = WeeklyOpeningHours.compile(json, opensAt, closesAt);
+            compiled.put(key, h);
+        }
+        return h;
+    }
+
+    private record HoursKey(String json, LocalTime opensAt, LocalTime closesAt) {
+        HoursKey {
+            json = json != null ? json.trim() : null;
+        }
+    }
+}
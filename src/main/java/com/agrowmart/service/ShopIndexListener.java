@@ -0,0 +1,71 @@
+package com.agrowmart.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.agrowmart.entity.Shop;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Keeps {@link ShopGeoIndex} and the {@link ShopHoursService} cache in step
+ * with every shop write (vendor updates in ShopService as well as admin
+ * approve / block / restore), applied only after the transaction commits. Instantiated by Hibernate through Spring's bean
+ * container; the index is looked up lazily because it needs the repositories
+ * that are still being built when Hibernate creates its listeners.
+ */
+public class ShopIndexListener {
+
+    private final ObjectProvider<ShopGeoIndex> index;
+    private final ObjectProvider<ShopHoursService> hours;
+
+    public ShopIndexListener(ObjectProvider<ShopGeoIndex> index, ObjectProvider<ShopHoursService> hours) {
+        this.index = index;
+        this.hours = hours;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Shop shop) {
+        ShopGeoIndex target = index.getIfAvailable();
+        if (target != null) {
+            // only the id here: building the summary touches lazy associations, not allowed mid-flush
+            Long shopId = shop.getId();
+            afterCommit(() -> target.refresh(shopId));
+        }
+        ShopHoursService hoursService = hours.getIfAvailable();
+        if (hoursService != null) {
+            afterCommit(() -> hoursService.onShopSaved(shop));
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Shop shop) {
+        ShopGeoIndex target = index.getIfAvailable();
+        if (target != null) {
+            Long shopId = shop.getId();
+            afterCommit(() -> target.remove(shopId));
+        }
+        ShopHoursService hoursService = hours.getIfAvailable();
+        if (hoursService != null && shop.getUser() != null) {
+            Long vendorId = shop.getUser().getId();
+            afterCommit(() -> hoursService.onShopRemoved(vendorId));
+        }
+    }
+
+    private static void afterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+}
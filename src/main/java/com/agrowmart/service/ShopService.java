@@ -26,12 +26,15 @@ public class ShopService {
 
  private final ShopRepository shopRepository;
  private final CloudinaryService cloudinaryService; // ✅ ONLY cloudinary
+ private final ShopHoursService shopHoursService;
  
 // ✅ MANUAL CONSTRUCTOR (REQUIRED)
  public ShopService(ShopRepository shopRepository,
-                    CloudinaryService cloudinaryService) {
+                    CloudinaryService cloudinaryService,
+                    ShopHoursService shopHoursService) {
      this.shopRepository = shopRepository;
      this.cloudinaryService = cloudinaryService;
+     this.shopHoursService = shopHoursService;
  }
 
  
@@ -63,6 +66,7 @@ public class ShopService {
 
      shop.setOpensAt(req.opensAt());
      shop.setClosesAt(req.closesAt());
+     setLocation(shop, req);
 
      // ✅ CLOUDINARY UPLOAD
      shop.setShopPhoto(uploadIfPresent(req.shopPhoto()));
@@ -91,6 +95,7 @@ public class ShopService {
 
      shop.setOpensAt(req.opensAt());
      shop.setClosesAt(req.closesAt());
+     setLocation(shop, req);
 
   // ── Working hours JSON ────────────────────────────────
      if (req.workingHoursJson() != null && !req.workingHoursJson().trim().isEmpty()) {
@@ -179,6 +184,18 @@ public class ShopService {
              .toList();
  }
 
+ // Location is only changed when both coordinates are sent, so older clients don't wipe it
+ private void setLocation(Shop shop, ShopRequest req) {
+     if (req.latitude() == null || req.longitude() == null) {
+         return;
+     }
+     if (req.latitude() < -90 || req.latitude() > 90 || req.longitude() < -180 || req.longitude() > 180) {
+         throw new IllegalArgumentException("Invalid shop coordinates");
+     }
+     shop.setLatitude(req.latitude());
+     shop.setLongitude(req.longitude());
+ }
+
  // ===================== CHECK VENDOR =====================
  private boolean isVendor(User user) {
      return user.getRole() != null && VENDOR_ROLES.contains(user.getRole().getName());
@@ -208,7 +225,10 @@ public class ShopService {
              u.getRole().getName(),
              u.getPhotoUrl(),
              s.getOpensAt(),
-             s.getClosesAt()
+             s.getClosesAt(),
+             s.getLatitude(),
+             s.getLongitude(),
+             shopHoursService.isOpenNow(s)
      );
  }
 
@@ -270,6 +290,7 @@ public Shop createOrUpdateShop(ShopRequest req, User user) throws IOException {
     if (req.shopLicense()     != null) shop.setShopLicense(req.shopLicense());
     if (req.opensAt()         != null) shop.setOpensAt(req.opensAt());
     if (req.closesAt()        != null) shop.setClosesAt(req.closesAt());
+    setLocation(shop, req);
 
     // Images — replace only if sent
     if (req.shopPhoto() != null && !req.shopPhoto().isEmpty()) {
@@ -187,22 +187,27 @@ import com.agrowmart.exception.SubscriptionLimitExceededException;
 import com.agrowmart.repository.AgriProductRepository;
 import com.agrowmart.repository.SubscriptionRepository;
 import com.agrowmart.repository.UserRepository;
-import com.razorpay.Order;
-import com.razorpay.RazorpayClient;
+import com.agrowmart.service.scheduling.JobExecution;
+import com.agrowmart.service.scheduling.ScheduledJobRunner;
+import com.agrowmart.service.external.RazorpayGateway;
 import com.razorpay.RazorpayException;
-import org.hibernate.Hibernate;
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 @Service
 public class SubscriptionService {
@@ -210,22 +215,32 @@ public class SubscriptionService {
     private final SubscriptionRepository subscriptionRepo;
     private final AgriProductRepository agriProductRepo;
     private final UserRepository userRepo;
-    private final RazorpayClient razorpay;
+    private final RazorpayGateway razorpay;
+    private final ScheduledJobRunner jobRunner;
+    private final TransactionTemplate transactionTemplate;
+    private final VendorEntitlementCache entitlements;
+
+    @Value("${subscriptions.expiry.chunk-size:500}")
+    private int expiryChunkSize;
 
     @Value("${razorpay.key}")
     private String razorpayKeyId;
 
-    @Value("${razorpay.secret}")
-    private String razorpayKeySecret;
-
     public SubscriptionService(
             SubscriptionRepository subscriptionRepo,
             AgriProductRepository agriProductRepo,
-            UserRepository userRepo) throws RazorpayException {
+            UserRepository userRepo,
+            RazorpayGateway razorpay,
+            ScheduledJobRunner jobRunner,
+            PlatformTransactionManager transactionManager,
+            VendorEntitlementCache entitlements) {
         this.subscriptionRepo = subscriptionRepo;
         this.agriProductRepo = agriProductRepo;
         this.userRepo = userRepo;
-        this.razorpay = new RazorpayClient(razorpayKeyId, razorpayKeySecret);
+        this.razorpay = razorpay;
+        this.jobRunner = jobRunner;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entitlements = entitlements;
     }
 
     private void ensureAgriVendor(User user) {
@@ -236,62 +251,58 @@ public class SubscriptionService {
     }
 
     /**
-     * Checks if the vendor can add more products based on active subscription or free limit (3 products)
+     * Checks if the vendor is below the product limit of its active subscription
+     * (or the free limit). Served from {@link VendorEntitlementCache}.
      */
-    @Transactional(readOnly = true)
     public void checkProductLimit(User user) {
         ensureAgriVendor(user);
 
-        // No Hibernate.initialize needed anymore
-        Optional<Subscription> activeOpt = subscriptionRepo.findFirstByUserAndActiveTrueAndExpiryDateAfterOrderByStartDateDesc(
-            user,
-            LocalDateTime.now()
-        );
+        VendorEntitlementCache.Entitlement entitlement = entitlements.get(user);
+        if (entitlement.productCount() >= entitlement.maxProducts()) {
+            throw limitExceeded(entitlement);
+        }
+    }
 
-        long currentCount = agriProductRepo.countByVendor(user);
+    /**
+     * Same check as {@link #checkProductLimit}, but atomically takes the slot
+     * for a product about to be created; the slot is returned if the caller's
+     * transaction rolls back.
+     */
+    public void reserveProductSlot(User user) {
+        ensureAgriVendor(user);
 
-        int maxAllowed = activeOpt
-            .map(s -> s.getPlan().getMaxProducts())
-            .orElse(SubscriptionPlan.NONE.getMaxProducts()); // 3
+        if (!entitlements.tryReserveProductSlot(user)) {
+            throw limitExceeded(entitlements.get(user));
+        }
+    }
 
-        if (currentCount >= maxAllowed) {
-            String msg = activeOpt.isPresent()
-                ? "Upgrade your " + activeOpt.get().getPlan().getDescription() + " plan."
-                : "Free plan allows only 10 products. Please subscribe.";
+    private SubscriptionLimitExceededException limitExceeded(VendorEntitlementCache.Entitlement entitlement) {
+        String msg = entitlement.subscribed()
+            ? "Upgrade your " + entitlement.plan().getDescription() + " plan."
+            : "Free plan allows only 10 products. Please subscribe.";
 
-            throw new SubscriptionLimitExceededException(
-                "Product limit reached (" + maxAllowed + "). " + msg
-            );
-        }
+        return new SubscriptionLimitExceededException(
+            "Product limit reached (" + entitlement.maxProducts() + "). " + msg
+        );
     }
 
-    @Transactional(readOnly = true)
     public SubscriptionResponse getCurrentStatus(User user) {
         ensureAgriVendor(user);
 
-     // Important: force load subscriptions WHILE transaction is active
-        Hibernate.initialize(user.getSubscriptions());
-
-        Subscription active = user.getActiveSubscription();
-
-        long count = agriProductRepo.countByVendor(user);
+        VendorEntitlementCache.Entitlement entitlement = entitlements.get(user);
+        boolean subscribed = entitlement.subscribed();
 
-        SubscriptionPlan plan = active != null ? active.getPlan() : SubscriptionPlan.NONE;
-        int maxProducts = active != null
-                ? active.getPlan().getMaxProducts()
-                : SubscriptionPlan.NONE.getMaxProducts(); // 3 for free
-
-        String description = active != null
-                ? active.getPlan().getDescription()
+        String description = subscribed
+                ? entitlement.plan().getDescription()
                 : "Free plan – maximum 10 products";
 
         return new SubscriptionResponse(
-                plan,
-                active != null ? active.getStartDate() : null,
-                active != null ? active.getExpiryDate() : null,
-                active != null && active.isActive(),
-                maxProducts,
-                (int) count,
+                entitlement.plan(),
+                entitlement.startDate(),
+                entitlement.expiryDate(),
+                subscribed,
+                entitlement.maxProducts(),
+                entitlement.productCount(),
                 description
         );
     }
@@ -308,28 +319,33 @@ public class SubscriptionService {
                     .put("receipt", "agri_" + user.getId())
                     .put("notes", Map.of("userId", user.getId(), "plan", plan.name()));
 
-            Order order = razorpay.orders.create(req);
+            JSONObject order = new JSONObject(razorpay.post("/v1/orders", req.toString()));
 
             return Map.of(
-                    "orderId", order.get("id"),
+                    "orderId", order.getString("id"),
                     "amount", String.valueOf(amountPaise),
                     "currency", "INR",
                     "key", razorpayKeyId
             );
-        } catch (RazorpayException e) {
+        } catch (RestClientException e) {
             throw new RuntimeException("Failed to create Razorpay order", e);
         }
     }
 
     @Transactional
     public void processSuccessfulPayment(String orderId, String paymentId) throws RazorpayException {
-        Order order = razorpay.orders.fetch(orderId);
+        JSONObject order;
+        try {
+            order = new JSONObject(razorpay.get("/v1/orders/" + orderId));
+        } catch (RestClientException e) {
+            throw new RazorpayException(e.getMessage(), e);
+        }
 
-        if (!"paid".equals(order.get("status"))) {
+        if (!"paid".equals(order.optString("status"))) {
             return;
         }
 
-        JSONObject notes = order.get("notes");
+        JSONObject notes = order.getJSONObject("notes");
         Long userId = Long.parseLong(notes.getString("userId"));
         SubscriptionPlan plan = SubscriptionPlan.valueOf(notes.getString("plan"));
 
@@ -349,25 +365,46 @@ public class SubscriptionService {
         subscriptionRepo.save(sub);
 
         // Make existing products visible again (if they were hidden)
-        agriProductRepo.findByVendor(user)
-                .forEach(p -> p.setVisibleToCustomers(true));
-        agriProductRepo.saveAll(agriProductRepo.findByVendor(user));
+        agriProductRepo.setVisibilityForVendor(user.getId(), true);
+
+        Long vendorId = user.getId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                entitlements.invalidate(vendorId);
+            }
+        });
     }
 
     @Scheduled(cron = "0 5 0 * * ?") // every day at 00:05
-    @Transactional
     public void handleExpiredSubscriptions() {
-        List<Subscription> expired = subscriptionRepo.findAllExpiredActiveSubscriptions(LocalDateTime.now());
-
-        for (Subscription s : expired) {
-            s.setActive(false);
-            subscriptionRepo.save(s);
+        // one node only
+        jobRunner.run("expire-subscriptions", this::expireSubscriptions);
+    }
 
-            // Hide all products of this vendor
-            User vendor = s.getUser();
-            agriProductRepo.findByVendor(vendor)
-                    .forEach(p -> p.setVisibleToCustomers(false));
-            agriProductRepo.saveAll(agriProductRepo.findByVendor(vendor));
+    /**
+     * Deactivates expired subscriptions and hides their vendors' products with
+     * two set-based statements per chunk of subscription ids, each chunk in its
+     * own short transaction. No product is loaded, so the cost follows the
+     * number of expired subscriptions, not the size of the catalogue.
+     */
+    void expireSubscriptions(JobExecution execution) {
+        LocalDateTime now = LocalDateTime.now();
+        while (true) {
+            execution.ensureLeaseHeld();
+            Integer expired = transactionTemplate.execute(status -> {
+                List<Long> ids = subscriptionRepo.findExpiredActiveIds(now, PageRequest.of(0, expiryChunkSize));
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                agriProductRepo.hideProductsOfExpiredSubscriptions(ids, now);
+                subscriptionRepo.deactivateByIds(ids);
+                return ids.size();
+            });
+            execution.addRows(expired);
+            if (expired < expiryChunkSize) {
+                return;
+            }
         }
     }
 }
\ No newline at end of file
@@ -1,19 +1,35 @@
 package com.agrowmart.service;
 
+import com.agrowmart.entity.Shop;
 import com.agrowmart.entity.User;
 import com.agrowmart.repository.UserRepository;
+import com.agrowmart.service.scheduling.JobExecution;
+import com.agrowmart.service.scheduling.ScheduledJobRunner;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Scheduled service that permanently deletes users who have been soft-deleted
  * for more than 7 days (including their associated Cloudinary images).
+ *
+ * Users are read in keyset pages of ids and each one is deleted in its own
+ * short transaction, so one bad row never rolls back or stalls the rest.
+ * Cloudinary deletes are handed to {@link MediaDeletionQueue} after the user's
+ * delete has committed and run there in parallel, with retries.
  */
 @Service
 public class UserCleanupService {
@@ -21,76 +37,123 @@ public class UserCleanupService {
     private static final Logger log = LoggerFactory.getLogger(UserCleanupService.class);
 
     private final UserRepository userRepository;
-    private final CloudinaryService cloudinaryService;
+    private final MediaDeletionQueue mediaDeletionQueue;
+    private final ScheduledJobRunner jobRunner;
+    private final TransactionTemplate transactionTemplate;
+    private final int pageSize;
+
+    private final Counter usersDeleted;
+    private final Counter usersFailed;
+    private final Timer userDeleteTimer;
 
     public UserCleanupService(
             UserRepository userRepository,
-            CloudinaryService cloudinaryService) {
+            MediaDeletionQueue mediaDeletionQueue,
+            ScheduledJobRunner jobRunner,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${users.purge.page-size:200}") int pageSize) {
         this.userRepository = userRepository;
-        this.cloudinaryService = cloudinaryService;
+        this.mediaDeletionQueue = mediaDeletionQueue;
+        this.jobRunner = jobRunner;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pageSize = pageSize;
+
+        this.usersDeleted = Counter.builder("users.purge").tag("outcome", "deleted").register(meterRegistry);
+        this.usersFailed = Counter.builder("users.purge").tag("outcome", "failed").register(meterRegistry);
+        this.userDeleteTimer = Timer.builder("users.purge.user").register(meterRegistry);
     }
 
     /**
      * Runs every day at 03:15 AM server time.
-     * Deletes users soft-deleted more than 7 days ago.
+     * Deletes users soft-deleted more than 7 days ago, on one node only.
      */
     @Scheduled(cron = "0 15 3 * * *")   // 03:15 every day
-    @Transactional
     public void permanentlyDeleteOldMarkedUsers() {
+        jobRunner.run("purge-deleted-users", this::purgeDeletedUsers);
+    }
 
-        LocalDateTime threshold = LocalDateTime.now().minusDays(7);
-
-        // Make sure this method exists in UserRepository
-        List<User> toDelete = userRepository.findAllByDeletedTrueAndDeletedAtBefore(threshold);
-
-        if (toDelete.isEmpty()) {
-            log.info("No soft-deleted users older than 7 days found. Cleanup skipped.");
-            return;
-        }
+    void purgeDeletedUsers(JobExecution execution) {
 
-        log.info("Starting permanent deletion of {} soft-deleted users older than 7 days", toDelete.size());
+        LocalDateTime threshold = LocalDateTime.now().minusDays(7);
 
         int successCount = 0;
         int failureCount = 0;
+        long afterId = 0L;
 
-        for (User user : toDelete) {
-            try {
-                // 1. Clean up Cloudinary images
-                deleteCloudinaryImageIfExists(user.getPhotoUrl(), "profile photo");
-                deleteCloudinaryImageIfExists(user.getAadhaarImagePath(), "Aadhaar");
-                deleteCloudinaryImageIfExists(user.getPanImagePath(), "PAN");
-                deleteCloudinaryImageIfExists(user.getUdyamRegistrationImagePath(), "Udyam");
-                deleteCloudinaryImageIfExists(user.getFssaiLicensePath(), "FSSAI");
-
-                // 2. Shop related images
-                if (user.getShop() != null) {
-                    deleteCloudinaryImageIfExists(user.getShop().getShopPhoto(), "shop photo");
-                    deleteCloudinaryImageIfExists(user.getShop().getShopCoverPhoto(), "shop cover");
-                    deleteCloudinaryImageIfExists(user.getShop().getShopLicensePhoto(), "shop license");
-                }
-
-                // 3. Finally delete the user entity
-                userRepository.delete(user);
+        while (true) {
+            execution.ensureLeaseHeld();
+            List<Long> page = userRepository.findPurgeCandidateIds(threshold, afterId, PageRequest.of(0, pageSize));
+            if (page.isEmpty()) {
+                break;
+            }
 
-                successCount++;
-                log.info("Permanently deleted user id={} | phone={} | deletedAt={}",
-                        user.getId(), user.getPhone(), user.getDeletedAt());
+            for (Long userId : page) {
+                execution.ensureLeaseHeld();
+                try {
+                    List<MediaRef> media = userDeleteTimer.recordCallable(() ->
+                            transactionTemplate.execute(status -> deleteUser(userId, threshold)));
+                    if (media == null) {
+                        continue; // restored or already gone
+                    }
+                    // only after commit: a rolled-back delete must keep its images
+                    media.forEach(m -> mediaDeletionQueue.enqueue(m.url(), m.description()));
+                    successCount++;
+                    usersDeleted.increment();
+                } catch (Exception e) {
+                    failureCount++;
+                    usersFailed.increment();
+                    log.error("Failed to permanently delete user id={}. Reason: {}", userId, e.getMessage(), e);
+                }
+            }
 
-            } catch (Exception e) {
-                failureCount++;
-                log.error("Failed to permanently delete user id={} | phone={}. Reason: {}",
-                        user.getId(), user.getPhone(), e.getMessage(), e);
-                // Optional: collect failed IDs → send alert / retry later
+            // keyset: failed ids are skipped this run and picked up again tomorrow
+            afterId = page.get(page.size() - 1);
+            log.info("User purge progress → Success: {}, Failed: {}, media pending: {}",
+                    successCount, failureCount, mediaDeletionQueue.pendingCount());
+            if (page.size() < pageSize) {
+                break;
             }
         }
 
+        execution.addRows(successCount);
+        execution.addFailures(failureCount);
         log.info("Cleanup finished → Success: {}, Failed: {}", successCount, failureCount);
     }
 
+    /** Deletes one user; returns the media to remove, or null if the user no longer qualifies. */
+    private List<MediaRef> deleteUser(Long userId, LocalDateTime threshold) {
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null || !user.isDeleted() || user.getDeletedAt() == null
+                || !user.getDeletedAt().isBefore(threshold)) {
+            return null;
+        }
+
+        List<MediaRef> media = new ArrayList<>();
+        addIfCloudinary(media, user.getPhotoUrl(), "profile photo");
+        addIfCloudinary(media, user.getAadhaarImagePath(), "Aadhaar");
+        addIfCloudinary(media, user.getPanImagePath(), "PAN");
+        addIfCloudinary(media, user.getUdyamRegistrationImagePath(), "Udyam");
+        addIfCloudinary(media, user.getFssaiLicensePath(), "FSSAI");
+
+        Shop shop = user.getShop();
+        if (shop != null) {
+            addIfCloudinary(media, shop.getShopPhoto(), "shop photo");
+            addIfCloudinary(media, shop.getShopCoverPhoto(), "shop cover");
+            addIfCloudinary(media, shop.getShopLicensePhoto(), "shop license");
+        }
+
+        userRepository.delete(user);
+
+        log.info("Permanently deleted user id={} | phone={} | deletedAt={}",
+                user.getId(), user.getPhone(), user.getDeletedAt());
+        return media;
+    }
+
     /**
-     * Safely attempts to delete a Cloudinary asset if the URL looks valid.
+     * Only Cloudinary URLs are queued for deletion.
      */
-    private void deleteCloudinaryImageIfExists(String url, String description) {
+    private void addIfCloudinary(List<MediaRef> media, String url, String description) {
         if (url == null || url.trim().isEmpty()) {
             return;
         }
@@ -100,12 +163,8 @@ public class UserCleanupService {
             return;
         }
 
-        try {
-            cloudinaryService.deleteByUrl(url);
-            log.debug("Deleted Cloudinary asset for {}: {}", description, url);
-        } catch (Exception e) {
-            log.warn("Failed to delete Cloudinary asset for {}: {} → {}", description, url, e.getMessage());
-            // Not critical — continue with DB deletion
-        }
+        media.add(new MediaRef(url, description));
     }
-}
\ No newline at end of file
+
+    private record MediaRef(String url, String description) {}
+}
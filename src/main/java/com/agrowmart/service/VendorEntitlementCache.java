@@ -0,0 +1,205 @@
+package com.agrowmart.service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.agrowmart.entity.Subscription;
+import com.agrowmart.entity.User;
+import com.agrowmart.enums.SubscriptionPlan;
+import com.agrowmart.repository.AgriProductRepository;
+import com.agrowmart.repository.SubscriptionRepository;
+import com.agrowmart.repository.VendorEntitlementRepository;
+
+/**
+ * Per-vendor agri entitlement (plan, validity, product count) kept in memory,
+ * so the product-limit check is a map read plus a CAS instead of a
+ * subscription query and a COUNT(*).
+ *
+ * - a create reserves a slot up front and gives it back if its transaction
+ *   rolls back;
+ * - deletes give a slot back (AgriProductEntitlementListener);
+ * - a payment invalidates the vendor; an entry whose subscription has expired
+ *   or that is older than entitlements.ttl-seconds is reloaded from the DB.
+ *
+ * Each node only counts its own creates, so the in-memory count is a read
+ * cache. Inside a transaction the slot is also taken from the stored counter
+ * (vendor_entitlements) with one conditional UPDATE, which is what enforces
+ * the limit across nodes.
+ */
+@Component
+public class VendorEntitlementCache {
+
+    private final SubscriptionRepository subscriptionRepository;
+    private final AgriProductRepository agriProductRepository;
+    private final VendorEntitlementRepository entitlementRepository;
+    private final long ttlNanos;
+    private final Map<Long, Entitlement> entries = new ConcurrentHashMap<>();
+
+    public VendorEntitlementCache(
+            SubscriptionRepository subscriptionRepository,
+            AgriProductRepository agriProductRepository,
+            VendorEntitlementRepository entitlementRepository,
+            @Value("${entitlements.ttl-seconds:300}") long ttlSeconds) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.agriProductRepository = agriProductRepository;
+        this.entitlementRepository = entitlementRepository;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    /**
+     * Current entitlement, loading it if missing or stale. The load runs
+     * outside the map (no queries while holding a bin lock); the result is
+     * swapped in only if the entry is still the one that was found stale.
+     */
+    public Entitlement get(User vendor) {
+        Long vendorId = vendor.getId();
+        while (true) {
+            Entitlement current = entries.get(vendorId);
+            if (current != null && current.isFresh(System.nanoTime(), ttlNanos, LocalDateTime.now())) {
+                return current;
+            }
+            Entitlement loaded = load(vendor);
+            boolean swapped = current == null
+                    ? entries.putIfAbsent(vendorId, loaded) == null
+                    : entries.replace(vendorId, current, loaded);
+            if (swapped) {
+                return loaded;
+            }
+            // another thread reloaded or invalidated meanwhile; look again
+        }
+    }
+
+    /**
+     * Takes one product slot if the vendor is below its limit. Inside a
+     * transaction the slot is also taken from the stored counter, and both
+     * are returned automatically on rollback.
+     */
+    public boolean tryReserveProductSlot(User vendor) {
+        Entitlement entitlement = get(vendor);
+        if (!entitlement.tryIncrement()) {
+            return false;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return true;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    entitlement.productCount.decrementAndGet();
+                }
+            }
+        });
+
+        if (!takeStoredSlot(vendor.getId(), entitlement.maxProducts())) {
+            // other nodes created products this one has not counted; reload next time
+            entries.remove(vendor.getId(), entitlement);
+            return false;
+        }
+        return true;
+    }
+
+    private boolean takeStoredSlot(Long vendorId, int max) {
+        if (entitlementRepository.incrementProductCount(vendorId, max) == 1) {
+            return true;
+        }
+        // no row yet (vendor's first product since V8): seed it, then try once more
+        return entitlementRepository.insertIfAbsent(vendorId) == 1
+                && entitlementRepository.incrementProductCount(vendorId, max) == 1;
+    }
+
+    /**
+     * A product of this vendor is being deleted: the stored slot is given back
+     * in the deleting transaction, the in-memory one after it commits.
+     */
+    public void productRemoved(Long vendorId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            releaseLocalSlot(vendorId);
+            return;
+        }
+        entitlementRepository.decrementProductCount(vendorId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                releaseLocalSlot(vendorId);
+            }
+        });
+    }
+
+    private void releaseLocalSlot(Long vendorId) {
+        Entitlement entitlement = entries.get(vendorId);
+        if (entitlement != null) {
+            entitlement.productCount.updateAndGet(c -> Math.max(0, c - 1));
+        }
+    }
+
+    public void invalidate(Long vendorId) {
+        entries.remove(vendorId);
+    }
+
+    private Entitlement load(User vendor) {
+        LocalDateTime now = LocalDateTime.now();
+        Subscription active = subscriptionRepository
+                .findFirstByUserAndActiveTrueAndExpiryDateAfterOrderByStartDateDesc(vendor, now)
+                .orElse(null);
+        long count = agriProductRepository.countByVendor(vendor);
+        return new Entitlement(
+                active != null ? active.getPlan() : SubscriptionPlan.NONE,
+                active != null ? active.getStartDate() : null,
+                active != null ? active.getExpiryDate() : null,
+                (int) Math.min(count, Integer.MAX_VALUE),
+                System.nanoTime());
+    }
+
+    public static final class Entitlement {
+        private final SubscriptionPlan plan;
+        private final LocalDateTime startDate;
+        private final LocalDateTime expiryDate;
+        private final AtomicInteger productCount;
+        private final long loadedAtNanos;
+
+        Entitlement(SubscriptionPlan plan, LocalDateTime startDate, LocalDateTime expiryDate,
+                    int productCount, long loadedAtNanos) {
+            this.plan = plan;
+            this.startDate = startDate;
+            this.expiryDate = expiryDate;
+            this.productCount = new AtomicInteger(productCount);
+            this.loadedAtNanos = loadedAtNanos;
+        }
+
+        public SubscriptionPlan plan() { return plan; }
+        public LocalDateTime startDate() { return startDate; }
+        public LocalDateTime expiryDate() { return expiryDate; }
+        public int maxProducts() { return plan.getMaxProducts(); }
+        public int productCount() { return productCount.get(); }
+
+        /** True if backed by a paid subscription (false for the free NONE plan). */
+        public boolean subscribed() { return expiryDate != null; }
+
+        boolean tryIncrement() {
+            int max = plan.getMaxProducts();
+            while (true) {
+                int current = productCount.get();
+                if (current >= max) {
+                    return false;
+                }
+                if (productCount.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        boolean isFresh(long nowNanos, long ttlNanos, LocalDateTime now) {
+            return nowNanos - loadedAtNanos < ttlNanos
+                    && (expiryDate == null || expiryDate.isAfter(now));
+        }
+    }
+}
@@ -238,7 +238,7 @@ public class CartService {
     }
 
     // ===================== DTO MAPPER =====================
-    private CartSummaryDTO toSummaryDTO(Cart cart) {
+    CartSummaryDTO toSummaryDTO(Cart cart) {
 
         List<CartItemDTO> items = cart.getItems().stream()
                 .map(item -> new CartItemDTO(
@@ -6,6 +6,7 @@ import com.agrowmart.dto.auth.JwtResponse;
 import com.agrowmart.dto.auth.customer.*;
 import com.agrowmart.entity.customer.Customer;
 import com.agrowmart.enums.OtpPurpose;
+import com.agrowmart.exception.PasswordHashingBusyException;
 import com.agrowmart.repository.customer.CustomerRepository;
 import com.agrowmart.service.CloudinaryService;
 import com.agrowmart.service.Fast2SmsService;
@@ -101,6 +102,15 @@ public class CustomerAuthService {
         if (!passwordEncoder.matches(req.password(), customer.getPasswordHash())) {
             throw new IllegalArgumentException("Invalid credentials");
         }
+        // BCrypt cost changed since this hash was made: re-encode while we hold the raw password
+        if (passwordEncoder.upgradeEncoding(customer.getPasswordHash())) {
+            try {
+                customer.setPasswordHash(passwordEncoder.encode(req.password()));
+                customerRepository.save(customer);
+            } catch (PasswordHashingBusyException e) {
+                // best effort; the next login tries again
+            }
+        }
 
         String token = jwtService.issueTokenForCustomer(customer);
         return new JwtResponse(token, null, LocalDateTime.now().plusDays(7));
@@ -0,0 +1,172 @@
+package com.agrowmart.service.dispatch;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory grid of online delivery partners, fed by location heartbeats.
+ *
+ * The map is cut into square cells of {@code cellDegrees} (0.01° ≈ 1.1 km).
+ * A lookup with ring r scans the (2r+1)² cells around the pickup, so the cost
+ * depends on local partner density, not on how many partners are online.
+ * Partners that stop sending heartbeats are skipped once stale and evicted by
+ * a periodic sweep.
+ */
+@Component
+public class DeliveryPartnerIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    private final double cellDegrees;
+    private final long staleAfterMillis;
+    private final LongSupplier clock;
+
+    private final Map<Long, PartnerLocation> partners = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+
+    @Autowired
+    public DeliveryPartnerIndex(@Value("${delivery.dispatch.cell-degrees:0.01}") double cellDegrees,
+                                @Value("${delivery.dispatch.stale-after-ms:60000}") long staleAfterMillis) {
+        this(cellDegrees, staleAfterMillis, System::currentTimeMillis);
+    }
+
+    DeliveryPartnerIndex(double cellDegrees, long staleAfterMillis, LongSupplier clock) {
+        this.cellDegrees = cellDegrees;
+        this.staleAfterMillis = staleAfterMillis;
+        this.clock = clock;
+    }
+
+    // ──────────────────────────────────────────────
+    // Updates
+    // ──────────────────────────────────────────────
+
+    /** Records a heartbeat; moves the partner to a new cell when needed. */
+    public void update(long partnerId, double latitude, double longitude, boolean available) {
+        long now = clock.getAsLong();
+        long cell = cellOf(latitude, longitude);
+        partners.compute(partnerId, (id, previous) -> {
+            if (previous == null || previous.cell != cell) {
+                if (previous != null) {
+                    removeFromCell(previous.cell, id);
+                }
+                addToCell(cell, id);
+            }
+            // a partner busy with an assigned order stays busy until delivery, whatever the app says
+            boolean busy = previous != null && previous.busy;
+            return new PartnerLocation(id, latitude, longitude, cell, now, available, busy);
+        });
+    }
+
+    public void remove(long partnerId) {
+        PartnerLocation previous = partners.remove(partnerId);
+        if (previous != null) {
+            removeFromCell(previous.cell, partnerId);
+        }
+    }
+
+    public void setBusy(long partnerId, boolean busy) {
+        partners.computeIfPresent(partnerId, (id, p) ->
+                new PartnerLocation(id, p.latitude, p.longitude, p.cell, p.lastSeenMillis, p.available, busy));
+    }
+
+    @Scheduled(fixedDelayString = "${delivery.dispatch.evict-interval-ms:30000}")
+    public void evictStale() {
+        long cutoff = clock.getAsLong() - staleAfterMillis;
+        partners.values().stream()
+                .filter(p -> p.lastSeenMillis < cutoff)
+                .map(PartnerLocation::partnerId)
+                .toList()
+                .forEach(this::remove);
+    }
+
+    // ──────────────────────────────────────────────
+    // Queries
+    // ──────────────────────────────────────────────
+
+    /**
+     * Up to {@code k} free, fresh partners within {@code ring} cells of the
+     * point, nearest first. Partners in {@code exclude} are skipped.
+     */
+    public List<Candidate> nearestFree(double latitude, double longitude, int k, int ring, Collection<Long> exclude) {
+        long cutoff = clock.getAsLong() - staleAfterMillis;
+        int row = (int) Math.floor(latitude / cellDegrees);
+        int col = (int) Math.floor(longitude / cellDegrees);
+
+        List<Candidate> found = new ArrayList<>();
+        for (int r = row - ring; r <= row + ring; r++) {
+            for (int c = col - ring; c <= col + ring; c++) {
+                Set<Long> ids = cells.get(key(r, c));
+                if (ids == null) {
+                    continue;
+                }
+                for (Long id : ids) {
+                    PartnerLocation p = partners.get(id);
+                    if (p == null || p.busy || !p.available || p.lastSeenMillis < cutoff || exclude.contains(id)) {
+                        continue;
+                    }
+                    found.add(new Candidate(id, distanceKm(latitude, longitude, p.latitude, p.longitude)));
+                }
+            }
+        }
+        found.sort(Comparator.comparingDouble(Candidate::distanceKm));
+        return found.size() > k ? List.copyOf(found.subList(0, k)) : found;
+    }
+
+    public int size() {
+        return partners.size();
+    }
+
+    public boolean isBusy(long partnerId) {
+        PartnerLocation p = partners.get(partnerId);
+        return p != null && p.busy;
+    }
+
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+
+    private long cellOf(double latitude, double longitude) {
+        return key((int) Math.floor(latitude / cellDegrees), (int) Math.floor(longitude / cellDegrees));
+    }
+
+    private static long key(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+
+    // add/remove both run inside the map's per-key lock so an emptied cell is never dropped under a concurrent add
+    private void addToCell(long cell, Long partnerId) {
+        cells.compute(cell, (k, ids) -> {
+            Set<Long> set = ids != null ? ids : ConcurrentHashMap.newKeySet();
+            set.add(partnerId);
+            return set;
+        });
+    }
+
+    private void removeFromCell(long cell, Long partnerId) {
+        cells.computeIfPresent(cell, (k, ids) -> {
+            ids.remove(partnerId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private record PartnerLocation(long partnerId, double latitude, double longitude, long cell,
+                                   long lastSeenMillis, boolean available, boolean busy) {}
+
+    public record Candidate(long partnerId, double distanceKm) {}
+}
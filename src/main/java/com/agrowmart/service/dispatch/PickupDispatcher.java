@@ -0,0 +1,316 @@
+package com.agrowmart.service.dispatch;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.agrowmart.dto.auth.order.OrderStatusUpdateDTO;
+import com.agrowmart.dto.auth.order.PickupOfferDTO;
+import com.agrowmart.entity.order.Order;
+import com.agrowmart.repository.OrderRepository;
+import com.agrowmart.service.OrderService;
+import com.agrowmart.service.OrderWebSocketService;
+import com.agrowmart.util.GeoHash;
+import com.agrowmart.util.HashedTimingWheel;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Assigns READY_FOR_PICKUP orders to the nearest free delivery partner.
+ *
+ * Each round offers the pickup to the k nearest free partners within the
+ * current ring of grid cells. The first one to accept wins (conditional
+ * UPDATE in {@link OrderService#assignDeliveryPartner}); if nobody accepts
+ * before the offer timeout, or everybody declines, the ring grows and the
+ * next nearest partners get it. Once the maximum ring is exhausted the order
+ * falls back to the geo-sharded pickup topic, where any nearby partner can
+ * take it.
+ *
+ * State is per node: a node only knows the partners whose heartbeats reach
+ * it. Acceptances arriving on another node are still honoured by the DB
+ * compare-and-set, and every timeout re-checks the order before escalating.
+ */
+@Service
+public class PickupDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(PickupDispatcher.class);
+
+    private final DeliveryPartnerIndex index;
+    private final OrderWebSocketService orderWebSocketService;
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+
+    private final boolean enabled;
+    private final int offersPerRound;
+    private final Duration offerTimeout;
+    private final int initialRing;
+    private final int ringStep;
+    private final int maxRing;
+
+    private final Map<String, PendingPickup> pending = new ConcurrentHashMap<>();
+    private final Clock clock;
+    private final Executor timeoutExecutor;
+    private final HashedTimingWheel<String> wheel;
+
+    @Autowired
+    public PickupDispatcher(
+            DeliveryPartnerIndex index,
+            OrderWebSocketService orderWebSocketService,
+            @Lazy OrderService orderService,
+            OrderRepository orderRepository,
+            @Value("${delivery.dispatch.enabled:true}") boolean enabled,
+            @Value("${delivery.dispatch.offers-per-round:3}") int offersPerRound,
+            @Value("${delivery.dispatch.offer-timeout-ms:20000}") long offerTimeoutMs,
+            @Value("${delivery.dispatch.initial-ring:1}") int initialRing,
+            @Value("${delivery.dispatch.ring-step:2}") int ringStep,
+            @Value("${delivery.dispatch.max-ring:9}") int maxRing) {
+        this(index, orderWebSocketService, orderService, orderRepository, enabled, offersPerRound, offerTimeoutMs,
+                initialRing, ringStep, maxRing, Clock.systemDefaultZone(), dispatchExecutor());
+    }
+
+    private PickupDispatcher(DeliveryPartnerIndex index, OrderWebSocketService orderWebSocketService,
+                             OrderService orderService, OrderRepository orderRepository, boolean enabled,
+                             int offersPerRound, long offerTimeoutMs, int initialRing, int ringStep, int maxRing,
+                             Clock clock, ExecutorService timeoutExecutor) {
+        this(index, orderWebSocketService, orderService, orderRepository, enabled, offersPerRound, offerTimeoutMs,
+                initialRing, ringStep, maxRing, clock, timeoutExecutor,
+                new HashedTimingWheel<>("pickup-offer-wheel", Duration.ofMillis(250), 256, timeoutExecutor));
+    }
+
+    /** Simulations pass a fake clock, a wheel driven by it and a direct executor. */
+    PickupDispatcher(DeliveryPartnerIndex index, OrderWebSocketService orderWebSocketService,
+                     OrderService orderService, OrderRepository orderRepository, boolean enabled,
+                     int offersPerRound, long offerTimeoutMs, int initialRing, int ringStep, int maxRing,
+                     Clock clock, Executor timeoutExecutor, HashedTimingWheel<String> wheel) {
+        this.index = index;
+        this.orderWebSocketService = orderWebSocketService;
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+        this.enabled = enabled;
+        this.offersPerRound = offersPerRound;
+        this.offerTimeout = Duration.ofMillis(offerTimeoutMs);
+        this.initialRing = initialRing;
+        this.ringStep = Math.max(1, ringStep);
+        this.maxRing = maxRing;
+        this.clock = clock;
+        this.timeoutExecutor = timeoutExecutor;
+        this.wheel = wheel;
+    }
+
+    private static ExecutorService dispatchExecutor() {
+        return Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "pickup-dispatch");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // ──────────────────────────────────────────────
+    // Entry points
+    // ──────────────────────────────────────────────
+
+    /** Starts matching once the surrounding transaction (if any) has committed. */
+    public void dispatch(String orderId, Double latitude, Double longitude, OrderStatusUpdateDTO update) {
+        if (!enabled || !GeoHash.isValid(latitude, longitude)) {
+            orderWebSocketService.broadcastNewPickup(update, latitude, longitude);
+            return;
+        }
+        runAfterCommit(() -> start(new PendingPickup(orderId, latitude, longitude, update, initialRing)));
+    }
+
+    /** Partner accepted an offer; true if the order is now theirs. */
+    public boolean accept(String orderId, long partnerId) {
+        PendingPickup p = pending.get(orderId);
+        if (p != null && !p.isOffered(partnerId)) {
+            return false; // still being offered around, but not to this partner
+        }
+
+        // one active pickup per partner; a busy partner's late accept on another offer is refused
+        boolean assigned = !index.isBusy(partnerId) && orderService.assignDeliveryPartner(orderId, partnerId);
+        if (assigned) {
+            index.setBusy(partnerId, true);
+            if (p != null && pending.remove(orderId, p)) {
+                wheel.cancel(orderId);
+                withdraw(p, partnerId);
+            }
+        }
+        offer(partnerId, new PickupOfferDTO(orderId, assigned ? "ASSIGNED" : "OFFER_TAKEN",
+                p != null ? p.latitude : null, p != null ? p.longitude : null, null, null));
+        return assigned;
+    }
+
+    public void decline(String orderId, long partnerId) {
+        PendingPickup p = pending.get(orderId);
+        if (p == null) {
+            return;
+        }
+        boolean roundOver;
+        synchronized (p) {
+            roundOver = p.outstanding.remove(partnerId) && p.outstanding.isEmpty();
+        }
+        if (roundOver && wheel.cancel(orderId)) {
+            timeoutExecutor.execute(() -> escalate(orderId));
+        }
+    }
+
+    /** Order left READY_FOR_PICKUP some other way (cancelled etc.). */
+    public void cancel(String orderId) {
+        PendingPickup p = pending.remove(orderId);
+        if (p != null) {
+            wheel.cancel(orderId);
+            withdraw(p, null);
+        }
+    }
+
+    public void partnerFreed(long partnerId) {
+        index.setBusy(partnerId, false);
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        wheel.stop();
+        if (timeoutExecutor instanceof ExecutorService executor) {
+            executor.shutdown();
+        }
+    }
+
+    // ──────────────────────────────────────────────
+    // Rounds
+    // ──────────────────────────────────────────────
+
+    private void start(PendingPickup p) {
+        if (pending.putIfAbsent(p.orderId, p) != null) {
+            return; // already being dispatched (e.g. ready notification sent twice)
+        }
+        offerNextRound(p);
+    }
+
+    private void escalate(String orderId) {
+        PendingPickup p = pending.get(orderId);
+        if (p == null) {
+            return;
+        }
+        if (!orderRepository.existsByIdAndStatusAndDeliveryPartnerIsNull(orderId, Order.OrderStatus.READY_FOR_PICKUP)) {
+            pending.remove(orderId, p); // taken via another node, picked up directly or cancelled
+            withdraw(p, null);
+            return;
+        }
+        withdraw(p, null);
+        synchronized (p) {
+            p.outstanding.clear();
+            p.ring += ringStep;
+        }
+        offerNextRound(p);
+    }
+
+    private void offerNextRound(PendingPickup p) {
+        List<DeliveryPartnerIndex.Candidate> candidates = List.of();
+        synchronized (p) {
+            while (p.ring <= maxRing) {
+                candidates = index.nearestFree(p.latitude, p.longitude, offersPerRound, p.ring, p.offered);
+                if (!candidates.isEmpty()) {
+                    break;
+                }
+                p.ring += ringStep;
+            }
+            candidates.forEach(c -> {
+                p.offered.add(c.partnerId());
+                p.outstanding.add(c.partnerId());
+            });
+        }
+
+        if (candidates.isEmpty()) {
+            if (pending.remove(p.orderId, p)) {
+                log.info("No free partner accepted order {} within ring {}, opening it to the pickup topic", p.orderId, maxRing);
+                orderWebSocketService.broadcastNewPickup(p.update, p.latitude, p.longitude);
+            }
+            return;
+        }
+
+        if (pending.get(p.orderId) != p) {
+            return; // accepted or cancelled while we were looking
+        }
+        LocalDateTime expiresAt = LocalDateTime.now(clock).plus(offerTimeout);
+        wheel.schedule(p.orderId, offerTimeout, () -> escalate(p.orderId));
+        for (DeliveryPartnerIndex.Candidate c : candidates) {
+            offer(c.partnerId(), new PickupOfferDTO(p.orderId, "OFFER", p.latitude, p.longitude,
+                    Math.round(c.distanceKm() * 100) / 100.0, expiresAt));
+        }
+    }
+
+    private void withdraw(PendingPickup p, Long except) {
+        Set<Long> outstanding;
+        synchronized (p) {
+            outstanding = new HashSet<>(p.outstanding);
+        }
+        for (Long partnerId : outstanding) {
+            if (!partnerId.equals(except)) {
+                offer(partnerId, new PickupOfferDTO(p.orderId, "OFFER_WITHDRAWN", null, null, null, null));
+            }
+        }
+    }
+
+    private void offer(long partnerId, PickupOfferDTO offer) {
+        try {
+            orderWebSocketService.sendPickupOffer(partnerId, offer);
+        } catch (Exception e) {
+            log.warn("Failed to send pickup offer {} to partner {}: {}", offer.orderId(), partnerId, e.getMessage());
+        }
+    }
+
+    private static void runAfterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+    private static final class PendingPickup {
+        final String orderId;
+        final double latitude;
+        final double longitude;
+        final OrderStatusUpdateDTO update;
+        final Set<Long> offered = new HashSet<>();      // everyone offered so far, never re-offered
+        final Set<Long> outstanding = new HashSet<>();  // current round, not yet declined
+        int ring;
+
+        PendingPickup(String orderId, double latitude, double longitude, OrderStatusUpdateDTO update, int ring) {
+            this.orderId = orderId;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.update = update;
+            this.ring = ring;
+        }
+
+        synchronized boolean isOffered(long partnerId) {
+            return offered.contains(partnerId);
+        }
+    }
+}
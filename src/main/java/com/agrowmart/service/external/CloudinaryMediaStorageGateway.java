@@ -0,0 +1,34 @@
+package com.agrowmart.service.external;
+
+import java.io.IOException;
+import java.util.Map;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+
+public class CloudinaryMediaStorageGateway implements MediaStorageGateway {
+
+    private final Cloudinary cloudinary;
+
+    public CloudinaryMediaStorageGateway(String cloudName, String apiKey, String apiSecret) {
+        this.cloudinary = new Cloudinary(ObjectUtils.asMap(
+                "cloud_name", cloudName,
+                "api_key", apiKey,
+                "api_secret", apiSecret,
+                "secure", true
+        ));
+    }
+
+    @Override
+    public Map<?, ?> upload(byte[] bytes, String folder) throws IOException {
+        return cloudinary.uploader().upload(bytes, ObjectUtils.asMap(
+                "resource_type", "auto",
+                "folder", folder
+        ));
+    }
+
+    @Override
+    public Map<?, ?> destroy(String publicId) throws IOException {
+        return cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
+    }
+}
@@ -0,0 +1,41 @@
+package com.agrowmart.service.external;
+
+import java.util.Map;
+
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+public class Fast2SmsGateway implements SmsGateway {
+
+    private final RestTemplate restTemplate;
+    private final String baseUrl;
+    private final String authorization;
+    private final String senderId;
+    private final String route;
+
+    public Fast2SmsGateway(RestTemplate restTemplate, String baseUrl, String authorization, String senderId, String route) {
+        this.restTemplate = restTemplate;
+        this.baseUrl = baseUrl;
+        this.authorization = authorization;
+        this.senderId = senderId;
+        this.route = route;
+    }
+
+    @Override
+    public String send(String phone, String message) {
+        String url = UriComponentsBuilder.fromHttpUrl(baseUrl)
+                .queryParam("authorization", "{authorization}")
+                .queryParam("route", "{route}")
+                .queryParam("sender_id", "{sender_id}")
+                .queryParam("message", "{message}")
+                .queryParam("numbers", "{numbers}")
+                .buildAndExpand(Map.of(
+                        "authorization", authorization,
+                        "route", route,
+                        "sender_id", senderId,
+                        "message", message,
+                        "numbers", phone))
+                .toUriString();
+        return restTemplate.getForObject(url, String.class);
+    }
+}
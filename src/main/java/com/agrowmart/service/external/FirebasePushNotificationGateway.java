@@ -0,0 +1,18 @@
+package com.agrowmart.service.external;
+
+import java.util.Map;
+
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.google.firebase.messaging.Message;
+
+public class FirebasePushNotificationGateway implements PushNotificationGateway {
+
+    @Override
+    public String send(String deviceToken, Map<String, String> data) throws Exception {
+        Message message = Message.builder()
+                .setToken(deviceToken)
+                .putAllData(data)
+                .build();
+        return FirebaseMessaging.getInstance().send(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.agrowmart.service.external;
+
+import java.io.IOException;
+import java.util.Map;
+
+// Image upload / delete (Cloudinary in prod, simulated in load tests)
+public interface MediaStorageGateway {
+
+    /** Uploads into the given folder and returns the provider's result (secure_url, public_id, ...). */
+    Map<?, ?> upload(byte[] bytes, String folder) throws IOException;
+
+    /** Deletes by public id and returns the provider's result ("result": "ok" | "not found"). */
+    Map<?, ?> destroy(String publicId) throws IOException;
+}
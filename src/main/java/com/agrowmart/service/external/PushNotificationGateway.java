@@ -0,0 +1,10 @@
+package com.agrowmart.service.external;
+
+import java.util.Map;
+
+// Sends one data message to a device token (Firebase Cloud Messaging in prod, simulated in load tests)
+public interface PushNotificationGateway {
+
+    /** Returns the provider's message id; throws if the provider rejected or could not be reached. */
+    String send(String deviceToken, Map<String, String> data) throws Exception;
+}
@@ -0,0 +1,24 @@
+package com.agrowmart.service.external;
+
+// Authenticated JSON calls to the Razorpay / RazorpayX REST API (simulated in load tests)
+public interface RazorpayGateway {
+
+    /**
+     * POSTs a JSON body to an API path such as "/v1/payouts" and returns the
+     * response body. Failures surface as Spring's RestClientException family
+     * (HttpClientErrorException, HttpServerErrorException, ResourceAccessException).
+     */
+    default String post(String path, String jsonBody) {
+        return post(path, jsonBody, null);
+    }
+
+    /**
+     * As {@link #post(String, String)}, with an X-Payout-Idempotency key when
+     * not null: Razorpay answers a repeat of the same key with the original
+     * payout instead of paying again.
+     */
+    String post(String path, String jsonBody, String idempotencyKey);
+
+    /** GETs an API path such as "/v1/orders/{id}"; failures as for {@link #post}. */
+    String get(String path);
+}
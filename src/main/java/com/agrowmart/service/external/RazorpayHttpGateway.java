@@ -0,0 +1,45 @@
+package com.agrowmart.service.external;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestTemplate;
+
+public class RazorpayHttpGateway implements RazorpayGateway {
+
+    private static final String BASE_URL = "https://api.razorpay.com";
+
+    private final RestTemplate restTemplate;
+    private final String authorization;
+
+    public RazorpayHttpGateway(RestTemplate restTemplate, String keyId, String keySecret) {
+        this.restTemplate = restTemplate;
+        this.authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((keyId + ":" + keySecret).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public String post(String path, String jsonBody, String idempotencyKey) {
+        return exchange(HttpMethod.POST, path, jsonBody, idempotencyKey);
+    }
+
+    @Override
+    public String get(String path) {
+        return exchange(HttpMethod.GET, path, null, null);
+    }
+
+    private String exchange(HttpMethod method, String path, String jsonBody, String idempotencyKey) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.AUTHORIZATION, authorization);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (idempotencyKey != null) {
+            headers.set("X-Payout-Idempotency", idempotencyKey);
+        }
+        return restTemplate.exchange(BASE_URL + path, method, new HttpEntity<>(jsonBody, headers), String.class)
+                .getBody();
+    }
+}
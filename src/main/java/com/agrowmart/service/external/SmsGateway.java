@@ -0,0 +1,8 @@
+package com.agrowmart.service.external;
+
+// Outbound SMS (Fast2SMS in prod, simulated in load tests)
+public interface SmsGateway {
+
+    /** Sends a message to a 10-digit number and returns the provider's raw response. */
+    String send(String phone, String message);
+}
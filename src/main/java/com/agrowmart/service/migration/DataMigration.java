@@ -0,0 +1,23 @@
+package com.agrowmart.service.migration;
+
+/**
+ * A one-off change to existing rows, run in the background by
+ * {@link DataMigrationRunner} exactly once per database.
+ *
+ * Work is done in keyset chunks: each call handles the keys after
+ * {@code afterKey} (at most {@code chunkSize} of them) and returns the last
+ * key it covered. The runner stores that key in the same transaction as the
+ * chunk, so a chunk must be safe to run again only if it never committed.
+ */
+public interface DataMigration {
+
+    /** Unique, increasing; migrations run in version order. */
+    int version();
+
+    String description();
+
+    /** Migrates the next chunk, or returns null when no keys are left. */
+    Chunk migrateChunk(long afterKey, int chunkSize);
+
+    record Chunk(long lastKey, int rowsChanged) {}
+}
@@ -0,0 +1,138 @@
+package com.agrowmart.service.migration;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.agrowmart.entity.DataMigrationRecord;
+import com.agrowmart.repository.DataMigrationRecordRepository;
+import com.agrowmart.service.scheduling.JobExecution;
+import com.agrowmart.service.scheduling.JobLeaseLostException;
+import com.agrowmart.service.scheduling.ScheduledJobRunner;
+
+/**
+ * Runs pending {@link DataMigration}s in the background, off the startup path.
+ *
+ * Shortly after startup (and then every data-migrations.recheck-ms) the
+ * data_migrations table is read; if anything is not COMPLETED, one node takes
+ * the "data-migrations" lease and works through the pending migrations in
+ * version order. Each chunk and its checkpoint commit together, so a crash,
+ * a redeploy or a lost lease resumes from the last committed chunk. A failing
+ * migration is marked FAILED and blocks the ones after it until the next try.
+ */
+@Component
+public class DataMigrationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DataMigrationRunner.class);
+
+    static final String JOB_NAME = "data-migrations";
+
+    private final List<DataMigration> migrations;
+    private final DataMigrationRecordRepository recordRepository;
+    private final ScheduledJobRunner jobRunner;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public DataMigrationRunner(
+            List<DataMigration> migrations,
+            DataMigrationRecordRepository recordRepository,
+            ScheduledJobRunner jobRunner,
+            PlatformTransactionManager transactionManager,
+            @Value("${data-migrations.chunk-size:1000}") int chunkSize) {
+        this.migrations = migrations.stream().sorted(Comparator.comparingInt(DataMigration::version)).toList();
+        this.recordRepository = recordRepository;
+        this.jobRunner = jobRunner;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+
+        Set<Integer> versions = new HashSet<>();
+        for (DataMigration migration : this.migrations) {
+            if (!versions.add(migration.version())) {
+                throw new IllegalStateException("Duplicate data migration version " + migration.version());
+            }
+        }
+    }
+
+    @Scheduled(initialDelayString = "${data-migrations.initial-delay-ms:30000}",
+               fixedDelayString = "${data-migrations.recheck-ms:3600000}")
+    public void runPending() {
+        if (pending().isEmpty()) {
+            return; // the usual case: one small SELECT, no lease
+        }
+        jobRunner.run(JOB_NAME, this::migrateAll);
+    }
+
+    void migrateAll(JobExecution execution) {
+        // re-read under the lease: another node may have finished some meanwhile
+        for (DataMigration migration : pending()) {
+            migrate(migration, execution);
+        }
+    }
+
+    private List<DataMigration> pending() {
+        Map<Integer, DataMigrationRecord> records = recordRepository.findAll().stream()
+                .collect(Collectors.toMap(DataMigrationRecord::getVersion, Function.identity()));
+        return migrations.stream()
+                .filter(m -> {
+                    DataMigrationRecord record = records.get(m.version());
+                    return record == null || !record.isCompleted();
+                })
+                .toList();
+    }
+
+    private void migrate(DataMigration migration, JobExecution execution) {
+        DataMigrationRecord record = recordRepository.findById(migration.version())
+                .orElseGet(() -> recordRepository.save(
+                        new DataMigrationRecord(migration.version(), migration.description())));
+        log.info("Data migration V{} ({}) starting after key {}",
+                migration.version(), migration.description(), record.getLastKey());
+
+        try {
+            while (true) {
+                execution.ensureLeaseHeld();
+                DataMigrationRecord current = record;
+                DataMigrationRecord next = transactionTemplate.execute(status -> {
+                    DataMigration.Chunk chunk = migration.migrateChunk(current.getLastKey(), chunkSize);
+                    if (chunk == null) {
+                        current.complete();
+                    } else {
+                        current.checkpoint(chunk.lastKey(), chunk.rowsChanged());
+                        execution.addRows(chunk.rowsChanged());
+                    }
+                    return recordRepository.save(current);
+                });
+                record = next;
+                if (record.isCompleted()) {
+                    break;
+                }
+            }
+        } catch (JobLeaseLostException e) {
+            throw e; // the checkpoint is intact; whoever holds the lease now carries on
+        } catch (RuntimeException e) {
+            try {
+                // reload: the failed chunk's checkpoint was rolled back with it
+                DataMigrationRecord failed = recordRepository.findById(migration.version()).orElse(record);
+                failed.fail(e.toString());
+                recordRepository.save(failed);
+            } catch (Exception saveError) {
+                log.warn("Could not record failure of data migration V{}: {}",
+                        migration.version(), saveError.getMessage());
+            }
+            throw e;
+        }
+
+        log.info("Data migration V{} completed: {} rows changed", migration.version(), record.getRowsChanged());
+    }
+}
@@ -0,0 +1,51 @@
+package com.agrowmart.service.migration;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.agrowmart.repository.UserRepository;
+
+/**
+ * V1: prefixes bare 10-digit phone numbers with +91, as AuthService used to do
+ * on every startup. A number whose +91 form already belongs to another user
+ * is left alone.
+ */
+@Component
+public class LegacyPhoneNumberMigration implements DataMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(LegacyPhoneNumberMigration.class);
+
+    private final UserRepository userRepository;
+
+    public LegacyPhoneNumberMigration(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public String description() {
+        return "Normalize legacy 10-digit phone numbers to +91";
+    }
+
+    @Override
+    public Chunk migrateChunk(long afterKey, int chunkSize) {
+        List<Long> ids = userRepository.findIdsAfter(afterKey, PageRequest.of(0, chunkSize));
+        if (ids.isEmpty()) {
+            return null;
+        }
+        long lastId = ids.get(ids.size() - 1);
+        int fixed = userRepository.normalizeLegacyPhones(afterKey, lastId);
+        if (fixed > 0) {
+            log.info("Normalized {} legacy phone numbers in user ids ({}, {}]", fixed, afterKey, lastId);
+        }
+        return new Chunk(lastId, fixed);
+    }
+}
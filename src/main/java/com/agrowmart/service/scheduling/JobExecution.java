@@ -0,0 +1,60 @@
+package com.agrowmart.service.scheduling;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Handed to a running job: collects the counts written to the job registry
+ * and tells the job whether it still owns its lease.
+ *
+ * Jobs with external side effects (payouts, deletes) should call
+ * {@link #ensureLeaseHeld()} before each one.
+ */
+public final class JobExecution {
+
+    private final String jobName;
+    private final AtomicLong rows = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile boolean leaseLost;
+
+    JobExecution(String jobName) {
+        this.jobName = jobName;
+    }
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    public void addRows(long count) {
+        rows.addAndGet(count);
+    }
+
+    public void recordFailure() {
+        failures.incrementAndGet();
+    }
+
+    public void addFailures(long count) {
+        failures.addAndGet(count);
+    }
+
+    public long getRows() {
+        return rows.get();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    public boolean isLeaseLost() {
+        return leaseLost;
+    }
+
+    public void ensureLeaseHeld() {
+        if (leaseLost) {
+            throw new JobLeaseLostException(jobName);
+        }
+    }
+
+    void markLeaseLost() {
+        leaseLost = true;
+    }
+}
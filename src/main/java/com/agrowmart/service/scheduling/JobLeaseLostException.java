@@ -0,0 +1,12 @@
+package com.agrowmart.service.scheduling;
+
+/**
+ * Thrown by {@link JobExecution#ensureLeaseHeld()} once the heartbeat could
+ * not renew the job's lease; another node may already be running the job.
+ */
+public class JobLeaseLostException extends RuntimeException {
+
+    public JobLeaseLostException(String jobName) {
+        super("Lease lost for scheduled job " + jobName);
+    }
+}
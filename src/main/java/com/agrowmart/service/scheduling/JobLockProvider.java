@@ -0,0 +1,18 @@
+package com.agrowmart.service.scheduling;
+
+import java.time.Duration;
+
+/**
+ * Cluster-wide lease for a named job. {@code owner} is a token unique to one
+ * run, so a node that lost its lease cannot renew or release the new owner's.
+ */
+public interface JobLockProvider {
+
+    /** True if {@code owner} now holds the lease for {@code leaseFor}. */
+    boolean tryAcquire(String job, String owner, Duration leaseFor);
+
+    /** Extends the lease; false if {@code owner} no longer holds it. */
+    boolean renew(String job, String owner, Duration leaseFor);
+
+    void release(String job, String owner);
+}
@@ -0,0 +1,62 @@
+package com.agrowmart.service.scheduling;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import com.agrowmart.entity.ScheduledJobLock;
+import com.agrowmart.repository.ScheduledJobLockRepository;
+
+/**
+ * Leases stored in scheduled_job_locks. Each operation is a single
+ * conditional UPDATE on the job's row, so two nodes can never both see their
+ * acquire succeed. Lease times come from the app clock; keep node clocks in
+ * NTP sync and leases far longer than the expected skew.
+ */
+@Component
+public class JpaJobLockProvider implements JobLockProvider {
+
+    private static final LocalDateTime NEVER_LOCKED = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    private final ScheduledJobLockRepository lockRepository;
+    private final Set<String> knownJobs = ConcurrentHashMap.newKeySet();
+
+    public JpaJobLockProvider(ScheduledJobLockRepository lockRepository) {
+        this.lockRepository = lockRepository;
+    }
+
+    @Override
+    public boolean tryAcquire(String job, String owner, Duration leaseFor) {
+        ensureRow(job);
+        LocalDateTime now = LocalDateTime.now();
+        return lockRepository.acquireIfExpired(job, owner, now, now.plus(leaseFor)) == 1;
+    }
+
+    @Override
+    public boolean renew(String job, String owner, Duration leaseFor) {
+        return lockRepository.renew(job, owner, LocalDateTime.now().plus(leaseFor)) == 1;
+    }
+
+    @Override
+    public void release(String job, String owner) {
+        lockRepository.release(job, owner, LocalDateTime.now());
+    }
+
+    private void ensureRow(String job) {
+        if (knownJobs.contains(job)) {
+            return;
+        }
+        if (!lockRepository.existsById(job)) {
+            try {
+                lockRepository.saveAndFlush(new ScheduledJobLock(job, NEVER_LOCKED));
+            } catch (DataIntegrityViolationException e) {
+                // another node inserted it first – fine, the UPDATE decides who runs
+            }
+        }
+        knownJobs.add(job);
+    }
+}
@@ -0,0 +1,248 @@
+package com.agrowmart.service.scheduling;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.agrowmart.entity.ScheduledJobRun;
+import com.agrowmart.repository.ScheduledJobRunRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs a cluster-wide scheduled job on at most one node at a time.
+ *
+ * Every replica fires the same @Scheduled trigger; the first to take the
+ * job's lease runs it, the others skip. While the job runs, a heartbeat
+ * renews the lease every third of its length, so a long job keeps it and a
+ * crashed node loses it after one lease. If a renewal is refused the job is
+ * told via {@link JobExecution#ensureLeaseHeld()}.
+ *
+ * Each run is recorded in scheduled_job_runs (start, end, rows, failures,
+ * outcome) and timed as scheduled.jobs.duration{job,outcome}.
+ *
+ * Per-node jobs (in-memory index reloads, timing-wheel catch-up) must run on
+ * every node and do not go through here.
+ */
+@Component
+public class ScheduledJobRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ScheduledJobRunner.class);
+
+    static final String HISTORY_PURGE_JOB = "scheduled-job-history-purge";
+
+    @FunctionalInterface
+    public interface Job {
+        void execute(JobExecution execution) throws Exception;
+    }
+
+    private final JobLockProvider lockProvider;
+    private final ScheduledJobRunRepository runRepository;
+    private final MeterRegistry meterRegistry;
+    private final Duration defaultLease;
+    private final long historyDays;
+    private final String nodeId;
+    private final ScheduledExecutorService heartbeat;
+
+    public ScheduledJobRunner(
+            JobLockProvider lockProvider,
+            ScheduledJobRunRepository runRepository,
+            MeterRegistry meterRegistry,
+            @Value("${scheduling.jobs.lease-minutes:10}") long leaseMinutes,
+            @Value("${scheduling.jobs.history-days:30}") long historyDays) {
+        this.lockProvider = lockProvider;
+        this.runRepository = runRepository;
+        this.meterRegistry = meterRegistry;
+        this.defaultLease = Duration.ofMinutes(leaseMinutes);
+        this.historyDays = historyDays;
+        this.nodeId = ManagementFactory.getRuntimeMXBean().getName(); // pid@host
+        // own thread: a saturated scheduler pool must never delay lease renewal
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "scheduled-job-heartbeat");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public boolean run(String jobName, Job job) {
+        return run(jobName, defaultLease, job);
+    }
+
+    /**
+     * Runs {@code job} if this node can take the lease.
+     *
+     * @return false if another node holds the lease (or it could not be taken)
+     */
+    public boolean run(String jobName, Duration lease, Job job) {
+        String owner = nodeId + "#" + UUID.randomUUID();
+        try {
+            if (!lockProvider.tryAcquire(jobName, owner, lease)) {
+                log.debug("Scheduled job {} skipped: lease held by another node", jobName);
+                skipped(jobName, "locked");
+                return false;
+            }
+        } catch (Exception e) {
+            log.error("Scheduled job {} skipped: could not acquire lease: {}", jobName, e.getMessage());
+            skipped(jobName, "lock_error");
+            return false;
+        }
+
+        JobExecution execution = new JobExecution(jobName);
+        ScheduledJobRun run = startRun(jobName);
+        Lease held = new Lease(jobName, owner, lease, execution);
+        long period = Math.max(1000, lease.toMillis() / 3);
+        ScheduledFuture<?> renewal = heartbeat.scheduleWithFixedDelay(held::renew, period, period, TimeUnit.MILLISECONDS);
+
+        long start = System.nanoTime();
+        ScheduledJobRun.Status status = ScheduledJobRun.Status.SUCCEEDED;
+        String error = null;
+        try {
+            job.execute(execution);
+            if (execution.isLeaseLost()) {
+                status = ScheduledJobRun.Status.LEASE_LOST;
+            }
+        } catch (JobLeaseLostException e) {
+            status = ScheduledJobRun.Status.LEASE_LOST;
+            error = e.getMessage();
+            log.warn("Scheduled job {} stopped early: {}", jobName, e.getMessage());
+        } catch (Exception e) {
+            status = ScheduledJobRun.Status.FAILED;
+            error = e.toString();
+            log.error("Scheduled job {} failed: {}", jobName, e.getMessage(), e);
+        } finally {
+            renewal.cancel(false);
+            try {
+                lockProvider.release(jobName, owner);
+            } catch (Exception e) {
+                log.warn("Could not release lease for {} (expires on its own): {}", jobName, e.getMessage());
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        finishRun(run, status, execution, error);
+        String outcome = status.name().toLowerCase(Locale.ROOT);
+        Timer.builder("scheduled.jobs.duration")
+                .tag("job", jobName).tag("outcome", outcome)
+                .register(meterRegistry).record(elapsed, TimeUnit.NANOSECONDS);
+        Counter.builder("scheduled.jobs.rows").tag("job", jobName)
+                .register(meterRegistry).increment(execution.getRows());
+        Counter.builder("scheduled.jobs.failures").tag("job", jobName)
+                .register(meterRegistry).increment(execution.getFailures());
+
+        log.info("Scheduled job {} {} in {} ms on {}: {} rows, {} failures", jobName, outcome,
+                TimeUnit.NANOSECONDS.toMillis(elapsed), nodeId, execution.getRows(), execution.getFailures());
+        return true;
+    }
+
+    @Scheduled(cron = "${scheduling.jobs.history-purge-cron:0 30 4 * * *}")
+    public void purgeHistory() {
+        run(HISTORY_PURGE_JOB, execution ->
+                execution.addRows(runRepository.deleteStartedBefore(LocalDateTime.now().minusDays(historyDays))));
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+    }
+
+    // ──────────────────────────────────────────────
+    // Registry
+    // ──────────────────────────────────────────────
+
+    // registry writes are best effort: a DB hiccup there must not stop the job itself
+    private ScheduledJobRun startRun(String jobName) {
+        ScheduledJobRun run = new ScheduledJobRun();
+        run.setJobName(jobName);
+        run.setNode(nodeId);
+        run.setStartedAt(LocalDateTime.now());
+        try {
+            return runRepository.save(run);
+        } catch (Exception e) {
+            log.warn("Could not record start of scheduled job {}: {}", jobName, e.getMessage());
+            return run;
+        }
+    }
+
+    private void finishRun(ScheduledJobRun run, ScheduledJobRun.Status status, JobExecution execution, String error) {
+        run.setEndedAt(LocalDateTime.now());
+        run.setStatus(status);
+        run.setRowsProcessed(execution.getRows());
+        run.setFailures(execution.getFailures());
+        if (error != null) {
+            run.setErrorMessage(error.length() > 1000 ? error.substring(0, 1000) : error);
+        }
+        try {
+            runRepository.save(run);
+        } catch (Exception e) {
+            log.warn("Could not record end of scheduled job {}: {}", run.getJobName(), e.getMessage());
+        }
+    }
+
+    private void skipped(String jobName, String reason) {
+        Counter.builder("scheduled.jobs.skipped")
+                .tag("job", jobName).tag("reason", reason)
+                .register(meterRegistry).increment();
+    }
+
+    // ──────────────────────────────────────────────
+    // Heartbeat
+    // ──────────────────────────────────────────────
+
+    private final class Lease {
+        final String jobName;
+        final String owner;
+        final Duration length;
+        final JobExecution execution;
+        volatile long validUntilNanos;
+
+        Lease(String jobName, String owner, Duration length, JobExecution execution) {
+            this.jobName = jobName;
+            this.owner = owner;
+            this.length = length;
+            this.execution = execution;
+            this.validUntilNanos = System.nanoTime() + length.toNanos();
+        }
+
+        void renew() {
+            if (execution.isLeaseLost()) {
+                return;
+            }
+            long now = System.nanoTime();
+            try {
+                if (lockProvider.renew(jobName, owner, length)) {
+                    validUntilNanos = now + length.toNanos();
+                } else {
+                    log.warn("Lease for scheduled job {} was taken over; stopping this run", jobName);
+                    execution.markLeaseLost();
+                }
+            } catch (Exception e) {
+                // transient failure: the old lease still counts until it runs out
+                if (now - validUntilNanos >= 0) {
+                    log.warn("Lease for scheduled job {} expired while renewal kept failing: {}", jobName, e.getMessage());
+                    execution.markLeaseLost();
+                } else {
+                    log.warn("Lease renewal for scheduled job {} failed, will retry: {}", jobName, e.getMessage());
+                }
+            }
+        }
+    }
+}
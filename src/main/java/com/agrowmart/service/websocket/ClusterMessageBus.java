@@ -0,0 +1,11 @@
+package com.agrowmart.service.websocket;
+
+import java.util.function.Consumer;
+
+// Minimal pub/sub contract the cluster relay needs (Redis in prod, in-memory in tests)
+public interface ClusterMessageBus {
+
+    void publish(String channel, String message);
+
+    void subscribe(String channel, Consumer<String> listener);
+}
@@ -0,0 +1,19 @@
+package com.agrowmart.service.websocket;
+
+import java.util.Collection;
+import java.util.Set;
+
+// Shared view of which nodes currently hold STOMP sessions for a user
+public interface ClusterSessionRegistry {
+
+    void register(String userId, String nodeId);
+
+    // Re-asserts every user this node still holds, so live entries never expire
+    default void refresh(Collection<String> userIds, String nodeId) {
+        userIds.forEach(userId -> register(userId, nodeId));
+    }
+
+    void unregister(String userId, String nodeId);
+
+    Set<String> nodesFor(String userId);
+}
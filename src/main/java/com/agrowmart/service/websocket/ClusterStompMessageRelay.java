@@ -0,0 +1,192 @@
+package com.agrowmart.service.websocket;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Multi-node STOMP delivery over a pub/sub bus (Redis in prod).
+ *
+ * Each node keeps its own simple broker for the sessions it holds and
+ * subscribes to two channels:
+ *   ws:node:{nodeId}  – user messages addressed to sessions on this node
+ *   ws:broadcast      – topic messages for every node
+ *
+ * User messages are delivered in-process whenever this node holds a session
+ * for the user, and published only to the other nodes that the shared
+ * {@link ClusterSessionRegistry} lists for that user, so a customer update
+ * does not wake up every instance. Each node re-registers its live users on a
+ * timer, so a long-lived session never ages out of the registry. Topic messages are delivered
+ * locally and published once; receivers drop their own echo.
+ */
+public class ClusterStompMessageRelay implements StompMessageRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterStompMessageRelay.class);
+
+    static final String NODE_CHANNEL_PREFIX = "ws:node:";
+    static final String BROADCAST_CHANNEL = "ws:broadcast";
+
+    private final SimpMessagingTemplate template;
+    private final ObjectMapper objectMapper;
+    private final ClusterMessageBus bus;
+    private final ClusterSessionRegistry sessionRegistry;
+    private final String nodeId;
+
+    // local session count per user: the authority for in-process delivery and for registry refreshes
+    private final Map<String, AtomicInteger> localSessions = new ConcurrentHashMap<>();
+
+    public ClusterStompMessageRelay(SimpMessagingTemplate template,
+                                    ObjectMapper objectMapper,
+                                    ClusterMessageBus bus,
+                                    ClusterSessionRegistry sessionRegistry,
+                                    String nodeId) {
+        this.template = template;
+        this.objectMapper = objectMapper;
+        this.bus = bus;
+        this.sessionRegistry = sessionRegistry;
+        this.nodeId = nodeId;
+
+        bus.subscribe(NODE_CHANNEL_PREFIX + nodeId, this::onRemoteMessage);
+        bus.subscribe(BROADCAST_CHANNEL, this::onRemoteMessage);
+    }
+
+    // ──────────────────────────────────────────────
+    // Outbound
+    // ──────────────────────────────────────────────
+
+    @Override
+    public void sendToUser(String userId, String destination, Object payload) {
+        Set<String> nodes;
+        try {
+            nodes = sessionRegistry.nodesFor(userId);
+        } catch (Exception e) {
+            // registry unavailable: let every node try, better duplicate work than a lost update
+            log.warn("Session registry lookup failed for user {}: {}", userId, e.getMessage());
+            template.convertAndSendToUser(userId, destination, payload);
+            publish(BROADCAST_CHANNEL, new RelayEnvelope(nodeId, userId, destination, toJson(payload)));
+            return;
+        }
+
+        // our own sessions never depend on the registry entry still being there
+        if (localSessions.containsKey(userId)) {
+            template.convertAndSendToUser(userId, destination, payload);
+        }
+        RelayEnvelope envelope = null;
+        for (String node : nodes) {
+            if (nodeId.equals(node)) {
+                continue;
+            }
+            if (envelope == null) {
+                envelope = new RelayEnvelope(nodeId, userId, destination, toJson(payload));
+            }
+            publish(NODE_CHANNEL_PREFIX + node, envelope);
+        }
+    }
+
+    @Override
+    public void broadcast(String destination, Object payload) {
+        template.convertAndSend(destination, payload);
+        publish(BROADCAST_CHANNEL, new RelayEnvelope(nodeId, null, destination, toJson(payload)));
+    }
+
+    // ──────────────────────────────────────────────
+    // Inbound from other nodes
+    // ──────────────────────────────────────────────
+
+    void onRemoteMessage(String raw) {
+        try {
+            RelayEnvelope envelope = objectMapper.readValue(raw, RelayEnvelope.class);
+            if (nodeId.equals(envelope.origin())) {
+                return; // own broadcast echo, already delivered locally
+            }
+            if (envelope.user() != null) {
+                template.convertAndSendToUser(envelope.user(), envelope.destination(), envelope.payload());
+            } else {
+                template.convertAndSend(envelope.destination(), envelope.payload());
+            }
+        } catch (Exception e) {
+            log.error("Dropping malformed cluster STOMP message: {}", e.getMessage());
+        }
+    }
+
+    // ──────────────────────────────────────────────
+    // Session registry sharing
+    // ──────────────────────────────────────────────
+
+    @EventListener
+    public void onSessionConnected(SessionConnectedEvent event) {
+        Principal user = event.getUser();
+        if (user != null) {
+            userConnected(user.getName());
+        }
+    }
+
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        Principal user = event.getUser();
+        if (user != null) {
+            userDisconnected(user.getName());
+        }
+    }
+
+    void userConnected(String userId) {
+        int count = localSessions.computeIfAbsent(userId, k -> new AtomicInteger()).incrementAndGet();
+        // re-register on every connect so the TTL in the shared registry keeps getting refreshed
+        sessionRegistry.register(userId, nodeId);
+        log.debug("User {} connected on node {} ({} local sessions)", userId, nodeId, count);
+    }
+
+    /** Keeps this node's entries alive for as long as the sessions are. */
+    @Scheduled(fixedDelayString = "${websocket.cluster.session-refresh-ms:3600000}",
+               initialDelayString = "${websocket.cluster.session-refresh-ms:3600000}")
+    public void refreshSessionRegistrations() {
+        if (localSessions.isEmpty()) {
+            return;
+        }
+        try {
+            sessionRegistry.refresh(List.copyOf(localSessions.keySet()), nodeId);
+        } catch (Exception e) {
+            log.warn("Session registry refresh failed on node {}: {}", nodeId, e.getMessage());
+        }
+    }
+
+    void userDisconnected(String userId) {
+        AtomicInteger counter = localSessions.get(userId);
+        if (counter != null && counter.decrementAndGet() <= 0) {
+            localSessions.remove(userId, counter);
+            sessionRegistry.unregister(userId, nodeId);
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private void publish(String channel, RelayEnvelope envelope) {
+        try {
+            bus.publish(channel, objectMapper.writeValueAsString(envelope));
+        } catch (Exception e) {
+            log.error("Failed to publish STOMP message to {}: {}", channel, e.getMessage());
+        }
+    }
+
+    private JsonNode toJson(Object payload) {
+        return objectMapper.valueToTree(payload);
+    }
+
+    record RelayEnvelope(String origin, String user, String destination, JsonNode payload) {}
+}
@@ -0,0 +1,27 @@
+package com.agrowmart.service.websocket;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+// Default single-node mode: straight into the in-memory simple broker
+@Component
+@ConditionalOnProperty(name = "websocket.broker.mode", havingValue = "simple", matchIfMissing = true)
+public class LocalStompMessageRelay implements StompMessageRelay {
+
+    private final SimpMessagingTemplate template;
+
+    public LocalStompMessageRelay(SimpMessagingTemplate template) {
+        this.template = template;
+    }
+
+    @Override
+    public void sendToUser(String userId, String destination, Object payload) {
+        template.convertAndSendToUser(userId, destination, payload);
+    }
+
+    @Override
+    public void broadcast(String destination, Object payload) {
+        template.convertAndSend(destination, payload);
+    }
+}
@@ -0,0 +1,59 @@
+package com.agrowmart.service.websocket;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * ws:user-nodes:{userId} → set of node ids. Entries expire so a crashed node
+ * does not leave users pinned to it forever; live nodes refresh theirs
+ * well inside the TTL.
+ */
+public class RedisClusterSessionRegistry implements ClusterSessionRegistry {
+
+    private static final String KEY_PREFIX = "ws:user-nodes:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+
+    public RedisClusterSessionRegistry(StringRedisTemplate redisTemplate, Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public void register(String userId, String nodeId) {
+        String key = KEY_PREFIX + userId;
+        redisTemplate.opsForSet().add(key, nodeId);
+        redisTemplate.expire(key, ttl);
+    }
+
+    @Override
+    public void refresh(Collection<String> userIds, String nodeId) {
+        long ttlSeconds = ttl.toSeconds();
+        // one round trip for the whole node instead of two per user
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            for (String userId : userIds) {
+                redis.sAdd(KEY_PREFIX + userId, nodeId);
+                redis.expire(KEY_PREFIX + userId, ttlSeconds);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void unregister(String userId, String nodeId) {
+        redisTemplate.opsForSet().remove(KEY_PREFIX + userId, nodeId);
+    }
+
+    @Override
+    public Set<String> nodesFor(String userId) {
+        Set<String> nodes = redisTemplate.opsForSet().members(KEY_PREFIX + userId);
+        return nodes != null ? nodes : Set.of();
+    }
+}
@@ -0,0 +1,19 @@
+package com.agrowmart.service.websocket;
+
+/**
+ * Outbound STOMP delivery used by {@link com.agrowmart.service.OrderWebSocketService}.
+ *
+ * "simple" mode ({@link LocalStompMessageRelay}) only reaches clients connected to this node.
+ * "redis" mode ({@link ClusterStompMessageRelay}) also fans messages out to the other nodes.
+ */
+public interface StompMessageRelay {
+
+    /**
+     * Private message to a principal name ({@link StompPrincipals}), e.g. destination
+     * "/queue/orders" → client subscribes to "/user/queue/orders".
+     */
+    void sendToUser(String userId, String destination, Object payload);
+
+    /** Topic message, e.g. "/topic/delivery/pickups". */
+    void broadcast(String destination, Object payload);
+}
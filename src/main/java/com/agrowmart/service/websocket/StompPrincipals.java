@@ -0,0 +1,35 @@
+package com.agrowmart.service.websocket;
+
+/**
+ * STOMP principal names. Customers and users (vendors, delivery partners)
+ * have separate id sequences, so customer 7 and vendor 7 are different
+ * people; the account type is part of the name that /user/{name}/queue/...
+ * destinations and the cluster session registry are keyed by.
+ */
+public final class StompPrincipals {
+
+    private static final String CUSTOMER = "customer:";
+    private static final String USER = "user:";
+
+    private StompPrincipals() {}
+
+    public static String customer(long customerId) {
+        return CUSTOMER + customerId;
+    }
+
+    public static String user(long userId) {
+        return USER + userId;
+    }
+
+    /** User id of a "user:{id}" principal name; null for customers and anything else. */
+    public static Long userId(String principalName) {
+        if (principalName == null || !principalName.startsWith(USER)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(principalName.substring(USER.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.agrowmart.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Standard base-32 geohash encoding plus neighbour lookup.
+ *
+ * Used to shard location-based topics: a precision-5 cell is roughly
+ * 4.9 km x 4.9 km, so "cell + 8 neighbours" covers every point within one
+ * cell width of the subscriber regardless of where inside its cell it is.
+ */
+public final class GeoHash {
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+    private static final int[] DECODE = new int[128];
+
+    static {
+        Arrays.fill(DECODE, -1);
+        for (int i = 0; i < BASE32.length; i++) {
+            DECODE[BASE32[i]] = i;
+        }
+    }
+
+    private GeoHash() {}
+
+    public static String encode(double latitude, double longitude, int precision) {
+        if (precision < 1 || precision > 12) {
+            throw new IllegalArgumentException("Geohash precision must be 1..12, got " + precision);
+        }
+        if (!isValid(latitude, longitude)) {
+            throw new IllegalArgumentException("Invalid coordinates: " + latitude + "," + longitude);
+        }
+
+        double latMin = -90, latMax = 90, lonMin = -180, lonMax = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true; // longitude first
+        int bit = 0, ch = 0;
+
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (lonMin + lonMax) / 2;
+                if (longitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    lonMin = mid;
+                } else {
+                    ch <<= 1;
+                    lonMax = mid;
+                }
+            } else {
+                double mid = (latMin + latMax) / 2;
+                if (latitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    latMin = mid;
+                } else {
+                    ch <<= 1;
+                    latMax = mid;
+                }
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                hash.append(BASE32[ch]);
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /** True for a set, finite latitude/longitude pair inside the valid ranges. */
+    public static boolean isValid(Double latitude, Double longitude) {
+        return latitude != null && longitude != null
+                && latitude >= -90 && latitude <= 90
+                && longitude >= -180 && longitude <= 180;
+    }
+
+    /** Returns {minLat, minLon, maxLat, maxLon} of the cell. */
+    public static double[] bounds(String geohash) {
+        double latMin = -90, latMax = 90, lonMin = -180, lonMax = 180;
+        boolean evenBit = true;
+        for (int i = 0; i < geohash.length(); i++) {
+            char c = geohash.charAt(i);
+            int idx = c < DECODE.length ? DECODE[c] : -1;
+            if (idx < 0) {
+                throw new IllegalArgumentException("Invalid geohash: " + geohash);
+            }
+            for (int n = 4; n >= 0; n--) {
+                int bitN = (idx >> n) & 1;
+                if (evenBit) {
+                    double mid = (lonMin + lonMax) / 2;
+                    if (bitN == 1) lonMin = mid; else lonMax = mid;
+                } else {
+                    double mid = (latMin + latMax) / 2;
+                    if (bitN == 1) latMin = mid; else latMax = mid;
+                }
+                evenBit = !evenBit;
+            }
+        }
+        return new double[] {latMin, lonMin, latMax, lonMax};
+    }
+
+    /**
+     * The cell itself followed by its (up to) 8 neighbours. Cells are found by
+     * re-encoding the centre shifted by one cell size, which wraps correctly
+     * at the antimeridian; nothing is returned beyond the poles.
+     */
+    public static List<String> cellAndNeighbours(String geohash) {
+        double[] b = bounds(geohash);
+        double latStep = b[2] - b[0];
+        double lonStep = b[3] - b[1];
+        double latCentre = (b[0] + b[2]) / 2;
+        double lonCentre = (b[1] + b[3]) / 2;
+
+        List<String> cells = new ArrayList<>(9);
+        cells.add(geohash);
+        for (int dLat = -1; dLat <= 1; dLat++) {
+            for (int dLon = -1; dLon <= 1; dLon++) {
+                if (dLat == 0 && dLon == 0) {
+                    continue;
+                }
+                double lat = latCentre + dLat * latStep;
+                if (lat < -90 || lat > 90) {
+                    continue;
+                }
+                double lon = lonCentre + dLon * lonStep;
+                if (lon > 180) lon -= 360;
+                if (lon < -180) lon += 360;
+                String cell = encode(lat, lon, geohash.length());
+                if (!cells.contains(cell)) {
+                    cells.add(cell);
+                }
+            }
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,176 @@
+package com.agrowmart.util;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Minimal hashed timing wheel (Varghese &amp; Lauck).
+ *
+ * - schedule / cancel are O(1): new timeouts go into a lock-free queue and are
+ *   bucketed by the worker thread on its next tick.
+ * - one worker thread advances the wheel every tick and hands expired tasks to
+ *   the supplied executor, so slow callbacks never delay the wheel.
+ * - timeouts are keyed; scheduling the same key again replaces the old one.
+ *
+ * Resolution is one tick, which is plenty for slot-level deadlines.
+ */
+public class HashedTimingWheel<K> {
+
+    private static final Logger log = LoggerFactory.getLogger(HashedTimingWheel.class);
+
+    private final long tickNanos;
+    private final int mask;
+    private final Queue<Timeout>[] buckets;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final Map<K, Timeout> byKey = new ConcurrentHashMap<>();
+    private final Executor executor;
+    private final Thread worker;
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    private volatile boolean running = true;
+    private final long startNanos = System.nanoTime();
+    private long tick;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(String name, Duration tickDuration, int wheelSize, Executor executor) {
+        if (tickDuration.isNegative() || tickDuration.isZero()) {
+            throw new IllegalArgumentException("tickDuration must be positive");
+        }
+        int size = Integer.highestOneBit(Math.max(wheelSize, 2) - 1) << 1; // next power of two
+        this.tickNanos = tickDuration.toNanos();
+        this.mask = size - 1;
+        this.buckets = new Queue[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+        this.executor = executor;
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+    }
+
+    public void start() {
+        if (started.compareAndSet(false, true)) {
+            worker.start();
+        }
+    }
+
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    /**
+     * Schedules {@code task} to run {@code delay} from now (negative or zero
+     * delay runs on the next tick). Replaces any timeout already registered
+     * under {@code key}.
+     */
+    public void schedule(K key, Duration delay, Runnable task) {
+        start();
+        long deadline = System.nanoTime() - startNanos + Math.max(0, delay.toNanos());
+        Timeout timeout = new Timeout(key, deadline, task);
+        Timeout previous = byKey.put(key, timeout);
+        if (previous != null) {
+            previous.cancelled = true;
+        }
+        pending.add(timeout);
+    }
+
+    public boolean cancel(K key) {
+        Timeout timeout = byKey.remove(key);
+        if (timeout == null) {
+            return false;
+        }
+        timeout.cancelled = true;
+        return true;
+    }
+
+    public boolean isScheduled(K key) {
+        return byKey.containsKey(key);
+    }
+
+    public int size() {
+        return byKey.size();
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = tickNanos * (tick + 1);
+            long sleepNanos = deadline - (System.nanoTime() - startNanos);
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    if (!running) {
+                        return;
+                    }
+                    continue;
+                }
+            }
+            transferPending();
+            expire(buckets[(int) (tick & mask)], deadline);
+            tick++;
+        }
+    }
+
+    private void transferPending() {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            long ticks = Math.max(timeout.deadlineNanos / tickNanos, tick); // overdue → current bucket
+            timeout.remainingRounds = (ticks - tick) / buckets.length;
+            buckets[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void expire(Queue<Timeout> bucket, long deadline) {
+        Iterator<Timeout> it = bucket.iterator();
+        while (it.hasNext()) {
+            Timeout timeout = it.next();
+            if (timeout.cancelled) {
+                it.remove();
+            } else if (timeout.remainingRounds <= 0 && timeout.deadlineNanos <= deadline) {
+                it.remove();
+                if (byKey.remove(timeout.key, timeout)) {
+                    fire(timeout);
+                }
+            } else {
+                timeout.remainingRounds--;
+            }
+        }
+    }
+
+    private void fire(Timeout timeout) {
+        try {
+            executor.execute(timeout.task);
+        } catch (RuntimeException e) {
+            log.error("Timing wheel task for {} rejected: {}", timeout.key, e.getMessage());
+        }
+    }
+
+    private final class Timeout {
+        final K key;
+        final long deadlineNanos;
+        final Runnable task;
+        long remainingRounds;
+        volatile boolean cancelled;
+
+        Timeout(K key, long deadlineNanos, Runnable task) {
+            this.key = key;
+            this.deadlineNanos = deadlineNanos;
+            this.task = task;
+        }
+    }
+}
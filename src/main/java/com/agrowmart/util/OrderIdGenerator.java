@@ -0,0 +1,152 @@
+package com.agrowmart.util;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.time.Instant;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Snowflake-style id generator for orders.
+ *
+ * Layout of the 63-bit positive id:
+ *   41 bits  milliseconds since {@link #EPOCH_MILLIS} (~69 years)
+ *   10 bits  node id (0..1023) – one per app instance
+ *   12 bits  per-millisecond sequence (4096 ids / ms / node)
+ *
+ * The string form is "ORD-" + 13 upper-case base-36 characters, zero padded,
+ * so ids sort lexicographically in creation order and never need the DB to
+ * hand out numbers.
+ *
+ * Node id resolution (first hit wins):
+ *   1. system property  agrowmart.node-id
+ *   2. env variable     AGROWMART_NODE_ID
+ *   3. hash of hostname + pid, logged as a WARN. Only fine for a single
+ *      instance: two replicas can hash to the same node id and then mint
+ *      duplicate order ids. Prod sets agrowmart.node-id-required=true so
+ *      startup fails without 1 or 2 (see OrderNodeIdCheck).
+ */
+public class OrderIdGenerator {
+
+    public static final String PREFIX = "ORD-";
+
+    /** 2024-01-01T00:00:00Z */
+    static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private static final int ENCODED_LENGTH = 13; // 36^13 > 2^63
+
+    private static final Logger log = LoggerFactory.getLogger(OrderIdGenerator.class);
+
+    private static final OrderIdGenerator DEFAULT = new OrderIdGenerator(resolveNodeId());
+
+    private final long nodeId;
+    private long lastTimestamp = -1L;
+    private long sequence = 0L;
+
+    public OrderIdGenerator(long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ", got " + nodeId);
+        }
+        this.nodeId = nodeId;
+    }
+
+    /** Shared instance used by {@code Order.onCreate}. */
+    public static String nextOrderId() {
+        return DEFAULT.nextId();
+    }
+
+    /** Node id of the shared instance; resolving it validates the configured value. */
+    public static long defaultNodeId() {
+        return DEFAULT.getNodeId();
+    }
+
+    public static boolean isNodeIdConfigured() {
+        return configuredNodeId() != null;
+    }
+
+    public String nextId() {
+        return PREFIX + encode(nextLong());
+    }
+
+    public synchronized long nextLong() {
+        long now = currentTime();
+
+        // Clock moved backwards (NTP step etc.): keep using the last timestamp so
+        // ids stay monotonic instead of failing order creation.
+        if (now < lastTimestamp) {
+            now = lastTimestamp;
+        }
+
+        if (now == lastTimestamp) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0) {
+                // 4096 ids used up in this millisecond – borrow the next one
+                // instead of spinning; the wall clock catches up right away
+                now = lastTimestamp + 1;
+            }
+        } else {
+            sequence = 0L;
+        }
+
+        lastTimestamp = now;
+        return (now << (NODE_BITS + SEQUENCE_BITS))
+                | (nodeId << SEQUENCE_BITS)
+                | sequence;
+    }
+
+    public long getNodeId() {
+        return nodeId;
+    }
+
+    static String encode(long id) {
+        String raw = Long.toString(id, 36).toUpperCase();
+        StringBuilder sb = new StringBuilder(ENCODED_LENGTH);
+        for (int i = raw.length(); i < ENCODED_LENGTH; i++) {
+            sb.append('0');
+        }
+        return sb.append(raw).toString();
+    }
+
+    static long decode(String orderId) {
+        String body = orderId.startsWith(PREFIX) ? orderId.substring(PREFIX.length()) : orderId;
+        return Long.parseLong(body, 36);
+    }
+
+    long currentTime() {
+        return System.currentTimeMillis() - EPOCH_MILLIS;
+    }
+
+    static long resolveNodeId() {
+        String configured = configuredNodeId();
+        if (configured != null) {
+            return Long.parseLong(configured);
+        }
+
+        String seed;
+        try {
+            seed = InetAddress.getLocalHost().getHostName() + "/" + ManagementFactory.getRuntimeMXBean().getName();
+        } catch (Exception e) {
+            seed = ManagementFactory.getRuntimeMXBean().getName();
+        }
+        long nodeId = (seed.hashCode() & 0x7fffffff) % (MAX_NODE_ID + 1);
+        log.warn("No agrowmart.node-id / AGROWMART_NODE_ID set, using node id {} hashed from '{}'. "
+                + "Replicas can collide and generate duplicate order ids; give each instance its own id.",
+                nodeId, seed);
+        return nodeId;
+    }
+
+    private static String configuredNodeId() {
+        String configured = System.getProperty("agrowmart.node-id");
+        if (configured == null || configured.isBlank()) {
+            configured = System.getenv("AGROWMART_NODE_ID");
+        }
+        return configured == null || configured.isBlank() ? null : configured.trim();
+    }
+}
@@ -1,19 +1,17 @@
 package com.agrowmart.util;
 
-import java.util.concurrent.TimeUnit;
-
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Component;
 
+import com.agrowmart.config.ratelimit.RedisTokenBucket;
+
 @Component
 public class RateLimiterUtil {
-    @Autowired private RedisTemplate<String, String> redisTemplate;
+    @Autowired private RedisTokenBucket redisTokenBucket;
 
+    // maxRequests at once, refilled evenly over windowSeconds; one atomic round-trip (token-bucket.lua)
     public boolean isAllowed(String key, long maxRequests, long windowSeconds) {
         String rateKey = "rate:" + key;
-        Long count = redisTemplate.opsForValue().increment(rateKey);
-        if (count == 1) redisTemplate.expire(rateKey, windowSeconds, TimeUnit.SECONDS);
-        return count <= maxRequests;
+        return redisTokenBucket.tryAcquire(rateKey, maxRequests, (double) maxRequests / windowSeconds).allowed();
     }
-}
\ No newline at end of file
+}
@@ -10,10 +10,15 @@ public class RazorpaySignatureUtil {
     @Value("${razorpay.webhook.secret}")
     private String webhookSecret;
 
-    public static boolean verify(String payload, String receivedSignature) {
+    public boolean verify(String payload, String receivedSignature) {
+        return verify(payload, receivedSignature, webhookSecret);
+    }
+
+    // HMAC-SHA256 of the payload, hex-encoded, compared with the X-Razorpay-Signature header
+    static boolean verify(String payload, String receivedSignature, String secret) {
         try {
             Mac mac = Mac.getInstance("HmacSHA256");
-            SecretKeySpec secretKeySpec = new SecretKeySpec(null, null);
+            SecretKeySpec secretKeySpec = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
             mac.init(secretKeySpec);
             byte[] hash = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
             StringBuilder generatedSignature = new StringBuilder();
@@ -25,4 +30,4 @@ public class RazorpaySignatureUtil {
             return false;
         }
     }
-}
\ No newline at end of file
+}
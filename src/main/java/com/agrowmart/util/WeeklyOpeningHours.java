@@ -0,0 +1,193 @@
+package com.agrowmart.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * A shop's week compiled to a bitmap of 5-minute slots (2016 bits, 32 longs),
+ * so "is it open at t" is one array read instead of a JSON parse.
+ *
+ * Accepted workingHoursJson shapes (day names case-insensitive, full or 3-letter):
+ *   {"MONDAY": {"isOpen": true, "open": "09:00", "close": "18:00"}, ...}   (Shop.DayHours)
+ *   [{"day": "MONDAY", "open": "09:00", "close": "18:00"}, ...]             (WorkingHourDTO)
+ * Days missing from a non-empty schedule are closed. A close time at or before
+ * the open time runs past midnight into the next day. Opens are rounded down
+ * and closes up to the slot, so a shop is never shown closed while it is open.
+ *
+ * Without usable JSON, opensAt/closesAt apply to every day; without those
+ * either the hours are unknown and the shop counts as always open.
+ */
+public final class WeeklyOpeningHours {
+
+    public static final int SLOT_MINUTES = 5;
+    static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    static final int SLOTS_PER_WEEK = 7 * SLOTS_PER_DAY;
+
+    public static final WeeklyOpeningHours ALWAYS_OPEN = new WeeklyOpeningHours(allSet(), true);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final List<DateTimeFormatter> TIME_FORMATS = List.of(
+            DateTimeFormatter.ofPattern("H:mm"),
+            DateTimeFormatter.ofPattern("H:mm:ss"),
+            DateTimeFormatter.ofPattern("h:mm a", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("h a", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("ha", Locale.ENGLISH)
+    );
+
+    private final long[] bits;
+    private final boolean unknown;
+
+    private WeeklyOpeningHours(long[] bits, boolean unknown) {
+        this.bits = bits;
+        this.unknown = unknown;
+    }
+
+    // ──────────────────────────────────────────────
+    // Compilation
+    // ──────────────────────────────────────────────
+
+    public static WeeklyOpeningHours compile(String workingHoursJson, LocalTime opensAt, LocalTime closesAt) {
+        if (workingHoursJson != null && !workingHoursJson.isBlank()) {
+            try {
+                long[] bits = fromJson(MAPPER.readTree(workingHoursJson));
+                if (bits != null) {
+                    return new WeeklyOpeningHours(bits, false);
+                }
+            } catch (Exception e) {
+                // unreadable JSON: fall through to opensAt/closesAt
+            }
+        }
+        if (opensAt != null && closesAt != null) {
+            long[] bits = new long[words()];
+            for (DayOfWeek day : DayOfWeek.values()) {
+                setRange(bits, day, opensAt, closesAt);
+            }
+            return new WeeklyOpeningHours(bits, false);
+        }
+        return ALWAYS_OPEN;
+    }
+
+    private static long[] fromJson(JsonNode root) {
+        long[] bits = new long[words()];
+        boolean any = false;
+
+        if (root.isObject()) {
+            for (Map.Entry<String, JsonNode> e : root.properties()) {
+                any |= applyDay(bits, e.getKey(), e.getValue());
+            }
+        } else if (root.isArray()) {
+            for (JsonNode node : root) {
+                any |= applyDay(bits, node.path("day").asText(null), node);
+            }
+        } else {
+            return null;
+        }
+        return any ? bits : null;
+    }
+
+    /** @return true if the entry was understood (open or explicitly closed) */
+    private static boolean applyDay(long[] bits, String dayName, JsonNode hours) {
+        DayOfWeek day = parseDay(dayName);
+        if (day == null || hours == null || !hours.isObject()) {
+            return false;
+        }
+        if (!hours.path("isOpen").asBoolean(true) || hours.path("closed").asBoolean(false)) {
+            return true; // closed all day
+        }
+        LocalTime open = parseTime(hours.path("open").asText(null));
+        LocalTime close = parseTime(hours.path("close").asText(null));
+        if (open == null || close == null) {
+            return false;
+        }
+        setRange(bits, day, open, close);
+        return true;
+    }
+
+    private static void setRange(long[] bits, DayOfWeek day, LocalTime open, LocalTime close) {
+        int dayStart = (day.getValue() - 1) * SLOTS_PER_DAY;
+        int from = open.toSecondOfDay() / 60 / SLOT_MINUTES;
+        int to = (close.toSecondOfDay() / 60 + SLOT_MINUTES - 1) / SLOT_MINUTES; // exclusive, rounded up
+        if (to <= from) {
+            to += SLOTS_PER_DAY; // past midnight, e.g. 18:00-02:00 (or 00:00-00:00 = 24h)
+        }
+        for (int slot = from; slot < to; slot++) {
+            int i = (dayStart + slot) % SLOTS_PER_WEEK; // Sunday night wraps to Monday
+            bits[i >>> 6] |= 1L << (i & 63);
+        }
+    }
+
+    static DayOfWeek parseDay(String name) {
+        if (name == null || name.length() < 3) {
+            return null;
+        }
+        String prefix = name.trim().substring(0, 3).toUpperCase(Locale.ENGLISH);
+        for (DayOfWeek d : DayOfWeek.values()) {
+            if (d.name().startsWith(prefix)) {
+                return d;
+            }
+        }
+        return null;
+    }
+
+    static LocalTime parseTime(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        String t = text.trim().toUpperCase(Locale.ENGLISH);
+        if (t.equals("24:00")) {
+            return LocalTime.MIDNIGHT;
+        }
+        for (DateTimeFormatter f : TIME_FORMATS) {
+            try {
+                return LocalTime.parse(t, f);
+            } catch (DateTimeParseException ignored) {
+                // try next format
+            }
+        }
+        return null;
+    }
+
+    // ──────────────────────────────────────────────
+    // Queries
+    // ──────────────────────────────────────────────
+
+    public boolean isOpenAt(LocalDateTime localTime) {
+        return isOpenAtSlot(slotOf(localTime));
+    }
+
+    public boolean isOpenAtSlot(int slotOfWeek) {
+        return (bits[slotOfWeek >>> 6] & (1L << (slotOfWeek & 63))) != 0;
+    }
+
+    /** True when the shop gave no usable hours (treated as always open). */
+    public boolean isUnknown() {
+        return unknown;
+    }
+
+    /** Monday 00:00 = slot 0. */
+    public static int slotOf(LocalDateTime localTime) {
+        int minuteOfDay = localTime.getHour() * 60 + localTime.getMinute();
+        return (localTime.getDayOfWeek().getValue() - 1) * SLOTS_PER_DAY + minuteOfDay / SLOT_MINUTES;
+    }
+
+    private static int words() {
+        return (SLOTS_PER_WEEK + 63) / 64;
+    }
+
+    private static long[] allSet() {
+        long[] bits = new long[words()];
+        for (int i = 0; i < SLOTS_PER_WEEK; i++) {
+            bits[i >>> 6] |= 1L << (i & 63);
+        }
+        return bits;
+    }
+}
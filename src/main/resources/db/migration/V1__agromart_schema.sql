@@ -1,250 +1,937 @@
-CREATE DATABASE IF NOT EXISTS agrowmart CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci;
-USE agrowmart;
-
-CREATE TABLE roles (
-  id   SMALLINT UNSIGNED AUTO_INCREMENT PRIMARY KEY,
-  name VARCHAR(50) NOT NULL UNIQUE
-) ENGINE=InnoDB;
-
-CREATE TABLE users (
-  id                  BIGINT UNSIGNED AUTO_INCREMENT PRIMARY KEY,
-  uuid                CHAR(36) NOT NULL DEFAULT (UUID()),
-  name                VARCHAR(100) NOT NULL,
-  email               VARCHAR(255) UNIQUE NOT NULL,
-  password_hash       VARCHAR(255) NOT NULL,
-  phone               VARCHAR(30)  UNIQUE NOT NULL,
-  phone_verified      TINYINT(1) DEFAULT 0,
-  address             TEXT,
-
-  -- Vendor-only fields (NULL for customers)
-  kisan_card_number   VARCHAR(50) NULL,
-  bank_account_number VARCHAR(50) NULL,
-  ifsc_code           VARCHAR(20) NULL,
-  id_proof_path       VARCHAR(255) NULL,
-  -- address_proof_path REMOVED
-
-  role_id             SMALLINT UNSIGNED NOT NULL,
-  created_at          TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-  updated_at          TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-  FOREIGN KEY (role_id) REFERENCES roles(id) ON DELETE RESTRICT
-) ENGINE=InnoDB;
-
-CREATE INDEX idx_users_phone ON users(phone);
-CREATE INDEX idx_users_email ON users(email);
-
-CREATE TABLE otp_codes (
-  id         BIGINT UNSIGNED AUTO_INCREMENT PRIMARY KEY,
-  phone      VARCHAR(30) NOT NULL,
-  code       VARCHAR(10) NOT NULL,
-  purpose    ENUM('PHONE_VERIFY','LOGIN','FORGOT_PASSWORD') DEFAULT 'PHONE_VERIFY',
-  attempts   INT DEFAULT 0,
-  is_used    TINYINT(1) DEFAULT 0,
-  expires_at TIMESTAMP NOT NULL,
-  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-  INDEX idx_otp_phone (phone)
-) ENGINE=InnoDB;
-
-
--- Categories
-CREATE TABLE categories (
-  id BIGINT UNSIGNED AUTO_INCREMENT PRIMARY KEY,
-  parent_id BIGINT UNSIGNED NULL,
-  name VARCHAR(200) NOT NULL,
-  slug VARCHAR(255) NOT NULL UNIQUE,
-  FOREIGN KEY (parent_id) REFERENCES categories(id) ON DELETE SET NULL
-) ENGINE=InnoDB;
-
--- Products
-CREATE TABLE products (
-  id BIGINT UNSIGNED AUTO_INCREMENT PRIMARY KEY,
-  merchant_id BIGINT UNSIGNED NOT NULL,
-  category_id BIGINT UNSIGNED,
-  product_name VARCHAR(300) NOT NULL,
-  short_description VARCHAR(512),
-  base_unit VARCHAR(50) DEFAULT 'kg',
-
-  status ENUM('ACTIVE','DRAFT','ARCHIVED') DEFAULT 'ACTIVE',
-  image_paths VARCHAR(1000),
-  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-  updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-  FOREIGN KEY (merchant_id) REFERENCES users(id) ON DELETE CASCADE,
-  FOREIGN KEY (category_id) REFERENCES categories(id) ON DELETE SET NULL
-) ENGINE=InnoDB;
-
-CREATE INDEX idx_products_merchant ON products(merchant_id);
-CREATE INDEX idx_products_category ON products(category_id);
-
-
-
-
-
--- PRODUCTS BASE TABLE
-CREATE TABLE IF NOT EXISTS products (
-  id BIGINT UNSIGNED AUTO_INCREMENT PRIMARY KEY,
-  merchant_id BIGINT UNSIGNED NOT NULL,
-  category_id BIGINT UNSIGNED NOT NULL,
-  product_name VARCHAR(300) NOT NULL,
-  status ENUM('ACTIVE','DRAFT','ARCHIVED') DEFAULT 'ACTIVE',
-  image_paths VARCHAR(1000),
-  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-  updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-  FOREIGN KEY (merchant_id) REFERENCES users(id) ON DELETE CASCADE,
-  FOREIGN KEY (category_id) REFERENCES categories(id) ON DELETE CASCADE
-) ENGINE=InnoDB;
-
-CREATE INDEX idx_product_merchant ON products(merchant_id);
-CREATE INDEX idx_product_category ON products(category_id);
-
--- PRODUCT DETAIL TABLES
-
--- VEGETABLE DETAILS
-CREATE TABLE IF NOT EXISTS vegetable_details (
-  id BIGINT UNSIGNED AUTO_INCREMENT PRIMARY KEY,
-  product_id BIGINT UNSIGNED NOT NULL UNIQUE,
-  dietary_preference ENUM('VEG','NONVEG') DEFAULT 'VEG',
-  unit VARCHAR(50),
-  weight VARCHAR(50),
-  disclaimer TEXT,
-  shop_name VARCHAR(200),
-  shop_address TEXT,
-  country VARCHAR(100),
-  shelf_life VARCHAR(50),
-  min_price DECIMAL(10,2),
-  max_price DECIMAL(10,2),
-  FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE
-) ENGINE=InnoDB;
-
--- DAIRY DETAILS
-CREATE TABLE IF NOT EXISTS dairy_details (
-  id BIGINT UNSIGNED AUTO_INCREMENT PRIMARY KEY,
-  product_id BIGINT UNSIGNED NOT NULL UNIQUE,
-  quantity VARCHAR(50),
-  price DECIMAL(10,2),
-  brand VARCHAR(100),
-  ingredients TEXT,
-  packaging_type VARCHAR(100),
-  product_information TEXT,
-  usage_information TEXT,
-  dietary_preference ENUM('VEG','NONVEG') DEFAULT 'VEG',
-  unit VARCHAR(50),
-  storage VARCHAR(100),
-  shop_name VARCHAR(200),
-  shop_address TEXT,
-  country VARCHAR(100),
-  shelf_life VARCHAR(50),
-  FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE
-) ENGINE=InnoDB;
-
--- MEAT DETAILS
-CREATE TABLE IF NOT EXISTS meat_details (
-  id BIGINT UNSIGNED AUTO_INCREMENT PRIMARY KEY,
-  product_id BIGINT UNSIGNED NOT NULL UNIQUE,
-  quantity VARCHAR(50),
-  price DECIMAL(10,2),
-  brand VARCHAR(100),
-  key_features TEXT,
-  cut_type VARCHAR(100),
-  serving_size VARCHAR(100),
-  storage_instruction VARCHAR(100),
-  usage TEXT,
-  energy VARCHAR(100),
-  dietary_preference ENUM('VEG','NONVEG') DEFAULT 'NONVEG',
-  marinated TINYINT(1) DEFAULT 0,
-  packaging_type VARCHAR(100),
-  disclaimer TEXT,
-  refund_policy TEXT,
-  shop_name VARCHAR(200),
-  shop_address TEXT,
-  country VARCHAR(100),
-  shelf_life VARCHAR(50),
-  FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE
-) ENGINE=InnoDB;
-
-
-
-
-
-
-
-
-
--- 1. orders
-CREATE TABLE orders (
-    id BIGINT UNSIGNED AUTO_INCREMENT PRIMARY KEY,
-    order_number VARCHAR(50) UNIQUE NOT NULL,
-    customer_id BIGINT UNSIGNED NOT NULL,
-    
-    total_amount DECIMAL(10,2) NOT NULL,
-    discount_amount DECIMAL(10,2) DEFAULT 0,
-    delivery_charge DECIMAL(10,2) DEFAULT 25,
-    
-    promo_code VARCHAR(50),
-    
-    status ENUM('PENDING','CONFIRMED','PACKED','SHIPPED','DELIVERED','CANCELLED','RETURNED','REFUNDED') DEFAULT 'PENDING',
-    payment_status ENUM('PENDING','PAID','FAILED','REFUNDED') DEFAULT 'PENDING',
-    payment_method ENUM('COD','RAZORPAY') DEFAULT 'COD',
-    
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-    
-    FOREIGN KEY (customer_id) REFERENCES users(id) ON DELETE CASCADE
-);
-
--- 2. order_items (Supports Multiple Merchants)
-CREATE TABLE order_items (
-    id BIGINT UNSIGNED AUTO_INCREMENT PRIMARY KEY,
-    order_id BIGINT UNSIGNED NOT NULL,
-    product_id BIGINT UNSIGNED NOT NULL,
-    merchant_id BIGINT UNSIGNED NOT NULL,
-    product_name VARCHAR(255),
-    product_image VARCHAR(500),
-    quantity INT NOT NULL,
-    unit_price DECIMAL(10,2) NOT NULL,
-    total_price DECIMAL(10,2) NOT NULL,
-    
-    FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE CASCADE,
-    FOREIGN KEY (product_id) REFERENCES products(id),
-    FOREIGN KEY (merchant_id) REFERENCES users(id)
-);
-
--- 3. payment_details (For Razorpay)
-CREATE TABLE payment_details (
-    id BIGINT UNSIGNED AUTO_INCREMENT PRIMARY KEY,
-    order_id BIGINT UNSIGNED NOT NULL,
-    razorpay_order_id VARCHAR(100),
-    razorpay_payment_id VARCHAR(100),
-    razorpay_signature VARCHAR(200),
-    amount DECIMAL(10,2) NOT NULL,
-    currency VARCHAR(10) DEFAULT 'INR',
-    status ENUM('CREATED','ATTEMPTED','PAID','FAILED') DEFAULT 'CREATED',
-    paid_at TIMESTAMP NULL,
-    
-    FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE CASCADE,
-    UNIQUE (razorpay_order_id)
-);
-
--- 4. delivery_address
-CREATE TABLE delivery_address (
-    id BIGINT UNSIGNED AUTO_INCREMENT PRIMARY KEY,
-    order_id BIGINT UNSIGNED NOT NULL,
-    name VARCHAR(100) NOT NULL,
-    phone VARCHAR(20) NOT NULL,
-    street_address TEXT NOT NULL,
-    city VARCHAR(100) NOT NULL,
-    state VARCHAR(100) NOT NULL,
-    pincode VARCHAR(10) NOT NULL,
-    country VARCHAR(100) DEFAULT 'India',
-    
-    FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE CASCADE
-);
-
--- 5. order_status_history (Professional)
-CREATE TABLE order_status_history (
-    id BIGINT UNSIGNED AUTO_INCREMENT PRIMARY KEY,
-    order_id BIGINT UNSIGNED NOT NULL,
-    status VARCHAR(50) NOT NULL,
-    message TEXT,
-    changed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    
-    FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE CASCADE
-);
\ No newline at end of file
+-- Baseline schema for a fresh (empty) database: every table the entities map,
+-- generated by Hibernate for MySQL 8 (the schema ddl-auto=update builds).
+-- Databases that already ran with ddl-auto=update are baselined at V2 and
+-- never run this script. V3+ check information_schema / IF NOT EXISTS, so on
+-- a fresh install they leave what this script already created in place.
+
+create table admin_audit_logs (
+    admin_id bigint,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    vendor_id bigint,
+    reason varchar(500),
+    action varchar(255) not null,
+    new_status varchar(255),
+    previous_status varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table admins (
+    active bit not null,
+    deleted bit not null,
+    created_at datetime(6),
+    created_by_id bigint,
+    deleted_at datetime(6),
+    deleted_by_id bigint,
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    email varchar(255) not null,
+    full_name varchar(255) not null,
+    password_hash varchar(255) not null,
+    phone varchar(255),
+    photo_url varchar(255),
+    role enum ('ADMIN','EDITOR','SUB_ADMIN','SUPER_ADMIN') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table agri_fertilizer (
+    id bigint not null,
+    fco_number varchar(255),
+    fertilizer_type varchar(255),
+    nutrient_composition varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table agri_pesticide (
+    id bigint not null,
+    pesticideactive_ingredient varchar(255),
+    pesticidecibrc_number varchar(255),
+    pesticideformulation varchar(255),
+    pesticidetoxicity varchar(255),
+    pesticidetype varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table agri_pipe (
+    pipelength float(53),
+    id bigint not null,
+    pipebis_number varchar(255),
+    pipesize varchar(255),
+    pipetype varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table agri_products (
+    agriexpiry_date date,
+    agrimanufacturing_date date,
+    agriprice decimal(10,2) not null,
+    agriquantity integer not null,
+    approved_at date,
+    from_admin bit,
+    is_deleted bit not null,
+    rejected_at date,
+    verified bit,
+    visible_to_customers TINYINT(1) DEFAULT 1 not null,
+    agrivendor_id BIGINT UNSIGNED not null,
+    approved_by bigint,
+    id bigint not null auto_increment,
+    rejected_by bigint,
+    agricategory varchar(31) not null,
+    agriimage_url varchar(4000),
+    agribatch_number varchar(255),
+    agribrand_name varchar(255),
+    agridescription TEXT,
+    agrilicense_number varchar(255),
+    agrilicense_type varchar(255),
+    agrimanufacturer_name varchar(255),
+    agripackaging_type varchar(255),
+    agriproduct_name varchar(255) not null,
+    agriunit varchar(255) not null,
+    rejection_reason varchar(255),
+    agrilicense_image_url LONGTEXT,
+    approval_status enum ('APPROVED','PENDING','REJECTED') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table agri_seeds (
+    seedsgermination_percentage float(53),
+    seedsphysical_purity_percentage float(53),
+    id bigint not null,
+    seed_class varchar(255),
+    seedscrop_type varchar(255),
+    seedslot_number varchar(255),
+    seedsvariety varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table cart_items (
+    price_at_add decimal(38,2),
+    quantity integer,
+    added_at datetime(6),
+    cart_id bigint not null,
+    id bigint not null,
+    product_id bigint,
+    product_type varchar(20),
+    image_snapshot varchar(255),
+    name_snapshot varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table carts (
+    customer_id bigint not null,
+    id bigint not null auto_increment,
+    last_updated datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create table categories (
+    id bigint not null auto_increment,
+    parent_id bigint,
+    name varchar(200) not null,
+    slug varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table customer_addresses (
+    is_default bit,
+    latitude float(53),
+    longitude float(53),
+    created_at datetime(6),
+    customer_id bigint not null,
+    id bigint not null auto_increment,
+    pincode varchar(10) not null,
+    house_no varchar(50),
+    area varchar(100),
+    building_name varchar(100),
+    landmark varchar(100),
+    society_name varchar(100),
+    state varchar(100) not null,
+    address_type enum ('HOME','OTHER','WORK'),
+    primary key (id)
+) engine=InnoDB;
+
+create table customer_wishlists (
+    added_at datetime(6),
+    customer_id bigint not null,
+    id bigint not null auto_increment,
+    product_id bigint not null,
+    product_type varchar(20) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table customers (
+    is_active bit,
+    phone_verified bit,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    gender varchar(10),
+    phone varchar(15) not null,
+    uuid varchar(36) not null,
+    email varchar(100),
+    full_name varchar(100) not null,
+    profile_image varchar(500),
+    fcm_token varchar(1000),
+    password_hash varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table dairy_details (
+    max_price decimal(10,2),
+    min_price decimal(10,2),
+    id bigint not null auto_increment,
+    product_id bigint not null,
+    brand varchar(255),
+    dietary_preference varchar(255),
+    ingredients varchar(255),
+    packaging_type varchar(255),
+    product_information varchar(255),
+    quantity varchar(255),
+    shelf_life varchar(255),
+    storage varchar(255),
+    unit varchar(255),
+    usage_information varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table data_migrations (
+    version integer not null,
+    completed_at datetime(6),
+    last_key bigint not null,
+    rows_changed bigint not null,
+    started_at datetime(6) not null,
+    updated_at datetime(6),
+    last_error varchar(1000),
+    description varchar(255) not null,
+    status enum ('COMPLETED','FAILED','RUNNING') not null,
+    primary key (version)
+) engine=InnoDB;
+
+create table doctor_profiles (
+    consultation_fee decimal(38,2),
+    experience integer,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    user_id BIGINT UNSIGNED,
+    about varchar(255),
+    clinic_address varchar(255),
+    clinic_closing_time varchar(255),
+    clinic_name varchar(255),
+    clinic_opening_time varchar(255),
+    qualification varchar(255),
+    registration_number varchar(255),
+    specialization varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table farmer_profiles (
+    id bigint not null auto_increment,
+    user_id BIGINT UNSIGNED not null,
+    ifsc_code varchar(20),
+    bank_account_number varchar(50),
+    account_holder_name varchar(100),
+    bank_name varchar(100),
+    state varchar(100),
+    profile_completed VARCHAR(10) DEFAULT 'false' not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table id_generators (
+    next_val bigint,
+    sequence_name varchar(255) not null,
+    primary key (sequence_name)
+) engine=InnoDB;
+
+insert into id_generators(sequence_name, next_val) values ('cart_items',0);
+
+insert into id_generators(sequence_name, next_val) values ('order_items',0);
+
+insert into id_generators(sequence_name, next_val) values ('order_status_history',0);
+
+insert into id_generators(sequence_name, next_val) values ('notifications',0);
+
+insert into id_generators(sequence_name, next_val) values ('products',0);
+
+create table meat_details (
+    marinated bit not null,
+    max_price decimal(10,2),
+    min_price decimal(10,2),
+    id bigint not null auto_increment,
+    product_id bigint not null,
+    brand varchar(255),
+    cut_type varchar(255),
+    dietary_preference varchar(255),
+    disclaimer varchar(255),
+    energy varchar(255),
+    key_features varchar(255),
+    packaging_type varchar(255),
+    quantity varchar(255),
+    refund_policy varchar(255),
+    serving_size varchar(255),
+    shelf_life varchar(255),
+    storage_instruction varchar(255),
+    usage_instruction varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table notifications (
+    success bit not null,
+    id bigint not null,
+    sent_at datetime(6),
+    user_id BIGINT UNSIGNED not null,
+    fcm_token varchar(500) not null,
+    body varchar(1000) not null,
+    message_id varchar(255),
+    title varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table offer_prices (
+    free bit not null,
+    offer_price decimal(38,2) not null,
+    original_price decimal(38,2) not null,
+    id bigint not null auto_increment,
+    primary key (id)
+) engine=InnoDB;
+
+create table offer_usages (
+    customer_id bigint,
+    id bigint not null auto_increment,
+    offer_id bigint,
+    order_id varchar(50),
+    primary key (id)
+) engine=InnoDB;
+
+create table offers (
+    discount_percent integer,
+    end_date date,
+    flat_discount decimal(38,2),
+    is_active bit not null,
+    is_free_gift_offer bit not null,
+    max_discount_amount decimal(38,2),
+    min_order_amount decimal(38,2),
+    min_purchase_amount decimal(38,2),
+    start_date date,
+    id bigint not null auto_increment,
+    merchant_id BIGINT UNSIGNED not null,
+    offer_price_id bigint,
+    code varchar(255),
+    free_product_description varchar(255),
+    free_product_image_url varchar(255),
+    free_product_name varchar(255),
+    free_product_quantity varchar(255),
+    title varchar(255),
+    customer_group enum ('ALL','INACTIVE_30_DAYS','NEW_CUSTOMER'),
+    customer_type enum ('ALL','NON_PREMIUM','PREMIUM'),
+    discount_type enum ('FLAT','FREE_PRODUCT','PERCENTAGE'),
+    primary key (id)
+) engine=InnoDB;
+
+create table order_items (
+    price_per_unit decimal(38,2),
+    quantity integer not null,
+    total_price decimal(38,2),
+    agri_product_id bigint,
+    id bigint not null,
+    product_id bigint,
+    women_product_id bigint,
+    order_id varchar(50),
+    primary key (id)
+) engine=InnoDB;
+
+create table order_status_history (
+    changed_at datetime(6),
+    id bigint not null,
+    order_id varchar(50),
+    status varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table orders (
+    delivery_charge decimal(10,2) not null,
+    discount_amount decimal(10,2) not null,
+    is_scheduled bit not null,
+    scheduled_delivery_date date,
+    subtotal decimal(10,2) not null,
+    total_price decimal(10,2) not null,
+    cancelled_at datetime(6),
+    created_at datetime(6) not null,
+    customer_id bigint not null,
+    delivered_at datetime(6),
+    delivery_address_id bigint not null,
+    delivery_partner_id BIGINT UNSIGNED,
+    merchant_id BIGINT UNSIGNED not null,
+    pickup_time datetime(6),
+    updated_at datetime(6) not null,
+    user_delivery_token_expiry datetime(6),
+    vendor_pickup_token_expiry datetime(6),
+    payment_mode varchar(10) not null,
+    cancelled_by varchar(20),
+    payment_status varchar(20) not null,
+    settlement_status varchar(20) not null,
+    id varchar(50) not null,
+    promo_code varchar(50),
+    scheduled_delivery_slot varchar(50),
+    cancel_reason varchar(255),
+    user_delivery_token varchar(255),
+    vendor_pickup_token varchar(255),
+    delivery_mode enum ('DELIVERY_PARTNER','SELF_DELIVERY') not null,
+    status enum ('ACCEPTED','CANCELLED','DELIVERED','NEEDS_REVIEW','OUT_FOR_DELIVERY','PENDING','PICKED_UP','READY_FOR_PICKUP','REJECTED','SCHEDULED') not null,
+    vendor_accept_cancel_reason enum ('CUSTOMER_ISSUE','DELIVERY_PROBLEM','FORCED_CANCELLATION','OPERATIONAL_EMERGENCY','OTHER','STOCK_MISMATCHED','TECH_ERROR'),
+    vendor_cancel_reason enum ('CUSTOMER_RELATED_ISSUE','DELIVERY_PROBLEM','OTHER','PRICING_ISSUE','SHOP_TEMPORARILY_CLOSED','STOCK_ISSUE','TECHNICAL_ISSUE'),
+    primary key (id)
+) engine=InnoDB;
+
+create table otp_codes (
+    attempts integer not null,
+    is_used TINYINT(1) DEFAULT 0,
+    created_at datetime(6),
+    expires_at datetime(6) not null,
+    id BIGINT UNSIGNED not null auto_increment,
+    code varchar(10) not null,
+    phone varchar(30) not null,
+    purpose enum ('FORGOT_PASSWORD','LOGIN','PHONE_VERIFY'),
+    primary key (id)
+) engine=InnoDB;
+
+create table payments (
+    amount float(53),
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    order_id varchar(255) not null,
+    razorpay_payment_id varchar(255) not null,
+    status varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table product_ratings (
+    stars integer not null,
+    created_at datetime(6),
+    customer_id bigint not null,
+    id bigint not null auto_increment,
+    product_id bigint,
+    updated_at datetime(6),
+    women_product_id bigint,
+    feedback TEXT,
+    primary key (id)
+) engine=InnoDB;
+
+create table products (
+    in_stock bit,
+    stock_quantity float(53),
+    category_id bigint not null,
+    created_at datetime(6),
+    id bigint not null,
+    merchant_id bigint not null,
+    serial_no bigint,
+    updated_at datetime(6),
+    product_name varchar(300) not null,
+    short_description varchar(512),
+    image_paths varchar(2000),
+    rejection_reason TEXT,
+    approval_status enum ('APPROVED','PENDING','REJECTED') not null,
+    status enum ('ACTIVE','INACTIVE') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table ratings (
+    stars integer not null,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    rated_id BIGINT UNSIGNED not null,
+    rater_id bigint not null,
+    updated_at datetime(6),
+    feedback TEXT,
+    primary key (id)
+) engine=InnoDB;
+
+create table roles (
+    id SMALLINT UNSIGNED not null auto_increment,
+    name varchar(50) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table scheduled_job_locks (
+    locked_at datetime(6),
+    locked_until datetime(6) not null,
+    job_name varchar(100) not null,
+    locked_by varchar(150),
+    primary key (job_name)
+) engine=InnoDB;
+
+create table scheduled_job_runs (
+    ended_at datetime(6),
+    failures bigint not null,
+    id bigint not null auto_increment,
+    rows_processed bigint not null,
+    started_at datetime(6) not null,
+    job_name varchar(100) not null,
+    node varchar(150) not null,
+    error_message varchar(1000),
+    status enum ('FAILED','LEASE_LOST','RUNNING','SUCCEEDED') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table settlements (
+    payout_amount float(53) not null,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    payout_date datetime(6),
+    vendor_id bigint not null,
+    order_id varchar(255) not null,
+    razorpay_payout_id varchar(255),
+    status varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table shops (
+    closes_at time(6),
+    is_active bit not null,
+    is_approved bit not null,
+    latitude float(53),
+    longitude float(53),
+    opens_at time(6),
+    id bigint not null auto_increment,
+    user_id BIGINT UNSIGNED not null,
+    shop_type varchar(50) not null,
+    shop_license varchar(100) not null,
+    shop_name varchar(150) not null,
+    shop_address varchar(300) not null,
+    shop_cover_photo varchar(500),
+    shop_license_photo varchar(500),
+    shop_photo varchar(500),
+    shop_description varchar(1000),
+    working_hours_json JSON,
+    shop_license_photo_status enum ('APPROVED','PENDING','REJECTED'),
+    primary key (id)
+) engine=InnoDB;
+
+create table subscriptions (
+    active bit not null,
+    created_at datetime(6),
+    expiry_date datetime(6) not null,
+    id bigint not null auto_increment,
+    start_date datetime(6) not null,
+    user_id BIGINT UNSIGNED not null,
+    razorpay_payment_id varchar(255),
+    plan enum ('ENTERPRISE','GROWTH','LEAD_BOOSTER','MARKETING_PLUS','NONE','PREMIUM_BRAND','REGIONAL_PARTNER','SMART_AI_PROMOTION','STARTER','STRATEGIC_PARTNER','VISIBILITY') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table users (
+    deleted bit not null,
+    phone_verified TINYINT(1) DEFAULT 0,
+    role_id SMALLINT UNSIGNED not null,
+    created_at datetime(6),
+    deleted_at datetime(6),
+    deleted_by_id BIGINT UNSIGNED,
+    id BIGINT UNSIGNED not null auto_increment,
+    status_updated_at datetime(6),
+    updated_at datetime(6),
+    pan_number varchar(10),
+    aadhaar_number varchar(12),
+    gst_certificate_number varchar(15),
+    phone varchar(15),
+    ifsc_code varchar(20),
+    postal_code varchar(20),
+    udyam_registration_number varchar(20),
+    bank_account_number varchar(50),
+    fssai_license_number varchar(50),
+    account_holder_name varchar(100),
+    bank_name varchar(100),
+    city varchar(100),
+    country varchar(100),
+    health_safety_certificate_number varchar(100),
+    name varchar(100) not null,
+    state varchar(100),
+    trade_license_number varchar(100),
+    upi_id varchar(100),
+    aadhaar_image_path varchar(500),
+    fssai_license_path varchar(500),
+    pan_image_path varchar(500),
+    photo_url varchar(500),
+    rejection_reason varchar(500),
+    status_reason varchar(500),
+    udyam_registration_image_path varchar(500),
+    fcm_token varchar(1000),
+    address TEXT,
+    business_name varchar(255),
+    email varchar(255),
+    online_status ENUM('ONLINE','OFFLINE') DEFAULT 'OFFLINE',
+    password_hash varchar(255) not null,
+    profile_completed ENUM('YES','NO') DEFAULT 'NO',
+    uuid CHAR(36) not null,
+    aadhaar_status enum ('APPROVED','PENDING','REJECTED'),
+    account_status ENUM('PENDING','APPROVED','REJECTED','BLOCKED') DEFAULT 'PENDING',
+    pan_status enum ('APPROVED','PENDING','REJECTED'),
+    udhyam_status enum ('APPROVED','PENDING','REJECTED'),
+    primary key (id)
+) engine=InnoDB;
+
+create table vegetable_details (
+    max_price decimal(38,2),
+    min_price decimal(38,2),
+    id bigint not null auto_increment,
+    product_id bigint not null,
+    dietary_preference varchar(255),
+    disclaimer varchar(255),
+    shelf_life varchar(255),
+    unit varchar(255),
+    weight varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table vendor_details (
+    cod_enabled TINYINT(1) DEFAULT 1,
+    cod_outstanding DECIMAL(12,2) DEFAULT 0.00,
+    wallet_balance DECIMAL(12,2) DEFAULT 0.00,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    user_id BIGINT UNSIGNED not null,
+    razorpay_contact_id varchar(50),
+    razorpay_fund_account_id varchar(50),
+    primary key (id)
+) engine=InnoDB;
+
+create table vendor_wallets (
+    balance float(53),
+    cod_outstanding float(53),
+    vendor_id bigint not null,
+    primary key (vendor_id)
+) engine=InnoDB;
+
+create table women_products (
+    is_available bit,
+    max_price decimal(10,2),
+    min_price decimal(10,2),
+    stock integer,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    seller_id BIGINT UNSIGNED not null,
+    updated_at datetime(6),
+    packaging_type varchar(100),
+    shelf_life varchar(100),
+    ingredients varchar(500),
+    image_urls varchar(2000),
+    category varchar(255) not null,
+    country varchar(255) not null,
+    description TEXT,
+    name varchar(255) not null,
+    product_info TEXT,
+    rejection_reason TEXT,
+    unit varchar(255) not null,
+    uuid varchar(255),
+    approval_status enum ('APPROVED','PENDING','REJECTED') not null,
+    status enum ('ACTIVE','INACTIVE'),
+    primary key (id)
+) engine=InnoDB;
+
+alter table admins
+   add constraint UK47bvqemyk6vlm0w7crc3opdd4 unique (email);
+
+alter table admins
+   add constraint UKt7lspe46d49rf6ce5h660ve5t unique (phone);
+
+alter table carts
+   add constraint UK88sv4i13lo80s74ox7rsb5a2c unique (customer_id);
+
+alter table categories
+   add constraint UKoul14ho7bctbefv8jywp5v3i2 unique (slug);
+
+alter table customer_wishlists
+   add constraint UKcr5fcxhtpxhivuujgjjppfe0v unique (customer_id, product_id, product_type);
+
+alter table customers
+   add constraint UKm3iom37efaxd5eucmxjqqcbe9 unique (phone);
+
+alter table customers
+   add constraint UKenfyfum1en20int6gevojxlln unique (uuid);
+
+alter table customers
+   add constraint UKrfbvkrffamfql7cjmen8v976v unique (email);
+
+alter table dairy_details
+   add constraint UKaww1b6bfqxeuq9mwg46930ex4 unique (product_id);
+
+alter table doctor_profiles
+   add constraint UKf2ac4saatw7tnup2kqa53oqkl unique (user_id);
+
+alter table farmer_profiles
+   add constraint UK48guvbn56y4a0j575qjnwee1r unique (user_id);
+
+alter table meat_details
+   add constraint UKnut16org5sjkkehhusffc8jpe unique (product_id);
+
+alter table offers
+   add constraint UKdkg0npi3c99ap1y0ce2l3hmn unique (offer_price_id);
+
+alter table offers
+   add constraint UK4l5ela8l289hpo39s7f3fe7k4 unique (code);
+
+create index idx_orders_merchant_status_created
+   on orders (merchant_id, status, created_at);
+
+create index idx_orders_pickup_token_expiry
+   on orders (vendor_pickup_token_expiry);
+
+create index idx_orders_delivery_token_expiry
+   on orders (user_delivery_token_expiry);
+
+alter table payments
+   add constraint UK3h326otx9ko45mitb1ptj38bi unique (razorpay_payment_id);
+
+create index idx_product_ratings_product
+   on product_ratings (product_id);
+
+alter table product_ratings
+   add constraint UKfvvfn6lvlilq9cq6kbu603y62 unique (customer_id, product_id);
+
+alter table product_ratings
+   add constraint UKq2s3oefs12rjpcq2udwby747y unique (customer_id, women_product_id);
+
+create index idx_products_status_approval_merchant
+   on products (status, approval_status, merchant_id);
+
+alter table ratings
+   add constraint UKikjnxg4cvx8rvxvuykq8od1dt unique (rater_id, rated_id);
+
+alter table roles
+   add constraint UKofx66keruapi6vyqpv6f2or37 unique (name);
+
+create index idx_job_runs_job_started
+   on scheduled_job_runs (job_name, started_at);
+
+alter table shops
+   add constraint UKfrcvw4bjeifsxtwi7udccb03u unique (user_id);
+
+alter table users
+   add constraint UKdu5v5sr43g5bfnji4vb8hg5s3 unique (phone);
+
+alter table users
+   add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+
+alter table users
+   add constraint UK6km2m9i3vjuy36rnvkgj1l61s unique (uuid);
+
+alter table vegetable_details
+   add constraint UK4spilvx4ipw0mwq2v98xj6p6m unique (product_id);
+
+alter table vendor_details
+   add constraint UKt7luoe219xldpf9ng6hduwi4t unique (user_id);
+
+alter table admins
+   add constraint FKec1tyrmwba5mjs4kxuhbiqwwh
+   foreign key (created_by_id)
+   references admins (id);
+
+alter table admins
+   add constraint FK935iyy4j8dw4o9hq6cmup4axp
+   foreign key (deleted_by_id)
+   references admins (id);
+
+alter table agri_fertilizer
+   add constraint FKciq1bvu5kule0ievdl0wjh6ra
+   foreign key (id)
+   references agri_products (id);
+
+alter table agri_pesticide
+   add constraint FKbh11splpvhssduljfj3lekm6x
+   foreign key (id)
+   references agri_products (id);
+
+alter table agri_pipe
+   add constraint FKjo01draja1pbo90ope34vvj6o
+   foreign key (id)
+   references agri_products (id);
+
+alter table agri_products
+   add constraint FKtbd2qy15yys9kav2h2vdjvw5i
+   foreign key (agrivendor_id)
+   references users (id);
+
+alter table agri_seeds
+   add constraint FKg4l9sirueamwf6souw8na4wxu
+   foreign key (id)
+   references agri_products (id);
+
+alter table cart_items
+   add constraint FKpcttvuq4mxppo8sxggjtn5i2c
+   foreign key (cart_id)
+   references carts (id);
+
+alter table carts
+   add constraint FK8ba3sryid5k8a9kidpkvqipyt
+   foreign key (customer_id)
+   references customers (id);
+
+alter table categories
+   add constraint FKsaok720gsu4u2wrgbk10b5n8d
+   foreign key (parent_id)
+   references categories (id);
+
+alter table customer_addresses
+   add constraint FKrvr6wl9gll7u98cda18smugp4
+   foreign key (customer_id)
+   references customers (id);
+
+alter table dairy_details
+   add constraint FK29fijnmllbolwoq7s65rmkahk
+   foreign key (product_id)
+   references products (id);
+
+alter table doctor_profiles
+   add constraint FKhrpk2q09sjwf9en18301dioyr
+   foreign key (user_id)
+   references users (id);
+
+alter table farmer_profiles
+   add constraint FKc3oxyvl3mtl2nkm5yslcym67j
+   foreign key (user_id)
+   references users (id);
+
+alter table meat_details
+   add constraint FKqufvjoe6tg2obri3fmfncl7j5
+   foreign key (product_id)
+   references products (id);
+
+alter table notifications
+   add constraint FK9y21adhxn0ayjhfocscqox7bh
+   foreign key (user_id)
+   references users (id);
+
+alter table offer_usages
+   add constraint FKop45n5qgu8n6hxhtx8u83u5pp
+   foreign key (customer_id)
+   references customers (id);
+
+alter table offer_usages
+   add constraint FKh966wmtwilflpaqlmbi8d10ui
+   foreign key (offer_id)
+   references offers (id);
+
+alter table offer_usages
+   add constraint FKq3ad13wmmbyb3pi5t58v7c5ed
+   foreign key (order_id)
+   references orders (id);
+
+alter table offers
+   add constraint FK5ip05wgag8n8g1umah1am3g42
+   foreign key (merchant_id)
+   references users (id);
+
+alter table offers
+   add constraint FKn4fkl0t44bxg1m74oposqowq7
+   foreign key (offer_price_id)
+   references offer_prices (id);
+
+alter table order_items
+   add constraint FKa7ppdaeb1hcue5d5w8rtlhhx3
+   foreign key (agri_product_id)
+   references agri_products (id);
+
+alter table order_items
+   add constraint FKbioxgbv59vetrxe0ejfubep1w
+   foreign key (order_id)
+   references orders (id);
+
+alter table order_items
+   add constraint FKocimc7dtr037rh4ls4l95nlfi
+   foreign key (product_id)
+   references products (id);
+
+alter table order_items
+   add constraint FK59nmhpxianj1ym9o892gts9xd
+   foreign key (women_product_id)
+   references women_products (id);
+
+alter table order_status_history
+   add constraint FKnmcbg3mmbt8wfva97ra40nmp3
+   foreign key (order_id)
+   references orders (id);
+
+alter table orders
+   add constraint FKpxtb8awmi0dk6smoh2vp1litg
+   foreign key (customer_id)
+   references customers (id);
+
+alter table orders
+   add constraint FK201t4b3xujlhptpckdv2nvy68
+   foreign key (delivery_address_id)
+   references customer_addresses (id);
+
+alter table orders
+   add constraint FKtb0olpml31x7swbu0hleci67x
+   foreign key (delivery_partner_id)
+   references users (id);
+
+alter table orders
+   add constraint FKkyq568su5xxhkp69o5hn9mx69
+   foreign key (merchant_id)
+   references users (id);
+
+alter table product_ratings
+   add constraint FKe90k2tmet45562gw7rqjuhx3k
+   foreign key (customer_id)
+   references customers (id);
+
+alter table product_ratings
+   add constraint FK6vmxt3km86rrgrslgy71ne3e5
+   foreign key (product_id)
+   references products (id);
+
+alter table product_ratings
+   add constraint FK5qilqoki70gr213gtq2vmmjk1
+   foreign key (women_product_id)
+   references women_products (id);
+
+alter table products
+   add constraint FKog2rp4qthbtt2lfyhfo32lsw9
+   foreign key (category_id)
+   references categories (id);
+
+alter table ratings
+   add constraint FKaltgx3c2jt7rui0lv8m660pr4
+   foreign key (rated_id)
+   references users (id);
+
+alter table ratings
+   add constraint FKfcrc9wjvgibhlyr47uto33pxk
+   foreign key (rater_id)
+   references customers (id);
+
+alter table shops
+   add constraint FK34po7mmli7wotimo70r6640ap
+   foreign key (user_id)
+   references users (id);
+
+alter table subscriptions
+   add constraint FKhro52ohfqfbay9774bev0qinr
+   foreign key (user_id)
+   references users (id);
+
+alter table users
+   add constraint FK521haj3uxfl8ypqgybojbqaho
+   foreign key (deleted_by_id)
+   references users (id);
+
+alter table users
+   add constraint FKp56c1712k691lhsyewcssf40f
+   foreign key (role_id)
+   references roles (id);
+
+alter table vegetable_details
+   add constraint FKqolwm749e2sq4lwfbkw0em7ss
+   foreign key (product_id)
+   references products (id);
+
+alter table vendor_details
+   add constraint FK8jymbi8rp9xq8ey5x4usyqdp8
+   foreign key (user_id)
+   references users (id);
+
+alter table women_products
+   add constraint FK50x21gceb77nvgyonhs42o48r
+   foreign key (seller_id)
+   references users (id);
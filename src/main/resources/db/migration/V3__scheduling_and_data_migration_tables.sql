@@ -0,0 +1,35 @@
+-- Tables for cluster-wide scheduled jobs (ScheduledJobRunner) and background
+-- data migrations (DataMigrationRunner). IF NOT EXISTS: databases that ran
+-- with ddl-auto=update may already have them.
+
+CREATE TABLE IF NOT EXISTS scheduled_job_locks (
+  job_name     VARCHAR(100) NOT NULL PRIMARY KEY,
+  locked_by    VARCHAR(150) NULL,
+  locked_at    DATETIME(6)  NULL,
+  locked_until DATETIME(6)  NOT NULL
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS scheduled_job_runs (
+  id             BIGINT AUTO_INCREMENT PRIMARY KEY,
+  job_name       VARCHAR(100)  NOT NULL,
+  node           VARCHAR(150)  NOT NULL,
+  started_at     DATETIME(6)   NOT NULL,
+  ended_at       DATETIME(6)   NULL,
+  status         ENUM('RUNNING','SUCCEEDED','FAILED','LEASE_LOST') NOT NULL,
+  rows_processed BIGINT        NOT NULL,
+  failures       BIGINT        NOT NULL,
+  error_message  VARCHAR(1000) NULL,
+  INDEX idx_job_runs_job_started (job_name, started_at)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS data_migrations (
+  version      INT           NOT NULL PRIMARY KEY,
+  description  VARCHAR(255)  NOT NULL,
+  status       ENUM('RUNNING','COMPLETED','FAILED') NOT NULL,
+  last_key     BIGINT        NOT NULL,
+  rows_changed BIGINT        NOT NULL,
+  started_at   DATETIME(6)   NOT NULL,
+  updated_at   DATETIME(6)   NULL,
+  completed_at DATETIME(6)   NULL,
+  last_error   VARCHAR(1000) NULL
+) ENGINE=InnoDB;
@@ -0,0 +1,34 @@
+-- shops.latitude / shops.longitude (nearby-shop search, pickup dispatch) and
+-- the NEEDS_REVIEW order status (OrderTokenSweeper).
+-- MySQL has no ADD COLUMN IF NOT EXISTS, so each change checks
+-- information_schema first and runs as a prepared statement.
+
+SET @ddl = (SELECT IF(COUNT(*) = 0,
+    'ALTER TABLE shops ADD COLUMN latitude DOUBLE NULL',
+    'DO 0')
+  FROM information_schema.columns
+  WHERE table_schema = DATABASE() AND table_name = 'shops' AND column_name = 'latitude');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0,
+    'ALTER TABLE shops ADD COLUMN longitude DOUBLE NULL',
+    'DO 0')
+  FROM information_schema.columns
+  WHERE table_schema = DATABASE() AND table_name = 'shops' AND column_name = 'longitude');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Only where Hibernate created orders.status as a native ENUM; a VARCHAR
+-- column already accepts the new value.
+SET @ddl = (SELECT IF(COUNT(*) = 1 AND MAX(column_type) NOT LIKE '%''NEEDS_REVIEW''%',
+    'ALTER TABLE orders MODIFY COLUMN status ENUM(''PENDING'',''SCHEDULED'',''ACCEPTED'',''READY_FOR_PICKUP'',''PICKED_UP'',''OUT_FOR_DELIVERY'',''DELIVERED'',''CANCELLED'',''REJECTED'',''NEEDS_REVIEW'') NOT NULL',
+    'DO 0')
+  FROM information_schema.columns
+  WHERE table_schema = DATABASE() AND table_name = 'orders' AND column_name = 'status'
+    AND data_type = 'enum');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
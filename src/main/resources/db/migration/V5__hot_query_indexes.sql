@@ -0,0 +1,53 @@
+-- Indexes for the hot read paths:
+--   orders(merchant_id, status, created_at)        vendor order lists / dashboards by status, newest first
+--   products(status, approval_status, merchant_id) public catalogue (ACTIVE + APPROVED), per vendor
+--   product_ratings(product_id)                    rating summaries per product
+--   orders token expiry columns                    OrderTokenSweeper range scans
+-- Built online (INPLACE, LOCK=NONE); skipped where an equivalent index exists.
+
+SET @ddl = (SELECT IF(COUNT(*) = 0,
+    'CREATE INDEX idx_orders_merchant_status_created ON orders (merchant_id, status, created_at) ALGORITHM=INPLACE LOCK=NONE',
+    'DO 0')
+  FROM information_schema.statistics
+  WHERE table_schema = DATABASE() AND table_name = 'orders' AND index_name = 'idx_orders_merchant_status_created');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0,
+    'CREATE INDEX idx_products_status_approval_merchant ON products (status, approval_status, merchant_id) ALGORITHM=INPLACE LOCK=NONE',
+    'DO 0')
+  FROM information_schema.statistics
+  WHERE table_schema = DATABASE() AND table_name = 'products' AND index_name = 'idx_products_status_approval_merchant');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- InnoDB may already have one from the product_id foreign key
+SET @ddl = (SELECT IF(COUNT(*) = 0,
+    'CREATE INDEX idx_product_ratings_product ON product_ratings (product_id) ALGORITHM=INPLACE LOCK=NONE',
+    'DO 0')
+  FROM information_schema.statistics
+  WHERE table_schema = DATABASE() AND table_name = 'product_ratings'
+    AND column_name = 'product_id' AND seq_in_index = 1);
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0,
+    'CREATE INDEX idx_orders_pickup_token_expiry ON orders (vendor_pickup_token_expiry) ALGORITHM=INPLACE LOCK=NONE',
+    'DO 0')
+  FROM information_schema.statistics
+  WHERE table_schema = DATABASE() AND table_name = 'orders' AND index_name = 'idx_orders_pickup_token_expiry');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0,
+    'CREATE INDEX idx_orders_delivery_token_expiry ON orders (user_delivery_token_expiry) ALGORITHM=INPLACE LOCK=NONE',
+    'DO 0')
+  FROM information_schema.statistics
+  WHERE table_schema = DATABASE() AND table_name = 'orders' AND index_name = 'idx_orders_delivery_token_expiry');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,29 @@
+-- Pooled table id generators for high-volume entities (see IdGenerators).
+-- Each row starts one allocation block above the table's current MAX(id), so
+-- ids handed out by Hibernate never reuse an AUTO_INCREMENT id. The id
+-- columns keep AUTO_INCREMENT; it is simply no longer used by the app.
+
+CREATE TABLE IF NOT EXISTS id_generators (
+  sequence_name VARCHAR(255) NOT NULL PRIMARY KEY,
+  next_val      BIGINT NULL
+) ENGINE=InnoDB;
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'order_items', COALESCE(MAX(id), 0) + 51 FROM order_items
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'order_status_history', COALESCE(MAX(id), 0) + 51 FROM order_status_history
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'notifications', COALESCE(MAX(id), 0) + 51 FROM notifications
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'cart_items', COALESCE(MAX(id), 0) + 51 FROM cart_items
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'products', COALESCE(MAX(id), 0) + 51 FROM products
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
@@ -0,0 +1,16 @@
+-- agri_products.agriimage_url: LONGTEXT -> VARCHAR(4000). The value is a
+-- short JSON array of Cloudinary URLs; as a VARCHAR it is read inline with
+-- the row instead of through LOB handling.
+-- Skipped when it is already a VARCHAR, or when an existing value would not
+-- fit (the ALTER would fail in strict mode; the entity maps either type).
+
+SET @ddl = (SELECT IF(COUNT(*) = 1
+        AND MAX(data_type) <> 'varchar'
+        AND (SELECT COALESCE(MAX(CHAR_LENGTH(agriimage_url)), 0) FROM agri_products) <= 4000,
+    'ALTER TABLE agri_products MODIFY COLUMN agriimage_url VARCHAR(4000) NULL',
+    'DO 0')
+  FROM information_schema.columns
+  WHERE table_schema = DATABASE() AND table_name = 'agri_products' AND column_name = 'agriimage_url');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,13 @@
+-- Stored agri product count per vendor (VendorEntitlementRepository): product
+-- creates take a slot with a conditional UPDATE, so the plan limit holds
+-- across nodes. Seeded from the current products; vendors without products
+-- get their row on their first create.
+
+CREATE TABLE IF NOT EXISTS vendor_entitlements (
+  vendor_id     BIGINT NOT NULL PRIMARY KEY,
+  product_count INT    NOT NULL
+) ENGINE=InnoDB;
+
+INSERT INTO vendor_entitlements (vendor_id, product_count)
+SELECT agrivendor_id, COUNT(*) FROM agri_products GROUP BY agrivendor_id
+ON DUPLICATE KEY UPDATE product_count = VALUES(product_count);
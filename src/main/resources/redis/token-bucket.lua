@@ -0,0 +1,37 @@
+-- Token bucket, evaluated atomically on the Redis server (RedisTokenBucket).
+-- KEYS[1]  bucket hash {tokens, ts}
+-- ARGV[1]  capacity (tokens)
+-- ARGV[2]  refill rate (tokens per millisecond)
+-- ARGV[3]  tokens requested
+-- Returns {allowed (0/1), tokens left (floored), retry after (ms, 0 if allowed)}.
+-- Time comes from the server, so app nodes with skewed clocks share one
+-- bucket correctly (script effects replication, Redis 5+).
+local capacity = tonumber(ARGV[1])
+local rate = tonumber(ARGV[2])
+local requested = tonumber(ARGV[3])
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+local tokens = tonumber(state[1])
+local ts = tonumber(state[2])
+if tokens == nil or ts == nil then
+  tokens = capacity
+  ts = now
+end
+tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate)
+
+local allowed = 0
+local retry = 0
+if tokens >= requested then
+  tokens = tokens - requested
+  allowed = 1
+else
+  retry = math.ceil((requested - tokens) / rate)
+end
+
+redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+-- an untouched bucket is full again after capacity / rate; keep it no longer than that
+redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / rate) + 1000)
+return {allowed, math.floor(tokens), retry}
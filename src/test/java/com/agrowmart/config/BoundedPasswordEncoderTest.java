@@ -0,0 +1,110 @@
+package com.agrowmart.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.agrowmart.exception.PasswordHashingBusyException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BoundedPasswordEncoderTest {
+
+    // cost 13 is several hundred ms per hash: long enough to hold the pool busy
+    private static final int SLOW_COST = 13;
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    void encodesAndMatchesOnThePool() {
+        encoder = new BoundedPasswordEncoder(4, 2, 8, 5000, meters);
+
+        String hash = encoder.encode("s3cret");
+
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(encoder.matches("s3cret", hash));
+        assertFalse(encoder.matches("wrong", hash));
+        assertEquals(1, meters.get("password.hash").tag("operation", "encode").timer().count());
+        assertEquals(2, meters.get("password.hash").tag("operation", "matches").timer().count());
+        assertEquals(3, meters.get("password.hash.wait").timer().count());
+    }
+
+    @Test
+    void hashesMadeWithAnotherCostNeedUpgrading() {
+        encoder = new BoundedPasswordEncoder(5, 1, 8, 5000, meters);
+
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("pw")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("pw")));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("pw")));
+        assertFalse(encoder.upgradeEncoding("plain-text"));
+        assertFalse(encoder.upgradeEncoding(null));
+    }
+
+    @Test
+    void costIsReadFromTheHashPrefix() {
+        assertEquals(10, BoundedPasswordEncoder.costOf("$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy"));
+        assertEquals(12, BoundedPasswordEncoder.costOf("$2y$12$abc"));
+        assertEquals(0, BoundedPasswordEncoder.costOf("$2a$1x$abc"));
+        assertEquals(0, BoundedPasswordEncoder.costOf("{noop}pw"));
+    }
+
+    @Test
+    void callersAreRejectedAtOnceWhenThePoolAndQueueAreFull() {
+        encoder = new BoundedPasswordEncoder(SLOW_COST, 1, 1, 30_000, meters);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        await(() -> meters.get("password.hash.active").gauge().value() == 1);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        await(() -> meters.get("password.hash.queue").gauge().value() == 1);
+
+        // a 30 s timeout: throwing here at all means the caller was not queued behind the pool
+        assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("c"));
+        assertEquals(1, meters.get("password.hash.rejected").tag("reason", "queue_full").counter().count());
+
+        BCryptPasswordEncoder plain = new BCryptPasswordEncoder(SLOW_COST);
+        assertTrue(plain.matches("a", running.join()));
+        assertTrue(plain.matches("b", queued.join()));
+    }
+
+    @Test
+    void callersGiveUpAfterTheTimeout() {
+        encoder = new BoundedPasswordEncoder(SLOW_COST, 1, 4, 50, meters);
+
+        // the first caller also stops waiting after 50 ms; its hash keeps the pool busy regardless
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        await(() -> meters.get("password.hash.active").gauge().value() == 1);
+
+        assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("b"));
+        CompletionException firstFailure = assertThrows(CompletionException.class, first::join);
+        assertInstanceOf(PasswordHashingBusyException.class, firstFailure.getCause());
+        assertEquals(2, meters.get("password.hash.rejected").tag("reason", "timeout").counter().count());
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("condition not reached");
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.agrowmart.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.agrowmart.service.external.FakeMailSender;
+import com.agrowmart.service.external.FakeMediaStorageGateway;
+import com.agrowmart.service.external.FakePushNotificationGateway;
+import com.agrowmart.service.external.FakeRazorpayGateway;
+import com.agrowmart.service.external.FakeSmsGateway;
+import com.agrowmart.service.external.SimulatedCall;
+
+/**
+ * external.fakes.enabled=true → in-process stand-ins for FCM, Razorpay,
+ * Cloudinary, Fast2SMS and SMTP, for load tests and offline runs. Each one has
+ * external.fakes.&lt;name&gt;.latency-ms / latency-jitter-ms / failure-rate;
+ * the defaults are roughly what the real services show from India.
+ * Lives in test sources so none of it ships in the application jar; the
+ * load driver (-Ploadtest) runs on the test classpath and picks it up.
+ */
+@Configuration
+@ConditionalOnProperty(name = "external.fakes.enabled", havingValue = "true")
+public class FakeExternalGatewayConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(FakeExternalGatewayConfig.class);
+
+    public FakeExternalGatewayConfig() {
+        log.warn("external.fakes.enabled=true: push, payments, media, SMS and mail are simulated in-process");
+    }
+
+    @Bean
+    public FakePushNotificationGateway pushNotificationGateway(
+            @Value("${external.fakes.push.latency-ms:40}") long latencyMs,
+            @Value("${external.fakes.push.latency-jitter-ms:40}") long jitterMs,
+            @Value("${external.fakes.push.failure-rate:0}") double failureRate) {
+        return new FakePushNotificationGateway(new SimulatedCall(latencyMs, jitterMs, failureRate));
+    }
+
+    @Bean
+    public FakeRazorpayGateway razorpayGateway(
+            @Value("${external.fakes.razorpay.latency-ms:250}") long latencyMs,
+            @Value("${external.fakes.razorpay.latency-jitter-ms:250}") long jitterMs,
+            @Value("${external.fakes.razorpay.failure-rate:0}") double failureRate) {
+        return new FakeRazorpayGateway(new SimulatedCall(latencyMs, jitterMs, failureRate));
+    }
+
+    @Bean
+    public FakeMediaStorageGateway mediaStorageGateway(
+            @Value("${external.fakes.cloudinary.latency-ms:400}") long latencyMs,
+            @Value("${external.fakes.cloudinary.latency-jitter-ms:400}") long jitterMs,
+            @Value("${external.fakes.cloudinary.failure-rate:0}") double failureRate) {
+        return new FakeMediaStorageGateway(new SimulatedCall(latencyMs, jitterMs, failureRate));
+    }
+
+    @Bean
+    public FakeSmsGateway smsGateway(
+            @Value("${external.fakes.sms.latency-ms:150}") long latencyMs,
+            @Value("${external.fakes.sms.latency-jitter-ms:100}") long jitterMs,
+            @Value("${external.fakes.sms.failure-rate:0}") double failureRate) {
+        return new FakeSmsGateway(new SimulatedCall(latencyMs, jitterMs, failureRate));
+    }
+
+    @Bean
+    public FakeMailSender mailSender(
+            @Value("${external.fakes.mail.latency-ms:300}") long latencyMs,
+            @Value("${external.fakes.mail.latency-jitter-ms:200}") long jitterMs,
+            @Value("${external.fakes.mail.failure-rate:0}") double failureRate) {
+        return new FakeMailSender(new SimulatedCall(latencyMs, jitterMs, failureRate));
+    }
+}
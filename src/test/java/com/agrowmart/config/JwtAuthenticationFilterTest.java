@@ -0,0 +1,79 @@
+package com.agrowmart.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.agrowmart.entity.customer.Customer;
+import com.agrowmart.repository.UserRepository;
+import com.agrowmart.repository.customer.CustomerRepository;
+import com.agrowmart.util.JwtUtil;
+
+import io.jsonwebtoken.MalformedJwtException;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JwtAuthenticationFilterTest {
+
+    private final JwtUtil jwtUtil = mock(JwtUtil.class);
+    private final CustomerRepository customerRepository = mock(CustomerRepository.class);
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final JwtAuthenticationFilter filter =
+            new JwtAuthenticationFilter(jwtUtil, mock(UserRepository.class), customerRepository, meters);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void requestWithoutTokenIsTimedAsNoToken() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/public/products"), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest(), "chain must continue");
+        assertEquals(1, timer("none", "no_token").count());
+    }
+
+    @Test
+    void validCustomerTokenIsTimedAsAuthenticated() throws Exception {
+        when(jwtUtil.extractUserId("good")).thenReturn(7L);
+        when(jwtUtil.extractUserType("good")).thenReturn("customer");
+        when(jwtUtil.validateToken("good", 7L)).thenReturn(true);
+        when(customerRepository.findById(7L)).thenReturn(Optional.of(new Customer()));
+
+        filter.doFilter(bearer("good"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        assertEquals(1, timer("customer", "authenticated").count());
+    }
+
+    @Test
+    void malformedTokenIsTimedAsInvalid() throws Exception {
+        when(jwtUtil.extractUserId("bad")).thenThrow(new MalformedJwtException("bad"));
+
+        filter.doFilter(bearer("bad"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals(1, timer("none", "invalid").count());
+    }
+
+    private static MockHttpServletRequest bearer(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders/my");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    private Timer timer(String userType, String outcome) {
+        return meters.get("auth.jwt.filter").tag("user_type", userType).tag("outcome", outcome).timer();
+    }
+}
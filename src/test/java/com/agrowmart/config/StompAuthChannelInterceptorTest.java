@@ -0,0 +1,74 @@
+package com.agrowmart.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.security.Principal;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import com.agrowmart.entity.Role;
+import com.agrowmart.entity.User;
+import com.agrowmart.repository.UserRepository;
+import com.agrowmart.service.websocket.StompPrincipals;
+import com.agrowmart.util.JwtUtil;
+
+class StompAuthChannelInterceptorTest {
+
+    private final JwtUtil jwtUtil = mock(JwtUtil.class);
+    private final UserRepository users = mock(UserRepository.class);
+    private final StompAuthChannelInterceptor interceptor = new StompAuthChannelInterceptor(jwtUtil, users);
+
+    @Test
+    void customerAndVendorWithTheSameIdGetDifferentPrincipals() {
+        token("customer-token", 7L, "customer");
+        token("vendor-token", 7L, "vendor");
+        User vendor = new User();
+        vendor.setId(7L);
+        Role role = new Role();
+        role.setName("VEGETABLE");
+        vendor.setRole(role);
+        when(users.findById(7L)).thenReturn(Optional.of(vendor));
+
+        assertEquals("customer:7", principal(connect("customer-token")).getName());
+        assertEquals("user:7", principal(connect("vendor-token")).getName());
+    }
+
+    @Test
+    void connectWithoutTokenHasNoPrincipal() {
+        assertNull(principal(connect(null)));
+    }
+
+    @Test
+    void onlyUserPrincipalsResolveToAUserId() {
+        assertEquals(42L, StompPrincipals.userId(StompPrincipals.user(42)));
+        assertNull(StompPrincipals.userId(StompPrincipals.customer(42)));
+        assertNull(StompPrincipals.userId("42"));
+    }
+
+    private void token(String token, Long userId, String userType) {
+        when(jwtUtil.extractUserId(token)).thenReturn(userId);
+        when(jwtUtil.extractUserType(token)).thenReturn(userType);
+        when(jwtUtil.validateToken(token, userId)).thenReturn(true);
+    }
+
+    private Message<?> connect(String token) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        if (token != null) {
+            accessor.addNativeHeader("Authorization", "Bearer " + token);
+        }
+        accessor.setLeaveMutable(true);
+        return interceptor.preSend(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()), null);
+    }
+
+    private static Principal principal(Message<?> message) {
+        return StompHeaderAccessor.wrap(message).getUser();
+    }
+}
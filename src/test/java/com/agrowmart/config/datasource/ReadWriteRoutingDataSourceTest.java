@@ -0,0 +1,119 @@
+package com.agrowmart.config.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.agrowmart.entity.User;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final Map<DataSource, Long> lag = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+    private DataSource replica0;
+    private DataSource replica1;
+    private ReplicaLagMonitor monitor;
+    private ReadYourWritesTracker tracker;
+    private ReadWriteRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        replica0 = mock(DataSource.class);
+        replica1 = mock(DataSource.class);
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", replica0);
+        replicas.put("replica-1", replica1);
+        lag.put(replica0, 0L);
+        lag.put(replica1, 1L);
+
+        monitor = new ReplicaLagMonitor(replicas, 5, replica -> {
+            Long seconds = lag.get(replica);
+            if (seconds != null && seconds < 0) {
+                throw new SQLException("connection refused");
+            }
+            return seconds;
+        });
+        monitor.refresh();
+        tracker = new ReadYourWritesTracker(5000, clock::get);
+        routing = new ReadWriteRoutingDataSource(mock(DataSource.class), monitor, tracker, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readWriteTransactionsGoToThePrimary() {
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void readOnlyTransactionsAreSpreadOverHealthyReplicas() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(List.of("replica-0", "replica-1", "replica-0", "replica-1"),
+                List.of(routing.determineCurrentLookupKey(), routing.determineCurrentLookupKey(),
+                        routing.determineCurrentLookupKey(), routing.determineCurrentLookupKey()));
+    }
+
+    @Test
+    void laggingStoppedOrUnreachableReplicasAreSkipped() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        lag.put(replica1, 30L);
+        monitor.refresh();
+        assertEquals("replica-0", routing.determineCurrentLookupKey());
+        assertEquals("replica-0", routing.determineCurrentLookupKey());
+
+        lag.remove(replica0); // SHOW REPLICA STATUS: Seconds_Behind_Source = NULL
+        lag.put(replica1, -1L); // check fails
+        monitor.refresh();
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+
+        lag.put(replica1, 2L);
+        monitor.refresh();
+        assertEquals("replica-1", routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void userReadsTheirOwnWritesFromThePrimaryForTheWindow() {
+        User vendor = new User();
+        vendor.setId(42L);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(vendor, null, List.of()));
+
+        tracker.recordWrite(ReadYourWritesTracker.currentUserKey()); // what the transaction manager does on commit
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+
+        clock.addAndGet(4_000_000_000L);
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+
+        clock.addAndGet(1_000_000_001L);
+        assertEquals("replica-0", routing.determineCurrentLookupKey());
+
+        SecurityContextHolder.clearContext(); // anonymous catalogue traffic is never pinned
+        tracker.recordWrite(null);
+        assertEquals("replica-1", routing.determineCurrentLookupKey());
+    }
+}
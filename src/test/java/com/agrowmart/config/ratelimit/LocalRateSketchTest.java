@@ -0,0 +1,52 @@
+package com.agrowmart.config.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class LocalRateSketchTest {
+
+    private final AtomicLong now = new AtomicLong(1_700_000_000_000L);
+    private final LocalRateSketch sketch = new LocalRateSketch(1024, 3, now::get);
+
+    @Test
+    void rejectsAKeyOnceItIsOverTheLimitInTheCurrentSecond() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(sketch.tryAcquire("ip:10.0.0.1"));
+        }
+        assertFalse(sketch.tryAcquire("ip:10.0.0.1"));
+        assertFalse(sketch.tryAcquire("ip:10.0.0.1"));
+    }
+
+    @Test
+    void countsStartOverInTheNextWindow() {
+        for (int i = 0; i < 4; i++) {
+            sketch.tryAcquire("ip:10.0.0.1");
+        }
+        now.addAndGet(1000);
+
+        assertTrue(sketch.tryAcquire("ip:10.0.0.1"));
+    }
+
+    @Test
+    void anAbuserDoesNotUseUpOtherClients() {
+        for (int i = 0; i < 1000; i++) {
+            sketch.tryAcquire("ip:10.0.0.1");
+        }
+        int allowed = 0;
+        for (int client = 2; client < 202; client++) {
+            allowed += sketch.tryAcquire("ip:10.0.0." + client) ? 1 : 0;
+        }
+        // a client is only hit if both of its slots collide with the abuser's
+        assertTrue(allowed >= 199, "allowed " + allowed + " of 200");
+    }
+
+    @Test
+    void widthMustBeAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new LocalRateSketch(1000, 3, now::get));
+    }
+}
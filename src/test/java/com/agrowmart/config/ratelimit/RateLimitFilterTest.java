@@ -0,0 +1,204 @@
+package com.agrowmart.config.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.agrowmart.entity.User;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RateLimitFilterTest {
+
+    private final RedisTokenBucket buckets = mock(RedisTokenBucket.class);
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final RateLimitFilter filter = new RateLimitFilter(buckets, Jackson2ObjectMapperBuilder.json().build(),
+            meters, new MockEnvironment()
+                    .withProperty("ratelimit.login.capacity", "2")
+                    .withProperty("ratelimit.login.refill-per-minute", "6"));
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void otherRoutesAreNotLimited() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("GET", "/api/public/categories"), new MockHttpServletResponse(), chain);
+        assertNotNull(chain.getRequest());
+
+        chain = new MockFilterChain();
+        filter.doFilter(request("GET", "/api/public/products"), new MockHttpServletResponse(), chain);
+        assertNotNull(chain.getRequest());
+
+        verify(buckets, never()).tryAcquire(anyString(), anyLong(), anyDouble());
+    }
+
+    @Test
+    void allowedRequestTakesATokenFromTheClientsBucket() throws Exception {
+        when(buckets.tryAcquire("ratelimit:login:ip:10.1.2.3", 2, 0.1))
+                .thenReturn(new RedisTokenBucket.Decision(true, 1, 0));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("POST", "/api/customer/auth/login"), response, chain);
+
+        assertNotNull(chain.getRequest());
+        assertEquals("1", response.getHeader("X-RateLimit-Remaining"));
+        assertEquals(1.0, meters.get("ratelimit.requests").tags("policy", "login", "outcome", "allowed").counter().count());
+    }
+
+    @Test
+    void emptyBucketIs429WithRetryAfter() throws Exception {
+        when(buckets.tryAcquire(anyString(), anyLong(), anyDouble()))
+                .thenReturn(new RedisTokenBucket.Decision(false, 0, 9_200));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("POST", "/api/auth/login"), response, chain);
+
+        assertNull(chain.getRequest());
+        assertEquals(429, response.getStatus());
+        assertEquals("10", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("\"status\":429"));
+    }
+
+    @Test
+    void clientFarOverBudgetIsRejectedLocallyWithoutRedis() throws Exception {
+        when(buckets.tryAcquire(anyString(), anyLong(), anyDouble()))
+                .thenReturn(new RedisTokenBucket.Decision(true, 0, 0));
+
+        // capacity 2 + one second of refill (rounded up) = 3 per second on this node
+        int passed = 0;
+        for (int i = 0; i < 10; i++) {
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(request("POST", "/api/auth/login"), new MockHttpServletResponse(), chain);
+            passed += chain.getRequest() != null ? 1 : 0;
+        }
+
+        assertTrue(passed <= 6, "passed " + passed); // 3 per window, at most two windows if a second boundary falls in
+        verify(buckets, times(passed)).tryAcquire(anyString(), anyLong(), anyDouble());
+        assertEquals(10 - passed,
+                meters.get("ratelimit.requests").tags("policy", "login", "outcome", "rejected_local").counter().count());
+    }
+
+    @Test
+    void redisOutageFailsOpen() throws Exception {
+        when(buckets.tryAcquire(anyString(), anyLong(), anyDouble()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("POST", "/api/products/search"), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        assertEquals(1.0, meters.get("ratelimit.requests").tags("policy", "search", "outcome", "error").counter().count());
+    }
+
+    @Test
+    void orderCreationIsLimitedPerAccount() throws Exception {
+        User vendor = new User();
+        vendor.setId(42L);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(vendor, null, List.of()));
+        when(buckets.tryAcquire(eq("ratelimit:order-create:user:42"), anyLong(), anyDouble()))
+                .thenReturn(new RedisTokenBucket.Decision(true, 9, 0));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("POST", "/api/orders/create"), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void otpIsKeyedByPhoneWithAnIpBackstopAndTheBodyStillReachesTheController() throws Exception {
+        when(buckets.tryAcquire(anyString(), anyLong(), anyDouble()))
+                .thenReturn(new RedisTokenBucket.Decision(true, 4, 0));
+        String body = "{\"phone\":\"+91 98765 43210\",\"purpose\":\"LOGIN\"}";
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(json("/api/auth/send-otp", body), new MockHttpServletResponse(), chain);
+
+        verify(buckets).tryAcquire(eq("ratelimit:otp-ip:ip:10.1.2.3"), eq(30L), anyDouble());
+        verify(buckets).tryAcquire(eq("ratelimit:otp:phone:9876543210"), eq(5L), anyDouble());
+        assertEquals(body, new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void usersBehindOneIpDoNotShareAnOtpBudget() throws Exception {
+        when(buckets.tryAcquire(anyString(), anyLong(), anyDouble()))
+                .thenReturn(new RedisTokenBucket.Decision(true, 4, 0));
+        when(buckets.tryAcquire(eq("ratelimit:otp:phone:9000000001"), anyLong(), anyDouble()))
+                .thenReturn(new RedisTokenBucket.Decision(false, 0, 60_000));
+        MockFilterChain exhausted = new MockFilterChain();
+        MockFilterChain neighbour = new MockFilterChain();
+
+        filter.doFilter(json("/api/customer/auth/send-otp", "{\"phone\":\"9000000001\"}"),
+                new MockHttpServletResponse(), exhausted);
+        filter.doFilter(json("/api/customer/auth/send-otp", "{\"phone\":\"9000000002\"}"),
+                new MockHttpServletResponse(), neighbour);
+
+        assertNull(exhausted.getRequest());
+        assertNotNull(neighbour.getRequest());
+    }
+
+    @Test
+    void verifyOtpHasItsOwnPolicy() throws Exception {
+        when(buckets.tryAcquire(anyString(), anyLong(), anyDouble()))
+                .thenReturn(new RedisTokenBucket.Decision(true, 9, 0));
+
+        filter.doFilter(json("/api/auth/verify-otp", "{\"phone\":\"9876543210\",\"code\":\"123456\"}"),
+                new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(buckets).tryAcquire(eq("ratelimit:otp-verify:phone:9876543210"), eq(10L), anyDouble());
+        verify(buckets, never()).tryAcquire(eq("ratelimit:otp:phone:9876543210"), anyLong(), anyDouble());
+    }
+
+    @Test
+    void otpWithoutAPhoneFallsBackToTheClientIp() throws Exception {
+        when(buckets.tryAcquire(anyString(), anyLong(), anyDouble()))
+                .thenReturn(new RedisTokenBucket.Decision(true, 4, 0));
+
+        filter.doFilter(json("/api/auth/send-otp", "not json"), new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(buckets).tryAcquire(eq("ratelimit:otp:ip:10.1.2.3"), anyLong(), anyDouble());
+    }
+
+    private static MockHttpServletRequest json(String uri, String body) {
+        MockHttpServletRequest request = request("POST", uri);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr("10.1.2.3");
+        return request;
+    }
+}
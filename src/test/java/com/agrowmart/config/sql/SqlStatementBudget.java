@@ -0,0 +1,55 @@
+package com.agrowmart.config.sql;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.Callable;
+
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+/**
+ * Test helper: fails when a piece of work, or an endpoint, runs more SQL
+ * statements than its budget. Keeps N+1 regressions out of
+ * toResponseDto-style mappers.
+ *
+ * <pre>
+ * SqlStatementBudget.atMost(3, () -> service.getVendors());
+ * mockMvc.perform(get("/api/orders/my")).andExpect(SqlStatementBudget.statementsAtMost(5));
+ * </pre>
+ *
+ * The MockMvc form reads X-SQL-Statements, so the MockMvc setup must include
+ * SqlStatementCountingFilter with sql.stats.response-header=true.
+ */
+public final class SqlStatementBudget {
+
+    private SqlStatementBudget() {
+    }
+
+    public static <T> T atMost(int maxStatements, Callable<T> work) throws Exception {
+        try (SqlStatementStats stats = SqlStatementStats.start()) {
+            T result = work.call();
+            assertTrue(stats.statements() <= maxStatements,
+                    "expected at most " + maxStatements + " SQL statements, ran " + stats.statements());
+            return result;
+        }
+    }
+
+    public static void atMost(int maxStatements, Executable work) throws Throwable {
+        try (SqlStatementStats stats = SqlStatementStats.start()) {
+            work.execute();
+            assertTrue(stats.statements() <= maxStatements,
+                    "expected at most " + maxStatements + " SQL statements, ran " + stats.statements());
+        }
+    }
+
+    public static ResultMatcher statementsAtMost(int maxStatements) {
+        return result -> {
+            String header = result.getResponse().getHeader(SqlStatementCountingFilter.STATEMENTS_HEADER);
+            assertNotNull(header, SqlStatementCountingFilter.STATEMENTS_HEADER + " missing; is the filter installed?");
+            int statements = Integer.parseInt(header);
+            assertTrue(statements <= maxStatements,
+                    "expected at most " + maxStatements + " SQL statements, ran " + statements);
+        };
+    }
+}
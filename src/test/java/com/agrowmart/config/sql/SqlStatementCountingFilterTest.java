@@ -0,0 +1,77 @@
+package com.agrowmart.config.sql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+class SqlStatementCountingFilterTest {
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final StatementCountingInspector inspector = new StatementCountingInspector();
+
+    @Test
+    void statementsAreCountedPerRequestAndSentAsHeader() throws Exception {
+        MockHttpServletResponse response = run(new SqlStatementCountingFilter(meters, 25, true), 3);
+
+        assertEquals("3", response.getHeader(SqlStatementCountingFilter.STATEMENTS_HEADER));
+        assertEquals("ok", response.getContentAsString(), "buffered body must still reach the client");
+        DistributionSummary summary = meters.get("http.server.requests.sql.statements")
+                .tag("method", "GET").tag("uri", "/api/orders/{orderId}/status").summary();
+        assertEquals(1, summary.count());
+        assertEquals(3.0, summary.totalAmount());
+        assertNull(SqlStatementStats.current(), "stats must not leak to the next request on this thread");
+    }
+
+    @Test
+    void headerIsOffUnlessEnabled() throws Exception {
+        MockHttpServletResponse response = run(new SqlStatementCountingFilter(meters, 25, false), 2);
+
+        assertNull(response.getHeader(SqlStatementCountingFilter.STATEMENTS_HEADER));
+        assertEquals(2.0, meters.get("http.server.requests.sql.statements").summary().totalAmount());
+    }
+
+    @Test
+    void budgetMatcherFailsAboveTheLimit() throws Exception {
+        MockHttpServletResponse response = run(new SqlStatementCountingFilter(meters, 25, true), 12);
+        MvcResult result = mock(MvcResult.class);
+        when(result.getResponse()).thenReturn(response);
+
+        SqlStatementBudget.statementsAtMost(12).match(result);
+        assertThrows(AssertionError.class, () -> SqlStatementBudget.statementsAtMost(11).match(result));
+    }
+
+    /** One GET through the filter whose handler prepares the given number of statements. */
+    private MockHttpServletResponse run(SqlStatementCountingFilter filter, int statements) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders/42/status");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpServlet handler = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) throws IOException {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/orders/{orderId}/status");
+                for (int i = 0; i < statements; i++) {
+                    inspector.inspect("select 1");
+                }
+                res.getWriter().write("ok");
+            }
+        };
+        filter.doFilter(request, response, new MockFilterChain(handler));
+        return response;
+    }
+}
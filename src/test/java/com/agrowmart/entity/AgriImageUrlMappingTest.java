@@ -0,0 +1,108 @@
+package com.agrowmart.entity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.agrowmart.entity.AgriProduct.BaseAgriProduct;
+import com.agrowmart.entity.AgriProduct.Seeds;
+
+/**
+ * BaseAgriProduct image URLs through the converter: stored as a compact JSON
+ * array, parsed once per load, and never reported dirty when untouched.
+ */
+class AgriImageUrlMappingTest {
+
+    private static final List<String> URLS = List.of(
+            "https://res.cloudinary.com/demo/image/upload/v1/agri_0.jpg",
+            "https://res.cloudinary.com/demo/image/upload/v1/agri_1.jpg");
+
+    private static HibernateTestSupport db;
+    private static SessionFactory sessionFactory;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        db = new HibernateTestSupport("agriimages", Map.of(
+                AvailableSettings.USE_SECOND_LEVEL_CACHE, false), List.of());
+        sessionFactory = db.sessionFactory;
+    }
+
+    @AfterAll
+    static void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void urlsAreStoredAsCompactJsonAndParsedOncePerLoad() {
+        Long id = persist(URLS);
+
+        Object column = sessionFactory.fromSession(session -> session
+                .createNativeQuery("SELECT agriimage_url FROM agri_products WHERE id = :id", Object.class)
+                .setParameter("id", id)
+                .getSingleResult());
+        assertEquals("[\"" + URLS.get(0) + "\",\"" + URLS.get(1) + "\"]", column);
+
+        sessionFactory.inSession(session -> {
+            BaseAgriProduct loaded = session.find(BaseAgriProduct.class, id);
+            assertEquals(URLS, loaded.getAgriImageUrls());
+            assertSame(loaded.getAgriImageUrls(), loaded.getAgriImageUrls());
+        });
+    }
+
+    @Test
+    void untouchedProductIsNotUpdatedOnCommit() {
+        Long id = persist(URLS);
+
+        long before = db.statements.get();
+        sessionFactory.inTransaction(session -> session.find(BaseAgriProduct.class, id).getAgriImageUrls());
+        assertEquals(1, db.statements.get() - before, "only the select");
+    }
+
+    @Test
+    void replacedListIsWritten() {
+        Long id = persist(URLS);
+
+        sessionFactory.inTransaction(session ->
+                session.find(BaseAgriProduct.class, id).setAgriImageUrls(List.of(URLS.get(1))));
+
+        assertEquals(List.of(URLS.get(1)),
+                sessionFactory.fromSession(session -> session.find(BaseAgriProduct.class, id).getAgriImageUrls()));
+    }
+
+    @Test
+    void noImagesIsNullInTheColumnAndEmptyOnTheEntity() {
+        Long id = persist(List.of());
+
+        assertNull(sessionFactory.fromSession(session -> session
+                .createNativeQuery("SELECT agriimage_url FROM agri_products WHERE id = :id", Object.class)
+                .setParameter("id", id)
+                .getSingleResult()));
+        assertTrue(sessionFactory.fromSession(session ->
+                session.find(BaseAgriProduct.class, id).getAgriImageUrls()).isEmpty());
+    }
+
+    private static Long persist(List<String> urls) {
+        return sessionFactory.fromTransaction(session -> {
+            Seeds seeds = new Seeds();
+            seeds.setAgriproductName("Hybrid tomato seeds");
+            seeds.setAgriprice(new BigDecimal("120.00"));
+            seeds.setAgriunit("packet");
+            seeds.setAgriquantity(50);
+            seeds.setVendor(session.getReference(User.class, 1L));
+            seeds.setAgriImageUrls(urls);
+            session.persist(seeds);
+            return seeds.getId();
+        });
+    }
+}
@@ -0,0 +1,82 @@
+package com.agrowmart.entity.AgriProduct;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class ImageUrlListConverterTest {
+
+    private final ImageUrlListConverter converter = new ImageUrlListConverter();
+
+    @Test
+    void writesTheSameCompactJsonAsObjectMapperDid() throws Exception {
+        List<String> urls = List.of(
+                "https://res.cloudinary.com/demo/image/upload/v1/agri_0.jpg",
+                "https://example.com/a \"quoted\" \\ name/ü.png");
+
+        String column = converter.convertToDatabaseColumn(urls);
+
+        assertEquals(new ObjectMapper().writeValueAsString(urls), column);
+        assertEquals(urls, converter.convertToEntityAttribute(column));
+    }
+
+    @Test
+    void readsRowsWrittenByTheOldObjectMapperMapping() throws Exception {
+        String legacy = new ObjectMapper().writerWithDefaultPrettyPrinter()
+                .writeValueAsString(List.of("https://x/1.jpg", "https://x/2.jpg"));
+
+        assertEquals(new ObjectMapper().readValue(legacy, new TypeReference<List<String>>() {}),
+                converter.convertToEntityAttribute(legacy));
+    }
+
+    @Test
+    void emptyListIsStoredAsNullAndNullOrBlankReadsAsEmpty() {
+        assertNull(converter.convertToDatabaseColumn(List.of()));
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertTrue(converter.convertToEntityAttribute(null).isEmpty());
+        assertTrue(converter.convertToEntityAttribute("  ").isEmpty());
+        assertTrue(converter.convertToEntityAttribute("[]").isEmpty());
+    }
+
+    @Test
+    void malformedValuesReadAsEmpty() {
+        assertTrue(converter.convertToEntityAttribute("https://x/1.jpg").isEmpty());
+        assertTrue(converter.convertToEntityAttribute("[\"https://x/1.jpg\"").isEmpty());
+        assertTrue(converter.convertToEntityAttribute("{\"url\":1}").isEmpty());
+    }
+
+    @Test
+    void nullElementsSurviveTheRoundTrip() {
+        List<String> urls = Arrays.asList("https://x/1.jpg", null);
+
+        assertEquals(urls, converter.convertToEntityAttribute(converter.convertToDatabaseColumn(urls)));
+    }
+
+    @Test
+    void parsedListsAreUnmodifiable() {
+        List<String> urls = converter.convertToEntityAttribute("[\"https://x/1.jpg\"]");
+
+        assertThrows(UnsupportedOperationException.class, () -> urls.add("https://x/2.jpg"));
+    }
+
+    @Test
+    void entitySetterCopiesTheCallersList() {
+        List<String> urls = new ArrayList<>(List.of("https://x/1.jpg"));
+        Seeds seeds = new Seeds();
+        seeds.setAgriImageUrls(urls);
+        urls.add("https://x/2.jpg");
+
+        assertEquals(List.of("https://x/1.jpg"), seeds.getAgriImageUrls());
+        assertEquals("[\"https://x/1.jpg\"]", seeds.getAgriimageUrl());
+    }
+}
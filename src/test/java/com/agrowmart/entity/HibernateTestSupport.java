@@ -0,0 +1,124 @@
+package com.agrowmart.entity;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.orm.hibernate5.SpringBeanContainer;
+
+import jakarta.persistence.Entity;
+
+/**
+ * Boots Hibernate over the full entity model on an in-memory H2 database
+ * (MySQL mode, foreign keys off) with a DataSource that counts JDBC
+ * round-trips. Schema DDL that H2 cannot parse is skipped by Hibernate.
+ */
+final class HibernateTestSupport {
+
+    final SessionFactory sessionFactory;
+    final AtomicLong statements = new AtomicLong();
+
+    HibernateTestSupport(String name, Map<String, Object> settings, List<String> mappingResources) throws SQLException {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:" + name + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+
+        StandardServiceRegistryBuilder builder = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.DATASOURCE, counting(h2, statements))
+                .applySetting(AvailableSettings.DIALECT, "org.hibernate.dialect.H2Dialect")
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create")
+                .applySetting(AvailableSettings.PHYSICAL_NAMING_STRATEGY, new CamelCaseToUnderscoresNamingStrategy())
+                // entity listeners take ObjectProviders; with no beans registered they stay inert
+                .applySetting(AvailableSettings.BEAN_CONTAINER, new SpringBeanContainer(new DefaultListableBeanFactory()));
+        settings.forEach(builder::applySetting);
+        StandardServiceRegistry registry = builder.build();
+
+        MetadataSources sources = new MetadataSources(registry);
+        entityClasses().forEach(sources::addAnnotatedClass);
+        mappingResources.forEach(sources::addResource);
+        this.sessionFactory = sources.buildMetadata().buildSessionFactory();
+
+        try (Connection c = h2.getConnection(); Statement s = c.createStatement()) {
+            // tests reference parent rows by id only
+            s.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        }
+    }
+
+    private static Set<Class<?>> entityClasses() {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+        return scanner.findCandidateComponents("com.agrowmart").stream()
+                .map(BeanDefinition::getBeanClassName)
+                .map(HibernateTestSupport::load)
+                .collect(Collectors.toSet());
+    }
+
+    private static Class<?> load(String name) {
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** DataSource whose statements count every execute* call. */
+    private static DataSource counting(JdbcDataSource target, AtomicLong counter) {
+        return (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(), new Class<?>[] { DataSource.class },
+                (proxy, method, args) -> {
+                    Object result = invoke(target, method, args);
+                    return result instanceof Connection c ? wrap(Connection.class, c, counter) : result;
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T wrap(Class<T> type, T target, AtomicLong counter) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getName().startsWith("execute")) {
+                counter.incrementAndGet();
+            }
+            Object result = invoke(target, method, args);
+            if (result instanceof CallableStatement cs) {
+                return wrap(CallableStatement.class, cs, counter);
+            }
+            if (result instanceof PreparedStatement ps) {
+                return wrap(PreparedStatement.class, ps, counter);
+            }
+            if (result instanceof Statement st) {
+                return wrap(Statement.class, st, counter);
+            }
+            return result;
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.agrowmart.entity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.Test;
+
+import com.agrowmart.entity.customer.Customer;
+import com.agrowmart.entity.customer.CustomerAddress;
+import com.agrowmart.entity.order.Order;
+import com.agrowmart.entity.order.OrderItem;
+import com.agrowmart.entity.order.OrderStatusHistory;
+
+/**
+ * JDBC round-trips needed to write an order with 30 line items, its status
+ * history row and the vendor notification, with IDENTITY ids (as before,
+ * via benchmark/identity-ids-orm.xml) and with the pooled table generators.
+ *
+ * Statements are counted at the JDBC API: each execute / executeBatch is one
+ * round-trip (with rewriteBatchedStatements MySQL sends a batch as one
+ * multi-row INSERT). H2 stands in for MySQL; only the counts matter here.
+ */
+class IdGenerationRoundTripBenchmarkTest {
+
+    private static final int ORDERS = 200;
+    private static final int ITEMS_PER_ORDER = 30;
+
+    @Test
+    void pooledIdsBatchOrderInserts() throws Exception {
+        double identity = roundTripsPerOrder(true);
+        double pooled = roundTripsPerOrder(false);
+
+        // IDENTITY: one INSERT per row
+        assertTrue(identity >= ITEMS_PER_ORDER + 3, "identity " + identity);
+        // pooled: a batch per table plus the amortised id allocations
+        assertTrue(pooled <= 6, "pooled " + pooled);
+    }
+
+    private double roundTripsPerOrder(boolean identityIds) throws Exception {
+        HibernateTestSupport db = new HibernateTestSupport("roundtrips-" + identityIds,
+                Map.of(AvailableSettings.STATEMENT_BATCH_SIZE, 50,
+                       AvailableSettings.ORDER_INSERTS, true,
+                       AvailableSettings.ORDER_UPDATES, true,
+                       // the counts here are about writes; cached entities would only add region warnings
+                       AvailableSettings.USE_SECOND_LEVEL_CACHE, false),
+                identityIds ? List.of("benchmark/identity-ids-orm.xml") : List.of());
+
+        try (SessionFactory sessionFactory = db.sessionFactory) {
+            insertOrder(sessionFactory, 0); // warm-up: first id allocation, statement caches
+            db.statements.set(0);
+            for (int i = 1; i <= ORDERS; i++) {
+                insertOrder(sessionFactory, i);
+            }
+            long total = db.statements.get();
+
+            long items = sessionFactory.fromTransaction(session ->
+                    session.createQuery("select count(i) from OrderItem i", Long.class).getSingleResult());
+            assertEquals((ORDERS + 1) * ITEMS_PER_ORDER, items);
+            return (double) total / ORDERS;
+        }
+    }
+
+    private void insertOrder(SessionFactory sessionFactory, int n) {
+        sessionFactory.inTransaction(session -> {
+            User merchant = session.getReference(User.class, 1L);
+
+            Order order = new Order();
+            order.setCustomer(session.getReference(Customer.class, 1L));
+            order.setMerchant(merchant);
+            order.setDeliveryAddress(session.getReference(CustomerAddress.class, 1L));
+            order.setTotalPrice(BigDecimal.valueOf(100L * ITEMS_PER_ORDER));
+            order.setPaymentMode("COD");
+            for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+                OrderItem item = new OrderItem();
+                item.setOrder(order);
+                item.setProduct(session.getReference(Product.class, (long) i + 1));
+                item.setQuantity(1);
+                item.setPricePerUnit(BigDecimal.valueOf(100));
+                item.setTotalPrice(BigDecimal.valueOf(100));
+                order.getItems().add(item);
+            }
+            session.persist(order);
+
+            OrderStatusHistory history = new OrderStatusHistory();
+            history.setOrder(order);
+            history.setStatus(order.getStatus().name());
+            session.persist(history);
+
+            Notification notification = new Notification();
+            notification.setUser(merchant);
+            notification.setToken("fcm-token");
+            notification.setTitle("New order");
+            notification.setBody("Order #" + n);
+            session.persist(notification);
+        });
+    }
+}
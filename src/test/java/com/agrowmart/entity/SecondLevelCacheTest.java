@@ -0,0 +1,153 @@
+package com.agrowmart.entity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.HibernateHints;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.agrowmart.config.cache.ClusterCacheInvalidator;
+import com.agrowmart.config.cache.SecondLevelCacheMetrics;
+import com.agrowmart.service.websocket.ClusterMessageBus;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Second-level cache wiring with the production settings and region file
+ * (hibernate-l2cache.conf): roles, categories and shops are served from the
+ * cache, cacheable lookups from the query cache, and a remote invalidation
+ * evicts the local copies.
+ */
+class SecondLevelCacheTest {
+
+    private static HibernateTestSupport db;
+    private static SessionFactory sessionFactory;
+    private static Short sellerRoleId;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        db = new HibernateTestSupport("l2cache", Map.of(
+                "jakarta.persistence.sharedCache.mode", "ENABLE_SELECTIVE",
+                AvailableSettings.USE_SECOND_LEVEL_CACHE, true,
+                AvailableSettings.USE_QUERY_CACHE, true,
+                AvailableSettings.CACHE_REGION_FACTORY, "jcache",
+                "hibernate.javax.cache.provider", "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+                "hibernate.javax.cache.uri", "hibernate-l2cache.conf",
+                "hibernate.javax.cache.missing_cache_strategy", "fail",
+                AvailableSettings.GENERATE_STATISTICS, true), List.of());
+        sessionFactory = db.sessionFactory;
+
+        sellerRoleId = sessionFactory.fromTransaction(session -> {
+            Role role = new Role("SELLER");
+            session.persist(role);
+            Category parent = new Category();
+            parent.setName("Vegetables");
+            parent.setSlug("vegetables");
+            session.persist(parent);
+            Category child = new Category();
+            child.setName("Leafy");
+            child.setSlug("leafy");
+            child.setParent(parent);
+            session.persist(child);
+            return role.getId();
+        });
+    }
+
+    @AfterAll
+    static void tearDown() {
+        sessionFactory.close();
+    }
+
+    @BeforeEach
+    void clearCaches() {
+        sessionFactory.getCache().evictAllRegions();
+        sessionFactory.getStatistics().clear();
+    }
+
+    @Test
+    void entitiesAreServedFromTheCacheAfterTheFirstLoad() {
+        sessionFactory.inSession(session -> session.find(Role.class, sellerRoleId));
+        long before = db.statements.get();
+
+        Role role = sessionFactory.fromSession(session -> session.find(Role.class, sellerRoleId));
+
+        assertEquals("SELLER", role.getName());
+        assertEquals(before, db.statements.get(), "second load must not hit the database");
+        assertEquals(1, sessionFactory.getStatistics().getDomainDataRegionStatistics("roles").getHitCount());
+    }
+
+    @Test
+    void cacheableLookupsUseTheQueryCache() {
+        Consumer<org.hibernate.Session> bySlug = session -> session
+                .createQuery("from Category c where c.slug = :slug", Category.class)
+                .setParameter("slug", "leafy")
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .getSingleResult()
+                .getParent().getName(); // parent walk resolves from the entity cache too
+
+        sessionFactory.inSession(bySlug);
+        long before = db.statements.get();
+        sessionFactory.inSession(bySlug);
+
+        assertEquals(before, db.statements.get());
+        assertEquals(1, sessionFactory.getStatistics().getQueryCacheHitCount());
+    }
+
+    @Test
+    void hitRatioIsExposedPerRegion() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new SecondLevelCacheMetrics(sessionFactory).bindTo(registry);
+
+        sessionFactory.inSession(session -> session.find(Role.class, sellerRoleId)); // miss + put
+        for (int i = 0; i < 3; i++) {
+            sessionFactory.inSession(session -> session.find(Role.class, sellerRoleId)); // hits
+        }
+
+        assertEquals(0.75, registry.get("hibernate.l2cache.hit.ratio").tag("region", "roles").gauge().value(), 1e-9);
+        assertEquals(3.0, registry.get("hibernate.l2cache.hits").tag("region", "roles").functionCounter().count(), 1e-9);
+        assertTrue(registry.find("hibernate.l2cache.hit.ratio").tag("region", "shops").gauge() != null);
+    }
+
+    @Test
+    void invalidationFromAnotherNodeEvictsTheLocalCopy() {
+        InMemoryBus bus = new InMemoryBus();
+        new ClusterCacheInvalidator(sessionFactory, bus, "node-a");
+        sessionFactory.inSession(session -> session.find(Role.class, sellerRoleId));
+        assertTrue(sessionFactory.getCache().containsEntity(Role.class, sellerRoleId));
+
+        bus.deliver("node-a|" + Role.class.getName()); // own message: ignored
+        assertTrue(sessionFactory.getCache().containsEntity(Role.class, sellerRoleId));
+
+        bus.deliver("node-b|" + Role.class.getName());
+        assertFalse(sessionFactory.getCache().containsEntity(Role.class, sellerRoleId));
+    }
+
+    private static class InMemoryBus implements ClusterMessageBus {
+        private final List<Consumer<String>> listeners = new ArrayList<>();
+
+        @Override
+        public void publish(String channel, String message) {
+            deliver(message);
+        }
+
+        @Override
+        public void subscribe(String channel, Consumer<String> listener) {
+            listeners.add(listener);
+        }
+
+        void deliver(String message) {
+            listeners.forEach(l -> l.accept(message));
+        }
+    }
+}
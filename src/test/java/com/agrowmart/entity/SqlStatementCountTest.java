@@ -0,0 +1,94 @@
+package com.agrowmart.entity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.agrowmart.config.sql.JdbcTimingSessionListener;
+import com.agrowmart.config.sql.SqlStatementBudget;
+import com.agrowmart.config.sql.SqlStatementStats;
+import com.agrowmart.config.sql.StatementCountingInspector;
+
+/**
+ * The statement inspector and session listener with the production settings:
+ * a lazy collection walked per row shows up as 1 + N statements and trips the
+ * budget, the join-fetched version does not.
+ */
+class SqlStatementCountTest {
+
+    private static final int PARENTS = 5;
+
+    private static HibernateTestSupport db;
+    private static SessionFactory sessionFactory;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        db = new HibernateTestSupport("sqlstats", Map.of(
+                AvailableSettings.STATEMENT_INSPECTOR, StatementCountingInspector.class.getName(),
+                AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, JdbcTimingSessionListener.class.getName(),
+                // categories are L2-cacheable; the counts here are about the database
+                AvailableSettings.USE_SECOND_LEVEL_CACHE, false), List.of());
+        sessionFactory = db.sessionFactory;
+
+        sessionFactory.inTransaction(session -> {
+            for (int p = 0; p < PARENTS; p++) {
+                Category parent = new Category();
+                parent.setName("Parent " + p);
+                parent.setSlug("parent-" + p);
+                session.persist(parent);
+                for (int c = 0; c < 2; c++) {
+                    Category child = new Category();
+                    child.setName("Child " + p + "." + c);
+                    child.setSlug("child-" + p + "-" + c);
+                    child.setParent(parent);
+                    session.persist(child);
+                }
+            }
+        });
+    }
+
+    @AfterAll
+    static void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void lazyCollectionPerRowIsCountedAsNPlusOne() {
+        try (SqlStatementStats stats = SqlStatementStats.start()) {
+            long jdbcBefore = db.statements.get();
+
+            int children = childrenOf("from Category c where c.parent is null");
+
+            assertEquals(PARENTS * 2, children);
+            assertEquals(1 + PARENTS, stats.statements());
+            assertEquals(db.statements.get() - jdbcBefore, stats.statements(), "inspector and JDBC agree");
+            assertTrue(stats.executionNanos() > 0);
+        }
+    }
+
+    @Test
+    void budgetCatchesTheNPlusOneButNotTheJoinFetch() throws Exception {
+        assertThrows(AssertionError.class, () ->
+                SqlStatementBudget.atMost(2, () -> childrenOf("from Category c where c.parent is null")));
+
+        int children = SqlStatementBudget.atMost(1, () -> childrenOf(
+                "select distinct c from Category c left join fetch c.children where c.parent is null"));
+        assertEquals(PARENTS * 2, children);
+    }
+
+    private static int childrenOf(String hql) {
+        return sessionFactory.fromSession(session -> session.createQuery(hql, Category.class).getResultList()
+                .stream()
+                .mapToInt(parent -> parent.getChildren().size())
+                .sum());
+    }
+}
@@ -0,0 +1,62 @@
+package com.agrowmart.repository;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.agrowmart.entity.Role;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * The native bulk updates declare the table they touch, so running one leaves
+ * unrelated second-level cache regions (roles here) in place.
+ */
+@H2RepositoryTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class NativeUpdateQuerySpaceTest {
+
+    private static final short ROLE_ID = 901;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        jdbc.update("DELETE FROM roles WHERE id = ?", ROLE_ID);
+        emf.getCache().evictAll();
+    }
+
+    @Test
+    void tokenSweepKeepsCachedRoles() {
+        jdbc.update("INSERT INTO roles (id, name) VALUES (?, 'SWEEP_TEST')", ROLE_ID);
+        new TransactionTemplate(transactionManager).executeWithoutResult(tx -> roleRepository.findById(ROLE_ID));
+        assertTrue(emf.getCache().contains(Role.class, ROLE_ID));
+
+        orderRepository.clearExpiredPickupTokens(LocalDateTime.now(), 10);
+        orderRepository.clearExpiredDeliveryTokens(LocalDateTime.now(), 10);
+
+        assertTrue(emf.getCache().contains(Role.class, ROLE_ID));
+    }
+}
@@ -0,0 +1,74 @@
+package com.agrowmart.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@H2RepositoryTest
+class OrderRepositorySettlementClaimTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 1, 2, 0);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        jdbc.execute("SET REFERENTIAL_INTEGRITY FALSE"); // orders point at customers/users by id only
+        jdbc.update("""
+                INSERT INTO orders (id, customer_id, merchant_id, delivery_address_id, subtotal, discount_amount,
+                    delivery_charge, total_price, status, payment_mode, payment_status, settlement_status,
+                    created_at, updated_at, delivery_mode, is_scheduled)
+                VALUES ('ORD-1', 1, 2, 3, 100, 0, 0, 100, 'DELIVERED', 'COD', 'SUCCESS', 'PENDING', ?, ?,
+                    'DELIVERY_PARTNER', FALSE)
+                """, NOW.minusDays(8), NOW.minusDays(8));
+    }
+
+    @Test
+    void onlyOneRunCanClaimAnOrder() {
+        assertEquals(1, orderRepository.claimForSettlement("ORD-1", NOW));
+        assertEquals(0, orderRepository.claimForSettlement("ORD-1", NOW));
+        assertEquals("PROCESSING", settlementStatus());
+    }
+
+    @Test
+    void releasedClaimCanBeTakenAgain() {
+        orderRepository.claimForSettlement("ORD-1", NOW);
+
+        assertEquals(1, orderRepository.releaseSettlementClaim("ORD-1", NOW));
+        assertEquals("PENDING", settlementStatus());
+        assertEquals(1, orderRepository.claimForSettlement("ORD-1", NOW));
+    }
+
+    @Test
+    void staleClaimWithoutASettlementIsFound() {
+        orderRepository.claimForSettlement("ORD-1", NOW.minusHours(7));
+
+        assertEquals(List.of("ORD-1"), orderRepository.findStaleSettlementClaims(NOW.minusHours(6)));
+        assertEquals(List.of(), orderRepository.findStaleSettlementClaims(NOW.minusHours(8)));
+    }
+
+    @Test
+    void recordedClaimIsNotStale() {
+        orderRepository.claimForSettlement("ORD-1", NOW.minusHours(7));
+        jdbc.update("""
+                INSERT INTO settlements (order_id, vendor_id, payout_amount, status, razorpay_payout_id, created_at)
+                VALUES ('ORD-1', 2, 90, 'PROCESSING', 'pout_1', ?)
+                """, NOW.minusHours(7));
+
+        assertEquals(List.of(), orderRepository.findStaleSettlementClaims(NOW.minusHours(6)));
+    }
+
+    private String settlementStatus() {
+        return jdbc.queryForObject("SELECT settlement_status FROM orders WHERE id = 'ORD-1'", String.class);
+    }
+}
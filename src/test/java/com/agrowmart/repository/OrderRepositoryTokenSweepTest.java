@@ -0,0 +1,105 @@
+package com.agrowmart.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@H2RepositoryTest
+class OrderRepositoryTokenSweepTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 1, 12, 0);
+    private static final LocalDateTime CUTOFF = NOW.minusHours(2);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        jdbc.execute("SET REFERENTIAL_INTEGRITY FALSE"); // orders point at customers/users by id only
+    }
+
+    @Test
+    void selectsOnlyOrdersStuckPastTheCutoff() {
+        insert("ORD-STUCK", "READY_FOR_PICKUP", CUTOFF.minusMinutes(1), null);
+        insert("ORD-RECENT", "READY_FOR_PICKUP", CUTOFF.plusMinutes(1), null);
+        insert("ORD-PICKED", "PICKED_UP", CUTOFF.minusMinutes(1), null);
+        insert("ORD-OUT", "OUT_FOR_DELIVERY", null, CUTOFF.minusMinutes(5));
+
+        assertEquals(List.of("ORD-STUCK"), orderRepository.findStuckPickupIds(CUTOFF, 10));
+        assertEquals(List.of("ORD-OUT"), orderRepository.findStuckDeliveryIds(CUTOFF, 10));
+        assertEquals(1, orderRepository.findStuckPickupIds(CUTOFF.plusHours(1), 1).size());
+    }
+
+    @Test
+    void flaggingIsACompareAndSetOnStatusAndExpiry() {
+        insert("ORD-STUCK", "READY_FOR_PICKUP", CUTOFF.minusMinutes(1), null);
+        insert("ORD-SCANNED", "PICKED_UP", CUTOFF.minusMinutes(1), null);
+
+        assertEquals(1, orderRepository.flagStuckPickup("ORD-STUCK", CUTOFF, NOW));
+        assertEquals(0, orderRepository.flagStuckPickup("ORD-STUCK", CUTOFF, NOW));
+        assertEquals(0, orderRepository.flagStuckPickup("ORD-SCANNED", CUTOFF, NOW));
+
+        Map<String, Object> row = row("ORD-STUCK");
+        assertEquals("NEEDS_REVIEW", row.get("status"));
+        assertNull(row.get("vendor_pickup_token"));
+        assertNull(row.get("vendor_pickup_token_expiry"));
+        assertEquals("PICKED_UP", row("ORD-SCANNED").get("status"));
+    }
+
+    @Test
+    void stuckDeliveryIsFlaggedAndLosesItsToken() {
+        insert("ORD-OUT", "OUT_FOR_DELIVERY", null, CUTOFF.minusMinutes(1));
+
+        assertEquals(1, orderRepository.flagStuckDelivery("ORD-OUT", CUTOFF, NOW));
+
+        Map<String, Object> row = row("ORD-OUT");
+        assertEquals("NEEDS_REVIEW", row.get("status"));
+        assertNull(row.get("user_delivery_token"));
+    }
+
+    @Test
+    void expiredTokensAreClearedInBoundedBatchesExceptOnWaitingOrders() {
+        insert("ORD-1", "DELIVERED", NOW.minusMinutes(1), NOW.minusMinutes(1));
+        insert("ORD-2", "DELIVERED", NOW.minusMinutes(2), NOW.minusMinutes(2));
+        insert("ORD-3", "CANCELLED", NOW.minusMinutes(3), null);
+        insert("ORD-WAITING", "READY_FOR_PICKUP", NOW.minusMinutes(1), null);
+        insert("ORD-LIVE", "PICKED_UP", NOW.plusMinutes(10), null);
+
+        assertEquals(2, orderRepository.clearExpiredPickupTokens(NOW, 2));
+        assertEquals(1, orderRepository.clearExpiredPickupTokens(NOW, 2));
+        assertEquals(0, orderRepository.clearExpiredPickupTokens(NOW, 2));
+        assertEquals(2, orderRepository.clearExpiredDeliveryTokens(NOW, 10));
+
+        assertEquals("pickup-ORD-WAITING", row("ORD-WAITING").get("vendor_pickup_token"));
+        assertEquals("pickup-ORD-LIVE", row("ORD-LIVE").get("vendor_pickup_token"));
+    }
+
+    private void insert(String id, String status, LocalDateTime pickupExpiry, LocalDateTime deliveryExpiry) {
+        jdbc.update("""
+                INSERT INTO orders (id, customer_id, merchant_id, delivery_address_id, subtotal, discount_amount,
+                    delivery_charge, total_price, status, payment_mode, payment_status, settlement_status,
+                    created_at, updated_at, delivery_mode, is_scheduled, vendor_pickup_token,
+                    vendor_pickup_token_expiry, user_delivery_token, user_delivery_token_expiry)
+                VALUES (?, 1, 2, 3, 100, 0, 0, 100, ?, 'COD', 'PENDING', 'PENDING', ?, ?, 'DELIVERY_PARTNER', FALSE,
+                    ?, ?, ?, ?)
+                """,
+                id, status, NOW.minusDays(1), NOW.minusDays(1),
+                pickupExpiry != null ? "pickup-" + id : null, pickupExpiry,
+                deliveryExpiry != null ? "delivery-" + id : null, deliveryExpiry);
+    }
+
+    private Map<String, Object> row(String id) {
+        return jdbc.queryForMap("SELECT * FROM orders WHERE id = ?", id);
+    }
+}
@@ -0,0 +1,92 @@
+package com.agrowmart.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/** The two set-based statements of the nightly subscription expiry. */
+@H2RepositoryTest
+class SubscriptionExpiryRepositoryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 1, 0, 5);
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private AgriProductRepository agriProductRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        jdbc.execute("SET REFERENTIAL_INTEGRITY FALSE"); // rows point at users by id only
+    }
+
+    @Test
+    void expiredVendorsProductsAreHidden() {
+        subscription(1, 10, NOW.minusDays(1), true);
+        product(100, 10, true);
+        product(101, 10, true);
+        product(200, 20, true); // other vendor, no subscription involved
+
+        assertEquals(2, agriProductRepository.hideProductsOfExpiredSubscriptions(List.of(1L), NOW));
+
+        assertEquals(false, visible(100));
+        assertEquals(false, visible(101));
+        assertEquals(true, visible(200));
+    }
+
+    @Test
+    void vendorWithAnotherLiveSubscriptionKeepsProductsVisible() {
+        subscription(1, 10, NOW.minusDays(1), true);
+        subscription(2, 10, NOW.plusDays(29), true); // renewed
+        product(100, 10, true);
+
+        assertEquals(0, agriProductRepository.hideProductsOfExpiredSubscriptions(List.of(1L), NOW));
+        assertEquals(true, visible(100));
+    }
+
+    @Test
+    void expiredIdsComeInChunksAndAreDeactivatedOnce() {
+        subscription(1, 10, NOW.minusDays(3), true);
+        subscription(2, 20, NOW.minusDays(2), true);
+        subscription(3, 30, NOW.minusDays(1), true);
+        subscription(4, 40, NOW.plusDays(1), true);  // still live
+        subscription(5, 50, NOW.minusDays(9), false); // already inactive
+
+        List<Long> first = subscriptionRepository.findExpiredActiveIds(NOW, PageRequest.of(0, 2));
+        assertEquals(List.of(1L, 2L), first);
+        assertEquals(2, subscriptionRepository.deactivateByIds(first));
+        assertEquals(0, subscriptionRepository.deactivateByIds(first));
+
+        assertEquals(List.of(3L), subscriptionRepository.findExpiredActiveIds(NOW, PageRequest.of(0, 2)));
+    }
+
+    private void subscription(long id, long userId, LocalDateTime expiry, boolean active) {
+        jdbc.update("""
+                INSERT INTO subscriptions (id, user_id, plan, start_date, expiry_date, active, created_at)
+                VALUES (?, ?, 'STARTER', ?, ?, ?, ?)
+                """, id, userId, expiry.minusDays(30), expiry, active, expiry.minusDays(30));
+    }
+
+    private void product(long id, long vendorId, boolean visible) {
+        jdbc.update("""
+                INSERT INTO agri_products (id, agricategory, agriproduct_name, agriprice, agriunit, agriquantity,
+                    agrivendor_id, visible_to_customers, approval_status, is_deleted)
+                VALUES (?, 'SEEDS', ?, 10, 'kg', 1, ?, ?, 'APPROVED', FALSE)
+                """, id, "Product " + id, vendorId, visible);
+    }
+
+    private Boolean visible(long id) {
+        return jdbc.queryForObject("SELECT visible_to_customers FROM agri_products WHERE id = ?", Boolean.class, id);
+    }
+}
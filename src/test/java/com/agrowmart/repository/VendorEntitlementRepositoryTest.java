@@ -0,0 +1,69 @@
+package com.agrowmart.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@H2RepositoryTest
+class VendorEntitlementRepositoryTest {
+
+    @Autowired
+    private VendorEntitlementRepository entitlements;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        jdbc.execute("SET REFERENTIAL_INTEGRITY FALSE"); // products point at users by id only
+    }
+
+    @Test
+    void slotsAreTakenOnlyBelowTheLimit() {
+        jdbc.update("INSERT INTO vendor_entitlements (vendor_id, product_count) VALUES (7, 3)");
+
+        assertEquals(1, entitlements.incrementProductCount(7L, 5));
+        assertEquals(1, entitlements.incrementProductCount(7L, 5));
+        assertEquals(0, entitlements.incrementProductCount(7L, 5));
+        assertEquals(5, count(7L));
+
+        assertEquals(1, entitlements.decrementProductCount(7L));
+        assertEquals(4, count(7L));
+    }
+
+    @Test
+    void counterNeverGoesBelowZero() {
+        jdbc.update("INSERT INTO vendor_entitlements (vendor_id, product_count) VALUES (8, 0)");
+
+        assertEquals(0, entitlements.decrementProductCount(8L));
+        assertEquals(0, count(8L));
+    }
+
+    @Test
+    void missingRowIsSeededFromTheVendorsProductsOnce() {
+        product(1L, 9L);
+        product(2L, 9L);
+        product(3L, 10L);
+
+        assertEquals(0, entitlements.incrementProductCount(9L, 5));
+        assertEquals(1, entitlements.insertIfAbsent(9L));
+        assertEquals(0, entitlements.insertIfAbsent(9L));
+        assertEquals(2, count(9L));
+    }
+
+    private int count(Long vendorId) {
+        return jdbc.queryForObject("SELECT product_count FROM vendor_entitlements WHERE vendor_id = ?",
+                Integer.class, vendorId);
+    }
+
+    private void product(Long id, Long vendorId) {
+        jdbc.update("""
+                INSERT INTO agri_products (id, agricategory, agriproduct_name, agriprice, agriunit, agriquantity,
+                    agrivendor_id, visible_to_customers, approval_status, is_deleted)
+                VALUES (?, 'SEEDS', 'Seed', 10, 'kg', 1, ?, TRUE, 'APPROVED', FALSE)
+                """, id, vendorId);
+    }
+}
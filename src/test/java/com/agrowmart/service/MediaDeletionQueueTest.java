@@ -0,0 +1,94 @@
+package com.agrowmart.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MediaDeletionQueueTest {
+
+    private final CloudinaryService cloudinary = mock(CloudinaryService.class);
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final MediaDeletionQueue queue = new MediaDeletionQueue(cloudinary, meters, 4, 16, 3, 10);
+
+    @AfterEach
+    void tearDown() {
+        queue.shutdown();
+    }
+
+    @Test
+    void deletesRunInParallelButNeverAboveTheBound() throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        CountDownLatch overlap = new CountDownLatch(2);
+        CountDownLatch done = new CountDownLatch(100);
+        doAnswer(inv -> {
+            int now = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(now, Math::max);
+            // slow CDN: the first deletes hold on until a second one is running
+            overlap.countDown();
+            overlap.await(10, TimeUnit.SECONDS);
+            inFlight.decrementAndGet();
+            done.countDown();
+            return null;
+        }).when(cloudinary).deleteByUrl(anyString());
+
+        for (int i = 0; i < 100; i++) {
+            queue.enqueue("https://res.cloudinary.com/demo/image/upload/v1/img" + i + ".jpg", "photo");
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS), "all deletes ran");
+        queue.shutdown(); // waits for the workers, so the counters are final
+
+        assertTrue(maxInFlight.get() <= 4 + 1, "pool of 4 plus the caller when the queue is full, saw " + maxInFlight.get());
+        assertTrue(maxInFlight.get() > 1, "deletes should overlap");
+        assertEquals(100.0, counter("deleted"));
+        assertEquals(0, queue.pendingCount());
+    }
+
+    @Test
+    void failedDeletesAreRetriedThenAbandoned() throws Exception {
+        Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+        doAnswer(inv -> {
+            String url = inv.getArgument(0);
+            int call = calls.computeIfAbsent(url, k -> new AtomicInteger()).incrementAndGet();
+            if (url.contains("flaky") && call < 2 || url.contains("broken")) {
+                throw new RuntimeException("503 from CDN");
+            }
+            return null;
+        }).when(cloudinary).deleteByUrl(anyString());
+
+        queue.enqueue("https://res.cloudinary.com/demo/flaky.jpg", "shop photo");
+        queue.enqueue("https://res.cloudinary.com/demo/broken.jpg", "PAN");
+        awaitIdle();
+
+        assertEquals(2, calls.get("https://res.cloudinary.com/demo/flaky.jpg").get());
+        assertEquals(3, calls.get("https://res.cloudinary.com/demo/broken.jpg").get());
+        assertEquals(1.0, counter("deleted"));
+        assertEquals(1.0, counter("abandoned"));
+        assertEquals(3.0, counter("retried"));
+    }
+
+    private double counter(String outcome) {
+        return meters.get("media.delete").tag("outcome", outcome).counter().count();
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (queue.pendingCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, queue.pendingCount());
+    }
+}
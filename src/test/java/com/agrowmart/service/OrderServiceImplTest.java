@@ -0,0 +1,182 @@
+package com.agrowmart.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.agrowmart.dto.auth.order.OrderStatusUpdateDTO;
+import com.agrowmart.entity.User;
+import com.agrowmart.entity.customer.Customer;
+import com.agrowmart.entity.customer.CustomerAddress;
+import com.agrowmart.entity.order.Order;
+import com.agrowmart.entity.order.OrderStatusHistory;
+import com.agrowmart.enums.DeliveryMode;
+import com.agrowmart.repository.OrderRepository;
+import com.agrowmart.repository.OrderStatusHistoryRepository;
+import com.agrowmart.service.dispatch.PickupDispatcher;
+
+class OrderServiceImplTest {
+
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2025, 3, 1, 10, 0);
+
+    private final OrderRepository orders = mock(OrderRepository.class);
+    private final OrderStatusHistoryRepository history = mock(OrderStatusHistoryRepository.class);
+    private final NotificationService notifications = mock(NotificationService.class);
+    private final OrderWebSocketService webSocket = mock(OrderWebSocketService.class);
+    private final PickupDispatcher dispatcher = mock(PickupDispatcher.class);
+    private final ShopGeoIndex shops = mock(ShopGeoIndex.class);
+    private final OrderServiceImpl service = new OrderServiceImpl(orders, null, history, null, null, null, null,
+            null, null, null, null, notifications, webSocket, null, null, null, dispatcher, shops, null);
+
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = new Customer();
+        customer.setId(7L);
+        User vendor = new User();
+        vendor.setId(70L);
+        order = new Order();
+        order.setId("ORD-1");
+        order.setCustomer(customer);
+        order.setMerchant(vendor);
+        order.setStatus(Order.OrderStatus.NEEDS_REVIEW);
+        when(orders.findById("ORD-1")).thenReturn(Optional.of(order));
+    }
+
+    @Test
+    void flaggedOrderGetsHistoryAndNotifications() {
+        when(orders.flagStuckPickup(eq("ORD-1"), eq(CUTOFF), any())).thenReturn(1);
+
+        assertTrue(service.flagStuckOrder("ORD-1", Order.OrderStatus.READY_FOR_PICKUP, CUTOFF));
+
+        ArgumentCaptor<OrderStatusHistory> row = ArgumentCaptor.forClass(OrderStatusHistory.class);
+        verify(history).save(row.capture());
+        assertEquals("NEEDS_REVIEW", row.getValue().getStatus());
+        verify(notifications).sendNotification(eq(70L), eq("Order Needs Review"), anyString(), any());
+        verify(notifications).sendNotification(eq(7L), eq("Order Delayed"), anyString(), any());
+        ArgumentCaptor<OrderStatusUpdateDTO> update = ArgumentCaptor.forClass(OrderStatusUpdateDTO.class);
+        verify(webSocket).sendToUser(eq(70L), update.capture());
+        assertEquals("NEEDS_REVIEW", update.getValue().type());
+    }
+
+    @Test
+    void orderUpdatesKeepCustomersAndUsersApart() {
+        when(orders.releaseIfScheduled(eq("ORD-1"), any())).thenReturn(1);
+        User partner = new User();
+        partner.setId(7L); // same number as the customer, different account
+        order.setDeliveryPartner(partner);
+
+        service.releaseScheduledOrder("ORD-1");
+
+        verify(webSocket).sendToCustomer(eq(7L), any());
+        verify(webSocket).sendToUser(eq(70L), any());
+        verify(webSocket).sendToUser(eq(7L), any());
+    }
+
+    @Test
+    void flaggedOrderFreesItsPartner() {
+        order.setDeliveryPartner(partner(90L));
+        when(orders.flagStuckDelivery(eq("ORD-1"), eq(CUTOFF), any())).thenReturn(1);
+
+        service.flagStuckOrder("ORD-1", Order.OrderStatus.OUT_FOR_DELIVERY, CUTOFF);
+
+        verify(dispatcher).cancel("ORD-1");
+        verify(dispatcher).partnerFreed(90L);
+    }
+
+    @Test
+    void customerCancellationFreesThePartner() {
+        order.setStatus(Order.OrderStatus.READY_FOR_PICKUP);
+        order.setDeliveryPartner(partner(90L));
+
+        service.cancelOrderByCustomer("ORD-1", order.getCustomer(), "changed my mind");
+
+        verify(dispatcher).cancel("ORD-1");
+        verify(dispatcher).partnerFreed(90L);
+    }
+
+    @Test
+    void rejectionWithoutPartnerOnlyWithdrawsOffers() {
+        order.setStatus(Order.OrderStatus.PENDING);
+
+        service.rejectOrder("ORD-1", order.getMerchant());
+
+        verify(dispatcher).cancel("ORD-1");
+        verify(dispatcher, never()).partnerFreed(anyLong());
+    }
+
+    @Test
+    void orderScannedSinceTheSweepSelectedItIsLeftAlone() {
+        when(orders.flagStuckDelivery(eq("ORD-1"), eq(CUTOFF), any())).thenReturn(0);
+
+        assertFalse(service.flagStuckOrder("ORD-1", Order.OrderStatus.OUT_FOR_DELIVERY, CUTOFF));
+
+        verifyNoInteractions(history, webSocket);
+        verify(notifications, never()).sendNotification(anyLong(), anyString(), anyString(), any());
+    }
+
+    @Test
+    void readyOrderIsDispatchedFromTheShopLocation() {
+        readyForPartner();
+        when(shops.vendorLocation(70L)).thenReturn(new double[] {18.52, 73.85});
+
+        service.markOrderReady("ORD-1", order.getMerchant());
+
+        verify(dispatcher).dispatch(eq("ORD-1"), eq(18.52), eq(73.85), any());
+    }
+
+    @Test
+    void shopWithBrokenCoordinatesFallsBackToTheDeliveryAddress() {
+        readyForPartner();
+        when(shops.vendorLocation(70L)).thenReturn(new double[] {118.52, 273.85});
+        CustomerAddress address = new CustomerAddress();
+        address.setLatitude(18.60);
+        address.setLongitude(73.90);
+        order.setDeliveryAddress(address);
+
+        service.markOrderReady("ORD-1", order.getMerchant());
+
+        assertEquals(Order.OrderStatus.READY_FOR_PICKUP, order.getStatus());
+        verify(dispatcher).dispatch(eq("ORD-1"), eq(18.60), eq(73.90), any());
+    }
+
+    @Test
+    void withNoUsableCoordinatesTheOrderStillGoesReady() {
+        readyForPartner();
+        when(shops.vendorLocation(70L)).thenReturn(new double[] {Double.NaN, Double.NaN});
+
+        service.markOrderReady("ORD-1", order.getMerchant());
+
+        assertEquals(Order.OrderStatus.READY_FOR_PICKUP, order.getStatus());
+        verify(dispatcher).dispatch(eq("ORD-1"), isNull(), isNull(), any());
+    }
+
+    private static User partner(long id) {
+        User partner = new User();
+        partner.setId(id);
+        return partner;
+    }
+
+    private void readyForPartner() {
+        order.setStatus(Order.OrderStatus.ACCEPTED);
+        order.setDeliveryMode(DeliveryMode.DELIVERY_PARTNER);
+    }
+}
@@ -0,0 +1,98 @@
+package com.agrowmart.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.agrowmart.entity.order.Order;
+import com.agrowmart.repository.OrderRepository;
+import com.agrowmart.service.scheduling.JobExecution;
+import com.agrowmart.service.scheduling.ScheduledJobRunner;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OrderTokenSweeperTest {
+
+    private final OrderRepository orders = mock(OrderRepository.class);
+    private final OrderService orderService = mock(OrderService.class);
+    private final ScheduledJobRunner jobRunner = mock(ScheduledJobRunner.class);
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final OrderTokenSweeper sweeper = new OrderTokenSweeper(orders, orderService, jobRunner, meters, 2, 3, 120);
+
+    @BeforeEach
+    void setUp() {
+        when(jobRunner.run(eq("order-token-sweep"), any(ScheduledJobRunner.Job.class))).thenAnswer(inv -> {
+            inv.getArgument(1, ScheduledJobRunner.Job.class).execute(mock(JobExecution.class));
+            return true;
+        });
+        when(orders.findStuckPickupIds(any(), anyInt())).thenReturn(List.of());
+        when(orders.findStuckDeliveryIds(any(), anyInt())).thenReturn(List.of());
+    }
+
+    @Test
+    void stuckOrdersGoThroughTheServiceBatchByBatch() {
+        when(orders.findStuckPickupIds(any(), eq(2)))
+                .thenReturn(List.of("ORD-1", "ORD-2"), List.of("ORD-3"));
+        when(orderService.flagStuckOrder(anyString(), eq(Order.OrderStatus.READY_FOR_PICKUP), any()))
+                .thenReturn(true);
+        when(orders.findStuckDeliveryIds(any(), eq(2))).thenReturn(List.of("ORD-4"));
+        when(orderService.flagStuckOrder(eq("ORD-4"), eq(Order.OrderStatus.OUT_FOR_DELIVERY), any()))
+                .thenReturn(false); // delivered meanwhile
+
+        sweeper.sweep();
+
+        verify(orders, times(2)).findStuckPickupIds(any(), eq(2));
+        verify(orderService, times(3)).flagStuckOrder(anyString(), eq(Order.OrderStatus.READY_FOR_PICKUP), any());
+        assertEquals(3.0, flagged("vendor_pickup"));
+        assertEquals(0.0, flagged("user_delivery"));
+    }
+
+    @Test
+    void reviewCutoffIsTheConfiguredAgeOfTheToken() {
+        LocalDateTime before = LocalDateTime.now().minusMinutes(120);
+        when(orders.findStuckPickupIds(any(), anyInt())).thenReturn(List.of("ORD-1"));
+
+        sweeper.sweep();
+
+        verify(orderService).flagStuckOrder(eq("ORD-1"), eq(Order.OrderStatus.READY_FOR_PICKUP),
+                argThat(cutoff -> !cutoff.isBefore(before)
+                        && !cutoff.isAfter(LocalDateTime.now().minusMinutes(120))));
+    }
+
+    @Test
+    void oneFailingOrderDoesNotStopTheRest() {
+        when(orders.findStuckPickupIds(any(), anyInt())).thenReturn(List.of("ORD-BAD", "ORD-OK"), List.of());
+        when(orderService.flagStuckOrder(eq("ORD-BAD"), any(), any())).thenThrow(new IllegalStateException("boom"));
+        when(orderService.flagStuckOrder(eq("ORD-OK"), any(), any())).thenReturn(true);
+
+        sweeper.sweep();
+
+        assertEquals(1.0, flagged("vendor_pickup"));
+    }
+
+    @Test
+    void batchesStopAtThePerRunCap() {
+        when(orders.findStuckPickupIds(any(), anyInt())).thenReturn(List.of("ORD-1", "ORD-2"));
+
+        sweeper.sweep();
+
+        verify(orders, times(3)).findStuckPickupIds(any(), anyInt());
+    }
+
+    private double flagged(String token) {
+        return meters.get("orders.review.flagged").tag("token", token).counter().count();
+    }
+}
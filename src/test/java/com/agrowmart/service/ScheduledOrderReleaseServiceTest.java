@@ -0,0 +1,91 @@
+package com.agrowmart.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.agrowmart.repository.OrderRepository;
+
+class ScheduledOrderReleaseServiceTest {
+
+    private static final LocalDate NEXT_WEEK = LocalDate.now().plusWeeks(1);
+
+    private final OrderService orderService = mock(OrderService.class);
+    private final ScheduledOrderReleaseService service = new ScheduledOrderReleaseService(
+            mock(OrderRepository.class), orderService, "Asia/Kolkata", 10, 8, 1);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        service.shutdown();
+    }
+
+    @Test
+    void parsesTheStartOfCommonSlotFormats() {
+        assertEquals(LocalTime.of(10, 0), ScheduledOrderReleaseService.parseSlotStart("10:00-12:00"));
+        assertEquals(LocalTime.of(14, 30), ScheduledOrderReleaseService.parseSlotStart("2:30 PM - 4:30 PM"));
+        assertEquals(LocalTime.of(22, 0), ScheduledOrderReleaseService.parseSlotStart("10 pm-11 pm"));
+        assertEquals(LocalTime.MIDNIGHT, ScheduledOrderReleaseService.parseSlotStart(" "));
+        assertNull(ScheduledOrderReleaseService.parseSlotStart("morning"));
+    }
+
+    @Test
+    void unparseableSlotIsNotScheduled() {
+        service.schedule("ORD-1", NEXT_WEEK, "after lunch");
+
+        assertEquals(0, service.pendingCount());
+    }
+
+    @Test
+    void timerIsOnlyAddedOnceTheOrderTransactionCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        service.schedule("ORD-1", NEXT_WEEK, "10:00-12:00");
+        assertEquals(0, service.pendingCount());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(1, service.pendingCount());
+    }
+
+    @Test
+    void rolledBackOrderGetsNoTimer() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        service.schedule("ORD-1", NEXT_WEEK, "10:00-12:00");
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertEquals(0, service.pendingCount());
+    }
+
+    @Test
+    void slotThatHasStartedIsReleasedRightAway() {
+        when(orderService.releaseScheduledOrder("ORD-1")).thenReturn(true);
+
+        service.schedule("ORD-1", LocalDate.now().minusDays(1), "10:00-12:00");
+
+        verify(orderService, timeout(5000)).releaseScheduledOrder("ORD-1");
+    }
+
+    @Test
+    void cancelledOrderIsDroppedFromTheWheel() {
+        service.schedule("ORD-1", NEXT_WEEK, "10:00-12:00");
+
+        service.cancel("ORD-1");
+
+        assertEquals(0, service.pendingCount());
+    }
+}
@@ -0,0 +1,135 @@
+package com.agrowmart.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.agrowmart.entity.User;
+import com.agrowmart.entity.VendorPaymentDetails;
+import com.agrowmart.entity.order.Order;
+import com.agrowmart.entity.order.Settlement;
+import com.agrowmart.repository.OrderRepository;
+import com.agrowmart.repository.SettlementRepository;
+import com.agrowmart.repository.VendorPaymentDetailsRepository;
+import com.agrowmart.service.scheduling.JobExecution;
+
+class SettlementServiceTest {
+
+    private final OrderRepository orders = mock(OrderRepository.class);
+    private final VendorPaymentDetailsRepository paymentDetails = mock(VendorPaymentDetailsRepository.class);
+    private final SettlementRepository settlements = mock(SettlementRepository.class);
+    private final RazorpayService razorpay = mock(RazorpayService.class);
+    private final JobExecution execution = mock(JobExecution.class);
+    private final SettlementService service = new SettlementService(orders, paymentDetails, settlements, razorpay,
+            null, mock(PlatformTransactionManager.class));
+
+    @BeforeEach
+    void setUp() {
+        User vendor = new User();
+        vendor.setId(70L);
+        Order order = new Order();
+        order.setId("ORD-1");
+        order.setMerchant(vendor);
+        order.setStatus(Order.OrderStatus.DELIVERED);
+        order.setPaymentStatus("SUCCESS");
+        order.setTotalPrice(new BigDecimal("500.00"));
+        VendorPaymentDetails details = new VendorPaymentDetails();
+        details.setRazorpayFundAccountId("fa_1");
+
+        when(orders.findEligibleForSettlement(any())).thenReturn(List.of(order));
+        when(orders.findById("ORD-1")).thenReturn(Optional.of(order));
+        when(paymentDetails.findByUser(vendor)).thenReturn(Optional.of(details));
+    }
+
+    @Test
+    void deliveredOrderIsPaidOutOnceWithAnOrderKey() throws Exception {
+        when(orders.claimForSettlement(eq("ORD-1"), any())).thenReturn(1);
+        when(razorpay.createPayout("fa_1", 450.0, "ORD-1", "settlement-ORD-1")).thenReturn("pout_1");
+
+        service.settleEligibleOrders(execution);
+
+        verify(razorpay).createPayout("fa_1", 450.0, "ORD-1", "settlement-ORD-1");
+        verify(settlements).save(any(Settlement.class));
+        verify(execution).addRows(1);
+    }
+
+    @Test
+    void orderClaimedByAnotherRunIsNotPaid() throws Exception {
+        when(orders.claimForSettlement(eq("ORD-1"), any())).thenReturn(0);
+
+        service.settleEligibleOrders(execution);
+
+        verify(razorpay, never()).createPayout(anyString(), anyDouble(), anyString(), anyString());
+        verify(settlements, never()).save(any());
+    }
+
+    @Test
+    void failedPayoutHandsTheOrderBack() throws Exception {
+        when(orders.claimForSettlement(eq("ORD-1"), any())).thenReturn(1);
+        when(razorpay.createPayout(anyString(), anyDouble(), anyString(), anyString()))
+                .thenThrow(new IllegalStateException("503"));
+
+        service.settleEligibleOrders(execution);
+
+        verify(orders).releaseSettlementClaim(eq("ORD-1"), any(LocalDateTime.class));
+        verify(settlements, never()).save(any());
+        verify(execution).recordFailure();
+    }
+
+    @Test
+    void staleClaimIsPaidUnderTheOriginalKey() throws Exception {
+        Order order = orders.findById("ORD-1").orElseThrow();
+        order.setSettlementStatus("PROCESSING");
+        when(orders.findStaleSettlementClaims(any())).thenReturn(List.of("ORD-1"));
+        when(orders.findEligibleForSettlement(any())).thenReturn(List.of());
+        when(razorpay.createPayout("fa_1", 450.0, "ORD-1", "settlement-ORD-1")).thenReturn("pout_1");
+
+        service.settleEligibleOrders(execution);
+
+        verify(orders, never()).claimForSettlement(anyString(), any());
+        verify(settlements).save(any(Settlement.class));
+        verify(execution).addRows(1);
+    }
+
+    @Test
+    void staleClaimRecordedInTheMeantimeIsLeftAlone() throws Exception {
+        Order order = orders.findById("ORD-1").orElseThrow();
+        order.setSettlementStatus("PROCESSING");
+        when(orders.findStaleSettlementClaims(any())).thenReturn(List.of("ORD-1"));
+        when(orders.findEligibleForSettlement(any())).thenReturn(List.of());
+        when(settlements.findByOrderId("ORD-1")).thenReturn(Optional.of(new Settlement()));
+
+        service.settleEligibleOrders(execution);
+
+        verify(razorpay, never()).createPayout(anyString(), anyDouble(), anyString(), anyString());
+        verify(settlements, never()).save(any());
+    }
+
+    @Test
+    void staleClaimForAnUnpayableOrderIsReleased() throws Exception {
+        Order order = orders.findById("ORD-1").orElseThrow();
+        order.setSettlementStatus("PROCESSING");
+        order.setPaymentStatus("REFUNDED");
+        when(orders.findStaleSettlementClaims(any())).thenReturn(List.of("ORD-1"));
+        when(orders.findEligibleForSettlement(any())).thenReturn(List.of());
+
+        service.settleEligibleOrders(execution);
+
+        verify(orders).releaseSettlementClaim(eq("ORD-1"), any(LocalDateTime.class));
+        verify(razorpay, never()).createPayout(anyString(), anyDouble(), anyString(), anyString());
+    }
+}
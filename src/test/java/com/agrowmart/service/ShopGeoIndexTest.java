@@ -0,0 +1,118 @@
+package com.agrowmart.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.agrowmart.dto.auth.shop.NearbyShopDTO;
+import com.agrowmart.dto.auth.shop.ShopResponse;
+import com.agrowmart.entity.Shop;
+import com.agrowmart.entity.User;
+import com.agrowmart.repository.ShopRepository;
+
+class ShopGeoIndexTest {
+
+    private static final double LAT0 = 18.35, LON0 = 73.65, SPAN = 0.4;
+
+    private final ShopRepository repository = mock(ShopRepository.class);
+    private ShopGeoIndex index;
+    private final List<Shop> shops = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(repository.findLocatedActiveShops()).thenReturn(shops);
+        ShopService shopService = mock(ShopService.class);
+        when(shopService.toResponse(any())).thenAnswer(inv -> summary(inv.getArgument(0)));
+        index = new ShopGeoIndex(repository, shopService, new ShopHoursService(repository, "Asia/Kolkata"), 0.02);
+
+        Random rnd = new Random(42);
+        for (long i = 1; i <= 5_000; i++) {
+            shops.add(shop(i, LAT0 + rnd.nextDouble() * SPAN, LON0 + rnd.nextDouble() * SPAN, true));
+        }
+        index.reload();
+    }
+
+    @Test
+    void nearbyMatchesBruteForce() {
+        double lat = LAT0 + SPAN / 2, lng = LON0 + SPAN / 2;
+        List<NearbyShopDTO> found = index.nearby(lat, lng, 3, 10, false);
+
+        List<double[]> expected = new ArrayList<>();
+        for (Shop s : shops) {
+            double d = ShopGeoIndex.distanceKm(lat, lng, s.getLatitude(), s.getLongitude());
+            if (d <= 3) {
+                expected.add(new double[] {s.getId(), d});
+            }
+        }
+        expected.sort(Comparator.comparingDouble(e -> e[1]));
+
+        assertEquals(Math.min(10, expected.size()), found.size());
+        for (int i = 0; i < found.size(); i++) {
+            assertEquals(Math.round(expected.get(i)[1] * 100) / 100.0, found.get(i).distanceKm(), 1e-9);
+        }
+    }
+
+    @Test
+    void respectsRadius() {
+        // corner of the area: only a quarter of the disc has shops
+        List<NearbyShopDTO> found = index.nearby(LAT0, LON0, 1, 100, false);
+        assertTrue(found.stream().allMatch(n -> n.distanceKm() <= 1));
+    }
+
+    @Test
+    void unapprovedOrMovedShopsAreUpdatedIncrementally() {
+        Shop moved = shops.get(0);
+        moved.setLatitude(10.0);
+        moved.setLongitude(10.0);
+        index.apply(moved.getId(), index.entryFor(moved));
+        assertEquals(1, index.nearby(10.0, 10.0, 1, 5, false).size());
+
+        moved.setApproved(false);
+        index.apply(moved.getId(), index.entryFor(moved));
+        assertEquals(0, index.nearby(10.0, 10.0, 1, 5, false).size());
+        assertNull(index.vendorLocation(1000L + moved.getId()));
+    }
+
+    @Test
+    void refreshRereadsTheCommittedShop() {
+        Shop added = shop(9_999, 10.0, 10.0, true);
+        when(repository.findById(9_999L)).thenReturn(Optional.of(added));
+        index.refresh(9_999L);
+        assertEquals(1, index.nearby(10.0, 10.0, 1, 5, false).size());
+
+        when(repository.findById(9_999L)).thenReturn(Optional.empty()); // deleted since
+        index.refresh(9_999L);
+        assertEquals(0, index.nearby(10.0, 10.0, 1, 5, false).size());
+    }
+
+    private static Shop shop(long id, double lat, double lng, boolean approved) {
+        User vendor = new User();
+        vendor.setId(1000L + id);
+        Shop shop = new Shop();
+        shop.setId(id);
+        shop.setUser(vendor);
+        shop.setLatitude(lat);
+        shop.setLongitude(lng);
+        shop.setApproved(approved);
+        shop.setActive(true);
+        return shop;
+    }
+
+    private static ShopResponse summary(Shop s) {
+        return new ShopResponse(s.getId(), "Shop " + s.getId(), "VEGETABLE", null, null, null, null, null, null, null,
+                s.isApproved(), s.isActive(), s.getUser().getId(), null, null, null, null, null, null, null,
+                s.getLatitude(), s.getLongitude(), true);
+    }
+}
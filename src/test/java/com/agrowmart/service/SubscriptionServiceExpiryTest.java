@@ -0,0 +1,84 @@
+package com.agrowmart.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.agrowmart.repository.AgriProductRepository;
+import com.agrowmart.repository.SubscriptionRepository;
+import com.agrowmart.service.scheduling.JobExecution;
+
+class SubscriptionServiceExpiryTest {
+
+    private final SubscriptionRepository subscriptions = mock(SubscriptionRepository.class);
+    private final AgriProductRepository products = mock(AgriProductRepository.class);
+    private final JobExecution execution = mock(JobExecution.class);
+    private final SubscriptionService service = new SubscriptionService(subscriptions, products, null, null, null,
+            mock(PlatformTransactionManager.class), null);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "expiryChunkSize", 2);
+    }
+
+    @Test
+    void chunksUntilAShortOne() {
+        when(subscriptions.findExpiredActiveIds(any(), any()))
+                .thenReturn(List.of(1L, 2L), List.of(3L, 4L), List.of(5L));
+
+        service.expireSubscriptions(execution);
+
+        InOrder order = inOrder(products, subscriptions);
+        for (List<Long> chunk : List.of(List.of(1L, 2L), List.of(3L, 4L), List.of(5L))) {
+            order.verify(products).hideProductsOfExpiredSubscriptions(eq(chunk), any());
+            order.verify(subscriptions).deactivateByIds(chunk);
+        }
+        verify(subscriptions, times(3)).findExpiredActiveIds(any(), any());
+        verify(execution, times(2)).addRows(2);
+        verify(execution).addRows(1);
+    }
+
+    @Test
+    void fullLastChunkEndsOnAnEmptyRead() {
+        when(subscriptions.findExpiredActiveIds(any(), any())).thenReturn(List.of(1L, 2L), List.of());
+
+        service.expireSubscriptions(execution);
+
+        verify(subscriptions, times(2)).findExpiredActiveIds(any(), any());
+        verify(subscriptions).deactivateByIds(anyList());
+        verify(execution).addRows(0);
+    }
+
+    @Test
+    void nothingExpiredTouchesNoProducts() {
+        when(subscriptions.findExpiredActiveIds(any(), any())).thenReturn(List.of());
+
+        service.expireSubscriptions(execution);
+
+        verify(products, never()).hideProductsOfExpiredSubscriptions(anyList(), any());
+        verify(subscriptions, never()).deactivateByIds(anyList());
+    }
+
+    @Test
+    void leaseIsCheckedBeforeEveryChunk() {
+        when(subscriptions.findExpiredActiveIds(any(), any())).thenReturn(List.of(1L, 2L), List.of(3L));
+
+        service.expireSubscriptions(execution);
+
+        verify(execution, times(2)).ensureLeaseHeld();
+    }
+}
@@ -0,0 +1,88 @@
+package com.agrowmart.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.agrowmart.entity.User;
+import com.agrowmart.repository.UserRepository;
+import com.agrowmart.service.scheduling.JobExecution;
+import com.agrowmart.service.scheduling.ScheduledJobRunner;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UserCleanupServiceTest {
+
+    private final UserRepository users = mock(UserRepository.class);
+    private final MediaDeletionQueue media = mock(MediaDeletionQueue.class);
+    private final JobExecution execution = mock(JobExecution.class);
+    private final UserCleanupService service = new UserCleanupService(users, media, mock(ScheduledJobRunner.class),
+            mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), 2);
+
+    @Test
+    void pagesByIdUntilAShortPage() {
+        when(users.findPurgeCandidateIds(any(), any(), any())).thenReturn(List.of(1L, 2L), List.of(3L));
+        purgeable(1L, 2L, 3L);
+
+        service.purgeDeletedUsers(execution);
+
+        verify(users).findPurgeCandidateIds(any(), eq(0L), any());
+        verify(users).findPurgeCandidateIds(any(), eq(2L), any());
+        verify(users, times(2)).findPurgeCandidateIds(any(), any(), any());
+        verify(users, times(3)).delete(any(User.class));
+        verify(media, times(3)).enqueue(anyString(), eq("profile photo"));
+        verify(execution).addRows(3);
+        verify(execution).addFailures(0);
+    }
+
+    @Test
+    void fullLastPageEndsOnAnEmptyRead() {
+        when(users.findPurgeCandidateIds(any(), any(), any())).thenReturn(List.of(1L, 2L), List.of());
+        purgeable(1L, 2L);
+
+        service.purgeDeletedUsers(execution);
+
+        verify(users, times(2)).findPurgeCandidateIds(any(), any(), any());
+        verify(users).findPurgeCandidateIds(any(), eq(2L), any());
+        verify(execution).addRows(2);
+    }
+
+    @Test
+    void aFailingUserIsSkippedAndTheRestAreDeleted() {
+        when(users.findPurgeCandidateIds(any(), any(), any())).thenReturn(List.of(1L, 2L), List.of(3L));
+        purgeable(1L, 3L);
+        when(users.findById(2L)).thenThrow(new IllegalStateException("row locked"));
+
+        service.purgeDeletedUsers(execution);
+
+        verify(users, times(2)).delete(any(User.class));
+        verify(media).enqueue("https://res.cloudinary.com/demo/u1.jpg", "profile photo");
+        verify(media).enqueue("https://res.cloudinary.com/demo/u3.jpg", "profile photo");
+        verify(media, never()).enqueue("https://res.cloudinary.com/demo/u2.jpg", "profile photo");
+        verify(execution).addRows(2);
+        verify(execution).addFailures(1);
+    }
+
+    private void purgeable(Long... ids) {
+        for (Long id : ids) {
+            User user = new User();
+            user.setId(id);
+            user.setDeleted(true);
+            user.setDeletedAt(LocalDateTime.now().minusDays(30));
+            user.setPhotoUrl("https://res.cloudinary.com/demo/u" + id + ".jpg");
+            when(users.findById(id)).thenReturn(Optional.of(user));
+        }
+    }
+}
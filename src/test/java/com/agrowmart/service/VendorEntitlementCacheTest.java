@@ -0,0 +1,192 @@
+package com.agrowmart.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.transaction.support.TransactionSynchronization.STATUS_COMMITTED;
+import static org.springframework.transaction.support.TransactionSynchronization.STATUS_ROLLED_BACK;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.agrowmart.entity.Subscription;
+import com.agrowmart.entity.User;
+import com.agrowmart.enums.SubscriptionPlan;
+import com.agrowmart.repository.AgriProductRepository;
+import com.agrowmart.repository.SubscriptionRepository;
+import com.agrowmart.repository.VendorEntitlementRepository;
+
+class VendorEntitlementCacheTest {
+
+    private SubscriptionRepository subscriptions;
+    private AgriProductRepository products;
+    private VendorEntitlementRepository stored;
+    private VendorEntitlementCache cache;
+    private User vendor;
+
+    @BeforeEach
+    void setUp() {
+        subscriptions = mock(SubscriptionRepository.class);
+        products = mock(AgriProductRepository.class);
+        stored = mock(VendorEntitlementRepository.class);
+        cache = new VendorEntitlementCache(subscriptions, products, stored, 300);
+        vendor = new User();
+        vendor.setId(7L);
+        when(subscriptions.findFirstByUserAndActiveTrueAndExpiryDateAfterOrderByStartDateDesc(eq(vendor), any()))
+                .thenReturn(Optional.of(subscription(SubscriptionPlan.STARTER, LocalDateTime.now().plusDays(10))));
+        when(products.countByVendor(vendor)).thenReturn(2L);
+    }
+
+    @Test
+    void concurrentCreatesNeverExceedThePlanLimit() throws Exception {
+        cache.get(vendor);
+        int threads = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < threads * 4; i++) {
+            attempts.add(pool.submit(() -> {
+                start.await();
+                return cache.tryReserveProductSlot(vendor);
+            }));
+        }
+        start.countDown();
+
+        int granted = 0;
+        for (Future<Boolean> attempt : attempts) {
+            granted += attempt.get(10, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        pool.shutdown();
+
+        assertEquals(3, granted, "STARTER allows 5, vendor already has 2");
+        assertEquals(5, cache.get(vendor).productCount());
+        verify(products, times(1)).countByVendor(vendor);
+    }
+
+    @Test
+    void storedCounterAtTheLimitRejectsEvenWhenThisNodeCountsFewer() {
+        cache.get(vendor);
+        when(products.countByVendor(vendor)).thenReturn(5L); // another node created three meanwhile
+        when(stored.incrementProductCount(7L, 5)).thenReturn(0);
+        when(stored.insertIfAbsent(7L)).thenReturn(0); // the row exists, so it is at the limit
+
+        inTransaction(STATUS_ROLLED_BACK, () -> assertFalse(cache.tryReserveProductSlot(vendor)));
+
+        assertEquals(5, cache.get(vendor).productCount(), "reloaded from the database");
+        verify(products, times(2)).countByVendor(vendor);
+    }
+
+    @Test
+    void firstProductOfAVendorSeedsTheStoredCounter() {
+        when(stored.incrementProductCount(7L, 5)).thenReturn(0, 1);
+        when(stored.insertIfAbsent(7L)).thenReturn(1);
+
+        inTransaction(STATUS_COMMITTED, () -> assertTrue(cache.tryReserveProductSlot(vendor)));
+
+        verify(stored, times(2)).incrementProductCount(7L, 5);
+        assertEquals(3, cache.get(vendor).productCount());
+    }
+
+    @Test
+    void reservationWithinTheLimitIsOneConditionalUpdate() {
+        when(stored.incrementProductCount(7L, 5)).thenReturn(1);
+
+        inTransaction(STATUS_COMMITTED, () -> assertTrue(cache.tryReserveProductSlot(vendor)));
+
+        verify(stored).incrementProductCount(7L, 5);
+        verify(stored, never()).insertIfAbsent(any());
+    }
+
+    @Test
+    void deleteGivesTheStoredSlotBackInItsTransactionAndTheLocalOneAfterCommit() {
+        assertTrue(cache.tryReserveProductSlot(vendor)); // 3 of 5, no transaction: memory only
+
+        inTransaction(STATUS_COMMITTED, () -> {
+            cache.productRemoved(7L);
+            verify(stored).decrementProductCount(7L);
+            assertEquals(3, cache.get(vendor).productCount(), "not before commit");
+        });
+
+        assertEquals(2, cache.get(vendor).productCount());
+    }
+
+    @Test
+    void reservationOutsideATransactionSkipsTheDatabase() {
+        assertTrue(cache.tryReserveProductSlot(vendor));
+        verify(stored, never()).incrementProductCount(any(), anyInt());
+    }
+
+    @Test
+    void deleteFreesASlot() {
+        assertTrue(cache.tryReserveProductSlot(vendor));
+        assertTrue(cache.tryReserveProductSlot(vendor));
+        assertTrue(cache.tryReserveProductSlot(vendor));
+        assertFalse(cache.tryReserveProductSlot(vendor));
+
+        cache.productRemoved(vendor.getId());
+
+        assertTrue(cache.tryReserveProductSlot(vendor));
+    }
+
+    @Test
+    void expiredSubscriptionAndInvalidationReloadFromTheDatabase() {
+        when(subscriptions.findFirstByUserAndActiveTrueAndExpiryDateAfterOrderByStartDateDesc(eq(vendor), any()))
+                .thenReturn(Optional.of(subscription(SubscriptionPlan.GROWTH, LocalDateTime.now().minusSeconds(1))))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(subscription(SubscriptionPlan.VISIBILITY, LocalDateTime.now().plusDays(30))));
+
+        assertEquals(SubscriptionPlan.GROWTH, cache.get(vendor).plan());
+        // already past its expiry → reloaded on the next read
+        VendorEntitlementCache.Entitlement free = cache.get(vendor);
+        assertEquals(SubscriptionPlan.NONE, free.plan());
+        assertFalse(free.subscribed());
+
+        cache.invalidate(vendor.getId()); // payment captured
+        assertEquals(15, cache.get(vendor).maxProducts());
+    }
+
+    /** Runs the action with synchronization active, then completes it with the given status. */
+    private static void inTransaction(int status, Runnable action) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            action.run();
+            List<TransactionSynchronization> syncs = TransactionSynchronizationManager.getSynchronizations();
+            if (status == STATUS_COMMITTED) {
+                syncs.forEach(TransactionSynchronization::afterCommit);
+            }
+            syncs.forEach(sync -> sync.afterCompletion(status));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private Subscription subscription(SubscriptionPlan plan, LocalDateTime expiry) {
+        Subscription subscription = new Subscription();
+        subscription.setUser(vendor);
+        subscription.setPlan(plan);
+        subscription.setStartDate(expiry.minusMonths(1));
+        subscription.setExpiryDate(expiry);
+        subscription.setActive(true);
+        return subscription;
+    }
+}
@@ -0,0 +1,196 @@
+package com.agrowmart.service.dispatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.agrowmart.dto.auth.order.OrderStatusUpdateDTO;
+import com.agrowmart.dto.auth.order.PickupOfferDTO;
+import com.agrowmart.entity.order.Order;
+import com.agrowmart.repository.OrderRepository;
+import com.agrowmart.service.OrderService;
+import com.agrowmart.service.OrderWebSocketService;
+import com.agrowmart.service.websocket.StompMessageRelay;
+
+/**
+ * Partner index and offer rounds of the pickup dispatcher. Offers never time
+ * out here, so every step is driven by the test; lookup cost at city scale is
+ * measured by DeliveryPartnerIndexBenchmark and whole rounds, timeouts
+ * included, by PickupDispatcherSimulationBenchmark (-Pbenchmarks).
+ */
+class PickupDispatcherTest {
+
+    private static final double LAT0 = 18.35, LON0 = 73.65, SPAN = 0.4; // around Pune
+
+    private final DeliveryPartnerIndex index = new DeliveryPartnerIndex(0.01, 60_000, System::currentTimeMillis);
+    private final OrderService orderService = mock(OrderService.class);
+    private final List<String> sent = new ArrayList<>();
+    private final Set<String> assigned = ConcurrentHashMap.newKeySet();
+    private PickupDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        StompMessageRelay relay = new StompMessageRelay() {
+            @Override
+            public void sendToUser(String userId, String destination, Object payload) {
+                PickupOfferDTO offer = (PickupOfferDTO) payload;
+                sent.add(userId + " " + offer.type() + " " + offer.orderId());
+            }
+
+            @Override
+            public void broadcast(String destination, Object payload) {
+                sent.add("topic " + ((OrderStatusUpdateDTO) payload).orderId());
+            }
+        };
+        // "DB" compare-and-set like OrderRepository.assignDeliveryPartnerIfUnassigned
+        when(orderService.assignDeliveryPartner(anyString(), anyLong()))
+                .thenAnswer(inv -> assigned.add((String) inv.getArgument(0)));
+        dispatcher = new PickupDispatcher(index, new OrderWebSocketService(relay, 5), orderService,
+                mock(OrderRepository.class), true, 2, 3_600_000, 1, 2, 9);
+
+        // three partners 110 m, 220 m and 330 m north of the pickup
+        for (int i = 1; i <= 3; i++) {
+            index.update(i, LAT0 + 0.001 * i, LON0, true);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void nearestFreeMatchesBruteForce() {
+        DeliveryPartnerIndex index = new DeliveryPartnerIndex(0.01, 60_000, System::currentTimeMillis);
+        Random rnd = new Random(42);
+        double[][] positions = new double[2_000][];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = new double[] {LAT0 + rnd.nextDouble() * SPAN, LON0 + rnd.nextDouble() * SPAN};
+            index.update(i, positions[i][0], positions[i][1], i % 10 != 0); // every 10th unavailable
+        }
+        index.setBusy(1, true);
+
+        double[] pickup = {LAT0 + SPAN / 2, LON0 + SPAN / 2};
+        List<DeliveryPartnerIndex.Candidate> found = index.nearestFree(pickup[0], pickup[1], 5, 40, Set.of(2L));
+
+        List<long[]> expected = new ArrayList<>();
+        for (int i = 0; i < positions.length; i++) {
+            if (i % 10 == 0 || i == 1 || i == 2) continue;
+            double d = DeliveryPartnerIndex.distanceKm(pickup[0], pickup[1], positions[i][0], positions[i][1]);
+            expected.add(new long[] {i, Double.doubleToLongBits(d)});
+        }
+        expected.sort((a, b) -> Double.compare(Double.longBitsToDouble(a[1]), Double.longBitsToDouble(b[1])));
+
+        assertEquals(5, found.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(expected.get(i)[0], found.get(i).partnerId());
+        }
+    }
+
+    @Test
+    void stalePartnersAreSkippedAndEvicted() {
+        AtomicLong now = new AtomicLong(1_000_000);
+        DeliveryPartnerIndex index = new DeliveryPartnerIndex(0.01, 60_000, now::get);
+        index.update(1, LAT0, LON0, true);
+        now.addAndGet(30_000);
+        index.update(2, LAT0, LON0, true);
+        now.addAndGet(40_000); // partner 1 last seen 70 s ago
+
+        List<DeliveryPartnerIndex.Candidate> found = index.nearestFree(LAT0, LON0, 5, 1, Set.of());
+        assertEquals(1, found.size());
+        assertEquals(2, found.get(0).partnerId());
+
+        index.evictStale();
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void firstRoundGoesToTheNearestPartners() {
+        dispatcher.dispatch("ORD-1", LAT0, LON0, update("ORD-1"));
+
+        assertEquals(List.of("user:1 OFFER ORD-1", "user:2 OFFER ORD-1"), sent);
+        assertEquals(1, dispatcher.pendingCount());
+    }
+
+    @Test
+    void acceptingAssignsTheOrderAndWithdrawsTheOtherOffer() {
+        dispatcher.dispatch("ORD-1", LAT0, LON0, update("ORD-1"));
+        sent.clear();
+
+        assertTrue(dispatcher.accept("ORD-1", 2));
+
+        assertEquals(List.of("user:1 OFFER_WITHDRAWN ORD-1", "user:2 ASSIGNED ORD-1"), sent);
+        assertEquals(0, dispatcher.pendingCount());
+        assertTrue(index.isBusy(2));
+    }
+
+    @Test
+    void lateAcceptIsToldTheOfferWasTaken() {
+        dispatcher.dispatch("ORD-1", LAT0, LON0, update("ORD-1"));
+        dispatcher.accept("ORD-1", 1);
+        sent.clear();
+
+        assertFalse(dispatcher.accept("ORD-1", 2));
+
+        assertEquals(List.of("user:2 OFFER_TAKEN ORD-1"), sent);
+        assertFalse(index.isBusy(2));
+    }
+
+    @Test
+    void busyPartnerGetsNoFurtherOffersUntilFreed() {
+        dispatcher.dispatch("ORD-1", LAT0, LON0, update("ORD-1"));
+        dispatcher.accept("ORD-1", 1);
+        sent.clear();
+
+        dispatcher.dispatch("ORD-2", LAT0, LON0, update("ORD-2"));
+        assertEquals(List.of("user:2 OFFER ORD-2", "user:3 OFFER ORD-2"), sent);
+        dispatcher.cancel("ORD-2");
+
+        dispatcher.partnerFreed(1);
+        sent.clear();
+        dispatcher.dispatch("ORD-3", LAT0, LON0, update("ORD-3"));
+        assertEquals(List.of("user:1 OFFER ORD-3", "user:2 OFFER ORD-3"), sent);
+    }
+
+    @Test
+    void cancellingWithdrawsOutstandingOffers() {
+        dispatcher.dispatch("ORD-1", LAT0, LON0, update("ORD-1"));
+        sent.clear();
+
+        dispatcher.cancel("ORD-1");
+
+        assertEquals(Set.of("user:1 OFFER_WITHDRAWN ORD-1", "user:2 OFFER_WITHDRAWN ORD-1"), Set.copyOf(sent));
+        assertEquals(0, dispatcher.pendingCount());
+    }
+
+    @Test
+    void pickupWithNoPartnerInRangeGoesToTheTopic() {
+        double farLat = LAT0 + SPAN, farLon = LON0 + SPAN; // ~60 km away, beyond the last ring
+
+        dispatcher.dispatch("ORD-1", farLat, farLon, update("ORD-1"));
+
+        assertEquals(List.of("topic ORD-1"), sent);
+        assertEquals(0, dispatcher.pendingCount());
+    }
+
+    private static OrderStatusUpdateDTO update(String orderId) {
+        return new OrderStatusUpdateDTO(orderId, Order.OrderStatus.READY_FOR_PICKUP.name(), null,
+                LocalDateTime.now(), "STATUS_UPDATE", null);
+    }
+}
@@ -0,0 +1,27 @@
+package com.agrowmart.service.external;
+
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import jakarta.mail.internet.MimeMessage;
+
+// JavaMailSender is already an interface; this replaces the SMTP transport only
+public class FakeMailSender extends JavaMailSenderImpl {
+
+    private final SimulatedCall call;
+
+    public FakeMailSender(SimulatedCall call) {
+        this.call = call;
+    }
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) {
+        if (call.run()) {
+            throw new MailSendException("simulated SMTP failure");
+        }
+    }
+
+    public SimulatedCall call() {
+        return call;
+    }
+}
@@ -0,0 +1,39 @@
+package com.agrowmart.service.external;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.UUID;
+
+/** Keeps nothing; returns Cloudinary-shaped results with URLs under res.cloudinary.com/fake. */
+public class FakeMediaStorageGateway implements MediaStorageGateway {
+
+    private final SimulatedCall call;
+
+    public FakeMediaStorageGateway(SimulatedCall call) {
+        this.call = call;
+    }
+
+    @Override
+    public Map<?, ?> upload(byte[] bytes, String folder) throws IOException {
+        if (call.run()) {
+            throw new IOException("simulated Cloudinary upload failure");
+        }
+        String publicId = folder + "/" + UUID.randomUUID();
+        return Map.of(
+                "public_id", publicId,
+                "bytes", bytes.length,
+                "secure_url", "https://res.cloudinary.com/fake/image/upload/v1/" + publicId + ".jpg");
+    }
+
+    @Override
+    public Map<?, ?> destroy(String publicId) throws IOException {
+        if (call.run()) {
+            throw new IOException("simulated Cloudinary delete failure");
+        }
+        return Map.of("result", "ok");
+    }
+
+    public SimulatedCall call() {
+        return call;
+    }
+}
@@ -0,0 +1,25 @@
+package com.agrowmart.service.external;
+
+import java.util.Map;
+import java.util.UUID;
+
+public class FakePushNotificationGateway implements PushNotificationGateway {
+
+    private final SimulatedCall call;
+
+    public FakePushNotificationGateway(SimulatedCall call) {
+        this.call = call;
+    }
+
+    @Override
+    public String send(String deviceToken, Map<String, String> data) throws Exception {
+        if (call.run()) {
+            throw new IllegalStateException("simulated FCM failure: UNAVAILABLE");
+        }
+        return "projects/fake/messages/" + UUID.randomUUID();
+    }
+
+    public SimulatedCall call() {
+        return call;
+    }
+}
@@ -0,0 +1,97 @@
+package com.agrowmart.service.external;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.json.JSONObject;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+/**
+ * Answers like the Razorpay API with a fresh id per call (cont_, fa_, pout_,
+ * order_, rfnd_). Created orders are kept so a later fetch finds them, and
+ * are reported as paid; a repeated idempotency key gets the first response.
+ */
+public class FakeRazorpayGateway implements RazorpayGateway {
+
+    private final SimulatedCall call;
+    private final Map<String, JSONObject> orders = new ConcurrentHashMap<>();
+    private final Map<String, String> byIdempotencyKey = new ConcurrentHashMap<>();
+
+    public FakeRazorpayGateway(SimulatedCall call) {
+        this.call = call;
+    }
+
+    @Override
+    public String post(String path, String jsonBody, String idempotencyKey) {
+        if (call.run()) {
+            throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE, "simulated Razorpay failure");
+        }
+        if (idempotencyKey != null) {
+            return byIdempotencyKey.computeIfAbsent(idempotencyKey, key -> create(path, jsonBody));
+        }
+        return create(path, jsonBody);
+    }
+
+    private String create(String path, String jsonBody) {
+        JSONObject request = new JSONObject(jsonBody);
+        String id = idPrefix(path) + UUID.randomUUID().toString().replace("-", "").substring(0, 14);
+        JSONObject response = new JSONObject().put("id", id).put("entity", entity(path));
+        if (request.has("amount")) {
+            response.put("amount", request.get("amount")).put("status", "processing");
+        }
+        if (path.equals("/v1/orders")) {
+            response.put("status", "created")
+                    .put("currency", request.optString("currency", "INR"))
+                    .put("receipt", request.optString("receipt", null))
+                    .put("notes", notes(request));
+            orders.put(id, new JSONObject(response.toString()).put("status", "paid"));
+        }
+        return response.toString();
+    }
+
+    @Override
+    public String get(String path) {
+        if (call.run()) {
+            throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE, "simulated Razorpay failure");
+        }
+        JSONObject order = path.startsWith("/v1/orders/")
+                ? orders.get(path.substring("/v1/orders/".length()))
+                : null;
+        if (order == null) {
+            throw new HttpClientErrorException(HttpStatus.BAD_REQUEST, "The id provided does not exist");
+        }
+        return order.toString();
+    }
+
+    // Razorpay hands notes back as strings
+    private static JSONObject notes(JSONObject request) {
+        JSONObject notes = new JSONObject();
+        JSONObject given = request.optJSONObject("notes");
+        if (given != null) {
+            given.keySet().forEach(key -> notes.put(key, String.valueOf(given.get(key))));
+        }
+        return notes;
+    }
+
+    private static String idPrefix(String path) {
+        if (path.endsWith("/contacts")) return "cont_";
+        if (path.endsWith("/fund_accounts")) return "fa_";
+        if (path.endsWith("/payouts")) return "pout_";
+        if (path.endsWith("/orders")) return "order_";
+        if (path.endsWith("/refund")) return "rfnd_";
+        return "fake_";
+    }
+
+    private static String entity(String path) {
+        if (path.endsWith("/fund_accounts")) return "fund_account";
+        String last = path.substring(path.lastIndexOf('/') + 1);
+        return last.endsWith("s") ? last.substring(0, last.length() - 1) : last;
+    }
+
+    public SimulatedCall call() {
+        return call;
+    }
+}
@@ -0,0 +1,86 @@
+package com.agrowmart.service.external;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+class FakeRazorpayGatewayTest {
+
+    @Test
+    void createdOrderCanBeFetchedBackAsPaidWithStringNotes() {
+        FakeRazorpayGateway gateway = new FakeRazorpayGateway(new SimulatedCall(0, 0, 0));
+
+        JSONObject created = new JSONObject(gateway.post("/v1/orders", new JSONObject()
+                .put("amount", 49900)
+                .put("currency", "INR")
+                .put("notes", new JSONObject().put("userId", 7).put("plan", "PRO"))
+                .toString()));
+        String id = created.getString("id");
+        assertTrue(id.startsWith("order_"));
+        assertEquals("created", created.getString("status"));
+
+        JSONObject fetched = new JSONObject(gateway.get("/v1/orders/" + id));
+        assertEquals("paid", fetched.getString("status"));
+        assertEquals(49900, fetched.getInt("amount"));
+        assertEquals("7", fetched.getJSONObject("notes").get("userId"));
+        assertEquals("PRO", fetched.getJSONObject("notes").get("plan"));
+    }
+
+    @Test
+    void repeatedIdempotencyKeyReturnsTheFirstPayout() {
+        FakeRazorpayGateway gateway = new FakeRazorpayGateway(new SimulatedCall(0, 0, 0));
+
+        String first = gateway.post("/v1/payouts", "{\"amount\":100}", "settlement-ORD-1");
+        assertEquals(first, gateway.post("/v1/payouts", "{\"amount\":100}", "settlement-ORD-1"));
+        assertNotEquals(first, gateway.post("/v1/payouts", "{\"amount\":100}", "settlement-ORD-2"));
+    }
+
+    @Test
+    void unknownOrderIsAClientError() {
+        FakeRazorpayGateway gateway = new FakeRazorpayGateway(new SimulatedCall(0, 0, 0));
+
+        assertThrows(HttpClientErrorException.class, () -> gateway.get("/v1/orders/order_missing"));
+    }
+
+    @Test
+    void payoutIdsFollowTheEndpoint() {
+        FakeRazorpayGateway gateway = new FakeRazorpayGateway(new SimulatedCall(0, 0, 0));
+
+        assertTrue(new JSONObject(gateway.post("/v1/contacts", "{}")).getString("id").startsWith("cont_"));
+        JSONObject account = new JSONObject(gateway.post("/v1/fund_accounts", "{}"));
+        assertTrue(account.getString("id").startsWith("fa_"));
+        assertEquals("fund_account", account.getString("entity"));
+        assertTrue(new JSONObject(gateway.post("/v1/payouts", "{\"amount\":100}")).getString("id").startsWith("pout_"));
+    }
+
+    @Test
+    void failureRateOfOneFailsEveryCallAsAServerErrorAndCountsIt() {
+        SimulatedCall call = new SimulatedCall(0, 0, 1.0);
+        FakeRazorpayGateway gateway = new FakeRazorpayGateway(call);
+
+        assertThrows(HttpServerErrorException.class, () -> gateway.post("/v1/orders", "{}"));
+        assertThrows(HttpServerErrorException.class, () -> gateway.get("/v1/orders/order_x"));
+        assertEquals(2, call.calls());
+        assertEquals(2, call.failures());
+    }
+
+    @Test
+    void latencyIsWaitedOut() {
+        FakeRazorpayGateway gateway = new FakeRazorpayGateway(new SimulatedCall(30, 0, 0));
+
+        long start = System.nanoTime();
+        gateway.post("/v1/contacts", "{}");
+        assertTrue(System.nanoTime() - start >= 30_000_000L);
+    }
+
+    @Test
+    void failureRateOutsideZeroToOneIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new SimulatedCall(0, 0, 1.5));
+    }
+}
@@ -0,0 +1,24 @@
+package com.agrowmart.service.external;
+
+import org.springframework.web.client.ResourceAccessException;
+
+public class FakeSmsGateway implements SmsGateway {
+
+    private final SimulatedCall call;
+
+    public FakeSmsGateway(SimulatedCall call) {
+        this.call = call;
+    }
+
+    @Override
+    public String send(String phone, String message) {
+        if (call.run()) {
+            throw new ResourceAccessException("simulated Fast2SMS timeout");
+        }
+        return "{\"return\":true,\"request_id\":\"fake\",\"message\":[\"SMS sent successfully.\"]}";
+    }
+
+    public SimulatedCall call() {
+        return call;
+    }
+}
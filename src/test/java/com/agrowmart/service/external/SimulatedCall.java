@@ -0,0 +1,54 @@
+package com.agrowmart.service.external;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency and failure model shared by the fake gateways: each call sleeps
+ * latency-ms plus a uniform 0..jitter-ms, then fails with probability
+ * failure-rate. Calls and injected failures are counted for load reports.
+ */
+public class SimulatedCall {
+
+    private final long latencyMs;
+    private final long jitterMs;
+    private final double failureRate;
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    public SimulatedCall(long latencyMs, long jitterMs, double failureRate) {
+        if (failureRate < 0 || failureRate > 1) {
+            throw new IllegalArgumentException("failure-rate must be within 0..1, was " + failureRate);
+        }
+        this.latencyMs = Math.max(0, latencyMs);
+        this.jitterMs = Math.max(0, jitterMs);
+        this.failureRate = failureRate;
+    }
+
+    /** Waits out the simulated latency; true if this call should fail. */
+    boolean run() {
+        calls.incrementAndGet();
+        long delay = latencyMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs + 1) : 0);
+        if (delay > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        boolean fail = failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate;
+        if (fail) {
+            failures.incrementAndGet();
+        }
+        return fail;
+    }
+
+    public long calls() {
+        return calls.get();
+    }
+
+    public long failures() {
+        return failures.get();
+    }
+}
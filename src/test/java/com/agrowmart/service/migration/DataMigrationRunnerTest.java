@@ -0,0 +1,142 @@
+package com.agrowmart.service.migration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.agrowmart.entity.DataMigrationRecord;
+import com.agrowmart.repository.DataMigrationRecordRepository;
+import com.agrowmart.repository.ScheduledJobRunRepository;
+import com.agrowmart.service.scheduling.JobLockProvider;
+import com.agrowmart.service.scheduling.ScheduledJobRunner;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DataMigrationRunnerTest {
+
+    private final Map<Integer, DataMigrationRecord> records = new ConcurrentHashMap<>();
+    private DataMigrationRecordRepository recordRepository;
+    private ScheduledJobRunner jobRunner;
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        recordRepository = mock(DataMigrationRecordRepository.class);
+        when(recordRepository.findAll()).thenAnswer(inv -> new ArrayList<>(records.values()));
+        when(recordRepository.findById(anyInt())).thenAnswer(inv -> Optional.ofNullable(records.get(inv.<Integer>getArgument(0))));
+        when(recordRepository.save(any())).thenAnswer(inv -> {
+            DataMigrationRecord record = inv.getArgument(0);
+            records.put(record.getVersion(), record);
+            return record;
+        });
+
+        JobLockProvider locks = mock(JobLockProvider.class);
+        when(locks.tryAcquire(anyString(), anyString(), any())).thenReturn(true);
+        when(locks.renew(anyString(), anyString(), any())).thenReturn(true);
+        ScheduledJobRunRepository runRepository = mock(ScheduledJobRunRepository.class);
+        when(runRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        jobRunner = new ScheduledJobRunner(locks, runRepository, new SimpleMeterRegistry(), 10, 30);
+
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobRunner.shutdown();
+    }
+
+    @Test
+    void runsInChunksOnceAndRecordsCompletion() {
+        KeyRangeMigration migration = new KeyRangeMigration(1, 25);
+        DataMigrationRunner runner = new DataMigrationRunner(List.of(migration), recordRepository,
+                jobRunner, transactionManager, 10);
+
+        runner.runPending();
+
+        assertEquals(List.of(0L, 10L, 20L, 25L), migration.calls);
+        DataMigrationRecord record = records.get(1);
+        assertTrue(record.isCompleted());
+        assertEquals(25, record.getLastKey());
+        assertEquals(25, record.getRowsChanged());
+
+        runner.runPending();
+        assertEquals(4, migration.calls.size()); // already completed: not run again
+    }
+
+    @Test
+    void failedMigrationResumesFromLastCheckpointAndBlocksLaterOnes() {
+        KeyRangeMigration first = new KeyRangeMigration(1, 25);
+        first.failAfterKey = 10L;
+        KeyRangeMigration second = new KeyRangeMigration(2, 5);
+        DataMigrationRunner runner = new DataMigrationRunner(List.of(second, first), recordRepository,
+                jobRunner, transactionManager, 10);
+
+        runner.runPending();
+
+        DataMigrationRecord record = records.get(1);
+        assertEquals(DataMigrationRecord.Status.FAILED, record.getStatus());
+        assertEquals(10, record.getLastKey());
+        assertTrue(second.calls.isEmpty());
+
+        first.failAfterKey = null;
+        runner.runPending();
+
+        assertEquals(List.of(0L, 10L, 10L, 20L, 25L), first.calls);
+        assertTrue(records.get(1).isCompleted());
+        assertEquals(25, records.get(1).getRowsChanged());
+        assertTrue(records.get(2).isCompleted());
+    }
+
+    /** Pretends to change one row per key in 1..maxKey. */
+    private static class KeyRangeMigration implements DataMigration {
+        private final int version;
+        private final long maxKey;
+        private final List<Long> calls = new ArrayList<>();
+        private Long failAfterKey;
+
+        KeyRangeMigration(int version, long maxKey) {
+            this.version = version;
+            this.maxKey = maxKey;
+        }
+
+        @Override
+        public int version() {
+            return version;
+        }
+
+        @Override
+        public String description() {
+            return "test migration " + version;
+        }
+
+        @Override
+        public Chunk migrateChunk(long afterKey, int chunkSize) {
+            calls.add(afterKey);
+            if (failAfterKey != null && failAfterKey == afterKey) {
+                throw new IllegalStateException("boom");
+            }
+            if (afterKey >= maxKey) {
+                return null;
+            }
+            long last = Math.min(maxKey, afterKey + chunkSize);
+            return new Chunk(last, (int) (last - afterKey));
+        }
+    }
+}
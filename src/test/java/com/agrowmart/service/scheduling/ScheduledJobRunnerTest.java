@@ -0,0 +1,188 @@
+package com.agrowmart.service.scheduling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.agrowmart.entity.ScheduledJobRun;
+import com.agrowmart.repository.ScheduledJobRunRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ScheduledJobRunnerTest {
+
+    private final InMemoryLocks locks = new InMemoryLocks();
+    private final List<ScheduledJobRun> runs = new CopyOnWriteArrayList<>();
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private ScheduledJobRunner nodeA;
+    private ScheduledJobRunner nodeB;
+
+    @BeforeEach
+    void setUp() {
+        ScheduledJobRunRepository repository = mock(ScheduledJobRunRepository.class);
+        when(repository.save(any())).thenAnswer(inv -> {
+            ScheduledJobRun run = inv.getArgument(0);
+            if (!runs.contains(run)) {
+                runs.add(run);
+            }
+            return run;
+        });
+        nodeA = new ScheduledJobRunner(locks, repository, meters, 10, 30);
+        nodeB = new ScheduledJobRunner(locks, repository, meters, 10, 30);
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.shutdown();
+        nodeB.shutdown();
+    }
+
+    @Test
+    void onlyOneNodeRunsAJobFiredEverywhereAtOnce() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        List<Future<Boolean>> results = List.of(nodeA, nodeB).stream()
+                .map(node -> pool.submit(() -> {
+                    start.await();
+                    return node.run("daily-settlements", e -> {
+                        executions.incrementAndGet();
+                        Thread.sleep(200);
+                        e.addRows(3);
+                    });
+                }))
+                .toList();
+        start.countDown();
+
+        int ran = 0;
+        for (Future<Boolean> result : results) {
+            ran += result.get(10, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        pool.shutdown();
+
+        assertEquals(1, executions.get());
+        assertEquals(1, ran);
+        assertEquals(1, runs.size());
+        ScheduledJobRun run = runs.get(0);
+        assertEquals(ScheduledJobRun.Status.SUCCEEDED, run.getStatus());
+        assertEquals(3, run.getRowsProcessed());
+        assertTrue(run.getEndedAt() != null && !run.getEndedAt().isBefore(run.getStartedAt()));
+        assertEquals(1.0, meters.get("scheduled.jobs.skipped").tag("job", "daily-settlements").counter().count());
+    }
+
+    @Test
+    void heartbeatKeepsTheLeaseForJobsLongerThanTheLease() throws Exception {
+        Duration lease = Duration.ofMillis(1500);
+        CountDownLatch running = new CountDownLatch(1);
+        Thread longJob = new Thread(() -> nodeA.run("purge-deleted-users", lease, e -> {
+            running.countDown();
+            Thread.sleep(3500);
+            e.ensureLeaseHeld();
+        }));
+        longJob.start();
+        running.await(5, TimeUnit.SECONDS);
+
+        Thread.sleep(2500); // past the original lease
+        assertFalse(nodeB.run("purge-deleted-users", lease, e -> { }), "lease should have been renewed");
+
+        longJob.join(10_000);
+        assertEquals(ScheduledJobRun.Status.SUCCEEDED, runs.get(0).getStatus());
+        assertTrue(nodeB.run("purge-deleted-users", lease, e -> { }), "released after the run");
+    }
+
+    @Test
+    void jobStopsWhenItsLeaseIsTakenOver() {
+        Duration lease = Duration.ofMillis(1500);
+        AtomicInteger processed = new AtomicInteger();
+
+        nodeA.run("daily-settlements", lease, e -> {
+            locks.steal("daily-settlements");
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (System.nanoTime() < deadline) {
+                e.ensureLeaseHeld();
+                processed.incrementAndGet();
+                Thread.sleep(10);
+            }
+        });
+
+        ScheduledJobRun run = runs.get(0);
+        assertEquals(ScheduledJobRun.Status.LEASE_LOST, run.getStatus());
+        assertTrue(processed.get() < 500, "job should stop at the next heartbeat, processed " + processed.get());
+    }
+
+    @Test
+    void failedJobIsRecordedAndReleasesItsLease() {
+        assertTrue(nodeA.run("expire-subscriptions", e -> {
+            e.recordFailure();
+            throw new IllegalStateException("db down");
+        }));
+
+        ScheduledJobRun run = runs.get(0);
+        assertEquals(ScheduledJobRun.Status.FAILED, run.getStatus());
+        assertEquals(1, run.getFailures());
+        assertTrue(run.getErrorMessage().contains("db down"));
+        assertTrue(nodeB.run("expire-subscriptions", e -> { }));
+        assertEquals(1.0, meters.get("scheduled.jobs.duration")
+                .tags("job", "expire-subscriptions", "outcome", "failed").timer().count());
+    }
+
+    /** Same semantics as the scheduled_job_locks conditional UPDATEs. */
+    static class InMemoryLocks implements JobLockProvider {
+
+        private record Lease(String owner, long untilNanos) {}
+
+        private final Map<String, Lease> leases = new HashMap<>();
+
+        @Override
+        public synchronized boolean tryAcquire(String job, String owner, Duration leaseFor) {
+            long now = System.nanoTime();
+            Lease current = leases.get(job);
+            if (current != null && current.untilNanos() - now > 0) {
+                return false;
+            }
+            leases.put(job, new Lease(owner, now + leaseFor.toNanos()));
+            return true;
+        }
+
+        @Override
+        public synchronized boolean renew(String job, String owner, Duration leaseFor) {
+            Lease current = leases.get(job);
+            if (current == null || !current.owner().equals(owner)) {
+                return false;
+            }
+            leases.put(job, new Lease(owner, System.nanoTime() + leaseFor.toNanos()));
+            return true;
+        }
+
+        @Override
+        public synchronized void release(String job, String owner) {
+            Lease current = leases.get(job);
+            if (current != null && current.owner().equals(owner)) {
+                leases.remove(job);
+            }
+        }
+
+        synchronized void steal(String job) {
+            leases.put(job, new Lease("other-node", System.nanoTime() + TimeUnit.MINUTES.toNanos(1)));
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.agrowmart.service.websocket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import com.agrowmart.dto.auth.order.OrderStatusUpdateDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Two relay nodes sharing one embedded Redis stand-in; each node's local
+ * broker is replaced by a channel that records what it would deliver.
+ */
+class ClusterStompMessageRelayMultiNodeTest {
+
+    private InMemoryRedisStandIn redis;
+    private Node nodeA;
+    private Node nodeB;
+
+    @BeforeEach
+    void setUp() {
+        redis = new InMemoryRedisStandIn();
+        nodeA = new Node("node-a", redis);
+        nodeB = new Node("node-b", redis);
+    }
+
+    @Test
+    void userMessageReachesOnlyTheNodeHoldingTheSession() throws Exception {
+        nodeB.relay.userConnected("42");
+
+        nodeA.relay.sendToUser("42", "/queue/orders", update("ORD-1"));
+        redis.drain();
+
+        assertTrue(nodeA.delivered.isEmpty(), "node A has no session for user 42");
+        assertEquals(1, nodeB.delivered.size());
+        assertEquals("/user/42/queue/orders", nodeB.delivered.get(0).destination());
+        assertTrue(nodeB.delivered.get(0).body().contains("\"orderId\":\"ORD-1\""));
+    }
+
+    @Test
+    void userWithSessionsOnBothNodesGetsOneCopyPerNode() throws Exception {
+        nodeA.relay.userConnected("7");
+        nodeB.relay.userConnected("7");
+
+        nodeA.relay.sendToUser("7", "/queue/orders", update("ORD-2"));
+        redis.drain();
+
+        assertEquals(1, nodeA.delivered.size(), "local session served in-process");
+        assertEquals(1, nodeB.delivered.size(), "remote session served via pub/sub");
+    }
+
+    @Test
+    void topicBroadcastReachesEveryNodeExactlyOnce() throws Exception {
+        nodeB.relay.broadcast("/topic/delivery/pickups", update("ORD-3"));
+        redis.drain();
+
+        assertEquals(1, nodeA.delivered.size());
+        assertEquals(1, nodeB.delivered.size(), "own echo must be ignored");
+        assertEquals("/topic/delivery/pickups", nodeA.delivered.get(0).destination());
+    }
+
+    @Test
+    void lastLocalDisconnectRemovesNodeFromSharedRegistry() throws Exception {
+        nodeB.relay.userConnected("9");
+        nodeB.relay.userConnected("9");
+        nodeB.relay.userDisconnected("9");
+        assertEquals(1, redis.nodesFor("9").size(), "one session still open on node B");
+
+        nodeB.relay.userDisconnected("9");
+        assertTrue(redis.nodesFor("9").isEmpty());
+
+        nodeA.relay.sendToUser("9", "/queue/orders", update("ORD-4"));
+        redis.drain();
+        assertTrue(nodeB.delivered.isEmpty());
+    }
+
+    @Test
+    void localSessionIsServedEvenAfterItsRegistryEntryExpired() throws Exception {
+        nodeA.relay.userConnected("5");
+        redis.unregister("5", "node-a"); // TTL ran out while the session stayed open
+
+        nodeA.relay.sendToUser("5", "/queue/orders", update("ORD-5"));
+        redis.drain();
+
+        assertEquals(1, nodeA.delivered.size());
+    }
+
+    @Test
+    void refreshPutsLiveSessionsBackIntoTheRegistry() throws Exception {
+        nodeB.relay.userConnected("6");
+        redis.unregister("6", "node-b");
+
+        nodeB.relay.refreshSessionRegistrations();
+        assertEquals(Set.of("node-b"), redis.nodesFor("6"));
+
+        nodeA.relay.sendToUser("6", "/queue/orders", update("ORD-6"));
+        redis.drain();
+        assertEquals(1, nodeB.delivered.size());
+    }
+
+    private static OrderStatusUpdateDTO update(String orderId) {
+        return new OrderStatusUpdateDTO(orderId, "ACCEPTED", "test", LocalDateTime.now(), "STATUS_UPDATE", null);
+    }
+
+    private record Delivered(String destination, String body) {}
+
+    private static final class Node {
+        final List<Delivered> delivered = new CopyOnWriteArrayList<>();
+        final ClusterStompMessageRelay relay;
+
+        Node(String nodeId, InMemoryRedisStandIn redis) {
+            MessageChannel localBroker = (Message<?> message, long timeout) -> {
+                String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+                delivered.add(new Delivered(destination,
+                        new String((byte[]) message.getPayload(), StandardCharsets.UTF_8)));
+                return true;
+            };
+            ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+            MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+            converter.setObjectMapper(mapper);
+            SimpMessagingTemplate template = new SimpMessagingTemplate(localBroker);
+            template.setMessageConverter(converter);
+
+            relay = new ClusterStompMessageRelay(template, mapper, redis, redis, nodeId);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.agrowmart.service.websocket;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Embedded stand-in for the Redis features the cluster relay uses:
+ * PUBLISH/SUBSCRIBE (delivered asynchronously on a listener thread, like
+ * RedisMessageListenerContainer) and SADD/SREM/SMEMBERS for the session registry.
+ * One instance is shared by all simulated nodes.
+ */
+class InMemoryRedisStandIn implements ClusterMessageBus, ClusterSessionRegistry {
+
+    private final Map<String, List<Consumer<String>>> subscribers = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> sets = new ConcurrentHashMap<>();
+    private final ExecutorService listenerThread = Executors.newSingleThreadExecutor();
+
+    @Override
+    public void publish(String channel, String message) {
+        for (Consumer<String> listener : subscribers.getOrDefault(channel, List.of())) {
+            listenerThread.execute(() -> listener.accept(message));
+        }
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<String> listener) {
+        subscribers.computeIfAbsent(channel, k -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    @Override
+    public void register(String userId, String nodeId) {
+        sets.computeIfAbsent(userId, k -> ConcurrentHashMap.newKeySet()).add(nodeId);
+    }
+
+    @Override
+    public void unregister(String userId, String nodeId) {
+        Set<String> nodes = sets.get(userId);
+        if (nodes != null) {
+            nodes.remove(nodeId);
+        }
+    }
+
+    @Override
+    public Set<String> nodesFor(String userId) {
+        return Set.copyOf(sets.getOrDefault(userId, Set.of()));
+    }
+
+    /** Waits until every published message has been handed to its listeners; call once per test. */
+    void drain() throws InterruptedException {
+        listenerThread.shutdown();
+        listenerThread.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,72 @@
+package com.agrowmart.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class GeoHashTest {
+
+    @Test
+    void encodesKnownPoints() {
+        // reference values from the original geohash.org implementation
+        assertEquals("u4pruydqqvj", GeoHash.encode(57.64911, 10.40744, 11));
+        assertEquals("tdr1v", GeoHash.encode(12.9716, 77.5946, 5)); // Bengaluru
+    }
+
+    @Test
+    void onlySetInRangeCoordinatesAreValid() {
+        assertTrue(GeoHash.isValid(18.5204, 73.8567));
+        assertTrue(GeoHash.isValid(-90.0, 180.0));
+        assertFalse(GeoHash.isValid(null, 73.8567));
+        assertFalse(GeoHash.isValid(91.0, 73.8567));
+        assertFalse(GeoHash.isValid(18.5204, -180.5));
+        assertFalse(GeoHash.isValid(Double.NaN, 73.8567));
+        assertThrows(IllegalArgumentException.class, () -> GeoHash.encode(Double.NaN, 0, 5));
+    }
+
+    @Test
+    void boundsContainTheEncodedPoint() {
+        double lat = 18.5204, lon = 73.8567; // Pune
+        double[] b = GeoHash.bounds(GeoHash.encode(lat, lon, 6));
+        assertTrue(lat >= b[0] && lat <= b[2]);
+        assertTrue(lon >= b[1] && lon <= b[3]);
+    }
+
+    @Test
+    void neighboursCoverPointsJustAcrossTheCellEdge() {
+        String cell = GeoHash.encode(18.5204, 73.8567, 5);
+        double[] b = GeoHash.bounds(cell);
+        List<String> cells = GeoHash.cellAndNeighbours(cell);
+
+        assertEquals(9, cells.size());
+        assertEquals(9, new HashSet<>(cells).size());
+        assertEquals(cell, cells.get(0));
+
+        double eps = 1e-6;
+        assertTrue(cells.contains(GeoHash.encode(b[2] + eps, b[3] + eps, 5)), "north-east");
+        assertTrue(cells.contains(GeoHash.encode(b[0] - eps, b[1] - eps, 5)), "south-west");
+        assertTrue(cells.contains(GeoHash.encode((b[0] + b[2]) / 2, b[3] + eps, 5)), "east");
+    }
+
+    @Test
+    void neighboursWrapAtAntimeridianAndStopAtPole() {
+        List<String> east = GeoHash.cellAndNeighbours(GeoHash.encode(0, 179.99, 4));
+        assertTrue(east.contains(GeoHash.encode(0, -179.99, 4)));
+
+        List<String> pole = GeoHash.cellAndNeighbours(GeoHash.encode(89.99, 0, 3));
+        assertEquals(6, pole.size());
+    }
+
+    @Test
+    void rejectsInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> GeoHash.encode(91, 0, 5));
+        assertThrows(IllegalArgumentException.class, () -> GeoHash.encode(0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> GeoHash.bounds("abc!"));
+    }
+}
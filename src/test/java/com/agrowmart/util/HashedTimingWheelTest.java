@@ -0,0 +1,93 @@
+package com.agrowmart.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class HashedTimingWheelTest {
+
+    // 4 buckets of 10 ms: anything further than 40 ms out has to wait extra rounds
+    private final HashedTimingWheel<String> wheel =
+            new HashedTimingWheel<>("test-wheel", Duration.ofMillis(10), 4, Runnable::run);
+
+    @AfterEach
+    void tearDown() {
+        wheel.stop();
+    }
+
+    @Test
+    void timeoutBeyondOneRevolutionWaitsOutItsRounds() throws Exception {
+        CountDownLatch fired = new CountDownLatch(1);
+        long scheduledAt = System.nanoTime();
+        long[] firedAt = new long[1];
+
+        wheel.schedule("order-1", Duration.ofMillis(150), () -> {
+            firedAt[0] = System.nanoTime();
+            fired.countDown();
+        });
+
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        assertTrue(firedAt[0] - scheduledAt >= TimeUnit.MILLISECONDS.toNanos(150),
+                "fired after " + TimeUnit.NANOSECONDS.toMillis(firedAt[0] - scheduledAt) + " ms");
+        assertFalse(wheel.isScheduled("order-1"));
+    }
+
+    @Test
+    void overdueTimeoutFiresOnTheNextTick() throws Exception {
+        CountDownLatch fired = new CountDownLatch(1);
+
+        wheel.schedule("order-1", Duration.ofMinutes(-5), fired::countDown);
+
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void timeoutsFireInDeadlineOrder() throws Exception {
+        List<String> order = new CopyOnWriteArrayList<>();
+        CountDownLatch fired = new CountDownLatch(3);
+
+        wheel.schedule("late", Duration.ofMillis(120), () -> { order.add("late"); fired.countDown(); });
+        wheel.schedule("early", Duration.ofMillis(20), () -> { order.add("early"); fired.countDown(); });
+        wheel.schedule("middle", Duration.ofMillis(70), () -> { order.add("middle"); fired.countDown(); });
+
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("early", "middle", "late"), order);
+    }
+
+    @Test
+    void cancelledTimeoutNeverFires() throws Exception {
+        List<String> fired = new CopyOnWriteArrayList<>();
+        CountDownLatch marker = new CountDownLatch(1);
+
+        wheel.schedule("order-1", Duration.ofMillis(30), () -> fired.add("order-1"));
+        assertTrue(wheel.cancel("order-1"));
+        wheel.schedule("marker", Duration.ofMillis(60), marker::countDown);
+
+        assertTrue(marker.await(5, TimeUnit.SECONDS));
+        assertTrue(fired.isEmpty());
+        assertFalse(wheel.cancel("order-1"));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void reschedulingAKeyReplacesTheEarlierTimeout() throws Exception {
+        List<String> fired = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+
+        wheel.schedule("order-1", Duration.ofMillis(20), () -> fired.add("first"));
+        wheel.schedule("order-1", Duration.ofMillis(60), () -> { fired.add("second"); done.countDown(); });
+        assertEquals(1, wheel.size());
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("second"), fired);
+    }
+}
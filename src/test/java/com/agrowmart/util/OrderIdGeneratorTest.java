@@ -0,0 +1,115 @@
+package com.agrowmart.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class OrderIdGeneratorTest {
+
+    @Test
+    void idsAreUniqueAcrossThreadsAndNodes() throws Exception {
+        int threads = 8;
+        int perThread = 50_000;
+        OrderIdGenerator nodeA = new OrderIdGenerator(1);
+        OrderIdGenerator nodeB = new OrderIdGenerator(2);
+
+        Set<String> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            OrderIdGenerator generator = (t % 2 == 0) ? nodeA : nodeB;
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    seen.add(generator.nextId());
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(threads * perThread, seen.size(), "duplicate order ids generated");
+    }
+
+    @Test
+    void idsSortInCreationOrder() {
+        OrderIdGenerator generator = new OrderIdGenerator(7);
+        String previous = generator.nextId();
+        for (int i = 0; i < 20_000; i++) {
+            String next = generator.nextId();
+            assertTrue(next.compareTo(previous) > 0, previous + " !< " + next);
+            previous = next;
+        }
+    }
+
+    @Test
+    void stringFormIsCompactAndRoundTrips() {
+        OrderIdGenerator generator = new OrderIdGenerator(1023);
+        long raw = generator.nextLong();
+        String encoded = OrderIdGenerator.PREFIX + OrderIdGenerator.encode(raw);
+
+        assertEquals(17, encoded.length());
+        assertTrue(encoded.length() <= 50, "must fit orders.id column");
+        assertEquals(raw, OrderIdGenerator.decode(encoded));
+        assertEquals(1023, (raw >> OrderIdGenerator.SEQUENCE_BITS) & OrderIdGenerator.MAX_NODE_ID);
+    }
+
+    @Test
+    void staysMonotonicWhenClockGoesBackwards() {
+        long[] clock = {10_000};
+        OrderIdGenerator generator = new OrderIdGenerator(3) {
+            @Override
+            long currentTime() {
+                return clock[0];
+            }
+        };
+
+        long first = generator.nextLong();
+        clock[0] = 9_000; // NTP step back
+        long second = generator.nextLong();
+        assertTrue(second > first);
+    }
+
+    @Test
+    void sequenceOverflowBorrowsNextMillisecond() {
+        OrderIdGenerator generator = new OrderIdGenerator(5) {
+            @Override
+            long currentTime() {
+                return 42; // frozen clock
+            }
+        };
+
+        long last = -1;
+        for (int i = 0; i <= OrderIdGenerator.SEQUENCE_MASK + 10; i++) {
+            long id = generator.nextLong();
+            assertTrue(id > last);
+            last = id;
+        }
+        assertEquals(43, last >> (OrderIdGenerator.NODE_BITS + OrderIdGenerator.SEQUENCE_BITS));
+    }
+
+    @Test
+    void rejectsOutOfRangeNodeId() {
+        assertThrows(IllegalArgumentException.class, () -> new OrderIdGenerator(-1));
+        assertThrows(IllegalArgumentException.class, () -> new OrderIdGenerator(1024));
+    }
+}
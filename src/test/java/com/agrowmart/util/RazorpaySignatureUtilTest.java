@@ -0,0 +1,25 @@
+package com.agrowmart.util;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class RazorpaySignatureUtilTest {
+
+    private static final String PAYLOAD = "{\"event\":\"payment.captured\"}";
+    // HMAC-SHA256 of PAYLOAD with key "secret", hex
+    private static final String SIGNATURE = "8308ed257604fd2e3a5f31e3ca7b5a85c225df5b0dc02b63004414e0a99c1e6e";
+
+    @Test
+    void acceptsOnlyTheSignatureOfThePayloadUnderTheSecret() {
+        assertTrue(RazorpaySignatureUtil.verify(PAYLOAD, SIGNATURE, "secret"));
+        assertFalse(RazorpaySignatureUtil.verify(PAYLOAD, SIGNATURE, "other"));
+        assertFalse(RazorpaySignatureUtil.verify(PAYLOAD + " ", SIGNATURE, "secret"));
+    }
+
+    @Test
+    void missingSecretRejects() {
+        assertFalse(RazorpaySignatureUtil.verify(PAYLOAD, SIGNATURE, null));
+    }
+}
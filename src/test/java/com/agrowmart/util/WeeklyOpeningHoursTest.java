@@ -0,0 +1,65 @@
+package com.agrowmart.util;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import org.junit.jupiter.api.Test;
+
+class WeeklyOpeningHoursTest {
+
+    // 2026-01-05 is a Monday
+    private static LocalDateTime mon(int h, int m) { return LocalDateTime.of(2026, 1, 5, h, m); }
+    private static LocalDateTime tue(int h, int m) { return LocalDateTime.of(2026, 1, 6, h, m); }
+    private static LocalDateTime sun(int h, int m) { return LocalDateTime.of(2026, 1, 11, h, m); }
+
+    @Test
+    void compilesDayHoursMap() {
+        WeeklyOpeningHours hours = WeeklyOpeningHours.compile("""
+                {"MONDAY": {"isOpen": true, "open": "09:00", "close": "18:30"},
+                 "tuesday": {"isOpen": false, "open": "09:00", "close": "18:00"}}
+                """, null, null);
+
+        assertFalse(hours.isOpenAt(mon(8, 59)));
+        assertTrue(hours.isOpenAt(mon(9, 0)));
+        assertTrue(hours.isOpenAt(mon(18, 29)));
+        assertFalse(hours.isOpenAt(mon(18, 30)));
+        assertFalse(hours.isOpenAt(tue(12, 0)), "explicitly closed");
+        assertFalse(hours.isOpenAt(sun(12, 0)), "missing day is closed");
+        assertFalse(hours.isUnknown());
+    }
+
+    @Test
+    void compilesWorkingHourDtoArrayWithAmPmAndShortDays() {
+        WeeklyOpeningHours hours = WeeklyOpeningHours.compile("""
+                [{"day": "Mon", "open": "9 AM", "close": "1:30 PM"}]
+                """, null, null);
+
+        assertTrue(hours.isOpenAt(mon(13, 0)));
+        assertFalse(hours.isOpenAt(mon(13, 30)));
+    }
+
+    @Test
+    void overnightHoursSpillIntoNextDayAndWrapTheWeek() {
+        WeeklyOpeningHours hours = WeeklyOpeningHours.compile("""
+                {"SUNDAY": {"isOpen": true, "open": "20:00", "close": "02:00"}}
+                """, null, null);
+
+        assertTrue(hours.isOpenAt(sun(23, 0)));
+        assertTrue(hours.isOpenAt(mon(1, 55)), "Sunday night continues into Monday");
+        assertFalse(hours.isOpenAt(mon(2, 0)));
+    }
+
+    @Test
+    void fallsBackToOpensAtClosesAtThenAlwaysOpen() {
+        WeeklyOpeningHours fallback = WeeklyOpeningHours.compile("not json", LocalTime.of(7, 0), LocalTime.of(21, 0));
+        assertTrue(fallback.isOpenAt(tue(7, 0)));
+        assertFalse(fallback.isOpenAt(tue(21, 0)));
+
+        assertSame(WeeklyOpeningHours.ALWAYS_OPEN, WeeklyOpeningHours.compile(null, null, null));
+        assertSame(WeeklyOpeningHours.ALWAYS_OPEN, WeeklyOpeningHours.compile("{}", null, null));
+    }
+}